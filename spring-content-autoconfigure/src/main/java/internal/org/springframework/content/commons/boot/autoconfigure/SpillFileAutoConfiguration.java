@@ -0,0 +1,95 @@
+package internal.org.springframework.content.commons.boot.autoconfigure;
+
+import java.nio.file.Paths;
+import java.time.Duration;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.content.commons.io.SpillFileManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnClass(SpillFileManager.class)
+@EnableConfigurationProperties(SpillFileAutoConfiguration.SpillFileProperties.class)
+public class SpillFileAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean(SpillFileManager.class)
+    public SpillFileManager spillFileManager(SpillFileProperties props) {
+
+        SpillFileManager manager = new SpillFileManager(props.getDirectory() != null
+                ? Paths.get(props.getDirectory())
+                : SpillFileManager.defaultDirectory());
+
+        if (props.getMemoryThreshold() != null) {
+            manager.setMemoryThreshold(props.getMemoryThreshold());
+        }
+        if (props.getQuota() != null) {
+            manager.setQuota(props.getQuota());
+        }
+        if (props.getStaleAfter() != null) {
+            manager.setStaleAfter(props.getStaleAfter());
+        }
+
+        return manager;
+    }
+
+    @ConfigurationProperties(prefix = "spring.content.spill")
+    public static class SpillFileProperties {
+
+        /**
+         * Directory content is spilled to.  Defaults to spring-content in the temporary directory
+         */
+        private String directory;
+
+        /**
+         * Number of bytes buffered in memory before content is spilled to disk
+         */
+        private Integer memoryThreshold;
+
+        /**
+         * Maximum number of bytes that may be spilled to disk at any one time
+         */
+        private Long quota;
+
+        /**
+         * Age after which spill files left by a previous process are deleted
+         */
+        private Duration staleAfter;
+
+        public String getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(String directory) {
+            this.directory = directory;
+        }
+
+        public Integer getMemoryThreshold() {
+            return memoryThreshold;
+        }
+
+        public void setMemoryThreshold(Integer memoryThreshold) {
+            this.memoryThreshold = memoryThreshold;
+        }
+
+        public Long getQuota() {
+            return quota;
+        }
+
+        public void setQuota(Long quota) {
+            this.quota = quota;
+        }
+
+        public Duration getStaleAfter() {
+            return staleAfter;
+        }
+
+        public void setStaleAfter(Duration staleAfter) {
+            this.staleAfter = staleAfter;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package internal.org.springframework.content.lucene.boot.autoconfigure;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.content.lucene.EnableLuceneFulltextIndexing;
+import org.springframework.content.lucene.LuceneProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnClass(EnableLuceneFulltextIndexing.class)
+public class LuceneAutoConfiguration {
+
+	@Bean
+	@ConditionalOnMissingBean(LuceneProperties.class)
+	@ConfigurationProperties(prefix = "spring.content.lucene")
+	public LuceneProperties luceneProperties() {
+		return new LuceneProperties();
+	}
+}
@@ -1,6 +1,7 @@
 package internal.org.springframework.content.rest.boot.autoconfigure;
 
 import java.net.URI;
+import java.time.Duration;
 
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
@@ -24,6 +25,7 @@ public class ContentRestAutoConfiguration {
 		private URI baseUri;
 		private boolean fullyQualifiedLinks = RestConfiguration.FULLY_QUALIFIED_DEFAULTS_DEFAULT;
 		private ShortcutRequestMappings requestMappings = new ShortcutRequestMappings();
+		private SearchResultCache searchResultCache = new SearchResultCache();
 
 		public URI getBaseUri() {
 			return baseUri;
@@ -49,6 +51,14 @@ public class ContentRestAutoConfiguration {
 		    this.requestMappings = requestMappings;
 		}
 
+		public SearchResultCache searchResultCache() {
+		    return this.searchResultCache;
+		}
+
+		public void setSearchResultCache(SearchResultCache searchResultCache) {
+		    this.searchResultCache = searchResultCache;
+		}
+
 		public static class ShortcutRequestMappings {
 
 		    private boolean disabled = false;
@@ -70,6 +80,28 @@ public class ContentRestAutoConfiguration {
 		        this.excludes = excludes;
 		    }
 		}
+
+		public static class SearchResultCache {
+
+		    private int size = RestConfiguration.SEARCH_RESULT_CACHE_SIZE_DEFAULT;
+		    private Duration timeToLive = RestConfiguration.SEARCH_RESULT_CACHE_TTL_DEFAULT;
+
+		    public int size() {
+		        return size;
+		    }
+
+		    public void setSize(int size) {
+		        this.size = size;
+		    }
+
+		    public Duration timeToLive() {
+		        return timeToLive;
+		    }
+
+		    public void setTimeToLive(Duration timeToLive) {
+		        this.timeToLive = timeToLive;
+		    }
+		}
     }
 
 	@Bean
@@ -38,6 +38,9 @@ public class SpringBootContentRestConfigurer implements ContentRestConfigurer {
 
         config.setShortcutLinks(!properties.shortcutRequestMappings().disabled());
 
+        config.setSearchResultCacheSize(properties.searchResultCache().size());
+        config.setSearchResultCacheTimeToLive(properties.searchResultCache().timeToLive());
+
         if (properties.shortcutRequestMappings().excludes() != null) {
             String[] exclusions = properties.shortcutRequestMappings().excludes().split(":");
             for (String exclusion : exclusions) {
@@ -0,0 +1,61 @@
+package org.springframework.content.lucene.boot;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.AfterEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.File;
+
+import org.junit.runner.RunWith;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.content.lucene.LuceneProperties;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+import internal.org.springframework.content.lucene.boot.autoconfigure.LuceneAutoConfiguration;
+
+@RunWith(Ginkgo4jRunner.class)
+@Ginkgo4jConfiguration(threads = 1)
+public class LuceneAutoConfigurationTest {
+
+	{
+		Describe("LuceneAutoConfiguration", () -> {
+			Context("given an environment specifying lucene properties", () -> {
+				BeforeEach(() -> {
+					System.setProperty("spring.content.lucene.directory", "/var/lib/lucene-index");
+					System.setProperty("spring.content.lucene.commit-interval-millis", "5000");
+				});
+				AfterEach(() -> {
+					System.clearProperty("spring.content.lucene.directory");
+					System.clearProperty("spring.content.lucene.commit-interval-millis");
+				});
+				It("should bind them to the lucene properties bean", () -> {
+					AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+					context.register(TestConfig.class);
+					context.refresh();
+
+					LuceneProperties properties = context.getBean(LuceneProperties.class);
+					assertThat(properties.getDirectory(), is(new File("/var/lib/lucene-index")));
+					assertThat(properties.getCommitIntervalMillis(), is(5000L));
+					assertThat(properties.getMaxStaleMillis(), is(1000L));
+
+					context.close();
+				});
+			});
+		});
+	}
+
+	@Configuration
+	@EnableConfigurationProperties
+	@Import(LuceneAutoConfiguration.class)
+	public static class TestConfig {
+	}
+}
@@ -14,6 +14,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.net.URI;
+import java.time.Duration;
 
 import org.junit.runner.RunWith;
 import org.springframework.content.rest.config.RestConfiguration;
@@ -22,6 +23,7 @@ import org.springframework.http.MediaType;
 import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
 
 import internal.org.springframework.content.rest.boot.autoconfigure.ContentRestAutoConfiguration.ContentRestProperties;
+import internal.org.springframework.content.rest.boot.autoconfigure.ContentRestAutoConfiguration.ContentRestProperties.SearchResultCache;
 import internal.org.springframework.content.rest.boot.autoconfigure.ContentRestAutoConfiguration.ContentRestProperties.ShortcutRequestMappings;
 import internal.org.springframework.content.rest.boot.autoconfigure.SpringBootContentRestConfigurer;
 
@@ -142,6 +144,21 @@ public class SpringBootContentRestConfigurerTest {
                     });
                 });
 
+                Context("given search result cache properties", () -> {
+
+                    BeforeEach(() -> {
+                        SearchResultCache cache = new SearchResultCache();
+                        cache.setSize(100);
+                        cache.setTimeToLive(Duration.ofSeconds(30));
+                        properties.setSearchResultCache(cache);
+                    });
+
+                    It("should set the search result cache properties on the RestConfiguration", () -> {
+                        verify(restConfig).setSearchResultCacheSize(100);
+                        verify(restConfig).setSearchResultCacheTimeToLive(Duration.ofSeconds(30));
+                    });
+                });
+
                 Context("given a null base uri property", () -> {
 
                     It("should not set the property on the RestConfiguration", () -> {
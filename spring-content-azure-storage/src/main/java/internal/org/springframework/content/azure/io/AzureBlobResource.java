@@ -6,15 +6,22 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.URI;
 import java.net.URL;
+import java.time.Duration;
+import java.time.OffsetDateTime;
 
 import org.springframework.content.commons.io.DeletableResource;
+import org.springframework.content.commons.io.PresignableResource;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.WritableResource;
 import org.springframework.util.Assert;
 
+import com.azure.storage.blob.BlobClient;
 import com.azure.storage.blob.BlobServiceClient;
+import com.azure.storage.blob.sas.BlobSasPermission;
+import com.azure.storage.blob.sas.BlobServiceSasSignatureValues;
+import com.azure.storage.common.StorageSharedKeyCredential;
 
-public class AzureBlobResource implements WritableResource, DeletableResource {
+public class AzureBlobResource implements WritableResource, DeletableResource, PresignableResource {
 
 	private BlobServiceClient client;
 	private Resource delegate;
@@ -109,4 +116,19 @@ public class AzureBlobResource implements WritableResource, DeletableResource {
 	public OutputStream getOutputStream() throws IOException {
 		return ((WritableResource) delegate).getOutputStream();
 	}
+
+	@Override
+	public URL getPresignedUrl(Duration validity, String contentType) throws IOException {
+		BlobClient blob = client.getBlobContainerClient(bucket).getBlobClient(getFilename());
+
+		// only shared key credentials can sign
+		if (StorageSharedKeyCredential.getSharedKeyCredentialFromPipeline(blob.getHttpPipeline()) == null) {
+			return null;
+		}
+
+		BlobServiceSasSignatureValues values = new BlobServiceSasSignatureValues(OffsetDateTime.now().plus(validity), new BlobSasPermission().setReadPermission(true))
+				.setContentType(contentType);
+
+		return new URL(blob.getBlobUrl() + "?" + blob.generateSas(values));
+	}
 }
@@ -0,0 +1,214 @@
+package internal.org.springframework.content.azure.it.presigned;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.startsWith;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.time.Duration;
+
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.sql.DataSource;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.content.azure.config.EnableAzureStorage;
+import org.springframework.content.commons.annotations.ContentId;
+import org.springframework.content.commons.annotations.ContentLength;
+import org.springframework.content.commons.annotations.MimeType;
+import org.springframework.content.commons.repository.ContentStore;
+import org.springframework.content.rest.config.ContentRestConfigurer;
+import org.springframework.content.rest.config.RestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.data.rest.webmvc.config.RepositoryRestMvcConfiguration;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.Database;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.web.WebAppConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.config.annotation.DelegatingWebMvcConfiguration;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jSpringRunner;
+
+import com.azure.storage.blob.BlobContainerClient;
+import com.azure.storage.blob.BlobServiceClientBuilder;
+
+import internal.org.springframework.content.azure.it.Azurite;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@RunWith(Ginkgo4jSpringRunner.class)
+@Ginkgo4jConfiguration(threads=1)
+@WebAppConfiguration
+@ContextConfiguration(classes = {
+        AzurePresignedUrlIT.TestConfig.class,
+        DelegatingWebMvcConfiguration.class,
+        RepositoryRestMvcConfiguration.class,
+        RestConfiguration.class })
+public class AzurePresignedUrlIT {
+
+    private static final String BUCKET = "azure-presigned-test-bucket";
+
+    private static final BlobServiceClientBuilder builder = Azurite.getBlobServiceClientBuilder();
+
+    static {
+        BlobContainerClient client = builder.buildClient().getBlobContainerClient(BUCKET);
+        if (!client.exists()) {
+            client.create();
+        }
+
+        System.setProperty("spring.content.azure.bucket", BUCKET);
+    }
+
+    @Autowired
+    private TestEntityRepository repo;
+    @Autowired
+    private TestEntityStore store;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    private MockMvc mvc;
+
+    private TestEntity entity;
+
+    {
+        Describe("Presigned URLs", () -> {
+
+            BeforeEach(() -> {
+                mvc = MockMvcBuilders.webAppContextSetup(context).build();
+            });
+
+            Context("given content", () -> {
+
+                BeforeEach(() -> {
+                    entity = new TestEntity();
+                    entity.setContentType("text/plain");
+                    entity = store.setContent(entity, new ByteArrayInputStream("Hello presigned content!".getBytes()));
+                    entity = repo.save(entity);
+                });
+
+                It("should redirect to a presigned URL that reads the content", () -> {
+                    String location = mvc.perform(get("/testEntities/" + entity.getId() + "/content").accept("text/plain"))
+                            .andExpect(status().isTemporaryRedirect())
+                            .andReturn().getResponse().getHeader("Location");
+
+                    HttpURLConnection connection = (HttpURLConnection) new URL(location).openConnection();
+                    try {
+                        assertThat(connection.getResponseCode(), is(200));
+                        assertThat(connection.getContentType(), startsWith("text/plain"));
+                        try (InputStream in = connection.getInputStream()) {
+                            assertThat(IOUtils.toString(in, "UTF-8"), is("Hello presigned content!"));
+                        }
+                    } finally {
+                        connection.disconnect();
+                    }
+                });
+            });
+        });
+    }
+
+    @Test
+    public void noop() {
+    }
+
+    @Configuration
+    @EnableJpaRepositories(considerNestedRepositories = true)
+    @EnableAzureStorage
+    public static class TestConfig {
+
+        // authenticated with Azurite's shared key, which can sign
+        @Bean
+        public BlobServiceClientBuilder blobServiceClientBuilder() {
+            return builder;
+        }
+
+        @Bean
+        public ContentRestConfigurer configurer() {
+            return new ContentRestConfigurer() {
+                @Override
+                public void configure(RestConfiguration config) {
+                    config.setPresignedUrlValidity(Duration.ofMinutes(1));
+                }
+            };
+        }
+
+        @Bean
+        public DataSource dataSource() {
+            EmbeddedDatabaseBuilder builder = new EmbeddedDatabaseBuilder();
+            return builder.setType(EmbeddedDatabaseType.H2).build();
+        }
+
+        @Bean
+        public LocalContainerEntityManagerFactoryBean entityManagerFactory() {
+
+            HibernateJpaVendorAdapter vendorAdapter = new HibernateJpaVendorAdapter();
+            vendorAdapter.setDatabase(Database.H2);
+            vendorAdapter.setGenerateDdl(true);
+
+            LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+            factory.setJpaVendorAdapter(vendorAdapter);
+            factory.setPackagesToScan("internal.org.springframework.content.azure.it.presigned");
+            factory.setDataSource(dataSource());
+
+            return factory;
+        }
+
+        @Bean
+        public PlatformTransactionManager transactionManager() {
+
+            JpaTransactionManager txManager = new JpaTransactionManager();
+            txManager.setEntityManagerFactory(entityManagerFactory().getObject());
+            return txManager;
+        }
+    }
+
+    @Entity
+    @Setter
+    @Getter
+    @NoArgsConstructor
+    public static class TestEntity {
+
+        @Id
+        @GeneratedValue(strategy=GenerationType.AUTO)
+        private Long id;
+
+        @ContentId
+        private String contentId;
+
+        @ContentLength
+        private long contentLen;
+
+        @MimeType
+        private String contentType;
+    }
+
+    public interface TestEntityRepository extends JpaRepository<TestEntity, Long> {}
+    public interface TestEntityStore extends ContentStore<TestEntity, String> {}
+}
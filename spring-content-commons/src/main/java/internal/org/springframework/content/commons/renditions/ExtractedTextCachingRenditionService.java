@@ -0,0 +1,115 @@
+package internal.org.springframework.content.commons.renditions;
+
+import static java.lang.String.format;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import org.springframework.content.commons.io.SpillFileManager;
+import org.springframework.content.commons.io.SpillOutputStream;
+import org.springframework.content.commons.renditions.ExtractedTextCache;
+import org.springframework.content.commons.renditions.RenditionService;
+import org.springframework.content.commons.repository.StoreAccessException;
+import org.springframework.util.Assert;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.util.StreamUtils;
+
+/**
+ * Decorates a {@link RenditionService} so that {@code text/plain} renditions are served from an
+ * {@link ExtractedTextCache}, keyed by the SHA-256 digest of the source content.
+ */
+public class ExtractedTextCachingRenditionService implements RenditionService {
+
+    private final RenditionService delegate;
+    private final ExtractedTextCache cache;
+    private final SpillFileManager spillFileManager;
+
+    public ExtractedTextCachingRenditionService(RenditionService delegate, ExtractedTextCache cache) {
+        this(delegate, cache, null);
+    }
+
+    /**
+     * @param spillFileManager
+     *          buffers the source content while its digest is computed; the default manager if null
+     */
+    public ExtractedTextCachingRenditionService(RenditionService delegate, ExtractedTextCache cache, SpillFileManager spillFileManager) {
+        Assert.notNull(delegate, "delegate must not be null");
+        Assert.notNull(cache, "cache must not be null");
+
+        this.delegate = delegate;
+        this.cache = cache;
+        this.spillFileManager = spillFileManager != null ? spillFileManager : SpillFileManager.getDefault();
+    }
+
+    public RenditionService getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public boolean canConvert(String fromMimeType, String toMimeType) {
+        return delegate.canConvert(fromMimeType, toMimeType);
+    }
+
+    @Override
+    public String[] conversions(String fromMimeType) {
+        return delegate.conversions(fromMimeType);
+    }
+
+    @Override
+    public InputStream convert(String fromMimeType, InputStream fromInputSource, String toMimeType) {
+
+        if (!MimeTypeUtils.TEXT_PLAIN.equalsTypeAndSubtype(MimeType.valueOf(toMimeType))) {
+            return delegate.convert(fromMimeType, fromInputSource, toMimeType);
+        }
+
+        // don't spool and digest content that cannot be converted anyway
+        if (!delegate.canConvert(fromMimeType, toMimeType)) {
+            return null;
+        }
+
+        SpillOutputStream source = null;
+        try {
+            source = spillFileManager.newOutputStream();
+
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (InputStream in = new DigestInputStream(fromInputSource, digest)) {
+                StreamUtils.copy(in, source);
+            }
+            String key = toHex(digest.digest());
+
+            InputStream cached = cache.get(key);
+            if (cached != null) {
+                return cached;
+            }
+
+            try (InputStream in = source.getInputStream()) {
+                InputStream text = delegate.convert(fromMimeType, in, toMimeType);
+                if (text == null) {
+                    return null;
+                }
+                // not read back with get, as the entry may be evicted by then
+                return cache.put(key, text);
+            }
+        }
+        catch (IOException | NoSuchAlgorithmException e) {
+            throw new StoreAccessException(format("Unable to convert %s content to %s", fromMimeType, toMimeType), e);
+        }
+        finally {
+            if (source != null) {
+                source.release();
+            }
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+}
@@ -3,65 +3,237 @@ package internal.org.springframework.content.commons.renditions;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashSet;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.content.commons.renditions.RenditionExecutor;
 import org.springframework.content.commons.renditions.RenditionProvider;
 import org.springframework.content.commons.renditions.RenditionService;
+import org.springframework.util.Assert;
 import org.springframework.util.MimeType;
 
+/**
+ * Routes conversions through a graph of rendition providers built once, at construction.
+ * <p>
+ * Each provider contributes an edge per mime type it produces.  Where no single provider can make a conversion
+ * providers are chained, the output of one stage streaming into the next, using the cheapest chain of at most
+ * {@code maximumHops} providers.  Routes are cached by requested mime types.
+ */
 public class RenditionServiceImpl implements RenditionService {
 
-    private List<RenditionProvider> providers = new ArrayList<>();
+    public static final int DEFAULT_MAXIMUM_HOPS = 3;
+
+    private static final int MAXIMUM_CACHED_ROUTES = 1024;
+    private static final List<Edge> NO_ROUTE = Collections.emptyList();
+
+    private final List<Edge> edges = new ArrayList<>();
+    private final Map<String, List<Edge>> routes = new ConcurrentHashMap<>();
+    private final Map<String, String[]> conversions = new ConcurrentHashMap<>();
+
+    private int maximumHops = DEFAULT_MAXIMUM_HOPS;
+    private RenditionExecutor executor;
 
     @Autowired(required=false)
     public RenditionServiceImpl(RenditionProvider... providers) {
         for (RenditionProvider provider : providers) {
-            this.providers.add(provider);
+            MimeType consumes = MimeType.valueOf(provider.consumes());
+            for (String produce : provider.produces()) {
+                edges.add(new Edge(edges.size(), provider, consumes, produce, Math.max(provider.cost(), 0)));
+            }
         }
-    }
 
-    @Override
-    public boolean canConvert(String fromMimeType, String toMimeType) {
-        for (RenditionProvider provider : providers) {
-            if (MimeType.valueOf(fromMimeType).includes(MimeType.valueOf(provider.consumes()))) {
-                for (String produce : provider.produces()) {
-                    if (MimeType.valueOf(toMimeType).includes(MimeType.valueOf(produce))) {
-                        return true;
-                    }
+        for (Edge edge : edges) {
+            for (Edge next : edges) {
+                if (next.provider != edge.provider && next.consumes.isCompatibleWith(edge.produces)) {
+                    edge.next.add(next);
                 }
             }
         }
-        return false;
+    }
+
+    /**
+     * Runs conversions through the given executor, rather than on the calling thread
+     */
+    public void setRenditionExecutor(RenditionExecutor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Sets the maximum number of providers that may be chained to make one conversion.  1 disables chaining.
+     */
+    public void setMaximumHops(int maximumHops) {
+        Assert.isTrue(maximumHops > 0, "maximumHops must be greater than 0");
+        this.maximumHops = maximumHops;
+        this.routes.clear();
+        this.conversions.clear();
+    }
+
+    @Override
+    public boolean canConvert(String fromMimeType, String toMimeType) {
+        return !route(fromMimeType, toMimeType).isEmpty();
     }
 
     @Override
     public String[] conversions(String fromMimeType) {
-        Set<String> conversions = new HashSet<>();
-        for (RenditionProvider provider : providers) {
-            if (provider.consumes().equals(fromMimeType)) {
-                conversions.addAll(Arrays.asList(provider.produces()));
+        String[] reachable = conversions.get(fromMimeType);
+        if (reachable == null) {
+            reachable = reachable(MimeType.valueOf(fromMimeType));
+            if (conversions.size() < MAXIMUM_CACHED_ROUTES) {
+                conversions.put(fromMimeType, reachable);
             }
         }
-        return conversions.toArray(new String[] {});
+        return reachable.clone();
     }
 
     @Override
     public InputStream convert(String fromMimeType, InputStream fromInputSource, String toMimeType) {
-        for (RenditionProvider provider : providers) {
-            if (MimeType.valueOf(fromMimeType)
-                    .includes(MimeType.valueOf(provider.consumes()))) {
-                for (String produce : provider.produces()) {
-                    if (MimeType.valueOf(toMimeType)
-                            .includes(MimeType.valueOf(produce))) {
-                        return provider.convert(fromInputSource, toMimeType);
-                    }
+        List<Edge> route = route(fromMimeType, toMimeType);
+        if (route.isEmpty()) {
+            return null;
+        }
+
+        InputStream stage = fromInputSource;
+        String stageMimeType = fromMimeType;
+        for (int i = 0; i < route.size() && stage != null; i++) {
+            Edge edge = route.get(i);
+            String target = (i == route.size() - 1) ? toMimeType : edge.produce;
+            if (executor != null) {
+                stage = executor.execute(edge.provider, stageMimeType, stage, target);
+            } else {
+                stage = edge.provider.convert(stage, target);
+            }
+            stageMimeType = edge.produce;
+        }
+        return stage;
+    }
+
+    private List<Edge> route(String fromMimeType, String toMimeType) {
+        String key = fromMimeType + "->" + toMimeType;
+        List<Edge> route = routes.get(key);
+        if (route == null) {
+            route = findRoute(MimeType.valueOf(fromMimeType), MimeType.valueOf(toMimeType));
+            if (routes.size() < MAXIMUM_CACHED_ROUTES) {
+                routes.put(key, route);
+            }
+        }
+        return route;
+    }
+
+    private List<Edge> findRoute(MimeType from, MimeType to) {
+        int[] costs = new int[edges.size()];
+        Arrays.fill(costs, Integer.MAX_VALUE);
+
+        PriorityQueue<Step> queue = new PriorityQueue<>();
+        for (Edge edge : edges) {
+            if (from.includes(edge.consumes)) {
+                costs[edge.index] = edge.cost;
+                queue.add(new Step(edge, null, edge.cost, 1));
+            }
+        }
+
+        boolean[] settled = new boolean[edges.size()];
+        while (!queue.isEmpty()) {
+            Step step = queue.poll();
+            if (settled[step.edge.index]) {
+                continue;
+            }
+            settled[step.edge.index] = true;
+
+            if (to.includes(step.edge.produces)) {
+                List<Edge> route = new ArrayList<>();
+                for (Step s = step; s != null; s = s.previous) {
+                    route.add(0, s.edge);
+                }
+                return Collections.unmodifiableList(route);
+            }
+
+            if (step.hops >= maximumHops) {
+                continue;
+            }
+            for (Edge next : step.edge.next) {
+                int cost = step.cost + next.cost;
+                if (!settled[next.index] && cost < costs[next.index]) {
+                    costs[next.index] = cost;
+                    queue.add(new Step(next, step, cost, step.hops + 1));
                 }
             }
         }
-        return null;
+        return NO_ROUTE;
     }
 
+    private String[] reachable(MimeType from) {
+        Set<String> reachable = new LinkedHashSet<>();
+        List<Edge> frontier = new ArrayList<>();
+        for (Edge edge : edges) {
+            if (from.includes(edge.consumes)) {
+                frontier.add(edge);
+            }
+        }
+
+        boolean[] visited = new boolean[edges.size()];
+        for (int hop = 0; hop < maximumHops && !frontier.isEmpty(); hop++) {
+            List<Edge> next = new ArrayList<>();
+            for (Edge edge : frontier) {
+                if (!visited[edge.index]) {
+                    visited[edge.index] = true;
+                    reachable.add(edge.produce);
+                    next.addAll(edge.next);
+                }
+            }
+            frontier = next;
+        }
+        return reachable.toArray(new String[] {});
+    }
+
+    private static class Edge {
+
+        private final int index;
+        private final RenditionProvider provider;
+        private final MimeType consumes;
+        private final String produce;
+        private final MimeType produces;
+        private final int cost;
+        private final List<Edge> next = new ArrayList<>();
+
+        Edge(int index, RenditionProvider provider, MimeType consumes, String produce, int cost) {
+            this.index = index;
+            this.provider = provider;
+            this.consumes = consumes;
+            this.produce = produce;
+            this.produces = MimeType.valueOf(produce);
+            this.cost = cost;
+        }
+    }
+
+    private static class Step implements Comparable<Step> {
+
+        private final Edge edge;
+        private final Step previous;
+        private final int cost;
+        private final int hops;
+
+        Step(Edge edge, Step previous, int cost, int hops) {
+            this.edge = edge;
+            this.previous = previous;
+            this.cost = cost;
+            this.hops = hops;
+        }
+
+        @Override
+        public int compareTo(Step other) {
+            if (cost != other.cost) {
+                return Integer.compare(cost, other.cost);
+            }
+            if (hops != other.hops) {
+                return Integer.compare(hops, other.hops);
+            }
+            return Integer.compare(edge.index, other.edge.index);
+        }
+    }
 }
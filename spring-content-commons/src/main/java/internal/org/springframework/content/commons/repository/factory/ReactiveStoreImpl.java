@@ -40,6 +40,11 @@ public class ReactiveStoreImpl implements ReactiveContentStore<Object, Serializa
         return delegate.getContent(entity, path);
     }
 
+    @Override
+    public Flux<ByteBuffer> getContent(Object entity, PropertyPath path, long offset, long length) {
+        return delegate.getContent(entity, path, offset, length);
+    }
+
     @Override
     public Mono<Object> unsetContent(Object entity, PropertyPath propertyPath) {
         return delegate.unsetContent(entity, propertyPath);
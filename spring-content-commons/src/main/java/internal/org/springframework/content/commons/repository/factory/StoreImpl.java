@@ -1,19 +1,16 @@
 package internal.org.springframework.content.commons.repository.factory;
 
-import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.Serializable;
-import java.nio.file.Files;
-import java.nio.file.Path;
 
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.springframework.content.commons.io.SpillFileManager;
+import org.springframework.content.commons.io.SpillOutputStream;
 import org.springframework.content.commons.property.PropertyPath;
 import org.springframework.content.commons.repository.ContentStore;
 import org.springframework.content.commons.repository.events.AfterAssociateEvent;
@@ -39,12 +36,24 @@ public class StoreImpl implements ContentStore<Object, Serializable> {
 
     private final ContentStore<Object, Serializable> delegate;
     private final ApplicationEventPublisher publisher;
-    private final Path copyContentRootPath;
+    private final SpillFileManager spillFileManager;
+
+    /**
+     * Creates a store that spills content copies through the {@link SpillFileManager#getDefault() default} spill
+     * file manager
+     */
+    public StoreImpl(ContentStore<Object, Serializable> delegate, ApplicationEventPublisher publisher) {
+        this(delegate, publisher, (SpillFileManager) null);
+    }
 
-    public StoreImpl(ContentStore<Object, Serializable> delegate, ApplicationEventPublisher publisher, Path copyContentRootPath) {
+    public StoreImpl(ContentStore<Object, Serializable> delegate, ApplicationEventPublisher publisher, SpillFileManager spillFileManager) {
         this.delegate = delegate;
         this.publisher = publisher;
-        this.copyContentRootPath = copyContentRootPath;
+        this.spillFileManager = spillFileManager;
+    }
+
+    private SpillFileManager getSpillFileManager() {
+        return spillFileManager != null ? spillFileManager : SpillFileManager.getDefault();
     }
 
     @Override
@@ -52,19 +61,20 @@ public class StoreImpl implements ContentStore<Object, Serializable> {
 
         Object result = null;
 
-        File contentCopy = null;
+        SpillOutputStream contentCopy = null;
         TeeInputStream contentCopyStream = null;
         try {
-            contentCopy = Files.createTempFile(copyContentRootPath, "contentCopy", ".tmp").toFile();
-            contentCopyStream = new TeeInputStream(content, new FileOutputStream(contentCopy), true);
+            contentCopy = getSpillFileManager().newOutputStream();
+            contentCopyStream = new TeeInputStream(content, contentCopy, true);
             BeforeSetContentEvent before = new BeforeSetContentEvent(property, delegate, contentCopyStream);
 
             publisher.publishEvent(before);
 
             if (contentCopyStream != null && contentCopyStream.isDirty()) {
-                while (contentCopyStream.read(new byte[4096]) != -1) {
+                byte[] buffer = new byte[64 * 1024];
+                while (contentCopyStream.read(buffer) != -1) {
                 }
-                content = new FileInputStream(contentCopy);
+                content = contentCopy.getInputStream();
             }
 
             try {
@@ -86,11 +96,7 @@ public class StoreImpl implements ContentStore<Object, Serializable> {
                 IOUtils.closeQuietly(contentCopyStream);
             }
             if (contentCopy != null) {
-                try {
-                    Files.deleteIfExists(contentCopy.toPath());
-                } catch (IOException e) {
-                    logger.error(String.format("Unable to delete content copy %s", contentCopy.toPath()), e);
-                }
+                contentCopy.release();
             }
         }
 
@@ -101,19 +107,20 @@ public class StoreImpl implements ContentStore<Object, Serializable> {
     public Object setContent(Object property, PropertyPath propertyPath, InputStream content) {
         Object result = null;
 
-        File contentCopy = null;
+        SpillOutputStream contentCopy = null;
         TeeInputStream contentCopyStream = null;
         try {
-            contentCopy = Files.createTempFile(copyContentRootPath, "contentCopy", ".tmp").toFile();
-            contentCopyStream = new TeeInputStream(content, new FileOutputStream(contentCopy), true);
+            contentCopy = getSpillFileManager().newOutputStream();
+            contentCopyStream = new TeeInputStream(content, contentCopy, true);
             BeforeSetContentEvent before = new BeforeSetContentEvent(property, propertyPath, delegate, contentCopyStream);
 
             publisher.publishEvent(before);
 
             if (contentCopyStream != null && contentCopyStream.isDirty()) {
-                while (contentCopyStream.read(new byte[4096]) != -1) {
+                byte[] buffer = new byte[64 * 1024];
+                while (contentCopyStream.read(buffer) != -1) {
                 }
-                content = new FileInputStream(contentCopy);
+                content = contentCopy.getInputStream();
             }
 
             try {
@@ -135,11 +142,7 @@ public class StoreImpl implements ContentStore<Object, Serializable> {
                 IOUtils.closeQuietly(contentCopyStream);
             }
             if (contentCopy != null) {
-                try {
-                    Files.deleteIfExists(contentCopy.toPath());
-                } catch (IOException e) {
-                    logger.error(String.format("Unable to delete content copy %s", contentCopy.toPath()), e);
-                }
+                contentCopy.release();
             }
         }
 
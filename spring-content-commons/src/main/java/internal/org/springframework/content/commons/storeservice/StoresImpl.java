@@ -4,19 +4,25 @@ import java.io.Serializable;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.ListableBeanFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.content.commons.repository.ContentStore;
+import org.springframework.content.commons.repository.ReactiveContentStore;
 import org.springframework.content.commons.repository.Store;
 import org.springframework.content.commons.repository.factory.StoreFactory;
+import org.springframework.content.commons.storeservice.IndexedStoreFilter;
 import org.springframework.content.commons.storeservice.StoreFilter;
 import org.springframework.content.commons.storeservice.StoreInfo;
 import org.springframework.content.commons.storeservice.StoreResolver;
@@ -24,9 +30,21 @@ import org.springframework.content.commons.storeservice.Stores;
 import org.springframework.data.util.ClassTypeInformation;
 import org.springframework.util.Assert;
 
+/**
+ * The stores of a bean factory.
+ * <p>
+ * Stores are indexed by domain class when the factory is read and by the key of any other
+ * {@link IndexedStoreFilter}, such as a store path, the first time it is used so that these filters are looked up
+ * rather than matched against every store.  The stores implementing a store type are memoized too.  Other filters
+ * are matched against every store.
+ */
 public class StoresImpl implements Stores, InitializingBean {
 
-	private Set<StoreInfo> storeInfos = new HashSet<>();
+	private static final int MAXIMUM_INDEXES = 16;
+
+	private List<StoreInfo> storeInfos = new ArrayList<>();
+	private final Map<Function<StoreInfo, Object>, Map<Object, List<StoreInfo>>> indexes = new ConcurrentHashMap<>();
+	private final Map<Class<?>, Set<StoreInfo>> storesByType = new ConcurrentHashMap<>();
 	private Map<String, StoreResolver> resolvers = new HashMap<>();
     private ListableBeanFactory factory = null;
 
@@ -42,6 +60,7 @@ public class StoresImpl implements Stores, InitializingBean {
     @Override
     public void afterPropertiesSet() {
 
+        List<StoreInfo> storeInfos = new ArrayList<>();
         String[] names = this.factory.getBeanNamesForType(StoreFactory.class);
 
         for (String name : names) {
@@ -54,6 +73,13 @@ public class StoresImpl implements Stores, InitializingBean {
 						new StoreSupplier(this.factory, beanNameFromFactoryBeanName(name)));
 				storeInfos.add(info);
 			}
+			else if (ReactiveContentStore.class.isAssignableFrom(factory.getStoreInterface())) {
+				StoreInfo info = new StoreInfoImpl(
+						factory.getStoreInterface(),
+						ClassTypeInformation.from(factory.getStoreInterface()).getRequiredSuperTypeInformation(ReactiveContentStore.class).getTypeArguments().get(0).getType(),
+						new StoreSupplier(this.factory, beanNameFromFactoryBeanName(name)));
+				storeInfos.add(info);
+			}
 			else {
 				StoreInfo info = new StoreInfoImpl(
 						factory.getStoreInterface(),
@@ -62,6 +88,11 @@ public class StoresImpl implements Stores, InitializingBean {
 				storeInfos.add(info);
 			}
 		}
+
+		this.storeInfos = Collections.unmodifiableList(storeInfos);
+		indexes.clear();
+		storesByType.clear();
+		indexes.put(DOMAIN_CLASS, index(DOMAIN_CLASS));
 	}
 
     private String beanNameFromFactoryBeanName(String name) {
@@ -93,9 +124,11 @@ public class StoresImpl implements Stores, InitializingBean {
 		Assert.notNull(storeType, "storeType must not be null");
 		Assert.notNull(filter, "filter must not be null");
 
+		Set<StoreInfo> implementations = implementationsOf(storeType);
+
 		List<StoreInfo> candidates = new ArrayList<>();
-		for (StoreInfo info : storeInfos) {
-			if (info.getImplementation(storeType) != null && filter.matches(info)) {
+		for (StoreInfo info : candidates(filter)) {
+			if (implementations.contains(info) && filter.matches(info)) {
 				candidates.add(info);
 			}
 		}
@@ -117,8 +150,8 @@ public class StoresImpl implements Stores, InitializingBean {
 
     @Override
     public StoreInfo[] getStores(StoreFilter filter) {
-        Set<StoreInfo> storeInfos = new HashSet<>();
-        for (StoreInfo info : this.storeInfos) {
+        Set<StoreInfo> storeInfos = new LinkedHashSet<>();
+        for (StoreInfo info : candidates(filter)) {
             if (filter.matches(info)) {
                 storeInfos.add(info);
             }
@@ -133,15 +166,63 @@ public class StoresImpl implements Stores, InitializingBean {
 
 	@Override
 	public StoreInfo[] getStores(Class<?> storeType, StoreFilter filter) {
-		Set<StoreInfo> storeInfos = new HashSet<>();
-		for (StoreInfo info : this.storeInfos) {
-			if (info.getImplementation(storeType) != null && filter.matches(info)) {
+		Set<StoreInfo> implementations = implementationsOf(storeType);
+		if (filter == MATCH_ALL) {
+			return implementations.toArray(new StoreInfo[] {});
+		}
+
+		Set<StoreInfo> storeInfos = new LinkedHashSet<>();
+		for (StoreInfo info : candidates(filter)) {
+			if (implementations.contains(info) && filter.matches(info)) {
 				storeInfos.add(info);
 			}
 		}
 		return storeInfos.toArray(new StoreInfo[] {});
 	}
 
+	private Collection<StoreInfo> candidates(StoreFilter filter) {
+
+		if (filter instanceof IndexedStoreFilter) {
+			IndexedStoreFilter indexed = (IndexedStoreFilter) filter;
+
+			Map<Object, List<StoreInfo>> index = indexes.get(indexed.index());
+			if (index == null && indexes.size() < MAXIMUM_INDEXES) {
+				index = index(indexed.index());
+				indexes.put(indexed.index(), index);
+			}
+			if (index != null) {
+				return index.getOrDefault(indexed.key(), Collections.emptyList());
+			}
+		}
+		return storeInfos;
+	}
+
+	private Map<Object, List<StoreInfo>> index(Function<StoreInfo, Object> keys) {
+
+		Map<Object, List<StoreInfo>> index = new HashMap<>();
+		for (StoreInfo info : storeInfos) {
+			index.computeIfAbsent(keys.apply(info), (key) -> new ArrayList<>(1)).add(info);
+		}
+		return Collections.unmodifiableMap(index);
+	}
+
+	private Set<StoreInfo> implementationsOf(Class<?> storeType) {
+
+		// not computeIfAbsent; getting an implementation may create a store that looks up other stores
+		Set<StoreInfo> implementations = storesByType.get(storeType);
+		if (implementations == null) {
+			implementations = new LinkedHashSet<>();
+			for (StoreInfo info : storeInfos) {
+				if (info.getImplementation(storeType) != null) {
+					implementations.add(info);
+				}
+			}
+			implementations = Collections.unmodifiableSet(implementations);
+			storesByType.put(storeType, implementations);
+		}
+		return implementations;
+	}
+
 	public static class StoreSupplier implements Supplier<Store<Serializable>>{
 
 	    private final ListableBeanFactory factory;
@@ -1,5 +1,6 @@
 package internal.org.springframework.content.fragments;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
@@ -9,16 +10,23 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.content.commons.fragments.ContentStoreAware;
+import org.springframework.content.commons.io.SpillFileManager;
 import org.springframework.content.commons.mappingcontext.ContentProperty;
 import org.springframework.content.commons.mappingcontext.MappingContext;
 import org.springframework.content.commons.property.PropertyPath;
+import org.springframework.content.commons.renditions.ExtractedTextCache;
 import org.springframework.content.commons.renditions.Renderable;
+import org.springframework.content.commons.renditions.RenditionCache;
+import org.springframework.content.commons.renditions.RenditionExecutor;
+import org.springframework.content.commons.renditions.RenditionKey;
 import org.springframework.content.commons.renditions.RenditionProvider;
 import org.springframework.content.commons.renditions.RenditionService;
+import org.springframework.content.commons.renditions.RenditionUnavailableException;
 import org.springframework.content.commons.repository.ContentStore;
 import org.springframework.content.commons.utils.BeanUtils;
 import org.springframework.core.io.Resource;
 
+import internal.org.springframework.content.commons.renditions.ExtractedTextCachingRenditionService;
 import internal.org.springframework.content.commons.renditions.RenditionServiceImpl;
 
 public class RenderableImpl implements Renderable, ContentStoreAware {
@@ -33,6 +41,14 @@ public class RenderableImpl implements Renderable, ContentStoreAware {
 
     private List<RenditionProvider> providers = new ArrayList<>();
 
+    private ExtractedTextCache extractedTextCache = null;
+
+    private RenditionCache renditionCache = null;
+
+    private RenditionExecutor renditionExecutor = null;
+
+    private SpillFileManager spillFileManager = null;
+
 	public RenderableImpl() {
        this.mappingContext = new MappingContext("/", ".");
 	}
@@ -57,9 +73,34 @@ public class RenderableImpl implements Renderable, ContentStoreAware {
 		this.contentStore = store;
 	}
 
+	@Autowired(required=false)
+	public void setExtractedTextCache(ExtractedTextCache extractedTextCache) {
+	    this.extractedTextCache = extractedTextCache;
+	}
+
+	@Autowired(required=false)
+	public void setRenditionCache(RenditionCache renditionCache) {
+	    this.renditionCache = renditionCache;
+	}
+
+	@Autowired(required=false)
+	public void setRenditionExecutor(RenditionExecutor renditionExecutor) {
+	    this.renditionExecutor = renditionExecutor;
+	}
+
+	@Autowired(required=false)
+	public void setSpillFileManager(SpillFileManager spillFileManager) {
+	    this.spillFileManager = spillFileManager;
+	}
+
 	public RenditionService getRenditionService() {
 	    if (this.renditionService == null) {
-	        this.renditionService = new RenditionServiceImpl(providers.toArray(new RenditionProvider[0]));
+	        RenditionServiceImpl renditionService = new RenditionServiceImpl(providers.toArray(new RenditionProvider[0]));
+	        renditionService.setRenditionExecutor(this.renditionExecutor);
+	        this.renditionService = renditionService;
+	        if (this.extractedTextCache != null) {
+	            this.renditionService = new ExtractedTextCachingRenditionService(this.renditionService, this.extractedTextCache, this.spillFileManager);
+	        }
 	    }
 	    return this.renditionService;
 	}
@@ -80,11 +121,20 @@ public class RenderableImpl implements Renderable, ContentStoreAware {
 		if (this.getRenditionService().canConvert(fromMimeType, mimeType)) {
 			InputStream content = null;
 			try {
+			    RenditionKey key = renditionCache != null ? RenditionKey.of(entity, mimeType, contentStore.getResource(entity)) : null;
+			    InputStream cached = getCachedRendition(key);
+			    if (cached != null) {
+			        return cached;
+			    }
+
 				content = contentStore.getContent(entity);
 				if (content != null) {
-					return this.getRenditionService().convert(fromMimeType, content, mimeType);
+					return cacheRendition(key, this.getRenditionService().convert(fromMimeType, content, mimeType));
 				}
 			}
+			catch (RenditionUnavailableException e) {
+			    throw e;
+			}
 			catch (Exception e) {
 				LOGGER.error(String.format("Failed to get rendition from %s to %s", fromMimeType, mimeType), e);
 			}
@@ -111,14 +161,24 @@ public class RenderableImpl implements Renderable, ContentStoreAware {
         if (this.getRenditionService().canConvert(fromMimeType.toString(), mimeType)) {
             try {
                 Resource r = contentStore.getResource(entity, propertyPath);
+
+                RenditionKey key = renditionCache != null ? RenditionKey.of(entity, property, mimeType, r) : null;
+                InputStream cached = getCachedRendition(key);
+                if (cached != null) {
+                    return cached;
+                }
+
                 if (r != null) {
                     try (InputStream content = r.getInputStream()) {
                         if (content != null) {
-                            return this.getRenditionService().convert(fromMimeType.toString(), content, mimeType);
+                            return cacheRendition(key, this.getRenditionService().convert(fromMimeType.toString(), content, mimeType));
                         }
                     }
                 }
             }
+            catch (RenditionUnavailableException e) {
+                throw e;
+            }
             catch (Exception e) {
                 LOGGER.error(String.format("Failed to get rendition from %s to %s", fromMimeType, mimeType), e);
             }
@@ -126,6 +186,23 @@ public class RenderableImpl implements Renderable, ContentStoreAware {
         return null;
     }
 
+    private InputStream getCachedRendition(RenditionKey key) throws IOException {
+        if (key == null) {
+            return null;
+        }
+
+        Resource cached = renditionCache.get(key);
+        return cached != null ? cached.getInputStream() : null;
+    }
+
+    private InputStream cacheRendition(RenditionKey key, InputStream rendition) throws IOException {
+        if (key == null || rendition == null) {
+            return rendition;
+        }
+
+        return renditionCache.put(key, rendition).getInputStream();
+    }
+
     @Override
     public boolean hasRendition(Object entity, String mimeType) {
 
@@ -0,0 +1,54 @@
+package org.springframework.content.commons.io;
+
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * A writer that passes through at most a maximum number of characters and discards the rest.  Producers that write
+ * text incrementally can check {@link #isLimitReached()} to stop early.
+ */
+public class LimitedWriter extends FilterWriter {
+
+    private final long maximumCharacters;
+    private long written = 0;
+
+    public LimitedWriter(Writer out, long maximumCharacters) {
+        super(out);
+        this.maximumCharacters = maximumCharacters;
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        if (written < maximumCharacters) {
+            out.write(c);
+            written++;
+        }
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        int allowed = (int) Math.min(len, maximumCharacters - written);
+        if (allowed > 0) {
+            out.write(cbuf, off, allowed);
+            written += allowed;
+        }
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        int allowed = (int) Math.min(len, maximumCharacters - written);
+        if (allowed > 0) {
+            out.write(str, off, allowed);
+            written += allowed;
+        }
+    }
+
+    public long getWritten() {
+        return written;
+    }
+
+    public boolean isLimitReached() {
+        return written >= maximumCharacters;
+    }
+}
@@ -1,16 +1,29 @@
 package org.springframework.content.commons.io;
 
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.ArrayList;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
 import java.util.Arrays;
 import java.util.List;
 
+/**
+ * Notifies an observer when the stream is closed.
+ * <p>
+ * All reads are delegated in bulk.  When a file is transferred to another file the transfer is made by the file
+ * channels.
+ */
 public class ObservableInputStream extends InputStream {
 
+    private static final int BUFFER_SIZE = 64 * 1024;
+
     private final InputStream is;
     private final CloseableObserver observer;
 
+    private boolean closed = false;
+
     public ObservableInputStream(InputStream is, CloseableObserver observer) {
         this.is = is;
         this.observer = observer;
@@ -26,10 +39,95 @@ public class ObservableInputStream extends InputStream {
         return this.is.read();
     }
 
+    @Override
+    public int read(byte[] b) throws IOException {
+        return this.is.read(b);
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        return this.is.read(b, off, len);
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        return this.is.skip(n);
+    }
+
+    @Override
+    public boolean markSupported() {
+        return this.is.markSupported();
+    }
+
+    @Override
+    public synchronized void mark(int readlimit) {
+        this.is.mark(readlimit);
+    }
+
+    @Override
+    public synchronized void reset() throws IOException {
+        this.is.reset();
+    }
+
+    /**
+     * Transfers the remainder of this stream to the given output stream.  File to file transfers are made by the
+     * file channels, others through a single 64K buffer.
+     *
+     * @return the number of bytes transferred
+     */
+    public long transferTo(OutputStream out) throws IOException {
+
+        if (this.is instanceof FileInputStream && out instanceof FileOutputStream) {
+            FileChannel from = ((FileInputStream) this.is).getChannel();
+            FileChannel to = ((FileOutputStream) out).getChannel();
+
+            long transferred = 0;
+            long position = from.position();
+            long size = from.size();
+            while (position < size) {
+                long count = from.transferTo(position, size - position, to);
+                if (count <= 0) {
+                    break;
+                }
+                position += count;
+                transferred += count;
+            }
+            from.position(position);
+            return transferred;
+        }
+
+        long transferred = 0;
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int read;
+        while ((read = this.is.read(buffer, 0, buffer.length)) != -1) {
+            out.write(buffer, 0, read);
+            transferred += read;
+        }
+        return transferred;
+    }
+
+    /**
+     * @return the channel of the underlying file, or null if this stream is not reading a file
+     */
+    public FileChannel getChannel() {
+        if (this.is instanceof FileInputStream) {
+            return ((FileInputStream) this.is).getChannel();
+        }
+        return null;
+    }
+
     @Override
     public void close() throws IOException {
-        super.close();
-        this.observer.closed();
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+
+        try {
+            this.is.close();
+        } finally {
+            this.observer.closed();
+        }
     }
 
     public List<CloseableObserver> getObservers() {
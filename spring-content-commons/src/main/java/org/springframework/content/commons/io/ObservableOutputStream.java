@@ -12,6 +12,8 @@ public class ObservableOutputStream extends OutputStream {
     private final OutputStream delegate;
     private List<CloseableObserver> observers;
 
+    private boolean closed = false;
+
     public ObservableOutputStream(OutputStream delegate) {
         this.delegate = delegate;
         this.observers = new ArrayList<>();
@@ -22,8 +24,28 @@ public class ObservableOutputStream extends OutputStream {
         this.delegate.write(b);
     }
 
+    @Override
+    public void write(byte[] b) throws IOException {
+        this.delegate.write(b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        this.delegate.write(b, off, len);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        this.delegate.flush();
+    }
+
     @Override
     public void close() throws IOException {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+
         try {
             this.delegate.close();
         } finally {
@@ -0,0 +1,19 @@
+package org.springframework.content.commons.io;
+
+import java.io.IOException;
+import java.net.URL;
+import java.time.Duration;
+
+public interface PresignableResource {
+
+    /**
+     * An optional aspect for Resources whose content can be read directly from their storage with a time-limited,
+     * presigned URL
+     *
+     * @param validity how long the URL is valid for
+     * @param contentType the Content-Type the storage should respond with, or null
+     * @return the presigned URL, or null if the storage's credentials cannot presign URLs
+     * @throws IOException
+     */
+    URL getPresignedUrl(Duration validity, String contentType) throws IOException;
+}
@@ -0,0 +1,336 @@
+package org.springframework.content.commons.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.util.Assert;
+
+/**
+ * An input stream whose content is written, as it is read, by a {@link Producer} running on another thread.
+ * <p>
+ * The producer and the reader share a fixed size buffer so the producer blocks, rather than buffering more content,
+ * when the reader falls behind.  Closing the stream stops the producer at its next write.  An exception thrown by the
+ * producer is rethrown to the reader once the content produced before it has been read.
+ * <p>
+ * Producers run on the executor they are started with.  Each producer holds a thread until its stream is read or
+ * closed, so the executor should be bounded; see {@link #newExecutor(String, int, int)}.
+ * <p>
+ * {@link #getProducingTime()} reports how long the producer has worked, not counting the time it waited for the reader
+ * to make room, so that a slow reader is not mistaken for a slow producer.
+ */
+public class ProducerInputStream extends InputStream {
+
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private final byte[] buffer;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+
+    private int head = 0;
+    private int count = 0;
+    private boolean finished = false;
+    private boolean closed = false;
+    private Throwable failure;
+    private Thread producerThread;
+    private Runnable onProduced;
+    private boolean producing = false;
+    private boolean waiting = false;
+    private long producingSince;
+    private long producedAt;
+    private long waitingSince;
+    private long waitedNanos = 0;
+
+    private ProducerInputStream(int bufferSize) {
+        Assert.isTrue(bufferSize > 0, "bufferSize must be greater than 0");
+        this.buffer = new byte[bufferSize];
+    }
+
+    /**
+     * Starts the producer on the given executor.  If the executor rejects the producer, reading the stream fails.
+     */
+    public static ProducerInputStream start(Producer producer, Executor executor) {
+        return start(producer, DEFAULT_BUFFER_SIZE, executor);
+    }
+
+    public static ProducerInputStream start(Producer producer, int bufferSize, Executor executor) {
+        Assert.notNull(producer, "producer must not be null");
+        Assert.notNull(executor, "executor must not be null");
+
+        ProducerInputStream in = new ProducerInputStream(bufferSize);
+        try {
+            executor.execute(() -> in.produce(producer));
+        } catch (RejectedExecutionException ree) {
+            in.finish(ree);
+        }
+        return in;
+    }
+
+    /**
+     * Creates a bounded pool of daemon threads for producers.  At most {@code threads} producers run at once and at
+     * most {@code queued} wait for a thread; further producers are rejected.  Idle threads time out.
+     */
+    public static ThreadPoolExecutor newExecutor(String threadNamePrefix, int threads, int queued) {
+        Assert.isTrue(threads > 0, "threads must be greater than 0");
+        Assert.isTrue(queued >= 0, "queued must not be negative");
+
+        AtomicInteger count = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                queued > 0 ? new ArrayBlockingQueue<>(queued) : new SynchronousQueue<>(),
+                r -> {
+                    Thread t = new Thread(r, threadNamePrefix + count.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] b = new byte[1];
+        int read = read(b, 0, 1);
+        return read == -1 ? -1 : b[0] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        Assert.notNull(b, "b must not be null");
+        if (len == 0) {
+            return 0;
+        }
+
+        lock.lock();
+        try {
+            while (count == 0) {
+                if (closed) {
+                    throw new IOException("Stream closed");
+                }
+                if (finished) {
+                    if (failure != null) {
+                        throw failure instanceof IOException ? (IOException) failure : new IOException(failure);
+                    }
+                    return -1;
+                }
+                await(notEmpty);
+            }
+
+            int read = 0;
+            while (read < len && count > 0) {
+                int chunk = Math.min(Math.min(len - read, count), buffer.length - head);
+                System.arraycopy(buffer, head, b, off + read, chunk);
+                head = (head + chunk) % buffer.length;
+                count -= chunk;
+                read += chunk;
+            }
+            notFull.signalAll();
+            return read;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int available() {
+        lock.lock();
+        try {
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return whether the producer has finished, whether or not its content has been read
+     */
+    public boolean isProduced() {
+        lock.lock();
+        try {
+            return finished;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Runs the given callback once the producer has finished, on the producer's thread, or at once if it already has.
+     */
+    public void onProduced(Runnable callback) {
+        Assert.notNull(callback, "callback must not be null");
+
+        lock.lock();
+        try {
+            if (!finished) {
+                onProduced = callback;
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+        callback.run();
+    }
+
+    /**
+     * @return how long the producer has been producing, excluding the time it waited to start and for the reader to
+     * make room in the buffer
+     */
+    public Duration getProducingTime() {
+        lock.lock();
+        try {
+            if (!producing) {
+                return Duration.ZERO;
+            }
+            long now = finished ? producedAt : System.nanoTime();
+            long waited = waitedNanos + (waiting ? now - waitingSince : 0);
+            return Duration.ofNanos(now - producingSince - waited);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Closes the stream.  A producer that has not finished fails at its next write and is interrupted.
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            count = 0;
+            notFull.signalAll();
+            notEmpty.signalAll();
+            if (!finished && producerThread != null) {
+                producerThread.interrupt();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void produce(Producer producer) {
+        lock.lock();
+        try {
+            if (closed) {
+                finished = true;
+                return;
+            }
+            producerThread = Thread.currentThread();
+            producing = true;
+            producingSince = System.nanoTime();
+        } finally {
+            lock.unlock();
+        }
+
+        Throwable t = null;
+        try (OutputStream out = new PipeOutputStream()) {
+            producer.produce(out);
+        } catch (Throwable e) {
+            t = e;
+        } finally {
+            finish(t);
+            // clear an interrupt raised by close
+            Thread.interrupted();
+        }
+    }
+
+    private void finish(Throwable t) {
+        Runnable callback;
+        lock.lock();
+        try {
+            finished = true;
+            failure = t;
+            producerThread = null;
+            producedAt = System.nanoTime();
+            callback = onProduced;
+            onProduced = null;
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        if (callback != null) {
+            callback.run();
+        }
+    }
+
+    private void write(byte[] b, int off, int len) throws IOException {
+        int written = 0;
+        lock.lock();
+        try {
+            while (written < len) {
+                while (count == buffer.length && !closed) {
+                    waiting = true;
+                    waitingSince = System.nanoTime();
+                    try {
+                        notFull.await();
+                    } catch (InterruptedException ie) {
+                        if (!closed) {
+                            Thread.currentThread().interrupt();
+                            throw new InterruptedIOException();
+                        }
+                    } finally {
+                        waitedNanos += System.nanoTime() - waitingSince;
+                        waiting = false;
+                    }
+                }
+                if (closed) {
+                    throw new IOException("Pipe closed by reader");
+                }
+
+                int tail = (head + count) % buffer.length;
+                int chunk = Math.min(Math.min(len - written, buffer.length - count), buffer.length - tail);
+                System.arraycopy(b, off + written, buffer, tail, chunk);
+                count += chunk;
+                written += chunk;
+                notEmpty.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void await(Condition condition) throws InterruptedIOException {
+        try {
+            condition.await();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        }
+    }
+
+    /**
+     * Writes the content of a {@link ProducerInputStream}
+     */
+    @FunctionalInterface
+    public interface Producer {
+
+        void produce(OutputStream out) throws Exception;
+    }
+
+    private class PipeOutputStream extends OutputStream {
+
+        @Override
+        public void write(int b) throws IOException {
+            ProducerInputStream.this.write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            ProducerInputStream.this.write(b, off, len);
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package org.springframework.content.commons.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.PhantomReference;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.util.Assert;
+
+import static java.lang.String.format;
+
+/**
+ * Manages the temporary files content is spilled to when it must be buffered; for example, when a rendition is
+ * produced or an event handler has to read content before it is stored.
+ * <p>
+ * Content is buffered in memory up to a threshold and only then spilled to a file in the manager's directory.  The
+ * total size of the files spilled by a manager is limited by its quota.  Spill files are deleted when they are
+ * released or, if they never are, once their {@link SpillOutputStream} and any stream or resource read from it are
+ * garbage collected.
+ */
+public class SpillFileManager {
+
+    private static final Log logger = LogFactory.getLog(SpillFileManager.class);
+
+    public static final int DEFAULT_MEMORY_THRESHOLD = 256 * 1024;
+    public static final Duration DEFAULT_STALE_AFTER = Duration.ofDays(1);
+
+    static final String PREFIX = "spill-";
+    static final String SUFFIX = ".tmp";
+
+    private static final ReferenceQueue<SpillOutputStream> unreachable = new ReferenceQueue<>();
+    private static volatile SpillFileManager defaultManager;
+
+    /**
+     * The directory the default manager spills to; {@code spring-content} in the temporary directory
+     */
+    public static Path defaultDirectory() {
+        return Paths.get(System.getProperty("java.io.tmpdir"), "spring-content");
+    }
+
+    private final Path directory;
+    private int memoryThreshold = DEFAULT_MEMORY_THRESHOLD;
+    private long quota = Long.MAX_VALUE;
+    private Duration staleAfter = DEFAULT_STALE_AFTER;
+
+    private final Set<SpillFile> files = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean initialized = new AtomicBoolean(false);
+
+    private final AtomicLong diskUsage = new AtomicLong();
+    private final AtomicLong bytesSpilled = new AtomicLong();
+    private final AtomicLong spillCount = new AtomicLong();
+    private final AtomicLong reapedCount = new AtomicLong();
+    private final AtomicLong quotaRejections = new AtomicLong();
+
+    static {
+        Thread reaper = new Thread(SpillFileManager::reap, "spill-file-reaper");
+        reaper.setDaemon(true);
+        reaper.start();
+    }
+
+    public SpillFileManager(Path directory) {
+        Assert.notNull(directory, "directory must not be null");
+        this.directory = directory;
+    }
+
+    /**
+     * @return the manager used by stores and renderers that are not given one; spills to the
+     * {@link #defaultDirectory() default directory}
+     */
+    public static SpillFileManager getDefault() {
+        if (defaultManager == null) {
+            synchronized (SpillFileManager.class) {
+                if (defaultManager == null) {
+                    defaultManager = new SpillFileManager(defaultDirectory());
+                }
+            }
+        }
+        return defaultManager;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public int getMemoryThreshold() {
+        return memoryThreshold;
+    }
+
+    /**
+     * Sets the number of bytes buffered in memory before content is spilled to disk.  0 always spills.
+     */
+    public void setMemoryThreshold(int memoryThreshold) {
+        Assert.isTrue(memoryThreshold >= 0, "memoryThreshold must not be negative");
+        this.memoryThreshold = memoryThreshold;
+    }
+
+    public long getQuota() {
+        return quota;
+    }
+
+    /**
+     * Sets the maximum number of bytes that may be spilled to disk at any one time.  Writes that would exceed it fail
+     * with a {@link SpillQuotaExceededException}.
+     */
+    public void setQuota(long quota) {
+        Assert.isTrue(quota > 0, "quota must be greater than 0");
+        this.quota = quota;
+    }
+
+    /**
+     * Sets the age after which spill files left in the directory by a previous process are deleted
+     */
+    public void setStaleAfter(Duration staleAfter) {
+        Assert.notNull(staleAfter, "staleAfter must not be null");
+        this.staleAfter = staleAfter;
+    }
+
+    public SpillOutputStream newOutputStream() {
+        return new SpillOutputStream(this);
+    }
+
+    /**
+     * @return the number of bytes currently spilled to disk
+     */
+    public long getDiskUsage() {
+        return diskUsage.get();
+    }
+
+    /**
+     * @return the total number of bytes ever spilled to disk
+     */
+    public long getBytesSpilled() {
+        return bytesSpilled.get();
+    }
+
+    public long getSpillCount() {
+        return spillCount.get();
+    }
+
+    /**
+     * @return the number of spill files deleted because they were never released
+     */
+    public long getReapedCount() {
+        return reapedCount.get();
+    }
+
+    public long getQuotaRejections() {
+        return quotaRejections.get();
+    }
+
+    public int getFileCount() {
+        return files.size();
+    }
+
+    /* package */ SpillFile createFile(SpillOutputStream owner) throws IOException {
+        if (initialized.compareAndSet(false, true)) {
+            Files.createDirectories(directory);
+            deleteStaleFiles();
+        }
+
+        Path path = Files.createTempFile(directory, PREFIX, SUFFIX);
+        SpillFile file = new SpillFile(this, owner, path);
+        files.add(file);
+        spillCount.incrementAndGet();
+        return file;
+    }
+
+    /* package */ void reserve(SpillFile file, long bytes) throws SpillQuotaExceededException {
+        if (diskUsage.addAndGet(bytes) > quota) {
+            diskUsage.addAndGet(-bytes);
+            quotaRejections.incrementAndGet();
+            throw new SpillQuotaExceededException(format("Spilling %s bytes would exceed the quota of %s bytes in %s", bytes, quota, directory));
+        }
+        file.size.addAndGet(bytes);
+        bytesSpilled.addAndGet(bytes);
+    }
+
+    /* package */ void release(SpillFile file) {
+        if (!file.released.compareAndSet(false, true)) {
+            return;
+        }
+        files.remove(file);
+        file.clear();
+        diskUsage.addAndGet(-file.size.get());
+        try {
+            Files.deleteIfExists(file.path);
+        } catch (IOException e) {
+            logger.warn(format("Unable to delete spill file %s", file.path), e);
+        }
+    }
+
+    private void deleteStaleFiles() {
+        long staleBefore = System.currentTimeMillis() - staleAfter.toMillis();
+        File[] stale = directory.toFile().listFiles((dir, name) -> name.startsWith(PREFIX) && name.endsWith(SUFFIX));
+        if (stale == null) {
+            return;
+        }
+        for (File file : stale) {
+            if (file.lastModified() < staleBefore && file.delete()) {
+                logger.info(format("Deleted stale spill file %s", file));
+            }
+        }
+    }
+
+    private static void reap() {
+        while (true) {
+            try {
+                Reference<? extends SpillOutputStream> reference = unreachable.remove();
+                SpillFile file = (SpillFile) reference;
+                if (!file.released.get()) {
+                    logger.warn(format("Deleting spill file %s that was never released", file.path));
+                    file.manager.reapedCount.incrementAndGet();
+                    file.manager.release(file);
+                }
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Throwable t) {
+                logger.error("Unexpected error reaping spill files", t);
+            }
+        }
+    }
+
+    /* package */ static class SpillFile extends PhantomReference<SpillOutputStream> {
+
+        private final SpillFileManager manager;
+        private final Path path;
+        private final AtomicLong size = new AtomicLong();
+        private final AtomicBoolean released = new AtomicBoolean(false);
+
+        SpillFile(SpillFileManager manager, SpillOutputStream owner, Path path) {
+            super(owner, unreachable);
+            this.manager = manager;
+            this.path = path;
+        }
+
+        Path getPath() {
+            return path;
+        }
+
+        void release() {
+            manager.release(this);
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package org.springframework.content.commons.io;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+
+import org.springframework.content.commons.io.SpillFileManager.SpillFile;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.util.Assert;
+
+/**
+ * Buffers content in memory, spilling it to a file managed by a {@link SpillFileManager} once it exceeds the
+ * manager's memory threshold.
+ * <p>
+ * Once written, the content is read back either once, with {@link #getInputStream()}, which releases the spill file
+ * when that stream is closed, or any number of times through {@link #toResource()}, in which case the caller must
+ * {@link #release()} it.
+ */
+public class SpillOutputStream extends OutputStream {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final SpillFileManager manager;
+
+    private Buffer memory = new Buffer();
+    private SpillFile file;
+    private OutputStream fileOut;
+    private long size = 0;
+    private boolean closed = false;
+
+    /* package */ SpillOutputStream(SpillFileManager manager) {
+        this.manager = manager;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[] {(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        Assert.state(!closed, "spill output stream is closed");
+
+        if (file == null && memory.size() + len > manager.getMemoryThreshold()) {
+            spill();
+        }
+        if (file != null) {
+            manager.reserve(file, len);
+            fileOut.write(b, off, len);
+        } else {
+            memory.write(b, off, len);
+        }
+        size += len;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (fileOut != null) {
+            fileOut.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (fileOut != null) {
+            fileOut.close();
+        }
+    }
+
+    public long size() {
+        return size;
+    }
+
+    /**
+     * @return true if the content was spilled to disk
+     */
+    public boolean isSpilled() {
+        return file != null;
+    }
+
+    /**
+     * Closes this stream and reads the content back.  The spill file, if any, is released when the returned stream is
+     * closed.
+     */
+    public InputStream getInputStream() throws IOException {
+        close();
+        if (file == null) {
+            return memory.toInputStream();
+        }
+        return new ObservableInputStream(new FileInputStream(file.getPath().toFile()), new Releaser(this));
+    }
+
+    /**
+     * Closes this stream and returns its content as a resource that can be read any number of times.  The resource
+     * must be released, by deleting it or by calling {@link #release()}.
+     */
+    public DeletableResource toResource() throws IOException {
+        close();
+        return new SpillResource(this);
+    }
+
+    /**
+     * Deletes the spill file, if any
+     */
+    public void release() {
+        if (file != null) {
+            file.release();
+        }
+        memory = null;
+    }
+
+    private void spill() throws IOException {
+        file = manager.createFile(this);
+        try {
+            fileOut = new BufferedOutputStream(Files.newOutputStream(file.getPath()), BUFFER_SIZE);
+            manager.reserve(file, memory.size());
+            memory.writeTo(fileOut);
+            memory = null;
+        } catch (IOException e) {
+            if (fileOut != null) {
+                fileOut.close();
+            }
+            file.release();
+            throw e;
+        }
+    }
+
+    private InputStream open() throws IOException {
+        Assert.state(closed, "spill output stream is not closed");
+        if (file == null) {
+            Assert.state(memory != null, "spill output stream has been released");
+            return memory.toInputStream();
+        }
+        return new FileInputStream(file.getPath().toFile());
+    }
+
+    private static class Buffer extends ByteArrayOutputStream {
+
+        InputStream toInputStream() {
+            return new ByteArrayInputStream(buf, 0, count);
+        }
+    }
+
+    private static class Releaser implements InputStreamObserver {
+
+        // keeps the spill output stream, and so its file, reachable until the stream reading it is closed
+        private final SpillOutputStream spill;
+
+        Releaser(SpillOutputStream spill) {
+            this.spill = spill;
+        }
+
+        @Override
+        public void closed() {
+            spill.release();
+        }
+    }
+
+    private static class SpillResource extends AbstractResource implements DeletableResource {
+
+        private final SpillOutputStream spill;
+
+        SpillResource(SpillOutputStream spill) {
+            this.spill = spill;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return spill.open();
+        }
+
+        @Override
+        public boolean exists() {
+            return spill.memory != null || (spill.file != null && spill.file.getPath().toFile().exists());
+        }
+
+        @Override
+        public long contentLength() {
+            return spill.size;
+        }
+
+        @Override
+        public File getFile() throws IOException {
+            if (spill.file != null) {
+                return spill.file.getPath().toFile();
+            }
+            return super.getFile();
+        }
+
+        @Override
+        public String getDescription() {
+            return spill.file != null ? "spill file [" + spill.file.getPath() + "]" : "spill buffer [" + spill.size + " bytes]";
+        }
+
+        @Override
+        public void delete() {
+            spill.release();
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package org.springframework.content.commons.io;
+
+import java.io.IOException;
+
+/**
+ * Thrown when spilling content to disk would exceed the quota of a {@link SpillFileManager}
+ */
+public class SpillQuotaExceededException extends IOException {
+
+    private static final long serialVersionUID = -3585011358213516512L;
+
+    public SpillQuotaExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,217 @@
+package org.springframework.content.commons.renditions;
+
+import static java.lang.String.format;
+
+import java.io.InputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.content.commons.annotations.MimeType;
+import org.springframework.content.commons.mappingcontext.ContentProperty;
+import org.springframework.content.commons.mappingcontext.MappingContext;
+import org.springframework.content.commons.repository.ContentStore;
+import org.springframework.content.commons.repository.events.AbstractStoreEventListener;
+import org.springframework.content.commons.repository.events.AfterSetContentEvent;
+import org.springframework.content.commons.utils.BeanUtils;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.core.io.Resource;
+import org.springframework.util.Assert;
+
+/**
+ * Renders selected renditions into a {@link RenditionCache} in the background whenever content is set, so that
+ * requests for them are served from the cache rather than rendered on demand.
+ * <p>
+ * Renditions are selected with {@link PrecomputedRenditions} on the entity type or with
+ * {@link #precompute(Class, String...)}.  Jobs run on a bounded pool of worker threads; a job for a rendition that is
+ * already queued or running is not queued again and, when the queue is full, jobs are dropped and the rendition is
+ * rendered on demand instead.
+ */
+public class EagerRenditionGenerator extends AbstractStoreEventListener<Object> implements DisposableBean {
+
+    private static final Log LOGGER = LogFactory.getLog(EagerRenditionGenerator.class);
+
+    public enum Status {
+        QUEUED, RUNNING
+    }
+
+    private final RenditionService renditionService;
+    private final RenditionCache cache;
+    private final MappingContext mappingContext = new MappingContext("/", ".");
+
+    private final Map<Class<?>, String[]> mimeTypes = new ConcurrentHashMap<>();
+    private final Map<String, Status> inflight = new ConcurrentHashMap<>();
+
+    private int threads = 2;
+    private int queueCapacity = 1000;
+    private volatile ThreadPoolExecutor executor;
+
+    public EagerRenditionGenerator(RenditionService renditionService, RenditionCache cache) {
+        Assert.notNull(renditionService, "renditionService must not be null");
+        Assert.notNull(cache, "cache must not be null");
+
+        this.renditionService = renditionService;
+        this.cache = cache;
+    }
+
+    public void setThreads(int threads) {
+        Assert.isTrue(threads > 0, "threads must be greater than 0");
+        this.threads = threads;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        Assert.isTrue(queueCapacity > 0, "queueCapacity must be greater than 0");
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Precomputes renditions of the given domain type's content, in addition to any declared with
+     * {@link PrecomputedRenditions}
+     */
+    public EagerRenditionGenerator precompute(Class<?> domainType, String... mimeTypes) {
+        this.mimeTypes.put(domainType, mimeTypes);
+        return this;
+    }
+
+    /**
+     * Returns the status of the rendition with the given key, or null if it is neither queued nor running
+     */
+    public Status getStatus(RenditionKey key) {
+        return inflight.get(key.getId());
+    }
+
+    @Override
+    protected void onAfterSetContent(AfterSetContentEvent event) {
+
+        Object entity = event.getSource();
+
+        List<String> targets = mimeTypesFor(entity.getClass());
+        if (targets.isEmpty()) {
+            return;
+        }
+
+        ContentStore<Object, Serializable> store = event.getStore();
+
+        if (event.getPropertyPath() != null) {
+            ContentProperty property = mappingContext.getContentProperty(entity.getClass(), event.getPropertyPath().getName());
+            if (property == null) {
+                return;
+            }
+
+            Object fromMimeType = property.getMimeType(entity);
+            Resource content = store != null ? store.getResource(entity, event.getPropertyPath()) : null;
+            for (String target : targets) {
+                submit(RenditionKey.of(entity, property, target, content), fromMimeType, target, () -> store.getContent(entity, event.getPropertyPath()));
+            }
+        } else {
+            Object fromMimeType = BeanUtils.getFieldWithAnnotation(entity, MimeType.class);
+            Resource content = store != null ? store.getResource(entity) : null;
+            for (String target : targets) {
+                submit(RenditionKey.of(entity, target, content), fromMimeType, target, () -> store.getContent(entity));
+            }
+        }
+    }
+
+    private List<String> mimeTypesFor(Class<?> domainType) {
+
+        List<String> targets = new ArrayList<>();
+
+        PrecomputedRenditions annotation = AnnotationUtils.findAnnotation(domainType, PrecomputedRenditions.class);
+        if (annotation != null) {
+            targets.addAll(Arrays.asList(annotation.value()));
+        }
+
+        targets.addAll(Arrays.asList(mimeTypes.getOrDefault(domainType, new String[0])));
+        return targets;
+    }
+
+    private void submit(RenditionKey key, Object fromMimeType, String toMimeType, ContentSupplier content) {
+
+        if (key == null || fromMimeType == null || !renditionService.canConvert(fromMimeType.toString(), toMimeType)) {
+            return;
+        }
+
+        if (inflight.putIfAbsent(key.getId(), Status.QUEUED) != null) {
+            return;
+        }
+
+        try {
+            executor().execute(() -> render(key, fromMimeType.toString(), toMimeType, content));
+        }
+        catch (RejectedExecutionException e) {
+            inflight.remove(key.getId());
+            LOGGER.warn(format("Rendition queue is full, %s will be rendered on demand", key));
+        }
+    }
+
+    private void render(RenditionKey key, String fromMimeType, String toMimeType, ContentSupplier content) {
+
+        inflight.put(key.getId(), Status.RUNNING);
+        try {
+            if (cache.get(key) != null) {
+                return;
+            }
+
+            try (InputStream in = content.get()) {
+                if (in == null) {
+                    return;
+                }
+
+                InputStream rendition = renditionService.convert(fromMimeType, in, toMimeType);
+                if (rendition != null) {
+                    cache.put(key, rendition);
+                }
+            }
+        }
+        catch (Exception e) {
+            LOGGER.error(format("Failed to precompute rendition %s", key), e);
+        }
+        finally {
+            inflight.remove(key.getId());
+        }
+    }
+
+    private ThreadPoolExecutor executor() {
+        if (executor == null) {
+            synchronized (this) {
+                if (executor == null) {
+                    AtomicInteger count = new AtomicInteger();
+                    executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS, new ArrayBlockingQueue<>(queueCapacity), r -> {
+                        Thread t = new Thread(r, "spring-content-renditions-" + count.incrementAndGet());
+                        t.setDaemon(true);
+                        return t;
+                    });
+                    executor.allowCoreThreadTimeOut(true);
+                }
+            }
+        }
+        return executor;
+    }
+
+    /**
+     * Stops accepting jobs and waits briefly for queued jobs to finish
+     */
+    @Override
+    public void destroy() throws Exception {
+        if (executor != null) {
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ContentSupplier {
+        InputStream get() throws Exception;
+    }
+}
@@ -0,0 +1,34 @@
+package org.springframework.content.commons.renditions;
+
+import java.io.InputStream;
+
+/**
+ * A cache of text extracted from content, keyed by a digest of the content's bytes.
+ * <p>
+ * When an {@code ExtractedTextCache} bean is present, {@code text/plain} renditions are computed once per distinct
+ * content and then served from the cache by indexers, renditions and reindex jobs alike.
+ */
+public interface ExtractedTextCache {
+
+    /**
+     * Returns the cached text for the given content digest
+     *
+     * @param digest
+     *          hex-encoded digest of the source content
+     * @return the cached text, or null if there is no entry for the digest
+     */
+    InputStream get(String digest);
+
+    /**
+     * Caches text for the given content digest.  The text stream is fully consumed and closed.
+     * <p>
+     * Text that the cache does not keep, because it is too large or is evicted at once, is still returned.
+     *
+     * @param digest
+     *          hex-encoded digest of the source content
+     * @param text
+     *          the extracted text
+     * @return the text, to be read in place of the given stream, which has been consumed
+     */
+    InputStream put(String digest, InputStream text);
+}
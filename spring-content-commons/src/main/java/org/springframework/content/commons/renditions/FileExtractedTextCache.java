@@ -0,0 +1,143 @@
+package org.springframework.content.commons.renditions;
+
+import static java.lang.String.format;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.content.commons.io.FileRemover;
+import org.springframework.content.commons.io.ObservableInputStream;
+import org.springframework.content.commons.repository.StoreAccessException;
+import org.springframework.util.Assert;
+
+/**
+ * An {@link ExtractedTextCache} that keeps extracted text as files beneath the given directory.
+ * <p>
+ * The cache is bounded by the total size of its files.  When a put takes it over that size the least recently used
+ * entries are evicted, never the entry being put.  Text larger than the whole cache is not cached; it is returned from
+ * a temporary file that is deleted when it is closed.
+ */
+public class FileExtractedTextCache implements ExtractedTextCache {
+
+    public static final long DEFAULT_MAX_SIZE = 256L * 1024 * 1024;
+
+    private static final String TMP_SUFFIX = ".tmp";
+
+    private final File dir;
+    private final long maxSize;
+
+    // total size of the cached files, or -1 until it is first counted
+    private long size = -1;
+
+    public FileExtractedTextCache(File dir) {
+        this(dir, DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * @param maxSize
+     *          the maximum total size, in bytes, of the cached text
+     */
+    public FileExtractedTextCache(File dir, long maxSize) {
+        Assert.notNull(dir, "dir must not be null");
+        Assert.isTrue(maxSize > 0, "maxSize must be greater than 0");
+        this.dir = dir;
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public InputStream get(String digest) {
+        File file = file(digest);
+        try {
+            InputStream in = new FileInputStream(file);
+            // recently used entries are evicted last
+            file.setLastModified(System.currentTimeMillis());
+            return in;
+        }
+        catch (FileNotFoundException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public InputStream put(String digest, InputStream text) {
+
+        File file = file(digest);
+        File tmp = null;
+        try (InputStream in = text) {
+            Files.createDirectories(file.getParentFile().toPath());
+            tmp = File.createTempFile(digest, TMP_SUFFIX, file.getParentFile());
+            long length = Files.copy(in, tmp.toPath(), StandardCopyOption.REPLACE_EXISTING);
+
+            if (length > maxSize) {
+                InputStream uncached = new ObservableInputStream(new FileInputStream(tmp), new FileRemover(tmp));
+                tmp = null;
+                return uncached;
+            }
+
+            Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            tmp = null;
+
+            // opened before any eviction, which skips it anyway
+            InputStream cached = new FileInputStream(file);
+            added(file, length);
+            return cached;
+        }
+        catch (IOException e) {
+            throw new StoreAccessException(format("Unable to cache extracted text for %s", digest), e);
+        }
+        finally {
+            if (tmp != null) {
+                tmp.delete();
+            }
+        }
+    }
+
+    private synchronized void added(File file, long length) {
+        if (size < 0 || (size += length) > maxSize) {
+            evict(file);
+        }
+    }
+
+    private void evict(File added) {
+
+        List<File> files = new ArrayList<>();
+        long total = 0;
+        File[] shards = dir.listFiles(File::isDirectory);
+        for (File shard : shards != null ? shards : new File[0]) {
+            File[] entries = shard.listFiles(f -> f.isFile() && !f.getName().endsWith(TMP_SUFFIX));
+            for (File entry : entries != null ? entries : new File[0]) {
+                files.add(entry);
+                total += entry.length();
+            }
+        }
+
+        if (total > maxSize) {
+            files.sort(Comparator.comparingLong(File::lastModified));
+            for (File file : files) {
+                if (total <= maxSize) {
+                    break;
+                }
+                if (file.equals(added)) {
+                    continue;
+                }
+                long length = file.length();
+                if (file.delete()) {
+                    total -= length;
+                }
+            }
+        }
+        size = total;
+    }
+
+    private File file(String digest) {
+        return new File(new File(dir, digest.substring(0, 2)), digest);
+    }
+}
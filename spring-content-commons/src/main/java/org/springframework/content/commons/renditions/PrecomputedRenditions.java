@@ -0,0 +1,22 @@
+package org.springframework.content.commons.renditions;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the renditions of an entity's content that an {@link EagerRenditionGenerator} should render in the
+ * background whenever the content is set.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface PrecomputedRenditions {
+
+    /**
+     * The mime types of the renditions to precompute
+     */
+    String[] value();
+}
@@ -0,0 +1,42 @@
+package org.springframework.content.commons.renditions;
+
+import java.io.InputStream;
+
+import org.springframework.core.io.Resource;
+
+/**
+ * A persistent cache of renditions, keyed by the content they were rendered from and the rendition's mime type.
+ * <p>
+ * When a {@code RenditionCache} bean is present, {@link Renderable} stores compute each rendition once and serve
+ * subsequent requests from the cache.
+ */
+public interface RenditionCache {
+
+    /**
+     * Returns the cached rendition for the given key
+     *
+     * @param key
+     *          the rendition key
+     * @return the cached rendition, or null if there is no entry for the key
+     */
+    Resource get(RenditionKey key);
+
+    /**
+     * Caches a rendition.  The rendition stream is fully consumed and closed.
+     *
+     * @param key
+     *          the rendition key
+     * @param rendition
+     *          the rendition
+     * @return the cached rendition
+     */
+    Resource put(RenditionKey key, InputStream rendition);
+
+    /**
+     * Removes all renditions of the given source content
+     *
+     * @param source
+     *          the source, as returned by {@link RenditionKey#getSource()}
+     */
+    void invalidate(String source);
+}
@@ -0,0 +1,520 @@
+package org.springframework.content.commons.renditions;
+
+import static java.lang.String.format;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.content.commons.io.ProducerInputStream;
+import org.springframework.content.commons.repository.StoreAccessException;
+import org.springframework.util.Assert;
+
+/**
+ * Runs {@link RenditionProvider} conversions off the calling thread, within limits.
+ * <p>
+ * Each provider is a bulkhead: at most {@code maxConcurrentConversions} of its conversions run at once and at most
+ * {@code maxQueuedConversions} callers wait for a slot.  Conversions that cannot start or finish within
+ * {@code timeout}, or that would start while less than {@code minimumFreeMemory} bytes of heap are free, fail fast
+ * with a {@link RenditionUnavailableException} so that a burst of rendition requests cannot starve other requests.
+ * <p>
+ * Conversions run on a bounded pool of at most {@code maxConversionThreads} threads, shared by all providers.  A
+ * conversion that times out is cancelled by interrupting its thread and then closing its source.
+ * <p>
+ * A provider that returns a finished rendition releases its slot as soon as it returns; reading the rendition is not
+ * timed, so a slow client is never cut off.  Providers that produce their rendition as it is read, on another thread,
+ * run their producers on the bounded {@link #getProducerExecutor() producer executor} and return a
+ * {@link ProducerInputStream}.  These hold their slot until their producer finishes and the timeout also covers the
+ * producing; time their producer spends waiting for a slow client to read is not counted.  A producer that runs out
+ * of time is stopped and the next read of its rendition fails with an {@link InterruptedIOException}.
+ */
+public class RenditionExecutor implements DisposableBean {
+
+    private static final Log LOGGER = LogFactory.getLog(RenditionExecutor.class);
+
+    private static final int QUEUED = 0;
+    private static final int RUNNING = 1;
+    private static final int RETURNED = 2;
+    private static final int ABANDONED = 3;
+
+    private int maxConcurrentConversions = Runtime.getRuntime().availableProcessors();
+    private int maxQueuedConversions = 100;
+    private Duration timeout = Duration.ofSeconds(60);
+    private long minimumFreeMemory = 0;
+    private int maxProducers = Runtime.getRuntime().availableProcessors() * 2;
+    private int maxConversionThreads = Runtime.getRuntime().availableProcessors() * 4;
+
+    private final Map<Class<?>, Integer> providerConcurrency = new HashMap<>();
+    private final Map<RenditionProvider, Bulkhead> bulkheads = new ConcurrentHashMap<>();
+    private final Map<String, ConversionStatistics> statistics = new ConcurrentHashMap<>();
+
+    private final ScheduledThreadPoolExecutor timer;
+    private ThreadPoolExecutor executor;
+    private ThreadPoolExecutor producerExecutor;
+
+    public RenditionExecutor() {
+        this.timer = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread t = new Thread(r, "spring-content-rendition-timer");
+            t.setDaemon(true);
+            return t;
+        });
+        this.timer.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Sets the maximum number of conversions each provider may run at once.  Defaults to the number of processors.
+     */
+    public void setMaxConcurrentConversions(int maxConcurrentConversions) {
+        Assert.isTrue(maxConcurrentConversions > 0, "maxConcurrentConversions must be greater than 0");
+        this.maxConcurrentConversions = maxConcurrentConversions;
+    }
+
+    /**
+     * Sets the maximum number of conversions the given provider type may run at once
+     */
+    public void setMaxConcurrentConversions(Class<? extends RenditionProvider> providerType, int maxConcurrentConversions) {
+        Assert.isTrue(maxConcurrentConversions > 0, "maxConcurrentConversions must be greater than 0");
+        this.providerConcurrency.put(providerType, maxConcurrentConversions);
+    }
+
+    /**
+     * Sets the maximum number of conversions that may wait for each provider.  Defaults to 100.
+     */
+    public void setMaxQueuedConversions(int maxQueuedConversions) {
+        Assert.isTrue(maxQueuedConversions >= 0, "maxQueuedConversions must not be negative");
+        this.maxQueuedConversions = maxQueuedConversions;
+    }
+
+    /**
+     * Sets how long a conversion may wait for and then run in its provider.  Defaults to 60 seconds.
+     */
+    public void setTimeout(Duration timeout) {
+        Assert.notNull(timeout, "timeout must not be null");
+        this.timeout = timeout;
+    }
+
+    /**
+     * Sets the heap, in bytes, that must be free for a conversion to start.  Defaults to 0, no check.
+     */
+    public void setMinimumFreeMemory(long minimumFreeMemory) {
+        this.minimumFreeMemory = minimumFreeMemory;
+    }
+
+    /**
+     * Sets the maximum number of renditions that may be produced, as they are read, at once.  Defaults to twice the
+     * number of processors.  At most {@code maxQueuedConversions} more wait for a thread.
+     */
+    public void setMaxProducers(int maxProducers) {
+        Assert.isTrue(maxProducers > 0, "maxProducers must be greater than 0");
+        this.maxProducers = maxProducers;
+    }
+
+    /**
+     * Sets the maximum number of conversions, across all providers, that may run at once.  Defaults to four times the
+     * number of processors.  At most {@code maxQueuedConversions} more wait for a thread.
+     */
+    public void setMaxConversionThreads(int maxConversionThreads) {
+        Assert.isTrue(maxConversionThreads > 0, "maxConversionThreads must be greater than 0");
+        this.maxConversionThreads = maxConversionThreads;
+    }
+
+    /**
+     * @return the bounded executor that providers run the producers of streamed renditions on; see
+     * {@link org.springframework.content.commons.io.ProducerInputStream}
+     */
+    public synchronized Executor getProducerExecutor() {
+        if (producerExecutor == null) {
+            producerExecutor = ProducerInputStream.newExecutor("spring-content-rendition-producer-", maxProducers, maxQueuedConversions);
+        }
+        return producerExecutor;
+    }
+
+    private synchronized ExecutorService getConversionExecutor() {
+        if (executor == null) {
+            executor = ProducerInputStream.newExecutor("spring-content-rendition-", maxConversionThreads, maxQueuedConversions);
+        }
+        return executor;
+    }
+
+    /**
+     * Returns statistics for each conversion, keyed by {@code fromMimeType->toMimeType}
+     */
+    public Map<String, ConversionStatistics> getStatistics() {
+        return Collections.unmodifiableMap(statistics);
+    }
+
+    public InputStream execute(RenditionProvider provider, String fromMimeType, InputStream fromInputSource, String toMimeType) {
+
+        ConversionStatistics stats = statistics.computeIfAbsent(fromMimeType + "->" + toMimeType, k -> new ConversionStatistics());
+
+        if (minimumFreeMemory > 0 && freeMemory() < minimumFreeMemory) {
+            stats.rejected.incrementAndGet();
+            throw new RenditionUnavailableException(format("Insufficient memory to convert %s to %s", fromMimeType, toMimeType));
+        }
+
+        Bulkhead bulkhead = bulkheads.computeIfAbsent(provider, p -> new Bulkhead(concurrencyFor(p)));
+
+        long deadline = System.nanoTime() + timeout.toNanos();
+        if (!bulkhead.acquire(timeout.toNanos(), maxQueuedConversions)) {
+            stats.rejected.incrementAndGet();
+            throw new RenditionUnavailableException(format("Too many conversions from %s to %s in progress", fromMimeType, toMimeType));
+        }
+
+        long start = System.nanoTime();
+        Lease lease = new Lease(bulkhead);
+        AtomicInteger state = new AtomicInteger(QUEUED);
+        Future<InputStream> conversion;
+        try {
+            conversion = getConversionExecutor().submit(() -> {
+                if (!state.compareAndSet(QUEUED, RUNNING)) {
+                    // abandoned while waiting for a thread
+                    return null;
+                }
+                InputStream rendition = null;
+                try {
+                    rendition = provider.convert(fromInputSource, toMimeType);
+                    return rendition;
+                }
+                finally {
+                    // a rendition that no one is waiting for is never read
+                    if (rendition == null || !state.compareAndSet(RUNNING, RETURNED)) {
+                        IOUtils.closeQuietly(rendition);
+                        lease.release();
+                    }
+                }
+            });
+        }
+        catch (RejectedExecutionException e) {
+            lease.release();
+            stats.rejected.incrementAndGet();
+            throw new RenditionUnavailableException(format("Too many conversions in progress to convert %s to %s", fromMimeType, toMimeType), e);
+        }
+        catch (RuntimeException e) {
+            lease.release();
+            throw e;
+        }
+
+        InputStream rendition;
+        try {
+            rendition = conversion.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        }
+        catch (TimeoutException e) {
+            abandon(conversion, state, lease, fromInputSource);
+            stats.timedOut.incrementAndGet();
+            LOGGER.warn(format("Conversion from %s to %s timed out after %s, cancelling", fromMimeType, toMimeType, timeout));
+            throw new RenditionUnavailableException(format("Timed out converting %s to %s", fromMimeType, toMimeType), e);
+        }
+        catch (InterruptedException e) {
+            abandon(conversion, state, lease, fromInputSource);
+            Thread.currentThread().interrupt();
+            throw new RenditionUnavailableException(format("Interrupted converting %s to %s", fromMimeType, toMimeType), e);
+        }
+        catch (ExecutionException e) {
+            stats.failed.incrementAndGet();
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new StoreAccessException(format("Failed to convert %s to %s", fromMimeType, toMimeType), e.getCause());
+        }
+
+        if (!(rendition instanceof ProducerInputStream)) {
+            // a finished rendition; its client may read it at its own pace
+            stats.record(System.nanoTime() - start);
+            lease.release();
+            return rendition;
+        }
+
+        long converted = System.nanoTime() - start;
+        TimedRendition timed = new TimedRendition((ProducerInputStream) rendition, fromInputSource, lease, stats, converted,
+                Math.max(0, deadline - System.nanoTime()), format("%s to %s", fromMimeType, toMimeType));
+        timed.schedule();
+        return timed;
+    }
+
+    private static void abandon(Future<InputStream> conversion, AtomicInteger state, Lease lease, InputStream fromInputSource) {
+        if (state.compareAndSet(QUEUED, ABANDONED)) {
+            // never started, so never releases its slot
+            conversion.cancel(false);
+            lease.release();
+        }
+        else if (state.compareAndSet(RUNNING, ABANDONED)) {
+            // interrupt the provider before closing its source out from under it
+            conversion.cancel(true);
+        }
+        else {
+            // the provider returned just as the conversion timed out
+            try {
+                IOUtils.closeQuietly(conversion.get());
+            }
+            catch (InterruptedException | ExecutionException e) {
+                // the rendition was never opened
+            }
+        }
+        IOUtils.closeQuietly(fromInputSource);
+    }
+
+    private int concurrencyFor(RenditionProvider provider) {
+        for (Map.Entry<Class<?>, Integer> entry : providerConcurrency.entrySet()) {
+            if (entry.getKey().isInstance(provider)) {
+                return entry.getValue();
+            }
+        }
+        return maxConcurrentConversions;
+    }
+
+    private static long freeMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.maxMemory() - (runtime.totalMemory() - runtime.freeMemory());
+    }
+
+    @Override
+    public void destroy() {
+        timer.shutdownNow();
+        synchronized (this) {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+            if (producerExecutor != null) {
+                producerExecutor.shutdownNow();
+            }
+        }
+    }
+
+    private static class Bulkhead {
+
+        private final Semaphore permits;
+        private final AtomicInteger waiting = new AtomicInteger();
+
+        Bulkhead(int concurrency) {
+            this.permits = new Semaphore(concurrency, true);
+        }
+
+        boolean acquire(long timeoutNanos, int maxWaiting) {
+
+            if (permits.tryAcquire()) {
+                return true;
+            }
+
+            if (waiting.incrementAndGet() > maxWaiting) {
+                waiting.decrementAndGet();
+                return false;
+            }
+
+            try {
+                return permits.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS);
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            finally {
+                waiting.decrementAndGet();
+            }
+        }
+
+        void release() {
+            permits.release();
+        }
+    }
+
+    private static class Lease {
+
+        private final Bulkhead bulkhead;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        Lease(Bulkhead bulkhead) {
+            this.bulkhead = bulkhead;
+        }
+
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                bulkhead.release();
+            }
+        }
+    }
+
+    private interface Read {
+        int read() throws IOException;
+    }
+
+    /**
+     * A produced rendition that holds its provider's slot until its producer finishes or runs out of time
+     */
+    private class TimedRendition extends FilterInputStream {
+
+        private final ProducerInputStream rendition;
+        private final InputStream source;
+        private final Lease lease;
+        private final ConversionStatistics stats;
+        private final long converted;
+        private final long budget;
+        private final String conversion;
+
+        private final AtomicBoolean done = new AtomicBoolean();
+        private volatile boolean expired = false;
+        private volatile ScheduledFuture<?> expiry;
+
+        TimedRendition(ProducerInputStream rendition, InputStream source, Lease lease, ConversionStatistics stats, long converted, long budget, String conversion) {
+            super(rendition);
+            this.rendition = rendition;
+            this.source = source;
+            this.lease = lease;
+            this.stats = stats;
+            this.converted = converted;
+            this.budget = budget;
+            this.conversion = conversion;
+        }
+
+        void schedule() {
+            expiry = timer.schedule(this::check, budget, TimeUnit.NANOSECONDS);
+            rendition.onProduced(this::finish);
+        }
+
+        @Override
+        public int read() throws IOException {
+            return checked(() -> super.read());
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return checked(() -> super.read(b, off, len));
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            }
+            finally {
+                finish();
+            }
+        }
+
+        private int checked(Read read) throws IOException {
+            int result;
+            try {
+                result = expired ? -1 : read.read();
+            }
+            catch (IOException e) {
+                if (expired) {
+                    throw new InterruptedIOException(format("Timed out converting %s", conversion));
+                }
+                throw e;
+            }
+            if (expired) {
+                throw new InterruptedIOException(format("Timed out converting %s", conversion));
+            }
+            return result;
+        }
+
+        private void finish() {
+            if (done.compareAndSet(false, true)) {
+                ScheduledFuture<?> expiry = this.expiry;
+                if (expiry != null) {
+                    expiry.cancel(false);
+                }
+                stats.record(converted + rendition.getProducingTime().toNanos());
+                lease.release();
+            }
+        }
+
+        // waits out the time the producer spent waiting for its reader before expiring it
+        private void check() {
+            if (done.get()) {
+                return;
+            }
+            long remaining = budget - rendition.getProducingTime().toNanos();
+            if (remaining > 0) {
+                expiry = timer.schedule(this::check, remaining, TimeUnit.NANOSECONDS);
+            }
+            else {
+                expire();
+            }
+        }
+
+        private void expire() {
+            if (done.compareAndSet(false, true)) {
+                expired = true;
+                stats.timedOut.incrementAndGet();
+                LOGGER.warn(format("Rendition from %s timed out, closing it", conversion));
+                lease.release();
+                // stops the producer and unblocks its reader
+                IOUtils.closeQuietly(rendition);
+                IOUtils.closeQuietly(source);
+            }
+        }
+    }
+
+    /**
+     * Timings and outcomes of one kind of conversion
+     */
+    public static class ConversionStatistics {
+
+        private final AtomicLong completed = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+        private final AtomicLong timedOut = new AtomicLong();
+        private final AtomicLong totalNanos = new AtomicLong();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        void record(long nanos) {
+            completed.incrementAndGet();
+            totalNanos.addAndGet(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        public long getCompleted() {
+            return completed.get();
+        }
+
+        public long getFailed() {
+            return failed.get();
+        }
+
+        public long getRejected() {
+            return rejected.get();
+        }
+
+        public long getTimedOut() {
+            return timedOut.get();
+        }
+
+        public Duration getMeanTime() {
+            long count = completed.get();
+            return Duration.ofNanos(count == 0 ? 0 : totalNanos.get() / count);
+        }
+
+        public Duration getMaxTime() {
+            return Duration.ofNanos(maxNanos.get());
+        }
+
+        @Override
+        public String toString() {
+            return format("completed=%d, failed=%d, rejected=%d, timedOut=%d, mean=%dms, max=%dms", getCompleted(), getFailed(), getRejected(), getTimedOut(), getMeanTime().toMillis(), getMaxTime().toMillis());
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package org.springframework.content.commons.renditions;
+
+import static java.lang.String.format;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Objects;
+
+import org.springframework.content.commons.annotations.ContentId;
+import org.springframework.content.commons.annotations.ContentLength;
+import org.springframework.content.commons.annotations.MimeType;
+import org.springframework.content.commons.mappingcontext.ContentProperty;
+import org.springframework.content.commons.utils.BeanUtils;
+import org.springframework.core.io.Resource;
+import org.springframework.util.Assert;
+
+/**
+ * Identifies a rendition of an entity's content.
+ * <p>
+ * The {@code source} identifies the content (domain type and content id) and is used for invalidation.  The
+ * {@code fingerprint} captures the content's last modified time, length and mime type so that renditions of changed
+ * content are not served even when the content id is reused and the new content has the same size.  The last
+ * modified time is taken from the content's store resource rather than the entity version, which changes with every
+ * metadata update and, for renditions generated when content is set, only after they were generated.
+ */
+public final class RenditionKey {
+
+    private final String source;
+    private final String fingerprint;
+    private final String mimeType;
+    private final String id;
+
+    public RenditionKey(String source, String fingerprint, String mimeType) {
+        Assert.hasText(source, "source must not be empty");
+        Assert.hasText(mimeType, "mimeType must not be empty");
+
+        this.source = source;
+        this.fingerprint = fingerprint != null ? fingerprint : "";
+        this.mimeType = mimeType;
+        this.id = digest(this.source + "|" + this.fingerprint + "|" + this.mimeType);
+    }
+
+    /**
+     * Returns the key for a rendition of the given content property, or null if the content has not been set
+     */
+    public static RenditionKey of(Object entity, ContentProperty property, String mimeType) {
+        return of(entity, property, mimeType, null);
+    }
+
+    /**
+     * Returns the key for a rendition of the given content property, or null if the content has not been set
+     *
+     * @param content
+     *          the content's store resource, whose last modified time is part of the fingerprint, or null
+     */
+    public static RenditionKey of(Object entity, ContentProperty property, String mimeType, Resource content) {
+
+        Object contentId = property.getContentId(entity);
+        if (contentId == null) {
+            return null;
+        }
+
+        return new RenditionKey(source(entity, contentId), fingerprint(content, property.getContentLength(entity), property.getMimeType(entity)), mimeType);
+    }
+
+    /**
+     * Returns the key for a rendition of the given entity's content, or null if the content has not been set
+     */
+    public static RenditionKey of(Object entity, String mimeType) {
+        return of(entity, mimeType, null);
+    }
+
+    /**
+     * Returns the key for a rendition of the given entity's content, or null if the content has not been set
+     *
+     * @param content
+     *          the content's store resource, whose last modified time is part of the fingerprint, or null
+     */
+    public static RenditionKey of(Object entity, String mimeType, Resource content) {
+
+        Object contentId = BeanUtils.getFieldWithAnnotation(entity, ContentId.class);
+        if (contentId == null) {
+            return null;
+        }
+
+        return new RenditionKey(source(entity, contentId), fingerprint(content, BeanUtils.getFieldWithAnnotation(entity, ContentLength.class), BeanUtils.getFieldWithAnnotation(entity, MimeType.class)), mimeType);
+    }
+
+    private static String fingerprint(Resource content, Object contentLength, Object mimeType) {
+
+        long lastModified = 0;
+        if (content != null) {
+            try {
+                lastModified = content.lastModified();
+            }
+            catch (IOException e) {
+                // the content is not there or the store does not track modification times
+            }
+        }
+        return format("%s:%s:%s", lastModified, contentLength, mimeType);
+    }
+
+    public static String source(Object entity, Object contentId) {
+        return entity.getClass().getName() + "/" + contentId;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public String getMimeType() {
+        return mimeType;
+    }
+
+    /**
+     * Returns an opaque, hex-encoded identifier for this key, suitable for use as a store id or an entity tag
+     */
+    public String getId() {
+        return id;
+    }
+
+    private static String digest(String value) {
+        try {
+            byte[] bytes = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(bytes.length * 2);
+            for (byte b : bytes) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        }
+        catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RenditionKey)) {
+            return false;
+        }
+        return id.equals(((RenditionKey) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public String toString() {
+        return format("RenditionKey[source=%s, fingerprint=%s, mimeType=%s]", source, fingerprint, mimeType);
+    }
+}
@@ -0,0 +1,207 @@
+package org.springframework.content.commons.renditions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.util.MimeType;
+
+/**
+ * Parameters of a requested rendition, carried as parameters of its mime type; i.e.
+ * {@code image/jpeg;page=2;width=64;quality=0.8}.
+ * <p>
+ * Unparseable values are ignored and sizes are capped, so renderers can use them without further validation.
+ */
+public final class RenditionParameters {
+
+    public static final String PAGE = "page";
+    public static final String PAGES = "pages";
+    public static final String WIDTH = "width";
+    public static final String HEIGHT = "height";
+    public static final String DPI = "dpi";
+    public static final String QUALITY = "quality";
+    public static final String TYPE = "type";
+    public static final String BOUNDARY = "boundary";
+
+    /**
+     * The parameters that may also be given as request parameters when a rendition is requested over REST
+     */
+    public static final List<String> NAMES = Collections.unmodifiableList(Arrays.asList(PAGE, PAGES, WIDTH, HEIGHT, DPI, QUALITY));
+
+    /**
+     * Boundary of multi-page renditions requested without one
+     */
+    public static final String DEFAULT_BOUNDARY = "spring-content-rendition-part";
+
+    public static final int MAXIMUM_SIZE = 10000;
+    public static final int MAXIMUM_DPI = 1200;
+    public static final int MAXIMUM_PAGES = 100;
+
+    /**
+     * Pixels a renderer should rasterize for one image, whatever its requested size or dpi; about 75MB as RGB
+     */
+    public static final long MAXIMUM_PIXELS = 25_000_000L;
+
+    /**
+     * Pixels a renderer should rasterize for all the images of a multi-page rendition
+     */
+    public static final long MAXIMUM_TOTAL_PIXELS = 250_000_000L;
+
+    private final MimeType mimeType;
+
+    private RenditionParameters(MimeType mimeType) {
+        this.mimeType = mimeType;
+    }
+
+    public static RenditionParameters of(String mimeType) {
+        return new RenditionParameters(MimeType.valueOf(mimeType));
+    }
+
+    public MimeType getMimeType() {
+        return mimeType;
+    }
+
+    /**
+     * @return the requested page, 1-based, or 1
+     */
+    public int getPage() {
+        int page = intParameter(PAGE, 1, Integer.MAX_VALUE);
+        return page > 0 ? page : 1;
+    }
+
+    /**
+     * @return true if several pages were requested, as a {@code multipart/*} rendition
+     */
+    public boolean isMultiPage() {
+        return "multipart".equals(mimeType.getType());
+    }
+
+    /**
+     * Resolves the requested pages, 1-based, against the number of pages in the document.  Accepts {@code all} or a
+     * comma separated list of pages and ranges, such as {@code 1-3,5}.  Defaults to all pages.  At most
+     * {@link #MAXIMUM_PAGES} pages are returned.
+     */
+    public List<Integer> getPages(int pageCount) {
+        return getPages(pageCount, MAXIMUM_PAGES);
+    }
+
+    /**
+     * Resolves the requested pages, as {@link #getPages(int)}, returning at most {@code maximumPages} of them
+     */
+    public List<Integer> getPages(int pageCount, int maximumPages) {
+        String spec = mimeType.getParameter(PAGES);
+        spec = spec != null ? unquote(spec).trim() : "";
+        List<Integer> pages = new ArrayList<>();
+        if (spec.isEmpty() || "all".equalsIgnoreCase(spec)) {
+            for (int i = 1; i <= pageCount && pages.size() < maximumPages; i++) {
+                pages.add(i);
+            }
+            return pages;
+        }
+
+        for (String range : spec.split(",")) {
+            String[] bounds = range.trim().split("-", 2);
+            try {
+                int first = Integer.parseInt(bounds[0].trim());
+                int last = bounds.length > 1 ? Integer.parseInt(bounds[1].trim()) : first;
+                for (int i = Math.max(first, 1); i <= Math.min(last, pageCount) && pages.size() < maximumPages; i++) {
+                    pages.add(i);
+                }
+            } catch (NumberFormatException nfe) {
+                // ignore
+            }
+        }
+        return pages;
+    }
+
+    /**
+     * @return the requested width in pixels, or 0 if not specified
+     */
+    public int getWidth() {
+        return intParameter(WIDTH, 0, MAXIMUM_SIZE);
+    }
+
+    /**
+     * @return the requested height in pixels, or 0 if not specified
+     */
+    public int getHeight() {
+        return intParameter(HEIGHT, 0, MAXIMUM_SIZE);
+    }
+
+    public boolean hasSize() {
+        return getWidth() > 0 || getHeight() > 0;
+    }
+
+    public int getDpi(int defaultDpi) {
+        int dpi = intParameter(DPI, defaultDpi, MAXIMUM_DPI);
+        return dpi > 0 ? dpi : defaultDpi;
+    }
+
+    /**
+     * @return the requested quality, between 0 and 1, or the given default.  Percentages are also accepted.
+     */
+    public float getQuality(float defaultQuality) {
+        String value = mimeType.getParameter(QUALITY);
+        if (value == null) {
+            return defaultQuality;
+        }
+        try {
+            float quality = Float.parseFloat(unquote(value));
+            if (quality > 1f) {
+                quality = quality / 100f;
+            }
+            return quality > 0f && quality <= 1f ? quality : defaultQuality;
+        } catch (NumberFormatException nfe) {
+            return defaultQuality;
+        }
+    }
+
+    /**
+     * @return the image format requested; the subtype of an {@code image/*} mime type, or of the {@code type} parameter
+     * of a multi-page rendition
+     */
+    public String getFormat(String defaultFormat) {
+        MimeType imageType = mimeType;
+        if (isMultiPage()) {
+            String type = mimeType.getParameter(TYPE);
+            if (type == null) {
+                return defaultFormat;
+            }
+            try {
+                imageType = MimeType.valueOf(unquote(type));
+            } catch (IllegalArgumentException iae) {
+                return defaultFormat;
+            }
+        }
+        if (!"image".equals(imageType.getType()) || imageType.isWildcardSubtype()) {
+            return defaultFormat;
+        }
+        String subtype = imageType.getSubtype();
+        return "jpg".equals(subtype) ? "jpeg" : subtype;
+    }
+
+    public String getBoundary() {
+        String boundary = mimeType.getParameter(BOUNDARY);
+        return boundary != null ? unquote(boundary) : DEFAULT_BOUNDARY;
+    }
+
+    private int intParameter(String name, int defaultValue, int maximum) {
+        String value = mimeType.getParameter(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Math.max(Math.min(Integer.parseInt(unquote(value).trim()), maximum), 0);
+        } catch (NumberFormatException nfe) {
+            return defaultValue;
+        }
+    }
+
+    private static String unquote(String value) {
+        if (value.length() > 1 && value.startsWith("\"") && value.endsWith("\"")) {
+            return value.substring(1, value.length() - 1);
+        }
+        return value;
+    }
+}
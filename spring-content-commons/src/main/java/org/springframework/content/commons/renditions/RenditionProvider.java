@@ -10,4 +10,11 @@ public interface RenditionProvider {
 
 	public InputStream convert(InputStream fromInputSource, String toMimeType);
 
+	/**
+	 * Relative cost of a conversion made by this provider.  When several chains of providers can produce a
+	 * rendition the one with the lowest total cost is used.  Defaults to 1.
+	 */
+	default int cost() {
+		return 1;
+	}
 }
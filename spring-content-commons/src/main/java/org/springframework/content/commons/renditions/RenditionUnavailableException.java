@@ -0,0 +1,20 @@
+package org.springframework.content.commons.renditions;
+
+import org.springframework.content.commons.repository.StoreAccessException;
+
+/**
+ * Thrown when a rendition cannot be rendered right now, because its provider is saturated, memory is low or the
+ * conversion timed out.  Clients may retry later.
+ */
+public class RenditionUnavailableException extends StoreAccessException {
+
+    private static final long serialVersionUID = 4393725402446557934L;
+
+    public RenditionUnavailableException(String msg) {
+        super(msg);
+    }
+
+    public RenditionUnavailableException(String msg, Throwable cause) {
+        super(msg, cause);
+    }
+}
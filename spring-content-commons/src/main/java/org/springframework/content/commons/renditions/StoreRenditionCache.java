@@ -0,0 +1,273 @@
+package org.springframework.content.commons.renditions;
+
+import static java.lang.String.format;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.content.commons.annotations.ContentId;
+import org.springframework.content.commons.io.DeletableResource;
+import org.springframework.content.commons.mappingcontext.ContentProperty;
+import org.springframework.content.commons.mappingcontext.MappingContext;
+import org.springframework.content.commons.repository.Store;
+import org.springframework.content.commons.repository.StoreAccessException;
+import org.springframework.content.commons.repository.StoreEvent;
+import org.springframework.content.commons.repository.events.AbstractStoreEventListener;
+import org.springframework.content.commons.repository.events.AfterSetContentEvent;
+import org.springframework.content.commons.repository.events.BeforeUnsetContentEvent;
+import org.springframework.content.commons.utils.BeanUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.WritableResource;
+import org.springframework.util.Assert;
+
+/**
+ * A {@link RenditionCache} that keeps renditions in a {@link Store}, such as a filesystem or S3 store.
+ * <p>
+ * The least recently used renditions are deleted from the store once the cache exceeds its maximum number of entries
+ * or its maximum size in bytes.  Renditions of an entity's content are invalidated when that content is set or unset.
+ * <p>
+ * Usage is tracked in memory, so renditions cached by a previous run are still served but only become eligible for
+ * eviction once they are used again.
+ */
+public class StoreRenditionCache extends AbstractStoreEventListener<Object> implements RenditionCache, Ordered {
+
+    private static final Log LOGGER = LogFactory.getLog(StoreRenditionCache.class);
+
+    private final Store<String> store;
+    private final MappingContext mappingContext = new MappingContext("/", ".");
+
+    private long maximumEntries = 10000;
+    private long maximumSize = Long.MAX_VALUE;
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, Set<String>> sources = new HashMap<>();
+    private long size = 0;
+
+    public StoreRenditionCache(Store<String> store) {
+        Assert.notNull(store, "store must not be null");
+        this.store = store;
+    }
+
+    public void setMaximumEntries(long maximumEntries) {
+        this.maximumEntries = maximumEntries;
+    }
+
+    /**
+     * Sets the maximum combined size, in bytes, of the cached renditions
+     */
+    public void setMaximumSize(long maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    public synchronized int getEntryCount() {
+        return entries.size();
+    }
+
+    public synchronized long getSize() {
+        return size;
+    }
+
+    @Override
+    public Resource get(RenditionKey key) {
+
+        Resource resource = store.getResource(key.getId());
+        if (resource == null || !resource.exists()) {
+            return null;
+        }
+
+        synchronized (this) {
+            if (!entries.containsKey(key.getId())) {
+                track(key, contentLength(resource));
+            }
+            entries.get(key.getId());
+        }
+        return resource;
+    }
+
+    /**
+     * Caches the rendition.  When the store keeps resources as files the rendition is written to a temporary id and
+     * moved into place once complete, so that readers never see a partial rendition.  Other stores, such as object
+     * stores, are written in place; they only make an object visible once its upload completes.
+     */
+    @Override
+    public Resource put(RenditionKey key, InputStream rendition) {
+
+        Resource resource = store.getResource(key.getId());
+        if (resource instanceof WritableResource == false) {
+            throw new StoreAccessException(format("Unable to cache rendition %s, store resources are not writable", key));
+        }
+
+        String writeId = resource.isFile() ? key.getId() + ".tmp-" + UUID.randomUUID() : key.getId();
+        Resource target = writeId.equals(key.getId()) ? resource : store.getResource(writeId);
+        if (target instanceof WritableResource == false) {
+            throw new StoreAccessException(format("Unable to cache rendition %s, store resources are not writable", key));
+        }
+
+        long length;
+        try {
+            try (InputStream in = rendition; OutputStream out = ((WritableResource) target).getOutputStream()) {
+                length = IOUtils.copyLarge(in, out);
+            }
+            if (target != resource) {
+                Files.move(target.getFile().toPath(), resource.getFile().toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+        }
+        catch (IOException | RuntimeException e) {
+            delete(writeId);
+            throw new StoreAccessException(format("Unable to cache rendition %s", key), e);
+        }
+
+        List<String> evicted;
+        synchronized (this) {
+            untrack(key.getId());
+            track(key, length);
+            evicted = evictIfNecessary();
+        }
+        evicted.forEach(this::delete);
+
+        return store.getResource(key.getId());
+    }
+
+    @Override
+    public void invalidate(String source) {
+
+        List<String> invalidated = new ArrayList<>();
+        synchronized (this) {
+            Set<String> ids = sources.get(source);
+            if (ids != null) {
+                invalidated.addAll(ids);
+                invalidated.forEach(this::untrack);
+            }
+        }
+        invalidated.forEach(this::delete);
+    }
+
+    /**
+     * Invalidates renditions before other listeners, such as an {@link EagerRenditionGenerator}, react to new content
+     */
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    protected void onAfterSetContent(AfterSetContentEvent event) {
+        invalidate(event);
+    }
+
+    @Override
+    protected void onBeforeUnsetContent(BeforeUnsetContentEvent event) {
+        invalidate(event);
+    }
+
+    private void invalidate(StoreEvent event) {
+
+        Object entity = event.getSource();
+
+        if (event.getPropertyPath() != null) {
+            ContentProperty property = mappingContext.getContentProperty(entity.getClass(), event.getPropertyPath().getName());
+            if (property != null) {
+                invalidate(entity, property.getContentId(entity));
+                return;
+            }
+        }
+
+        for (ContentProperty property : mappingContext.getContentProperties(entity.getClass())) {
+            invalidate(entity, property.getContentId(entity));
+        }
+        invalidate(entity, BeanUtils.getFieldWithAnnotation(entity, ContentId.class));
+    }
+
+    private void invalidate(Object entity, Object contentId) {
+        if (contentId != null) {
+            invalidate(RenditionKey.source(entity, contentId));
+        }
+    }
+
+    private void track(RenditionKey key, long length) {
+        entries.put(key.getId(), new Entry(key.getSource(), length));
+        sources.computeIfAbsent(key.getSource(), s -> new HashSet<>()).add(key.getId());
+        size += length;
+    }
+
+    private void untrack(String id) {
+        Entry entry = entries.remove(id);
+        if (entry == null) {
+            return;
+        }
+
+        size -= entry.size;
+
+        Set<String> ids = sources.get(entry.source);
+        if (ids != null) {
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                sources.remove(entry.source);
+            }
+        }
+    }
+
+    private List<String> evictIfNecessary() {
+
+        List<String> evicted = new ArrayList<>();
+
+        Iterator<String> eldest = new ArrayList<>(entries.keySet()).iterator();
+        while ((entries.size() > maximumEntries || size > maximumSize) && eldest.hasNext()) {
+            String id = eldest.next();
+            untrack(id);
+            evicted.add(id);
+        }
+        return evicted;
+    }
+
+    private void delete(String id) {
+
+        Resource resource = store.getResource(id);
+        try {
+            if (resource instanceof DeletableResource) {
+                ((DeletableResource) resource).delete();
+            } else if (resource != null && resource.isFile()) {
+                resource.getFile().delete();
+            }
+        }
+        catch (IOException e) {
+            LOGGER.warn(format("Unable to delete cached rendition %s", id), e);
+        }
+    }
+
+    private static long contentLength(Resource resource) {
+        try {
+            return resource.contentLength();
+        }
+        catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static class Entry {
+
+        private final String source;
+        private final long size;
+
+        Entry(String source, long size) {
+            this.source = source;
+            this.size = size;
+        }
+    }
+}
@@ -3,6 +3,7 @@ package org.springframework.content.commons.repository;
 import java.io.Serializable;
 import java.nio.ByteBuffer;
 
+import org.springframework.content.commons.io.RangeableResource;
 import org.springframework.content.commons.property.PropertyPath;
 
 import reactor.core.publisher.Flux;
@@ -14,5 +15,32 @@ public interface ReactiveContentStore<S, SID extends Serializable> extends Conte
 
     Flux<ByteBuffer> getContent(S entity, PropertyPath path);
 
+    /**
+     * Gets length bytes of content, starting at offset.  Stores that can fetch a range of content, as their
+     * {@link RangeableResource}s do, should override this method; by default the content is read from its start and
+     * the bytes before the range are discarded.
+     */
+    default Flux<ByteBuffer> getContent(S entity, PropertyPath path, long offset, long length) {
+
+        long end = offset + length;
+        return Flux.defer(() -> {
+            long[] position = {0};
+            return getContent(entity, path).handle((buffer, sink) -> {
+                long start = position[0];
+                long bufferEnd = start + buffer.remaining();
+                position[0] = bufferEnd;
+                if (bufferEnd > offset && start < end) {
+                    ByteBuffer range = buffer.duplicate();
+                    range.limit(buffer.position() + (int) (Math.min(end, bufferEnd) - start));
+                    range.position(buffer.position() + (int) Math.max(0, offset - start));
+                    sink.next(range);
+                }
+                if (bufferEnd >= end) {
+                    sink.complete();
+                }
+            });
+        });
+    }
+
     Mono<S> unsetContent(S entity, PropertyPath propertyPath);
 }
@@ -4,7 +4,6 @@ import java.io.Serializable;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
-import java.nio.file.Paths;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
@@ -21,6 +20,7 @@ import org.springframework.beans.factory.FactoryBean;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.content.commons.fragments.ParameterTypeAware;
+import org.springframework.content.commons.io.SpillFileManager;
 import org.springframework.content.commons.repository.AssociativeStore;
 import org.springframework.content.commons.repository.ContentStore;
 import org.springframework.content.commons.repository.ReactiveContentStore;
@@ -59,6 +59,9 @@ public abstract class AbstractStoreFactoryBean
 
 	@Autowired(required = false)
 	private Set<StoreExtension> extensions = Collections.emptySet();
+
+	@Autowired(required = false)
+	private SpillFileManager spillFileManager;
 	private StoreFragments storeFragments = new StoreFragments(Collections.EMPTY_LIST);
 
 	private BeanFactory beanFactory;
@@ -200,7 +203,7 @@ public abstract class AbstractStoreFactoryBean
 		StoreMethodInterceptor intercepter = new StoreMethodInterceptor();
 
 		if (!ClassUtils.getAllInterfaces(storeInterface).contains(ReactiveContentStore.class)) {
-		    storeFragments.add(new StoreFragment(storeInterface, new StoreImpl((ContentStore<Object, Serializable>) target, publisher, Paths.get(System.getProperty("java.io.tmpdir")))));
+		    storeFragments.add(new StoreFragment(storeInterface, new StoreImpl((ContentStore<Object, Serializable>) target, publisher, spillFileManager)));
 		} else {
             storeFragments.add(new StoreFragment(storeInterface, new ReactiveStoreImpl((ReactiveContentStore<Object, Serializable>) target, publisher)));
 		}
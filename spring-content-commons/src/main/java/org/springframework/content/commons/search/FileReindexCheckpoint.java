@@ -0,0 +1,90 @@
+package org.springframework.content.commons.search;
+
+import static java.lang.String.format;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+import org.springframework.content.commons.repository.StoreAccessException;
+import org.springframework.util.Assert;
+
+/**
+ * A {@link ReindexCheckpoint} that records progress in one small file per job inside the given directory.
+ */
+public class FileReindexCheckpoint implements ReindexCheckpoint {
+
+    private final File dir;
+
+    public FileReindexCheckpoint(File dir) {
+        Assert.notNull(dir, "dir must not be null");
+        this.dir = dir;
+    }
+
+    @Override
+    public int load(String job) {
+
+        String checkpoint = read(job);
+        if (checkpoint == null) {
+            return 0;
+        }
+
+        try {
+            return Integer.parseInt(checkpoint);
+        }
+        catch (NumberFormatException e) {
+            throw new StoreAccessException(format("Unable to read checkpoint for reindex job %s", job), e);
+        }
+    }
+
+    @Override
+    public void save(String job, int nextPage) {
+        write(job, Integer.toString(nextPage));
+    }
+
+    @Override
+    public String loadKey(String job) {
+        return read(job);
+    }
+
+    @Override
+    public void saveKey(String job, String lastKey) {
+        Assert.notNull(lastKey, "lastKey must not be null");
+        write(job, lastKey);
+    }
+
+    private String read(String job) {
+
+        File checkpoint = new File(dir, job);
+        if (!checkpoint.exists()) {
+            return null;
+        }
+
+        try {
+            return new String(Files.readAllBytes(checkpoint.toPath()), StandardCharsets.UTF_8).trim();
+        }
+        catch (IOException e) {
+            throw new StoreAccessException(format("Unable to read checkpoint for reindex job %s", job), e);
+        }
+    }
+
+    private void write(String job, String checkpoint) {
+
+        try {
+            Files.createDirectories(dir.toPath());
+            File tmp = new File(dir, job + ".tmp");
+            Files.write(tmp.toPath(), checkpoint.getBytes(StandardCharsets.UTF_8));
+            Files.move(tmp.toPath(), new File(dir, job).toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (IOException e) {
+            throw new StoreAccessException(format("Unable to write checkpoint for reindex job %s", job), e);
+        }
+    }
+
+    @Override
+    public void clear(String job) {
+        new File(dir, job).delete();
+    }
+}
@@ -0,0 +1,54 @@
+package org.springframework.content.commons.search;
+
+/**
+ * Records the progress of a {@link Reindexer} so that an interrupted reindex can be resumed.
+ */
+public interface ReindexCheckpoint {
+
+    /**
+     * Returns the next page to be reindexed for the given job, or 0 if the job has no recorded progress
+     *
+     * @param job
+     *          the name of the reindex job
+     * @return the next page to reindex
+     */
+    int load(String job);
+
+    /**
+     * Records that all pages before the given page have been reindexed
+     *
+     * @param job
+     *          the name of the reindex job
+     * @param nextPage
+     *          the next page to reindex
+     */
+    void save(String job, int nextPage);
+
+    /**
+     * Returns the key of the last entity reindexed by the given job, when it fetches entities with a
+     * {@link ReindexQuery}, or null if the job has no recorded progress
+     *
+     * @param job
+     *          the name of the reindex job
+     * @return the last key reindexed
+     */
+    String loadKey(String job);
+
+    /**
+     * Records that all entities up to and including the one with the given key have been reindexed
+     *
+     * @param job
+     *          the name of the reindex job
+     * @param lastKey
+     *          the key of the last entity reindexed
+     */
+    void saveKey(String job, String lastKey);
+
+    /**
+     * Removes any recorded progress for the given job
+     *
+     * @param job
+     *          the name of the reindex job
+     */
+    void clear(String job);
+}
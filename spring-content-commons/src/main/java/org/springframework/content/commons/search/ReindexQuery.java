@@ -0,0 +1,33 @@
+package org.springframework.content.commons.search;
+
+import java.util.List;
+
+/**
+ * Fetches entities for a {@link Reindexer} by key, rather than by page number.
+ * <p>
+ * Paging by page number makes the repository skip every entity before the page and count them all again for each page,
+ * so a large reindex slows down as it goes.  Fetching the entities after the last key seen costs the same for every
+ * batch; i.e. a query derived from {@code findByIdGreaterThanOrderById(Long id, Pageable pageable)} returning a
+ * {@code List}.
+ *
+ * @param <T> the domain type
+ */
+public interface ReindexQuery<T> {
+
+    /**
+     * Returns the entities that follow the given key, ordered by key
+     *
+     * @param key
+     *          the key of the last entity of the previous batch, or null for the first batch
+     * @param limit
+     *          the maximum number of entities to return
+     * @return the entities, fewer than {@code limit} when there are no more
+     */
+    List<T> findAfter(String key, int limit);
+
+    /**
+     * Returns the key of the given entity; it is recorded by a {@link ReindexCheckpoint} and passed back to
+     * {@link #findAfter(String, int)}
+     */
+    String keyOf(T entity);
+}
@@ -0,0 +1,59 @@
+package org.springframework.content.commons.search;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress and throughput of a {@link Reindexer} run.
+ */
+public class ReindexStatistics {
+
+    private final AtomicLong indexed = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final long startTime = System.nanoTime();
+    private volatile long endTime = -1;
+
+    public long getIndexed() {
+        return indexed.get();
+    }
+
+    public long getSkipped() {
+        return skipped.get();
+    }
+
+    public long getFailed() {
+        return failed.get();
+    }
+
+    public long getElapsedMillis() {
+        long end = endTime != -1 ? endTime : System.nanoTime();
+        return (end - startTime) / 1_000_000;
+    }
+
+    public double getDocumentsPerSecond() {
+        long elapsed = getElapsedMillis();
+        return elapsed > 0 ? indexed.get() * 1000d / elapsed : 0d;
+    }
+
+    void indexed() {
+        indexed.incrementAndGet();
+    }
+
+    void skipped() {
+        skipped.incrementAndGet();
+    }
+
+    void failed() {
+        failed.incrementAndGet();
+    }
+
+    void finished() {
+        endTime = System.nanoTime();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("indexed=%d, skipped=%d, failed=%d, elapsed=%dms, rate=%.1f docs/s",
+                getIndexed(), getSkipped(), getFailed(), getElapsedMillis(), getDocumentsPerSecond());
+    }
+}
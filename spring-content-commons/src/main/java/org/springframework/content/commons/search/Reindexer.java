@@ -0,0 +1,303 @@
+package org.springframework.content.commons.search;
+
+import static java.lang.String.format;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.content.commons.annotations.ContentId;
+import org.springframework.content.commons.repository.ContentStore;
+import org.springframework.content.commons.repository.StoreAccessException;
+import org.springframework.content.commons.utils.BeanUtils;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.util.Assert;
+
+/**
+ * Reindexes content that already exists in a store.
+ * <p>
+ * Entities are fetched in batches and the content of each is streamed into the given {@link IndexService} using a
+ * bounded number of worker threads and, optionally, a maximum indexing rate.  The next batch is fetched while the
+ * current one is indexed.  When a {@link ReindexCheckpoint} is set, progress is recorded after each batch so that an
+ * interrupted reindex resumes from the first incomplete batch.
+ * <p>
+ * By default batches are pages of the repository, which it finds by offset and counts each time, so each page costs
+ * more than the last.  Set a {@link ReindexQuery} to fetch batches by key instead when reindexing many entities.
+ * <p>
+ * Resuming by page relies on the repository returning pages in a stable order; set a {@link Sort} on a unique
+ * property (usually the id) when using checkpoints without a {@link ReindexQuery}.
+ *
+ * @param <T> the domain type
+ */
+public class Reindexer<T> {
+
+    private static final Log LOGGER = LogFactory.getLog(Reindexer.class);
+
+    private final PagingAndSortingRepository<T, ?> repository;
+    private final ContentStore<T, ? extends Serializable> store;
+    private final IndexService<T> indexService;
+
+    private int pageSize = 100;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private double maxDocumentsPerSecond = 0;
+    private Sort sort = Sort.unsorted();
+    private String job = null;
+    private ReindexCheckpoint checkpoint = null;
+    private ReindexQuery<T> query = null;
+
+    public Reindexer(PagingAndSortingRepository<T, ?> repository, ContentStore<T, ? extends Serializable> store, IndexService<T> indexService) {
+        Assert.notNull(repository, "repository must not be null");
+        Assert.notNull(store, "store must not be null");
+        Assert.notNull(indexService, "indexService must not be null");
+
+        this.repository = repository;
+        this.store = store;
+        this.indexService = indexService;
+    }
+
+    public void setPageSize(int pageSize) {
+        Assert.isTrue(pageSize > 0, "pageSize must be greater than 0");
+        this.pageSize = pageSize;
+    }
+
+    public void setParallelism(int parallelism) {
+        Assert.isTrue(parallelism > 0, "parallelism must be greater than 0");
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Limits the rate at which documents are sent to the index service.  A value of 0 (the default) means no limit.
+     *
+     * @param maxDocumentsPerSecond
+     *          the maximum number of documents indexed per second
+     */
+    public void setMaxDocumentsPerSecond(double maxDocumentsPerSecond) {
+        Assert.isTrue(maxDocumentsPerSecond >= 0, "maxDocumentsPerSecond must not be negative");
+        this.maxDocumentsPerSecond = maxDocumentsPerSecond;
+    }
+
+    public void setSort(Sort sort) {
+        Assert.notNull(sort, "sort must not be null");
+        this.sort = sort;
+    }
+
+    /**
+     * Fetches batches with the given query, by key, rather than paging through the repository.  The sort is then
+     * ignored.
+     */
+    public void setQuery(ReindexQuery<T> query) {
+        Assert.notNull(query, "query must not be null");
+        this.query = query;
+    }
+
+    public void setCheckpoint(String job, ReindexCheckpoint checkpoint) {
+        Assert.hasText(job, "job must not be empty");
+        Assert.notNull(checkpoint, "checkpoint must not be null");
+        this.job = job;
+        this.checkpoint = checkpoint;
+    }
+
+    public ReindexStatistics reindex() {
+
+        ReindexStatistics stats = new ReindexStatistics();
+        RateLimiter limiter = maxDocumentsPerSecond > 0 ? new RateLimiter(maxDocumentsPerSecond) : null;
+
+        Cursor<T> cursor = query != null ? new KeyCursor() : new PageCursor();
+
+        int batches = 0;
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        ExecutorService fetcher = Executors.newSingleThreadExecutor();
+        try {
+            Future<Batch<T>> next = fetcher.submit(cursor::fetch);
+            do {
+                Batch<T> batch = next.get();
+                // fetched while this batch is indexed
+                next = batch.last ? null : fetcher.submit(cursor::fetch);
+
+                List<Future<?>> futures = new ArrayList<>(batch.entities.size());
+                for (T entity : batch.entities) {
+                    futures.add(executor.submit(() -> reindex(entity, limiter, stats)));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+
+                batches++;
+                if (checkpoint != null) {
+                    cursor.save(batch);
+                }
+
+                if (LOGGER.isDebugEnabled()) {
+                    LOGGER.debug(format("Reindexed batch %d: %s", batches, stats));
+                }
+            } while (next != null);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StoreAccessException(format("Reindex interrupted after %d batches", batches), e);
+        }
+        catch (ExecutionException e) {
+            throw new StoreAccessException(format("Reindex failed after %d batches", batches), e.getCause());
+        }
+        finally {
+            fetcher.shutdownNow();
+            executor.shutdownNow();
+        }
+
+        if (checkpoint != null) {
+            checkpoint.clear(job);
+        }
+
+        stats.finished();
+        LOGGER.info(format("Reindex complete: %s", stats));
+        return stats;
+    }
+
+    private void reindex(T entity, RateLimiter limiter, ReindexStatistics stats) {
+
+        if (BeanUtils.getFieldWithAnnotation(entity, ContentId.class) == null) {
+            stats.skipped();
+            return;
+        }
+
+        if (limiter != null) {
+            limiter.acquire();
+        }
+
+        try (InputStream content = store.getContent(entity)) {
+            if (content == null) {
+                stats.skipped();
+                return;
+            }
+            indexService.index(entity, content);
+            stats.indexed();
+        }
+        catch (IOException | RuntimeException e) {
+            stats.failed();
+            LOGGER.warn(format("Unable to reindex content %s", BeanUtils.getFieldWithAnnotation(entity, ContentId.class)), e);
+        }
+    }
+
+    private static class Batch<T> {
+
+        private final List<T> entities;
+        private final boolean last;
+        private final int nextPage;
+
+        Batch(List<T> entities, boolean last, int nextPage) {
+            this.entities = entities;
+            this.last = last;
+            this.nextPage = nextPage;
+        }
+    }
+
+    /**
+     * Fetches one batch after another, on the fetcher thread, and records the progress of each once it is reindexed
+     */
+    private interface Cursor<T> {
+
+        Batch<T> fetch();
+
+        void save(Batch<T> batch);
+    }
+
+    private class PageCursor implements Cursor<T> {
+
+        private int pageNumber = checkpoint != null ? checkpoint.load(job) : 0;
+
+        PageCursor() {
+            if (pageNumber > 0) {
+                LOGGER.info(format("Resuming reindex job %s from page %d", job, pageNumber));
+            }
+        }
+
+        @Override
+        public Batch<T> fetch() {
+            Page<T> page = repository.findAll(PageRequest.of(pageNumber, pageSize, sort));
+            pageNumber++;
+            return new Batch<>(page.getContent(), !page.hasNext(), pageNumber);
+        }
+
+        @Override
+        public void save(Batch<T> batch) {
+            checkpoint.save(job, batch.nextPage);
+        }
+    }
+
+    private class KeyCursor implements Cursor<T> {
+
+        private String key = checkpoint != null ? checkpoint.loadKey(job) : null;
+
+        KeyCursor() {
+            if (key != null) {
+                LOGGER.info(format("Resuming reindex job %s after key %s", job, key));
+            }
+        }
+
+        @Override
+        public Batch<T> fetch() {
+            List<T> entities = query.findAfter(key, pageSize);
+            if (!entities.isEmpty()) {
+                key = query.keyOf(entities.get(entities.size() - 1));
+            }
+            return new Batch<>(entities, entities.size() < pageSize, 0);
+        }
+
+        @Override
+        public void save(Batch<T> batch) {
+            if (!batch.entities.isEmpty()) {
+                checkpoint.saveKey(job, query.keyOf(batch.entities.get(batch.entities.size() - 1)));
+            }
+        }
+    }
+
+    static class RateLimiter {
+
+        private final long intervalNanos;
+        private long next = System.nanoTime();
+
+        RateLimiter(double permitsPerSecond) {
+            this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+        }
+
+        /**
+         * Waits for a permit.
+         *
+         * @throws StoreAccessException if interrupted while waiting, with the thread's interrupt flag set
+         */
+        void acquire() {
+
+            long wait;
+            synchronized (this) {
+                long now = System.nanoTime();
+                if (next < now) {
+                    next = now;
+                }
+                wait = next - now;
+                next += intervalNanos;
+            }
+
+            if (wait > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(wait);
+                }
+                catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new StoreAccessException("Interrupted waiting to reindex", e);
+                }
+            }
+        }
+    }
+}
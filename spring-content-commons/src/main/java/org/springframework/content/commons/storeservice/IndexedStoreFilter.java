@@ -0,0 +1,28 @@
+package org.springframework.content.commons.storeservice;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * A {@link StoreFilter} that matches the stores whose key, as computed by its index, equals the filter's key.
+ * <p>
+ * Rather than matching every store, {@link Stores} may look these filters up in an index of its stores, built once
+ * per index function.  The index function should therefore be a constant.
+ */
+public interface IndexedStoreFilter extends StoreFilter {
+
+    /**
+     * @return the function computing the key of a store
+     */
+    Function<StoreInfo, Object> index();
+
+    /**
+     * @return the key of the stores this filter matches
+     */
+    Object key();
+
+    @Override
+    default boolean matches(StoreInfo info) {
+        return Objects.equals(key(), index().apply(info));
+    }
+}
@@ -1,5 +1,7 @@
 package org.springframework.content.commons.storeservice;
 
+import java.util.function.Function;
+
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
 
@@ -16,17 +18,26 @@ public interface Stores {
         }
     };
 
+    /**
+     * Indexes stores by their domain class
+     */
+    Function<StoreInfo, Object> DOMAIN_CLASS = StoreInfo::getDomainObjectClass;
+
     static StoreFilter withDomainClass(Class<?> domainClass) {
         Assert.notNull(domainClass);
 
-        return new StoreFilter() {
+        return new IndexedStoreFilter() {
             @Override
             public String name() {
                 return domainClass.getCanonicalName();
             }
             @Override
-            public boolean matches(StoreInfo info) {
-                return domainClass.equals(info.getDomainObjectClass());
+            public Function<StoreInfo, Object> index() {
+                return DOMAIN_CLASS;
+            }
+            @Override
+            public Object key() {
+                return domainClass;
             }
         };
     }
@@ -0,0 +1,324 @@
+package org.springframework.content.commons.utils;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.util.Assert;
+
+/**
+ * Resolves the mime type of content from its filename and, optionally, from the magic bytes it starts with.
+ * <p>
+ * The {@code mime.types} files are read once, when the registry is created, and resolutions are cached by file
+ * extension.  They are read from the places {@code javax.activation} reads them, without depending on it: in order of
+ * precedence, {@code .mime.types} in the user's home directory, {@code mime.types} in the {@code lib} or {@code conf}
+ * directory of the JRE, and {@code META-INF/mime.types} and {@code META-INF/mimetypes.default} on the classpath.
+ * Common types none of them map, such as {@code txt}, {@code jpg} and {@code png}, are resolved too.  Extensions and
+ * magic bytes can be added with {@link #register} and {@link #registerSignature}.
+ */
+public class MimeTypeRegistry {
+
+    public static final String DEFAULT_MIME_TYPE = "application/octet-stream";
+
+    private static final Log logger = LogFactory.getLog(MimeTypeRegistry.class);
+
+    private static final int MAXIMUM_CACHED = 4096;
+
+    // common types, including those of the mimetypes.default file javax.activation ships
+    private static final String[][] FALLBACKS = {
+            {"html", "text/html"}, {"htm", "text/html"}, {"txt", "text/plain"}, {"text", "text/plain"},
+            {"gif", "image/gif"}, {"ief", "image/ief"}, {"jpeg", "image/jpeg"}, {"jpg", "image/jpeg"},
+            {"jpe", "image/jpeg"}, {"tiff", "image/tiff"}, {"tif", "image/tiff"}, {"xwd", "image/x-xwindowdump"},
+            {"ai", "application/postscript"}, {"eps", "application/postscript"}, {"ps", "application/postscript"},
+            {"rtf", "application/rtf"}, {"tex", "application/x-tex"}, {"texinfo", "application/x-texinfo"},
+            {"texi", "application/x-texinfo"}, {"t", "application/x-troff"}, {"tr", "application/x-troff"},
+            {"roff", "application/x-troff"}, {"au", "audio/basic"}, {"midi", "audio/midi"}, {"mid", "audio/midi"},
+            {"aifc", "audio/x-aifc"}, {"aif", "audio/x-aiff"}, {"aiff", "audio/x-aiff"}, {"wav", "audio/x-wav"},
+            {"mpeg", "video/mpeg"}, {"mpg", "video/mpeg"}, {"mpe", "video/mpeg"}, {"qt", "video/quicktime"},
+            {"mov", "video/quicktime"}, {"avi", "video/x-msvideo"},
+            {"png", "image/png"}, {"svg", "image/svg+xml"}, {"webp", "image/webp"}, {"bmp", "image/bmp"},
+            {"pdf", "application/pdf"}, {"json", "application/json"}, {"xml", "application/xml"},
+            {"zip", "application/zip"}, {"gz", "application/gzip"}, {"csv", "text/csv"}, {"css", "text/css"},
+            {"js", "application/javascript"}, {"mp4", "video/mp4"}, {"mp3", "audio/mpeg"},
+            {"doc", "application/msword"},
+            {"docx", "application/vnd.openxmlformats-officedocument.wordprocessingml.document"},
+            {"xlsx", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"},
+            {"pptx", "application/vnd.openxmlformats-officedocument.presentationml.presentation"}};
+
+    private static volatile MimeTypeRegistry defaultRegistry;
+
+    private final Map<String, String> registered = new ConcurrentHashMap<>();
+    private final Map<String, String> mimeTypes = new HashMap<>();
+    private final Map<String, String> resolved = new ConcurrentHashMap<>();
+    private final List<Signature> signatures = new CopyOnWriteArrayList<>();
+
+    private volatile int maximumSignatureLength;
+    private boolean sniffing = false;
+
+    public MimeTypeRegistry() {
+        for (String[] fallback : FALLBACKS) {
+            mimeTypes.put(fallback[0], fallback[1]);
+        }
+        // read in reverse order of precedence, so that the mappings of later files replace those of earlier ones
+        loadResources("META-INF/mimetypes.default");
+        loadResources("META-INF/mime.types");
+        String javaHome = System.getProperty("java.home");
+        if (javaHome != null) {
+            loadFile(new File(javaHome, "lib" + File.separator + "mime.types"));
+            loadFile(new File(javaHome, "conf" + File.separator + "mime.types"));
+        }
+        String userHome = System.getProperty("user.home");
+        if (userHome != null) {
+            loadFile(new File(userHome, ".mime.types"));
+        }
+
+        registerSignature("application/pdf", 0, ascii("%PDF-"));
+        registerSignature("image/png", 0, new byte[] {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n'});
+        registerSignature("image/jpeg", 0, new byte[] {(byte) 0xff, (byte) 0xd8, (byte) 0xff});
+        registerSignature("image/gif", 0, ascii("GIF87a"));
+        registerSignature("image/gif", 0, ascii("GIF89a"));
+        registerSignature("image/tiff", 0, new byte[] {'I', 'I', '*', 0});
+        registerSignature("image/tiff", 0, new byte[] {'M', 'M', 0, '*'});
+        registerSignature("image/webp", 8, ascii("WEBP"));
+        registerSignature("application/zip", 0, new byte[] {'P', 'K', 3, 4});
+        registerSignature("application/gzip", 0, new byte[] {0x1f, (byte) 0x8b});
+        registerSignature("application/rtf", 0, ascii("{\\rtf"));
+        registerSignature("application/xml", 0, ascii("<?xml"));
+    }
+
+    /**
+     * @return the registry shared by the REST layer and renderers
+     */
+    public static MimeTypeRegistry getDefault() {
+        if (defaultRegistry == null) {
+            synchronized (MimeTypeRegistry.class) {
+                if (defaultRegistry == null) {
+                    defaultRegistry = new MimeTypeRegistry();
+                }
+            }
+        }
+        return defaultRegistry;
+    }
+
+    /**
+     * Maps a file extension, without its leading dot, to a mime type.  Takes precedence over the {@code mime.types}
+     * files.
+     */
+    public MimeTypeRegistry register(String extension, String mimeType) {
+        Assert.hasText(extension, "extension must not be empty");
+        Assert.hasText(mimeType, "mimeType must not be empty");
+        String key = extension.toLowerCase(Locale.ROOT);
+        registered.put(key, mimeType);
+        resolved.remove(key);
+        return this;
+    }
+
+    /**
+     * Identifies content starting with the given bytes, at the given offset, as the given mime type.  Signatures
+     * registered later take precedence.
+     */
+    public MimeTypeRegistry registerSignature(String mimeType, int offset, byte[] magic) {
+        Assert.hasText(mimeType, "mimeType must not be empty");
+        Assert.isTrue(offset >= 0, "offset must not be negative");
+        Assert.isTrue(magic != null && magic.length > 0, "magic must not be empty");
+        signatures.add(0, new Signature(mimeType, offset, magic.clone()));
+        maximumSignatureLength = Math.max(maximumSignatureLength, offset + magic.length);
+        return this;
+    }
+
+    public boolean isSniffing() {
+        return sniffing;
+    }
+
+    /**
+     * Sets whether {@link #getMimeType(String, InputStreamSource)} reads the start of content whose mime type its
+     * filename does not give.  Defaults to false.
+     */
+    public void setSniffing(boolean sniffing) {
+        this.sniffing = sniffing;
+    }
+
+    /**
+     * @return the mime type of the filename's extension, or {@link #DEFAULT_MIME_TYPE} if it is not known
+     */
+    public String getMimeType(String filename) {
+
+        String extension = "";
+        if (filename != null) {
+            int dot = filename.lastIndexOf('.');
+            if (dot >= 0 && dot > Math.max(filename.lastIndexOf('/'), filename.lastIndexOf('\\'))) {
+                extension = filename.substring(dot + 1).toLowerCase(Locale.ROOT);
+            }
+        }
+
+        String mimeType = resolved.get(extension);
+        if (mimeType == null) {
+            mimeType = registered.get(extension);
+            if (mimeType == null) {
+                mimeType = mimeTypes.getOrDefault(extension, DEFAULT_MIME_TYPE);
+            }
+            if (resolved.size() < MAXIMUM_CACHED) {
+                resolved.put(extension, mimeType);
+            }
+        }
+        return mimeType;
+    }
+
+    /**
+     * @return the mime type of the filename's extension or, when it is not known and sniffing is enabled, of the
+     * magic bytes the content starts with
+     */
+    public String getMimeType(String filename, InputStreamSource content) throws IOException {
+
+        String mimeType = getMimeType(filename);
+        if (!sniffing || content == null || !DEFAULT_MIME_TYPE.equals(mimeType)) {
+            return mimeType;
+        }
+
+        byte[] head = new byte[maximumSignatureLength];
+        int length = 0;
+        try (InputStream in = content.getInputStream()) {
+            int n;
+            while (length < head.length && (n = in.read(head, length, head.length - length)) != -1) {
+                length += n;
+            }
+        }
+        String detected = detect(head, length);
+        return detected != null ? detected : mimeType;
+    }
+
+    /**
+     * @return the mime type of content starting with the given bytes, or null if none of the signatures match
+     */
+    public String detect(byte[] head, int length) {
+        for (Signature signature : signatures) {
+            if (signature.matches(head, length)) {
+                return signature.mimeType;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the number of bytes {@link #detect(byte[], int)} needs to match every signature
+     */
+    public int getMaximumSignatureLength() {
+        return maximumSignatureLength;
+    }
+
+    private void loadResources(String name) {
+        try {
+            ClassLoader classLoader = MimeTypeRegistry.class.getClassLoader();
+            Enumeration<URL> resources = classLoader != null ? classLoader.getResources(name)
+                    : ClassLoader.getSystemResources(name);
+            while (resources.hasMoreElements()) {
+                URL resource = resources.nextElement();
+                try (InputStream in = resource.openStream()) {
+                    load(in);
+                } catch (IOException e) {
+                    logger.debug(String.format("Unable to read mime types from %s", resource), e);
+                }
+            }
+        } catch (IOException e) {
+            logger.debug(String.format("Unable to find mime types resources %s", name), e);
+        }
+    }
+
+    private void loadFile(File file) {
+        if (!file.isFile()) {
+            return;
+        }
+        try (InputStream in = new FileInputStream(file)) {
+            load(in);
+        } catch (IOException e) {
+            logger.debug(String.format("Unable to read mime types from %s", file), e);
+        }
+    }
+
+    // reads lines of either the form "type ext1 ext2" or "type=type exts=ext1,ext2", ignoring comments
+    private void load(InputStream in) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.ISO_8859_1));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            int comment = line.indexOf('#');
+            String[] tokens = (comment >= 0 ? line.substring(0, comment) : line).trim().split("[\\s,]+");
+            if (tokens.length < 2) {
+                continue;
+            }
+            if (tokens[0].indexOf('=') < 0) {
+                for (int i = 1; i < tokens.length; i++) {
+                    mimeTypes.put(tokens[i].toLowerCase(Locale.ROOT), tokens[0]);
+                }
+                continue;
+            }
+            String type = null;
+            List<String> extensions = new ArrayList<>();
+            boolean exts = false;
+            for (String token : tokens) {
+                if (token.startsWith("type=")) {
+                    type = token.substring(5);
+                    exts = false;
+                } else if (token.startsWith("exts=")) {
+                    extensions.add(token.substring(5));
+                    exts = true;
+                } else if (exts && token.indexOf('=') < 0) {
+                    extensions.add(token);
+                } else {
+                    exts = false;
+                }
+            }
+            if (type != null && !type.isEmpty()) {
+                for (String extension : extensions) {
+                    if (!extension.isEmpty()) {
+                        mimeTypes.put(extension.toLowerCase(Locale.ROOT), type);
+                    }
+                }
+            }
+        }
+    }
+
+    private static byte[] ascii(String magic) {
+        return magic.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static final class Signature {
+
+        private final String mimeType;
+        private final int offset;
+        private final byte[] magic;
+
+        Signature(String mimeType, int offset, byte[] magic) {
+            this.mimeType = mimeType;
+            this.offset = offset;
+            this.magic = magic;
+        }
+
+        boolean matches(byte[] head, int length) {
+            if (offset + magic.length > length) {
+                return false;
+            }
+            for (int i = 0; i < magic.length; i++) {
+                if (head[offset + i] != magic[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package internal.org.springframework.content.commons.renditions;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.AfterEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.junit.runner.RunWith;
+import org.springframework.content.commons.renditions.FileExtractedTextCache;
+import org.springframework.content.commons.renditions.RenditionService;
+import org.springframework.content.commons.repository.StoreAccessException;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+@RunWith(Ginkgo4jRunner.class)
+public class ExtractedTextCachingRenditionServiceTest {
+
+    private static final String DOCX = "application/vnd.openxmlformats-officedocument.wordprocessingml.document";
+
+    private ExtractedTextCachingRenditionService service;
+
+    private RenditionService delegate;
+    private File cacheDir;
+
+    private InputStream result;
+
+    {
+        Describe("ExtractedTextCachingRenditionService", () -> {
+
+            BeforeEach(() -> {
+                cacheDir = Files.createTempDirectory("extracted-text-cache").toFile();
+                delegate = mock(RenditionService.class);
+                when(delegate.canConvert(DOCX, "text/plain")).thenReturn(true);
+                when(delegate.convert(eq(DOCX), any(InputStream.class), eq("text/plain"))).thenAnswer(invocation -> {
+                    InputStream in = invocation.getArgument(1);
+                    return new ByteArrayInputStream(("text of " + IOUtils.toString(in, StandardCharsets.UTF_8)).getBytes());
+                });
+
+                service = new ExtractedTextCachingRenditionService(delegate, new FileExtractedTextCache(cacheDir));
+            });
+
+            AfterEach(() -> {
+                FileUtils.deleteDirectory(cacheDir);
+            });
+
+            Context("when the same content is converted to text twice", () -> {
+
+                It("should extract the text once and serve it from the cache thereafter", () -> {
+                    result = service.convert(DOCX, new ByteArrayInputStream("foo".getBytes()), "text/plain");
+                    assertThat(IOUtils.toString(result, StandardCharsets.UTF_8), is("text of foo"));
+                    result.close();
+
+                    result = service.convert(DOCX, new ByteArrayInputStream("foo".getBytes()), "text/plain");
+                    assertThat(IOUtils.toString(result, StandardCharsets.UTF_8), is("text of foo"));
+                    result.close();
+
+                    verify(delegate, times(1)).convert(eq(DOCX), any(InputStream.class), eq("text/plain"));
+                });
+            });
+
+            Context("when different content is converted to text", () -> {
+
+                It("should extract the text of each", () -> {
+                    result = service.convert(DOCX, new ByteArrayInputStream("foo".getBytes()), "text/plain");
+                    assertThat(IOUtils.toString(result, StandardCharsets.UTF_8), is("text of foo"));
+                    result.close();
+
+                    result = service.convert(DOCX, new ByteArrayInputStream("bar".getBytes()), "text/plain");
+                    assertThat(IOUtils.toString(result, StandardCharsets.UTF_8), is("text of bar"));
+                    result.close();
+
+                    verify(delegate, times(2)).convert(eq(DOCX), any(InputStream.class), eq("text/plain"));
+                });
+            });
+
+            Context("when the delegate cannot convert the content", () -> {
+
+                It("should return null without reading the content and cache nothing", () -> {
+                    InputStream in = mock(InputStream.class);
+                    result = service.convert("application/pdf", in, "text/plain");
+                    assertThat(result, is(nullValue()));
+                    verifyNoInteractions(in);
+                    verify(delegate, never()).convert(any(), any(), any());
+                    assertThat(cacheDir.list().length, is(0));
+                });
+            });
+
+            Context("when the content cannot be read", () -> {
+
+                It("should fail", () -> {
+                    InputStream in = mock(InputStream.class);
+                    when(in.read(any(byte[].class))).thenThrow(new IOException("badness"));
+                    when(in.read(any(byte[].class), anyInt(), anyInt())).thenThrow(new IOException("badness"));
+
+                    Exception ex = null;
+                    try {
+                        service.convert(DOCX, in, "text/plain");
+                    } catch (Exception e) {
+                        ex = e;
+                    }
+                    assertThat(ex, is(instanceOf(StoreAccessException.class)));
+                    assertThat(ex.getCause(), is(instanceOf(IOException.class)));
+                    assertThat(cacheDir.list().length, is(0));
+                });
+            });
+
+            Context("when converting to a type other than text", () -> {
+
+                It("should delegate without caching", () -> {
+                    InputStream in = new ByteArrayInputStream("foo".getBytes());
+                    service.convert(DOCX, in, "image/jpeg");
+                    verify(delegate).convert(DOCX, in, "image/jpeg");
+                    assertThat(cacheDir.list().length, is(0));
+                });
+            });
+        });
+    }
+}
@@ -0,0 +1,170 @@
+package internal.org.springframework.content.commons.renditions;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.JustBeforeEach;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayContainingInAnyOrder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.runner.RunWith;
+import org.springframework.content.commons.renditions.RenditionProvider;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+@RunWith(Ginkgo4jRunner.class)
+public class RenditionServiceImplTest {
+
+    private static final String DOCX = "application/vnd.openxmlformats-officedocument.wordprocessingml.document";
+
+    private RenditionServiceImpl service;
+    private RenditionProvider[] providers;
+
+    {
+        Describe("RenditionServiceImpl", () -> {
+
+            JustBeforeEach(() -> {
+                service = new RenditionServiceImpl(providers);
+            });
+
+            Context("given providers that can be chained", () -> {
+
+                BeforeEach(() -> {
+                    providers = new RenditionProvider[] {
+                            new TestProvider(DOCX, "application/pdf", "pdf", 1),
+                            new TestProvider("application/pdf", "image/jpeg", "jpeg", 1),
+                            new TestProvider("image/jpeg", "image/png", "png", 1)
+                    };
+                });
+
+                It("should convert directly when a single provider can", () -> {
+                    assertThat(service.canConvert(DOCX, "application/pdf"), is(true));
+                    assertThat(convert(DOCX, "application/pdf"), is("pdf(content)"));
+                });
+
+                It("should chain providers, streaming from one to the next", () -> {
+                    assertThat(service.canConvert(DOCX, "image/jpeg"), is(true));
+                    assertThat(convert(DOCX, "image/jpeg"), is("jpeg(pdf(content))"));
+                    assertThat(convert(DOCX, "image/png"), is("png(jpeg(pdf(content)))"));
+                });
+
+                It("should match wildcard targets", () -> {
+                    assertThat(service.canConvert("application/pdf", "image/*"), is(true));
+                    assertThat(convert("application/pdf", "image/*"), is("jpeg(content)"));
+                });
+
+                It("should list every reachable conversion", () -> {
+                    assertThat(service.conversions(DOCX), arrayContainingInAnyOrder("application/pdf", "image/jpeg", "image/png"));
+                    assertThat(service.conversions("image/png").length, is(0));
+                });
+
+                It("should not convert to an unreachable mime type", () -> {
+                    assertThat(service.canConvert("image/png", DOCX), is(false));
+                    assertThat(service.convert("image/png", new ByteArrayInputStream("content".getBytes()), DOCX), is(nullValue()));
+                });
+
+                Context("given chaining is limited to a single hop", () -> {
+
+                    JustBeforeEach(() -> {
+                        service.setMaximumHops(1);
+                    });
+
+                    It("should only convert directly", () -> {
+                        assertThat(service.canConvert(DOCX, "application/pdf"), is(true));
+                        assertThat(service.canConvert(DOCX, "image/jpeg"), is(false));
+                        assertThat(service.conversions(DOCX), arrayContainingInAnyOrder("application/pdf"));
+                    });
+                });
+            });
+
+            Context("given a direct provider that is more expensive than a chain", () -> {
+
+                BeforeEach(() -> {
+                    providers = new RenditionProvider[] {
+                            new TestProvider(DOCX, "image/jpeg", "direct", 10),
+                            new TestProvider(DOCX, "application/pdf", "pdf", 1),
+                            new TestProvider("application/pdf", "image/jpeg", "jpeg", 1)
+                    };
+                });
+
+                It("should use the cheapest chain", () -> {
+                    assertThat(convert(DOCX, "image/jpeg"), is("jpeg(pdf(content))"));
+                });
+            });
+
+            Context("given a direct provider and an equally expensive chain", () -> {
+
+                BeforeEach(() -> {
+                    providers = new RenditionProvider[] {
+                            new TestProvider(DOCX, "application/pdf", "pdf", 1),
+                            new TestProvider("application/pdf", "image/jpeg", "jpeg", 1),
+                            new TestProvider(DOCX, "image/jpeg", "direct", 2)
+                    };
+                });
+
+                It("should prefer the fewest hops", () -> {
+                    assertThat(convert(DOCX, "image/jpeg"), is("direct(content)"));
+                });
+            });
+        });
+    }
+
+    private String convert(String from, String to) {
+        InputStream result = service.convert(from, new ByteArrayInputStream("content".getBytes()), to);
+        try {
+            return IOUtils.toString(result, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static class TestProvider implements RenditionProvider {
+
+        private final String consumes;
+        private final String produces;
+        private final String name;
+        private final int cost;
+
+        TestProvider(String consumes, String produces, String name, int cost) {
+            this.consumes = consumes;
+            this.produces = produces;
+            this.name = name;
+            this.cost = cost;
+        }
+
+        @Override
+        public String consumes() {
+            return consumes;
+        }
+
+        @Override
+        public String[] produces() {
+            return new String[] {produces};
+        }
+
+        @Override
+        public int cost() {
+            return cost;
+        }
+
+        @Override
+        public InputStream convert(InputStream fromInputSource, String toMimeType) {
+            try {
+                String content = IOUtils.toString(fromInputSource, StandardCharsets.UTF_8);
+                return new ByteArrayInputStream((name + "(" + content + ")").getBytes(StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -18,6 +18,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 
 import org.junit.runner.RunWith;
+import org.springframework.content.commons.io.SpillFileManager;
 import org.springframework.content.commons.repository.ContentStore;
 import org.springframework.context.ApplicationEventPublisher;
 
@@ -50,7 +51,7 @@ public class StoreImplTest {
                     }
                 }
 
-                stores = new StoreImpl(store, publisher, contentCopyPathRoot);
+                stores = new StoreImpl(store, publisher, new SpillFileManager(contentCopyPathRoot));
             });
 
             Context("#setContent - inputstream", () -> {
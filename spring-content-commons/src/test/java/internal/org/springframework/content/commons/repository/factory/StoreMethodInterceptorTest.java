@@ -25,7 +25,6 @@ import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.io.Serializable;
 import java.lang.reflect.Method;
-import java.nio.file.Paths;
 import java.util.Collections;
 import java.util.Map;
 import java.util.UUID;
@@ -120,7 +119,7 @@ public class StoreMethodInterceptorTest {
 
 			JustBeforeEach(() -> {
 				interceptor = new StoreMethodInterceptor();
-				StoreFragments fragments = new StoreFragments(Collections.singletonList(new StoreFragment(TestContentStore.class, new StoreImpl(store, publisher, Paths.get(System.getProperty("java.io.tmpdir"))))));
+				StoreFragments fragments = new StoreFragments(Collections.singletonList(new StoreFragment(TestContentStore.class, new StoreImpl(store, publisher))));
 				interceptor.setStoreFragments(fragments);
 				try {
 					interceptor.invoke(invocation);
@@ -503,7 +502,7 @@ public class StoreMethodInterceptorTest {
 				try {
 					Method m = ReflectionUtils.findMethod(TestContentStore.class, "unsetContent", Object.class);
 					assertThat(m, is(not(nullValue())));
-					Method actual = interceptor.getMethod(m, new StoreFragment(TestContentStore.class, new StoreImpl(store, publisher, Paths.get(System.getProperty("java.io.tmpdir")))));
+					Method actual = interceptor.getMethod(m, new StoreFragment(TestContentStore.class, new StoreImpl(store, publisher)));
 					assertThat(actual, is(ReflectionUtils.findMethod(StoreImpl.class, "unsetContent", Object.class)));
 				}
 				catch (Exception invokeException) {
@@ -518,7 +517,7 @@ public class StoreMethodInterceptorTest {
 				try {
 					Method m = ReflectionUtils.findMethod(TestContentStore.class, "setContent", TEntity.class, InputStream.class);
 					assertThat(m, is(not(nullValue())));
-					Method actual = interceptor.getMethod(m, new StoreFragment(TestContentStore.class, new StoreImpl(store, publisher, Paths.get(System.getProperty("java.io.tmpdir")))));
+					Method actual = interceptor.getMethod(m, new StoreFragment(TestContentStore.class, new StoreImpl(store, publisher)));
 					assertThat(actual, is(ReflectionUtils.findMethod(StoreImpl.class, "setContent", Object.class, InputStream.class)));
 				}
 				catch (Exception invokeException) {
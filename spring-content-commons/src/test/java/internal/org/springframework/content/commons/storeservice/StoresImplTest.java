@@ -6,9 +6,13 @@ import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
 import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
 import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.JustBeforeEach;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.util.function.Function;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -16,8 +20,10 @@ import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 import org.springframework.content.commons.repository.AssociativeStore;
 import org.springframework.content.commons.repository.ContentStore;
+import org.springframework.content.commons.repository.ReactiveContentStore;
 import org.springframework.content.commons.repository.Store;
 import org.springframework.content.commons.repository.factory.StoreFactory;
+import org.springframework.content.commons.storeservice.IndexedStoreFilter;
 import org.springframework.content.commons.storeservice.StoreFilter;
 import org.springframework.content.commons.storeservice.StoreInfo;
 import org.springframework.content.commons.storeservice.Stores;
@@ -84,8 +90,38 @@ public class StoresImplTest {
 					StoreInfo[] infos = contentRepoService.getStores(ContentStore.class);
 					assertThat(infos.length, is(1));
 				});
+				It("should look up the store by domain class", () -> {
+					StoreInfo info = contentRepoService.getStore(ContentStore.class, Stores.withDomainClass(Object.class));
+					assertThat(info.getInterface(), is(ContentRepositoryInterface.class));
+
+					assertThat(contentRepoService.getStore(ContentStore.class, Stores.withDomainClass(Entity.class)), is(nullValue()));
+				});
 			});
 
+			Context("given a ReactiveContentStore factory", () -> {
+				BeforeEach(() -> {
+					mockFactory = mock(StoreFactory.class);
+					Store store = mock(Store.class, withSettings().extraInterfaces(ReactiveContentStore.class));
+					when(mockFactory.getStore()).thenReturn(store);
+					when(mockFactory.getStoreInterface())
+							.thenAnswer(new Answer<Object>() {
+								@Override
+								public Object answer(InvocationOnMock invocation)
+										throws Throwable {
+									return ReactiveEntityStoreInterface.class;
+								}
+							});
+
+					when(context.getBeanNamesForType(StoreFactory.class)).thenReturn(new String[]{"&testStoreFactory"});
+					when(context.getBean("&testStoreFactory", StoreFactory.class)).thenReturn(mockFactory);
+                    when(context.getBean("testStoreFactory", Store.class)).thenReturn(store);
+				});
+				It("should look up the store by domain class", () -> {
+					StoreInfo info = contentRepoService.getStore(ReactiveContentStore.class, Stores.withDomainClass(Entity.class));
+					assertThat(info.getInterface(), is(ReactiveEntityStoreInterface.class));
+					assertThat(info.getDomainObjectClass(), is(Entity.class));
+				});
+			});
 			Context("given a Store factory", () -> {
 				BeforeEach(() -> {
 					mockFactory = mock(StoreFactory.class);
@@ -205,6 +241,15 @@ public class StoresImplTest {
 							});
 					assertThat(infos.length, is(0));
 				});
+				It("should look up stores by the key of an indexed filter", () -> {
+					StoreInfo[] infos = contentRepoService.getStores(AssociativeStore.class, withInterfaceName("EntityStoreInterface"));
+					assertThat(infos.length, is(1));
+					assertThat(infos[0].getInterface(), is(EntityStoreInterface.class));
+
+					infos = contentRepoService.getStores(withInterfaceName("OtherEntityStoreInterface"));
+					assertThat(infos.length, is(1));
+					assertThat(infos[0].getInterface(), is(OtherEntityStoreInterface.class));
+				});
 			});
 			Context("given multiple stores for the same Entity", () -> {
 				BeforeEach(() -> {
@@ -253,6 +298,25 @@ public class StoresImplTest {
 	public void test() {
 	}
 
+	private static final Function<StoreInfo, Object> INTERFACE_NAME = (info) -> info.getInterface().getSimpleName();
+
+	private static StoreFilter withInterfaceName(String name) {
+		return new IndexedStoreFilter() {
+			@Override
+			public String name() {
+				return name;
+			}
+			@Override
+			public Function<StoreInfo, Object> index() {
+				return INTERFACE_NAME;
+			}
+			@Override
+			public Object key() {
+				return name;
+			}
+		};
+	}
+
 	public interface StoreInterface extends Store<String> {
 	}
 
@@ -280,4 +344,7 @@ public class StoresImplTest {
 
 	public interface JpaEntityStoreInterface extends ContentStore<Entity, String> {
 	}
+
+	public interface ReactiveEntityStoreInterface extends ReactiveContentStore<Entity, String> {
+	}
 }
@@ -3,14 +3,23 @@ package org.springframework.content.commons.io;
 import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
 import org.junit.runner.RunWith;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
-import java.util.Observable;
+import java.io.FileOutputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Random;
 
 import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.*;
 import static org.hamcrest.CoreMatchers.hasItem;
+import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 @RunWith(Ginkgo4jRunner.class)
@@ -21,6 +30,9 @@ public class ObservableInputStreamTest {
     private FileInputStream fis;
     private InputStreamObserver observer;
 
+    private File from;
+    private File to;
+
     {
         Describe("ObservableInputStream", () -> {
             Context("when an input stream is observed", () -> {
@@ -43,6 +55,23 @@ public class ObservableInputStreamTest {
                         verify(fis).read();
                     });
                 });
+                Context("when the input stream is read in bulk", () -> {
+                    JustBeforeEach(() -> {
+                        ois.read(new byte[10], 2, 8);
+                    });
+                    It("should delegate the bulk read to the underlying input stream", () -> {
+                        verify(fis).read(any(byte[].class), eq(2), eq(8));
+                        verify(fis, never()).read();
+                    });
+                });
+                Context("when the input stream is skipped", () -> {
+                    JustBeforeEach(() -> {
+                        ois.skip(42L);
+                    });
+                    It("should delegate to the underlying input stream", () -> {
+                        verify(fis).skip(42L);
+                    });
+                });
                 Context("when the input stream is closed", () -> {
                     JustBeforeEach(() -> {
                         ois.close();
@@ -50,6 +79,48 @@ public class ObservableInputStreamTest {
                     It("should call listeners on closed event handler", () -> {
                         verify(observer).closed();
                     });
+                    It("should close the underlying input stream", () -> {
+                        verify(fis).close();
+                    });
+                    Context("when the input stream is closed again", () -> {
+                        JustBeforeEach(() -> {
+                            ois.close();
+                        });
+                        It("should only call listeners once", () -> {
+                            verify(observer, times(1)).closed();
+                        });
+                    });
+                });
+            });
+            Context("when a file input stream is transferred", () -> {
+                BeforeEach(() -> {
+                    from = File.createTempFile("observable", ".in");
+                    to = File.createTempFile("observable", ".out");
+                    byte[] content = new byte[200 * 1024];
+                    new Random(1).nextBytes(content);
+                    Files.write(from.toPath(), content);
+
+                    observer = mock(InputStreamObserver.class);
+                    ois = new ObservableInputStream(new FileInputStream(from), observer);
+                });
+                AfterEach(() -> {
+                    from.delete();
+                    to.delete();
+                });
+                It("should transfer the remaining content to a file output stream", () -> {
+                    ois.skip(1024);
+                    try (FileOutputStream out = new FileOutputStream(to)) {
+                        assertThat(ois.transferTo(out), is(199L * 1024));
+                    }
+                    ois.close();
+                    byte[] expected = Arrays.copyOfRange(Files.readAllBytes(from.toPath()), 1024, 200 * 1024);
+                    assertThat(Arrays.equals(Files.readAllBytes(to.toPath()), expected), is(true));
+                });
+                It("should transfer the content to any other output stream", () -> {
+                    ByteArrayOutputStream out = new ByteArrayOutputStream();
+                    assertThat(ois.transferTo(out), is(200L * 1024));
+                    ois.close();
+                    assertThat(Arrays.equals(out.toByteArray(), Files.readAllBytes(from.toPath())), is(true));
                 });
             });
         });
@@ -3,6 +3,7 @@ package org.springframework.content.commons.io;
 import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
 import org.junit.runner.RunWith;
 import org.mockito.InOrder;
+import org.mockito.Mockito;
 
 import java.io.IOException;
 import java.io.OutputStream;
@@ -52,6 +53,27 @@ public class ObservableOutputStreamTest {
                     verify(os).write(32);
                 });
             });
+            Context("when the output stream is written to in bulk", () -> {
+                JustBeforeEach(() -> {
+                    observable.write(new byte[10], 2, 8);
+                    observable.flush();
+                });
+                It("should delegate the bulk write and flush to the underlying output stream", () -> {
+                    verify(os).write(Mockito.any(byte[].class), eq(2), eq(8));
+                    verify(os, never()).write(anyInt());
+                    verify(os).flush();
+                });
+            });
+            Context("when the output stream is closed twice", () -> {
+                JustBeforeEach(() -> {
+                    observable.close();
+                    observable.close();
+                });
+                It("should only close the underlying stream and call listeners once", () -> {
+                    verify(os, times(1)).close();
+                    verify(observer1, times(1)).closed();
+                });
+            });
             Context("when the output stream is closed", () -> {
                 JustBeforeEach(() -> {
                     observable.close();
@@ -0,0 +1,151 @@
+package org.springframework.content.commons.io;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import org.apache.commons.io.IOUtils;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.*;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+@RunWith(Ginkgo4jRunner.class)
+public class ProducerInputStreamTest {
+
+    private ProducerInputStream in;
+    private byte[] content;
+    private Exception e;
+
+    {
+        Describe("ProducerInputStream", () -> {
+
+            Context("given a producer that writes more than the buffer holds", () -> {
+
+                BeforeEach(() -> {
+                    content = new byte[100 * 1024];
+                    new Random().nextBytes(content);
+
+                    in = ProducerInputStream.start((out) -> {
+                        for (int i = 0; i < content.length; i += 1000) {
+                            out.write(content, i, Math.min(1000, content.length - i));
+                        }
+                    }, 4096, Executors.newSingleThreadExecutor());
+                });
+
+                It("should stream all of its content", () -> {
+                    assertThat(IOUtils.toByteArray(in), is(content));
+                    assertThat(in.read(), is(-1));
+                });
+            });
+
+            Context("given a reader that falls behind", () -> {
+
+                AtomicLong written = new AtomicLong();
+
+                BeforeEach(() -> {
+                    written.set(0);
+                    in = ProducerInputStream.start((out) -> {
+                        while (true) {
+                            out.write(new byte[100]);
+                            written.addAndGet(100);
+                        }
+                    }, 1000, Executors.newSingleThreadExecutor());
+                });
+
+                It("should block the producer when the buffer is full", () -> {
+                    Thread.sleep(200);
+                    assertThat(written.get(), is(lessThanOrEqualTo(1000L)));
+                    in.close();
+                });
+
+                It("should not count the time the producer waits for the reader as producing time", () -> {
+                    Thread.sleep(200);
+                    assertThat(in.getProducingTime().toMillis(), is(lessThanOrEqualTo(100L)));
+                    assertThat(in.isProduced(), is(false));
+                    in.close();
+                });
+            });
+
+            Context("given a reader that closes the stream early", () -> {
+
+                CountDownLatch stopped = new CountDownLatch(1);
+                AtomicReference<Exception> failure = new AtomicReference<>();
+
+                BeforeEach(() -> {
+                    in = ProducerInputStream.start((out) -> {
+                        try {
+                            while (true) {
+                                out.write(new byte[100]);
+                            }
+                        } catch (IOException e) {
+                            failure.set(e);
+                            throw e;
+                        } finally {
+                            stopped.countDown();
+                        }
+                    }, 1000, Executors.newSingleThreadExecutor());
+                });
+
+                It("should stop the producer", () -> {
+                    in.read(new byte[10]);
+                    in.close();
+                    assertThat(stopped.await(5, TimeUnit.SECONDS), is(true));
+                    assertThat(failure.get(), is(instanceOf(IOException.class)));
+                });
+            });
+
+            Context("given an executor that rejects the producer", () -> {
+
+                BeforeEach(() -> {
+                    ThreadPoolExecutor executor = ProducerInputStream.newExecutor("test-", 1, 0);
+                    ProducerInputStream.start((out) -> Thread.sleep(5000), executor);
+                    in = ProducerInputStream.start((out) -> out.write(1), executor);
+                });
+
+                It("should fail the reader", () -> {
+                    try {
+                        in.read();
+                    } catch (Exception e) {
+                        this.e = e;
+                    }
+                    assertThat(e, is(instanceOf(IOException.class)));
+                    assertThat(e.getCause(), is(instanceOf(RejectedExecutionException.class)));
+                });
+            });
+
+            Context("given a producer that fails", () -> {
+
+                BeforeEach(() -> {
+                    in = ProducerInputStream.start((out) -> {
+                        out.write("partial".getBytes());
+                        throw new IllegalStateException("badness");
+                    }, Executors.newSingleThreadExecutor());
+                });
+
+                It("should return the content produced before rethrowing the failure", () -> {
+                    byte[] partial = new byte[7];
+                    assertThat(IOUtils.read(in, partial), is(7));
+                    assertThat(new String(partial), is("partial"));
+                    try {
+                        in.read();
+                    } catch (Exception e) {
+                        this.e = e;
+                    }
+                    assertThat(e, is(instanceOf(IOException.class)));
+                    assertThat(e.getCause(), is(instanceOf(IllegalStateException.class)));
+                });
+            });
+        });
+    }
+}
@@ -0,0 +1,141 @@
+package org.springframework.content.commons.io;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.AfterEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.junit.runner.RunWith;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+@RunWith(Ginkgo4jRunner.class)
+public class SpillFileManagerTest {
+
+    private Path directory;
+    private SpillFileManager manager;
+    private SpillOutputStream out;
+    private Exception e;
+
+    {
+        Describe("SpillFileManager", () -> {
+
+            BeforeEach(() -> {
+                directory = Files.createTempDirectory("spill-test");
+                manager = new SpillFileManager(directory);
+                manager.setMemoryThreshold(8);
+                out = manager.newOutputStream();
+            });
+
+            AfterEach(() -> {
+                FileUtils.deleteDirectory(directory.toFile());
+            });
+
+            Context("given content below the memory threshold", () -> {
+
+                BeforeEach(() -> {
+                    out.write("1234".getBytes());
+                });
+
+                It("should not spill it", () -> {
+                    assertThat(out.isSpilled(), is(false));
+                    assertThat(manager.getSpillCount(), is(0L));
+                    assertThat(IOUtils.toString(out.getInputStream()), is("1234"));
+                });
+            });
+
+            Context("given content above the memory threshold", () -> {
+
+                BeforeEach(() -> {
+                    out.write("1234".getBytes());
+                    out.write("56789".getBytes());
+                });
+
+                It("should spill it to the directory", () -> {
+                    assertThat(out.isSpilled(), is(true));
+                    assertThat(out.size(), is(9L));
+                    assertThat(manager.getSpillCount(), is(1L));
+                    assertThat(manager.getDiskUsage(), is(9L));
+                    assertThat(manager.getBytesSpilled(), is(9L));
+                    assertThat(manager.getFileCount(), is(1));
+                    assertThat(directory.toFile().list().length, is(1));
+                });
+
+                It("should release the spill file when its input stream is closed", () -> {
+                    InputStream in = out.getInputStream();
+                    assertThat(IOUtils.toString(in), is("123456789"));
+                    in.close();
+
+                    assertThat(manager.getDiskUsage(), is(0L));
+                    assertThat(manager.getFileCount(), is(0));
+                    assertThat(directory.toFile().list().length, is(0));
+                });
+
+                It("should release the spill file when its resource is deleted", () -> {
+                    DeletableResource resource = out.toResource();
+                    assertThat(resource.contentLength(), is(9L));
+                    assertThat(IOUtils.toString(resource.getInputStream()), is("123456789"));
+                    assertThat(IOUtils.toString(resource.getInputStream()), is("123456789"));
+
+                    resource.delete();
+                    assertThat(resource.exists(), is(false));
+                    assertThat(manager.getDiskUsage(), is(0L));
+                    assertThat(directory.toFile().list().length, is(0));
+                });
+            });
+
+            Context("given a quota", () -> {
+
+                BeforeEach(() -> {
+                    manager.setQuota(10);
+                    out.write(new byte[8]);
+                    try {
+                        out.write(new byte[8]);
+                    } catch (Exception e) {
+                        this.e = e;
+                    }
+                });
+
+                It("should reject content that would exceed it", () -> {
+                    assertThat(e, is(instanceOf(SpillQuotaExceededException.class)));
+                    assertThat(manager.getQuotaRejections(), is(1L));
+                    assertThat(manager.getDiskUsage(), is(8L));
+
+                    out.release();
+                    assertThat(manager.getDiskUsage(), is(0L));
+                    assertThat(directory.toFile().list().length, is(0));
+                });
+            });
+
+            Context("given stale spill files left by a previous process", () -> {
+
+                BeforeEach(() -> {
+                    File stale = new File(directory.toFile(), "spill-stale.tmp");
+                    FileUtils.touch(stale);
+                    File other = new File(directory.toFile(), "other.tmp");
+                    FileUtils.touch(other);
+                    stale.setLastModified(0);
+                    other.setLastModified(0);
+
+                    out.write(new byte[16]);
+                });
+
+                It("should delete them when it first spills", () -> {
+                    assertThat(new File(directory.toFile(), "spill-stale.tmp").exists(), is(false));
+                    assertThat(new File(directory.toFile(), "other.tmp").exists(), is(true));
+                });
+            });
+        });
+    }
+}
@@ -0,0 +1,178 @@
+package org.springframework.content.commons.renditions;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.AfterEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.junit.runner.RunWith;
+import org.springframework.content.commons.annotations.ContentId;
+import org.springframework.content.commons.annotations.ContentLength;
+import org.springframework.content.commons.annotations.MimeType;
+import org.springframework.content.commons.repository.ContentStore;
+import org.springframework.content.commons.repository.events.AfterSetContentEvent;
+import org.springframework.core.io.FileSystemResource;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@RunWith(Ginkgo4jRunner.class)
+public class EagerRenditionGeneratorTest {
+
+    private EagerRenditionGenerator generator;
+
+    private RenditionService renditionService;
+    private StoreRenditionCache cache;
+    private ContentStore<Object, Serializable> store;
+    private File dir;
+
+    private TEntity entity;
+    private CountDownLatch latch;
+
+    {
+        Describe("EagerRenditionGenerator", () -> {
+
+            BeforeEach(() -> {
+                dir = Files.createTempDirectory("renditions").toFile();
+                cache = new StoreRenditionCache(id -> new FileSystemResource(new File(dir, id)));
+
+                latch = new CountDownLatch(0);
+                renditionService = mock(RenditionService.class);
+                when(renditionService.canConvert("application/pdf", "image/jpeg")).thenReturn(true);
+                when(renditionService.convert(eq("application/pdf"), any(), eq("image/jpeg"))).thenAnswer(invocation -> {
+                    latch.await(5, TimeUnit.SECONDS);
+                    return stream("jpeg");
+                });
+
+                store = mock(ContentStore.class);
+                when(store.getContent(any())).thenAnswer(invocation -> stream("pdf"));
+
+                entity = new TEntity("12345", 3L, "application/pdf");
+
+                generator = new EagerRenditionGenerator(renditionService, cache);
+            });
+
+            AfterEach(() -> {
+                generator.destroy();
+                FileUtils.deleteDirectory(dir);
+            });
+
+            Context("given an entity with precomputed renditions", () -> {
+
+                It("should render them into the cache when content is set", () -> {
+                    generator.onApplicationEvent(new AfterSetContentEvent(entity, store));
+                    generator.destroy();
+
+                    assertThat(cache.get(RenditionKey.of(entity, "image/jpeg")), is(notNullValue()));
+                    try (InputStream in = cache.get(RenditionKey.of(entity, "image/jpeg")).getInputStream()) {
+                        assertThat(IOUtils.toString(in, StandardCharsets.UTF_8), is("jpeg"));
+                    }
+                });
+
+                Context("when a rendition is already in progress", () -> {
+
+                    BeforeEach(() -> {
+                        latch = new CountDownLatch(1);
+                    });
+
+                    It("should not render it again", () -> {
+                        generator.onApplicationEvent(new AfterSetContentEvent(entity, store));
+                        verify(renditionService, timeout(5000)).convert(eq("application/pdf"), any(), eq("image/jpeg"));
+                        assertThat(generator.getStatus(RenditionKey.of(entity, "image/jpeg")), is(EagerRenditionGenerator.Status.RUNNING));
+
+                        generator.onApplicationEvent(new AfterSetContentEvent(entity, store));
+
+                        latch.countDown();
+                        generator.destroy();
+
+                        verify(renditionService, times(1)).convert(eq("application/pdf"), any(), eq("image/jpeg"));
+                        assertThat(generator.getStatus(RenditionKey.of(entity, "image/jpeg")), is(nullValue()));
+                    });
+                });
+            });
+
+            Context("given an entity without precomputed renditions", () -> {
+
+                It("should not render anything", () -> {
+                    generator.onApplicationEvent(new AfterSetContentEvent(new Other("12345", "application/pdf"), store));
+                    generator.destroy();
+
+                    verify(renditionService, never()).convert(any(), any(), any());
+                });
+
+                Context("given renditions configured for the domain type", () -> {
+
+                    BeforeEach(() -> {
+                        generator.precompute(Other.class, "image/jpeg");
+                    });
+
+                    It("should render them", () -> {
+                        generator.onApplicationEvent(new AfterSetContentEvent(new Other("12345", "application/pdf"), store));
+                        generator.destroy();
+
+                        verify(renditionService).convert(eq("application/pdf"), any(), eq("image/jpeg"));
+                    });
+                });
+            });
+        });
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @PrecomputedRenditions("image/jpeg")
+    public static class TEntity {
+
+        @ContentId
+        private String contentId;
+
+        @ContentLength
+        private Long length;
+
+        @MimeType
+        private String mimeType;
+    }
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    public static class Other {
+
+        @ContentId
+        private String contentId;
+
+        @MimeType
+        private String mimeType;
+    }
+}
@@ -0,0 +1,108 @@
+package org.springframework.content.commons.renditions;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.AfterEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.junit.runner.RunWith;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+@RunWith(Ginkgo4jRunner.class)
+public class FileExtractedTextCacheTest {
+
+    private FileExtractedTextCache cache;
+    private File dir;
+
+    {
+        Describe("FileExtractedTextCache", () -> {
+
+            BeforeEach(() -> {
+                dir = Files.createTempDirectory("extracted-text-cache").toFile();
+                cache = new FileExtractedTextCache(dir, 25);
+            });
+
+            AfterEach(() -> {
+                FileUtils.deleteDirectory(dir);
+            });
+
+            It("should serve what was put", () -> {
+                try (InputStream in = cache.put("aa01", text("0123456789"))) {
+                    assertThat(IOUtils.toString(in, StandardCharsets.UTF_8), is("0123456789"));
+                }
+
+                try (InputStream in = cache.get("aa01")) {
+                    assertThat(IOUtils.toString(in, StandardCharsets.UTF_8), is("0123456789"));
+                }
+                assertThat(cache.get("aa02"), is(nullValue()));
+            });
+
+            Context("when the cache grows beyond its maximum size", () -> {
+
+                It("should evict the least recently used entries", () -> {
+                    cache.put("aa01", text("0123456789"));
+                    cache.put("bb02", text("0123456789"));
+                    new File(new File(dir, "aa"), "aa01").setLastModified(System.currentTimeMillis() - 60000);
+                    new File(new File(dir, "bb"), "bb02").setLastModified(System.currentTimeMillis() - 30000);
+
+                    cache.put("cc03", text("0123456789"));
+
+                    assertThat(cache.get("aa01"), is(nullValue()));
+                    try (InputStream in = cache.get("bb02")) {
+                        assertThat(in, is(not(nullValue())));
+                    }
+                    try (InputStream in = cache.get("cc03")) {
+                        assertThat(in, is(not(nullValue())));
+                    }
+                });
+            });
+
+            Context("when an entry takes the cache over its maximum size by itself", () -> {
+
+                It("should evict older entries but not the entry being put", () -> {
+                    cache.put("aa01", text("0123456789")).close();
+                    new File(new File(dir, "aa"), "aa01").setLastModified(System.currentTimeMillis() + 60000);
+
+                    try (InputStream in = cache.put("bb02", text("01234567890123456789"))) {
+                        assertThat(IOUtils.toString(in, StandardCharsets.UTF_8), is("01234567890123456789"));
+                    }
+
+                    assertThat(cache.get("aa01"), is(nullValue()));
+                    try (InputStream in = cache.get("bb02")) {
+                        assertThat(in, is(not(nullValue())));
+                    }
+                });
+            });
+
+            Context("when text is larger than the whole cache", () -> {
+
+                It("should return it without caching it", () -> {
+                    try (InputStream in = cache.put("aa01", text("012345678901234567890123456789"))) {
+                        assertThat(IOUtils.toString(in, StandardCharsets.UTF_8), is("012345678901234567890123456789"));
+                    }
+
+                    assertThat(cache.get("aa01"), is(nullValue()));
+                    assertThat(new File(dir, "aa").list().length, is(0));
+                });
+            });
+        });
+    }
+
+    private static InputStream text(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
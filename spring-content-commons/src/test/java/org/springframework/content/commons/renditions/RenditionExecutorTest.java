@@ -0,0 +1,292 @@
+package org.springframework.content.commons.renditions;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.AfterEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.runner.RunWith;
+import org.springframework.content.commons.io.ProducerInputStream;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+@RunWith(Ginkgo4jRunner.class)
+public class RenditionExecutorTest {
+
+    private RenditionExecutor executor;
+    private TestProvider provider;
+    private ExecutorService callers;
+
+    private Exception ex;
+
+    {
+        Describe("RenditionExecutor", () -> {
+
+            BeforeEach(() -> {
+                executor = new RenditionExecutor();
+                provider = new TestProvider();
+                callers = Executors.newCachedThreadPool();
+                ex = null;
+            });
+
+            AfterEach(() -> {
+                provider.release.countDown();
+                callers.shutdownNow();
+                executor.destroy();
+            });
+
+            It("should convert and record statistics", () -> {
+                provider.release.countDown();
+
+                InputStream rendition = executor.execute(provider, "text/plain", stream("hello"), "text/html");
+
+                assertThat(IOUtils.toString(rendition, StandardCharsets.UTF_8), is("hello"));
+                assertThat(executor.getStatistics().get("text/plain->text/html").getCompleted(), is(1L));
+            });
+
+            Context("given a conversion that takes longer than the timeout", () -> {
+
+                BeforeEach(() -> {
+                    executor.setTimeout(Duration.ofMillis(100));
+                });
+
+                It("should fail with a RenditionUnavailableException", () -> {
+                    try {
+                        executor.execute(provider, "text/plain", stream("hello"), "text/html");
+                    } catch (Exception e) {
+                        ex = e;
+                    }
+
+                    assertThat(ex, is(instanceOf(RenditionUnavailableException.class)));
+                    assertThat(executor.getStatistics().get("text/plain->text/html").getTimedOut(), is(1L));
+                    assertThat(provider.interrupted.await(5, TimeUnit.SECONDS), is(true));
+                });
+
+                It("should interrupt the provider before closing its source", () -> {
+                    SourceStream source = new SourceStream(provider);
+                    try {
+                        executor.execute(provider, "text/plain", source, "text/html");
+                    } catch (Exception e) {
+                        ex = e;
+                    }
+
+                    assertThat(ex, is(instanceOf(RenditionUnavailableException.class)));
+                    assertThat(source.closed.await(5, TimeUnit.SECONDS), is(true));
+                    assertThat(source.interruptedBeforeClose, is(true));
+                });
+            });
+
+            Context("given a rendition that is produced more slowly than the timeout", () -> {
+
+                BeforeEach(() -> {
+                    executor.setTimeout(Duration.ofMillis(200));
+                    executor.setMaxConcurrentConversions(TestProvider.class, 1);
+                    executor.setMaxQueuedConversions(0);
+                    provider.release.countDown();
+                    provider.rendition = ProducerInputStream.start(out -> {
+                        out.write('h');
+                        Thread.sleep(10000);
+                    }, executor.getProducerExecutor());
+                });
+
+                It("should stop the producer and release the provider's slot", () -> {
+                    InputStream rendition = executor.execute(provider, "text/plain", stream("hello"), "text/html");
+                    try {
+                        IOUtils.toByteArray(rendition);
+                    } catch (Exception e) {
+                        ex = e;
+                    }
+
+                    assertThat(ex, is(instanceOf(InterruptedIOException.class)));
+                    assertThat(executor.getStatistics().get("text/plain->text/html").getTimedOut(), is(1L));
+
+                    provider.rendition = null;
+                    assertThat(IOUtils.toString(executor.execute(provider, "text/plain", stream("again"), "text/html"), StandardCharsets.UTF_8), is("again"));
+                });
+            });
+
+            Context("given a produced rendition that is read more slowly than the timeout", () -> {
+
+                BeforeEach(() -> {
+                    executor.setTimeout(Duration.ofMillis(200));
+                    executor.setMaxConcurrentConversions(TestProvider.class, 1);
+                    executor.setMaxQueuedConversions(0);
+                    provider.release.countDown();
+                    provider.rendition = ProducerInputStream.start(out -> {
+                        out.write(new byte[3 * ProducerInputStream.DEFAULT_BUFFER_SIZE]);
+                    }, executor.getProducerExecutor());
+                });
+
+                It("should not count the time the producer waits for the reader", () -> {
+                    InputStream rendition = executor.execute(provider, "text/plain", stream("hello"), "text/html");
+                    byte[] b = new byte[ProducerInputStream.DEFAULT_BUFFER_SIZE];
+                    int total = 0;
+                    for (int read = rendition.read(b); read != -1; read = rendition.read(b)) {
+                        total += read;
+                        Thread.sleep(150);
+                    }
+                    rendition.close();
+
+                    assertThat(total, is(3 * ProducerInputStream.DEFAULT_BUFFER_SIZE));
+                    assertThat(executor.getStatistics().get("text/plain->text/html").getTimedOut(), is(0L));
+                    assertThat(executor.getStatistics().get("text/plain->text/html").getCompleted(), is(1L));
+                });
+            });
+
+            Context("given a finished rendition", () -> {
+
+                BeforeEach(() -> {
+                    executor.setTimeout(Duration.ofMillis(200));
+                    executor.setMaxConcurrentConversions(TestProvider.class, 1);
+                    executor.setMaxQueuedConversions(0);
+                    provider.release.countDown();
+                });
+
+                It("should release the provider's slot as soon as the provider returns", () -> {
+                    InputStream rendition = executor.execute(provider, "text/plain", stream("hello"), "text/html");
+
+                    assertThat(IOUtils.toString(executor.execute(provider, "text/plain", stream("again"), "text/html"), StandardCharsets.UTF_8), is("again"));
+
+                    Thread.sleep(400);
+                    assertThat(IOUtils.toString(rendition, StandardCharsets.UTF_8), is("hello"));
+                    assertThat(executor.getStatistics().get("text/plain->text/html").getTimedOut(), is(0L));
+                });
+            });
+
+            Context("given a saturated pool of conversion threads", () -> {
+
+                BeforeEach(() -> {
+                    executor.setMaxConversionThreads(1);
+                    executor.setMaxQueuedConversions(0);
+
+                    callers.submit(() -> executor.execute(provider, "text/plain", stream("hello"), "text/html"));
+                    provider.started.await(5, TimeUnit.SECONDS);
+                });
+
+                It("should reject conversions by other providers", () -> {
+                    TestProvider other = new TestProvider();
+                    other.release.countDown();
+                    try {
+                        executor.execute(other, "text/plain", stream("hello"), "text/html");
+                    } catch (Exception e) {
+                        ex = e;
+                    }
+
+                    assertThat(ex, is(instanceOf(RenditionUnavailableException.class)));
+                    assertThat(executor.getStatistics().get("text/plain->text/html").getRejected(), is(1L));
+                });
+            });
+
+            Context("given a saturated provider", () -> {
+
+                BeforeEach(() -> {
+                    executor.setMaxConcurrentConversions(TestProvider.class, 1);
+                    executor.setMaxQueuedConversions(0);
+
+                    callers.submit(() -> executor.execute(provider, "text/plain", stream("hello"), "text/html"));
+                    provider.started.await(5, TimeUnit.SECONDS);
+                });
+
+                It("should reject further conversions", () -> {
+                    try {
+                        executor.execute(provider, "text/plain", stream("hello"), "text/html");
+                    } catch (Exception e) {
+                        ex = e;
+                    }
+
+                    assertThat(ex, is(instanceOf(RenditionUnavailableException.class)));
+                    assertThat(executor.getStatistics().get("text/plain->text/html").getRejected(), is(1L));
+                });
+            });
+
+            Context("given insufficient free memory", () -> {
+
+                BeforeEach(() -> {
+                    executor.setMinimumFreeMemory(Long.MAX_VALUE);
+                });
+
+                It("should reject the conversion", () -> {
+                    try {
+                        executor.execute(provider, "text/plain", stream("hello"), "text/html");
+                    } catch (Exception e) {
+                        ex = e;
+                    }
+
+                    assertThat(ex, is(instanceOf(RenditionUnavailableException.class)));
+                });
+            });
+        });
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static class TestProvider implements RenditionProvider {
+
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final CountDownLatch interrupted = new CountDownLatch(1);
+        private volatile InputStream rendition;
+        private volatile Thread worker;
+
+        @Override
+        public String consumes() {
+            return "text/plain";
+        }
+
+        @Override
+        public String[] produces() {
+            return new String[] {"text/html"};
+        }
+
+        @Override
+        public InputStream convert(InputStream fromInputSource, String toMimeType) {
+            worker = Thread.currentThread();
+            started.countDown();
+            // spins, rather than waits, so that an interrupt stays visible on the worker
+            while (release.getCount() > 0 && !worker.isInterrupted()) {
+                Thread.yield();
+            }
+            if (worker.isInterrupted()) {
+                interrupted.countDown();
+            }
+            return rendition != null ? rendition : fromInputSource;
+        }
+    }
+
+    private static class SourceStream extends ByteArrayInputStream {
+
+        private final TestProvider provider;
+        private final CountDownLatch closed = new CountDownLatch(1);
+        private volatile boolean interruptedBeforeClose = false;
+
+        SourceStream(TestProvider provider) {
+            super("hello".getBytes(StandardCharsets.UTF_8));
+            this.provider = provider;
+        }
+
+        @Override
+        public void close() throws IOException {
+            interruptedBeforeClose = provider.interrupted.getCount() == 0 || provider.worker.isInterrupted();
+            closed.countDown();
+            super.close();
+        }
+    }
+}
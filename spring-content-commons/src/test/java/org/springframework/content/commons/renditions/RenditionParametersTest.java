@@ -0,0 +1,85 @@
+package org.springframework.content.commons.renditions;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+
+import org.junit.runner.RunWith;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+@RunWith(Ginkgo4jRunner.class)
+public class RenditionParametersTest {
+
+    private RenditionParameters parameters;
+
+    {
+        Describe("RenditionParameters", () -> {
+
+            Context("given a mime type without parameters", () -> {
+
+                It("should return the defaults", () -> {
+                    parameters = RenditionParameters.of("image/jpg");
+                    assertThat(parameters.getPage(), is(1));
+                    assertThat(parameters.hasSize(), is(false));
+                    assertThat(parameters.getDpi(300), is(300));
+                    assertThat(parameters.getQuality(0.75f), is(0.75f));
+                    assertThat(parameters.getFormat("png"), is("jpeg"));
+                    assertThat(parameters.isMultiPage(), is(false));
+                });
+            });
+
+            Context("given a mime type with parameters", () -> {
+
+                It("should return them", () -> {
+                    parameters = RenditionParameters.of("image/png;page=3;width=\"64\";height=48;dpi=72;quality=80");
+                    assertThat(parameters.getPage(), is(3));
+                    assertThat(parameters.getWidth(), is(64));
+                    assertThat(parameters.getHeight(), is(48));
+                    assertThat(parameters.getDpi(300), is(72));
+                    assertThat(parameters.getQuality(0.75f), is(0.8f));
+                    assertThat(parameters.getFormat("jpeg"), is("png"));
+                });
+            });
+
+            Context("given invalid or excessive parameters", () -> {
+
+                It("should ignore or cap them", () -> {
+                    parameters = RenditionParameters.of("image/jpeg;page=x;width=-5;height=99999;dpi=0;quality=500");
+                    assertThat(parameters.getPage(), is(1));
+                    assertThat(parameters.getWidth(), is(0));
+                    assertThat(parameters.getHeight(), is(RenditionParameters.MAXIMUM_SIZE));
+                    assertThat(parameters.getDpi(300), is(300));
+                    assertThat(parameters.getQuality(0.75f), is(0.75f));
+                });
+            });
+
+            Context("given a multipart mime type", () -> {
+
+                It("should resolve the requested pages", () -> {
+                    parameters = RenditionParameters.of("multipart/mixed;type=\"image/png\";pages=\"1-3,5,9\"");
+                    assertThat(parameters.isMultiPage(), is(true));
+                    assertThat(parameters.getFormat("jpeg"), is("png"));
+                    assertThat(parameters.getPages(6), contains(1, 2, 3, 5));
+                    assertThat(parameters.getBoundary(), is(RenditionParameters.DEFAULT_BOUNDARY));
+                });
+
+                It("should default to all pages", () -> {
+                    parameters = RenditionParameters.of("multipart/mixed;boundary=abc");
+                    assertThat(parameters.getPages(3), contains(1, 2, 3));
+                    assertThat(parameters.getFormat("jpeg"), is("jpeg"));
+                    assertThat(parameters.getBoundary(), is("abc"));
+                });
+
+                It("should cap the number of pages", () -> {
+                    parameters = RenditionParameters.of("multipart/mixed;pages=\"1-1000\"");
+                    assertThat(parameters.getPages(1000).size(), is(RenditionParameters.MAXIMUM_PAGES));
+                    assertThat(parameters.getPages(1000, 2), contains(1, 2));
+                });
+            });
+        });
+    }
+}
@@ -0,0 +1,216 @@
+package org.springframework.content.commons.renditions;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.AfterEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.junit.runner.RunWith;
+import org.springframework.content.commons.annotations.ContentId;
+import org.springframework.content.commons.annotations.ContentLength;
+import org.springframework.content.commons.annotations.MimeType;
+import org.springframework.content.commons.repository.StoreAccessException;
+import org.springframework.content.commons.repository.events.AfterSetContentEvent;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@RunWith(Ginkgo4jRunner.class)
+public class StoreRenditionCacheTest {
+
+    private StoreRenditionCache cache;
+    private File dir;
+
+    private TEntity entity;
+    private RenditionKey key;
+
+    {
+        Describe("StoreRenditionCache", () -> {
+
+            BeforeEach(() -> {
+                dir = Files.createTempDirectory("renditions").toFile();
+                cache = new StoreRenditionCache(id -> new FileSystemResource(new File(dir, id)));
+
+                entity = new TEntity("12345", 10L, "application/pdf");
+                key = RenditionKey.of(entity, "image/jpeg");
+            });
+
+            AfterEach(() -> {
+                FileUtils.deleteDirectory(dir);
+            });
+
+            It("should return null for renditions that are not cached", () -> {
+                assertThat(cache.get(key), is(nullValue()));
+            });
+
+            It("should return cached renditions", () -> {
+                cache.put(key, stream("rendition"));
+
+                Resource cached = cache.get(key);
+                assertThat(cached, is(notNullValue()));
+                try (InputStream in = cached.getInputStream()) {
+                    assertThat(IOUtils.toString(in, StandardCharsets.UTF_8), is("rendition"));
+                }
+            });
+
+            It("should not serve a rendition while it is being written", () -> {
+                Resource[] duringWrite = new Resource[1];
+                cache.put(key, new SequenceInputStream(stream("rendi"), new InputStream() {
+                    private boolean read = false;
+
+                    @Override
+                    public int read() {
+                        if (!read) {
+                            read = true;
+                            duringWrite[0] = cache.get(key);
+                        }
+                        return -1;
+                    }
+                }));
+
+                assertThat(duringWrite[0], is(nullValue()));
+                assertThat(cache.get(key), is(notNullValue()));
+            });
+
+            Context("when a rendition fails part way through", () -> {
+
+                It("should leave nothing behind", () -> {
+                    InputStream failing = new SequenceInputStream(stream("partial"), new InputStream() {
+                        @Override
+                        public int read() throws IOException {
+                            throw new IOException("badness");
+                        }
+                    });
+
+                    Exception ex = null;
+                    try {
+                        cache.put(key, failing);
+                    } catch (StoreAccessException e) {
+                        ex = e;
+                    }
+
+                    assertThat(ex, is(notNullValue()));
+                    assertThat(cache.get(key), is(nullValue()));
+                    assertThat(cache.getEntryCount(), is(0));
+                    assertThat(dir.list().length, is(0));
+                });
+            });
+
+            It("should key renditions by the content's fingerprint", () -> {
+                entity.setLength(20L);
+                assertThat(RenditionKey.of(entity, "image/jpeg"), is(not(key)));
+                assertThat(RenditionKey.of(entity, "image/jpeg").getSource(), is(key.getSource()));
+            });
+
+            Context("when content is replaced with content of the same size", () -> {
+
+                It("should not serve renditions of the replaced content", () -> {
+                    File content = new File(dir, "content");
+                    FileUtils.writeStringToFile(content, "aaaa", StandardCharsets.UTF_8);
+                    content.setLastModified(1000000000L);
+
+                    RenditionKey original = RenditionKey.of(entity, "image/jpeg", new FileSystemResource(content));
+                    cache.put(original, stream("rendition of aaaa"));
+
+                    FileUtils.writeStringToFile(content, "bbbb", StandardCharsets.UTF_8);
+                    content.setLastModified(2000000000L);
+
+                    RenditionKey replaced = RenditionKey.of(entity, "image/jpeg", new FileSystemResource(content));
+                    assertThat(replaced, is(not(original)));
+                    assertThat(replaced.getSource(), is(original.getSource()));
+                    assertThat(cache.get(replaced), is(nullValue()));
+                });
+            });
+
+            It("should invalidate renditions when content is set", () -> {
+                cache.put(key, stream("rendition"));
+                cache.put(RenditionKey.of(entity, "image/png"), stream("rendition"));
+
+                cache.onApplicationEvent(new AfterSetContentEvent(entity, null));
+
+                assertThat(cache.get(key), is(nullValue()));
+                assertThat(cache.get(RenditionKey.of(entity, "image/png")), is(nullValue()));
+                assertThat(cache.getEntryCount(), is(0));
+            });
+
+            Context("given a maximum number of entries", () -> {
+
+                BeforeEach(() -> {
+                    cache.setMaximumEntries(2);
+                });
+
+                It("should evict the least recently used rendition", () -> {
+                    RenditionKey png = RenditionKey.of(entity, "image/png");
+                    RenditionKey gif = RenditionKey.of(entity, "image/gif");
+
+                    cache.put(key, stream("jpeg"));
+                    cache.put(png, stream("png"));
+                    cache.get(key);
+                    cache.put(gif, stream("gif"));
+
+                    assertThat(cache.get(key), is(notNullValue()));
+                    assertThat(cache.get(png), is(nullValue()));
+                    assertThat(cache.get(gif), is(notNullValue()));
+                });
+            });
+
+            Context("given a maximum size", () -> {
+
+                BeforeEach(() -> {
+                    cache.setMaximumSize(10);
+                });
+
+                It("should evict renditions until the cache fits", () -> {
+                    RenditionKey png = RenditionKey.of(entity, "image/png");
+
+                    cache.put(key, stream("123456"));
+                    cache.put(png, stream("123456"));
+
+                    assertThat(cache.get(key), is(nullValue()));
+                    assertThat(cache.get(png), is(notNullValue()));
+                    assertThat(cache.getSize(), is(6L));
+                });
+            });
+        });
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    public static class TEntity {
+
+        @ContentId
+        private String contentId;
+
+        @ContentLength
+        private Long length;
+
+        @MimeType
+        private String mimeType;
+    }
+}
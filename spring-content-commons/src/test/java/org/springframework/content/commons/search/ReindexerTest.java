@@ -0,0 +1,258 @@
+package org.springframework.content.commons.search;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.JustBeforeEach;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.runner.RunWith;
+import org.springframework.content.commons.annotations.ContentId;
+import org.springframework.content.commons.repository.ContentStore;
+import org.springframework.content.commons.repository.StoreAccessException;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.PagingAndSortingRepository;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+@RunWith(Ginkgo4jRunner.class)
+public class ReindexerTest {
+
+    private Reindexer<TEntity> reindexer;
+
+    private PagingAndSortingRepository<TEntity, String> repository;
+    private ContentStore<TEntity, String> store;
+    private IndexService<TEntity> indexService;
+    private ReindexCheckpoint checkpoint;
+
+    private List<TEntity> entities;
+    private ReindexStatistics stats;
+
+    {
+        Describe("Reindexer", () -> {
+
+            BeforeEach(() -> {
+                repository = mock(PagingAndSortingRepository.class);
+                store = mock(ContentStore.class);
+                indexService = mock(IndexService.class);
+                checkpoint = mock(ReindexCheckpoint.class);
+
+                entities = new ArrayList<>();
+                for (int i = 0; i < 5; i++) {
+                    entities.add(new TEntity(i == 2 ? null : "content-" + i));
+                }
+
+                when(repository.findAll(any(Pageable.class))).thenAnswer(invocation -> {
+                    Pageable pageable = invocation.getArgument(0);
+                    int from = (int) Math.min(pageable.getOffset(), entities.size());
+                    int to = Math.min(from + pageable.getPageSize(), entities.size());
+                    return new PageImpl<>(entities.subList(from, to), pageable, entities.size());
+                });
+                when(store.getContent(any(TEntity.class))).thenAnswer(invocation -> new ByteArrayInputStream("foo".getBytes()));
+
+                reindexer = new Reindexer<>(repository, store, indexService);
+                reindexer.setPageSize(2);
+                reindexer.setParallelism(2);
+            });
+
+            JustBeforeEach(() -> {
+                stats = reindexer.reindex();
+            });
+
+            It("should index every entity with content", () -> {
+                verify(indexService, times(4)).index(any(TEntity.class), any(InputStream.class));
+                verify(indexService, never()).index(eq(entities.get(2)), any(InputStream.class));
+                assertThat(stats.getIndexed(), is(4L));
+                assertThat(stats.getSkipped(), is(1L));
+                assertThat(stats.getFailed(), is(0L));
+            });
+
+            Context("when a batch takes a while to index", () -> {
+
+                CountDownLatch fetched = new CountDownLatch(1);
+                AtomicBoolean overlapped = new AtomicBoolean();
+
+                BeforeEach(() -> {
+                    when(repository.findAll(PageRequest.of(1, 2, Sort.unsorted()))).thenAnswer(invocation -> {
+                        fetched.countDown();
+                        return new PageImpl<>(entities.subList(2, 4), invocation.getArgument(0), entities.size());
+                    });
+                    doAnswer(invocation -> {
+                        overlapped.set(fetched.await(5, TimeUnit.SECONDS));
+                        return null;
+                    }).when(indexService).index(eq(entities.get(0)), any(InputStream.class));
+                });
+
+                It("should fetch the next batch meanwhile", () -> {
+                    assertThat(overlapped.get(), is(true));
+                    assertThat(stats.getIndexed(), is(4L));
+                });
+            });
+
+            Context("when indexing an entity fails", () -> {
+
+                BeforeEach(() -> {
+                    doThrow(new StoreAccessException("badness")).when(indexService).index(eq(entities.get(0)), any(InputStream.class));
+                });
+
+                It("should record the failure and carry on", () -> {
+                    verify(indexService, times(4)).index(any(TEntity.class), any(InputStream.class));
+                    assertThat(stats.getIndexed(), is(3L));
+                    assertThat(stats.getFailed(), is(1L));
+                });
+            });
+
+            Context("given a checkpoint", () -> {
+
+                BeforeEach(() -> {
+                    reindexer.setCheckpoint("test-job", checkpoint);
+                });
+
+                It("should record progress after each page and clear it on completion", () -> {
+                    verify(checkpoint).save("test-job", 1);
+                    verify(checkpoint).save("test-job", 2);
+                    verify(checkpoint).save("test-job", 3);
+                    verify(checkpoint).clear("test-job");
+                });
+
+                Context("when a previous run was interrupted", () -> {
+
+                    BeforeEach(() -> {
+                        when(checkpoint.load("test-job")).thenReturn(2);
+                    });
+
+                    It("should resume from the recorded page", () -> {
+                        verify(repository, never()).findAll(PageRequest.of(0, 2));
+                        verify(repository, never()).findAll(PageRequest.of(1, 2));
+                        verify(indexService).index(eq(entities.get(4)), any(InputStream.class));
+                        assertThat(stats.getIndexed(), is(1L));
+                    });
+                });
+            });
+
+            Context("given a query", () -> {
+
+                BeforeEach(() -> {
+                    for (int i = 0; i < entities.size(); i++) {
+                        entities.get(i).setKey(Integer.toString(i));
+                    }
+                    reindexer.setQuery(new ReindexQuery<TEntity>() {
+                        @Override
+                        public List<TEntity> findAfter(String key, int limit) {
+                            int from = key == null ? 0 : Integer.parseInt(key) + 1;
+                            return entities.subList(Math.min(from, entities.size()), Math.min(from + limit, entities.size()));
+                        }
+
+                        @Override
+                        public String keyOf(TEntity entity) {
+                            return entity.getKey();
+                        }
+                    });
+                });
+
+                It("should fetch every batch by key, without paging through the repository", () -> {
+                    verify(indexService, times(4)).index(any(TEntity.class), any(InputStream.class));
+                    assertThat(stats.getIndexed(), is(4L));
+                    assertThat(stats.getSkipped(), is(1L));
+                    verify(repository, never()).findAll(any(Pageable.class));
+                });
+
+                Context("given a checkpoint", () -> {
+
+                    BeforeEach(() -> {
+                        reindexer.setCheckpoint("test-job", checkpoint);
+                    });
+
+                    It("should record the last key of each batch and clear it on completion", () -> {
+                        verify(checkpoint).saveKey("test-job", "1");
+                        verify(checkpoint).saveKey("test-job", "3");
+                        verify(checkpoint).saveKey("test-job", "4");
+                        verify(checkpoint).clear("test-job");
+                    });
+
+                    Context("when a previous run was interrupted", () -> {
+
+                        BeforeEach(() -> {
+                            when(checkpoint.loadKey("test-job")).thenReturn("3");
+                        });
+
+                        It("should resume after the recorded key", () -> {
+                            verify(indexService).index(eq(entities.get(4)), any(InputStream.class));
+                            assertThat(stats.getIndexed(), is(1L));
+                        });
+                    });
+                });
+            });
+        });
+
+        Describe("RateLimiter", () -> {
+
+            It("should abort, with the interrupt flag set, when interrupted while waiting", () -> {
+                Reindexer.RateLimiter limiter = new Reindexer.RateLimiter(0.1);
+                limiter.acquire();
+
+                Exception e = null;
+                Thread.currentThread().interrupt();
+                try {
+                    limiter.acquire();
+                } catch (StoreAccessException sae) {
+                    e = sae;
+                } finally {
+                    assertThat(Thread.interrupted(), is(true));
+                }
+                assertThat(e, is(instanceOf(StoreAccessException.class)));
+            });
+        });
+    }
+
+    public static class TEntity {
+
+        @ContentId
+        private String contentId;
+
+        private String key;
+
+        public TEntity(String contentId) {
+            this.contentId = contentId;
+        }
+
+        public String getContentId() {
+            return contentId;
+        }
+
+        public void setContentId(String contentId) {
+            this.contentId = contentId;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public void setKey(String key) {
+            this.key = key;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package org.springframework.content.commons.utils;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+import org.junit.runner.RunWith;
+import org.springframework.core.io.InputStreamSource;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@RunWith(Ginkgo4jRunner.class)
+public class MimeTypeRegistryTest {
+
+    private MimeTypeRegistry registry;
+
+    {
+        Describe("MimeTypeRegistry", () -> {
+
+            BeforeEach(() -> {
+                registry = new MimeTypeRegistry();
+            });
+
+            Context("#getMimeType", () -> {
+
+                It("should resolve the mime type of the filename's extension", () -> {
+                    assertThat(registry.getMimeType("some/path/photo.JPG"), is("image/jpeg"));
+                    assertThat(registry.getMimeType("readme.txt"), is("text/plain"));
+                    assertThat(registry.getMimeType("image.png"), is("image/png"));
+                });
+
+                It("should return the default mime type for unknown or missing extensions", () -> {
+                    assertThat(registry.getMimeType("file.unknown-extension"), is(MimeTypeRegistry.DEFAULT_MIME_TYPE));
+                    assertThat(registry.getMimeType("some.dir/file"), is(MimeTypeRegistry.DEFAULT_MIME_TYPE));
+                    assertThat(registry.getMimeType(null), is(MimeTypeRegistry.DEFAULT_MIME_TYPE));
+                });
+
+                It("should read the mime.types files of the classpath", () -> {
+                    assertThat(registry.getMimeType("file.mtrtest"), is("application/x-mime-type-registry-test"));
+                    assertThat(registry.getMimeType("file.MTRTEST2"), is("application/x-mime-type-registry-test"));
+                });
+
+                It("should prefer registered extensions", () -> {
+                    assertThat(registry.getMimeType("doc.md"), is(MimeTypeRegistry.DEFAULT_MIME_TYPE));
+                    registry.register("md", "text/markdown");
+                    assertThat(registry.getMimeType("doc.md"), is("text/markdown"));
+                });
+            });
+
+            Context("#getMimeType with content", () -> {
+
+                It("should not read the content unless sniffing", () -> {
+                    InputStreamSource source = mock(InputStreamSource.class);
+                    assertThat(registry.getMimeType("file", source), is(MimeTypeRegistry.DEFAULT_MIME_TYPE));
+                    verifyNoInteractions(source);
+                });
+
+                Context("given sniffing is enabled", () -> {
+
+                    BeforeEach(() -> {
+                        registry.setSniffing(true);
+                    });
+
+                    It("should identify the content from its magic bytes", () -> {
+                        assertThat(registry.getMimeType("file", content("%PDF-1.7\n")), is("application/pdf"));
+                        assertThat(registry.getMimeType("file", content("plain")), is(MimeTypeRegistry.DEFAULT_MIME_TYPE));
+                    });
+
+                    It("should not read the content when the extension is known", () -> {
+                        InputStreamSource source = mock(InputStreamSource.class);
+                        assertThat(registry.getMimeType("file.png", source), is("image/png"));
+                        verifyNoInteractions(source);
+                    });
+                });
+            });
+
+            Context("#detect", () -> {
+
+                It("should match signatures at their offset", () -> {
+                    byte[] webp = "RIFF\0\0\0\0WEBPVP8 ".getBytes();
+                    assertThat(registry.detect(webp, webp.length), is("image/webp"));
+                    assertThat(registry.detect(webp, 10), is(nullValue()));
+                });
+
+                It("should prefer signatures registered later", () -> {
+                    registry.registerSignature("application/vnd.custom+pdf", 0, "%PDF-".getBytes());
+                    byte[] pdf = "%PDF-1.4".getBytes();
+                    assertThat(registry.detect(pdf, pdf.length), is("application/vnd.custom+pdf"));
+                });
+            });
+        });
+    }
+
+    private static InputStreamSource content(String content) {
+        return () -> (InputStream) new ByteArrayInputStream(content.getBytes());
+    }
+}
@@ -10,14 +10,13 @@ import org.docx4j.convert.out.html.AbstractHtmlExporter;
 import org.docx4j.convert.out.html.HtmlExporterNG2;
 import org.docx4j.model.fields.FieldUpdater;
 import org.docx4j.openpackaging.packages.WordprocessingMLPackage;
-import org.springframework.content.commons.io.FileRemover;
-import org.springframework.content.commons.io.ObservableInputStream;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.content.commons.io.SpillFileManager;
+import org.springframework.content.commons.io.SpillOutputStream;
 import org.springframework.content.commons.renditions.RenditionProvider;
 import org.springframework.stereotype.Service;
 
-import java.io.*;
-import java.nio.file.Files;
-import java.nio.file.attribute.FileAttribute;
+import java.io.InputStream;
 
 import static java.lang.String.format;
 
@@ -26,6 +25,20 @@ public class WordToHtmlRenditionProvider implements RenditionProvider {
 
 	private static final Log logger = LogFactory.getLog(WordToHtmlRenditionProvider.class);
 
+	private SpillFileManager spillFileManager = null;
+
+	/**
+	 * Sets the manager renditions are spilled through; the default manager if not set
+	 */
+	@Autowired(required = false)
+	public void setSpillFileManager(SpillFileManager spillFileManager) {
+		this.spillFileManager = spillFileManager;
+	}
+
+	private SpillFileManager spillFileManager() {
+		return spillFileManager != null ? spillFileManager : SpillFileManager.getDefault();
+	}
+
 	@Override
 	public String consumes() {
 		return "application/vnd.openxmlformats-officedocument.wordprocessingml.document";
@@ -38,6 +51,7 @@ public class WordToHtmlRenditionProvider implements RenditionProvider {
 
 	@Override
 	public InputStream convert(InputStream fromInputSource, String toMimeType) {
+		SpillOutputStream os = null;
 		try {
 			WordprocessingMLPackage pkg = WordprocessingMLPackage.load(fromInputSource);
 
@@ -50,8 +64,7 @@ public class WordToHtmlRenditionProvider implements RenditionProvider {
 
 			Docx4jProperties.setProperty("docx4j.Convert.Out.HTML.OutputMethodXML", true);
 
-			File tmpFile = Files.createTempFile(null, null, new FileAttribute<?>[]{}).toFile();
-			OutputStream os = new FileOutputStream(tmpFile);
+			os = spillFileManager().newOutputStream();
 
 			Docx4J.toHTML(htmlSettings, os, Docx4J.FLAG_EXPORT_PREFER_XSL);
 			IOUtils.closeQuietly(os);
@@ -63,10 +76,13 @@ public class WordToHtmlRenditionProvider implements RenditionProvider {
 			htmlSettings = null;
 			pkg = null;
 
-			return new ObservableInputStream(new FileInputStream(tmpFile), new FileRemover(tmpFile));
+			return os.getInputStream();
 		}
 		catch (Exception e) {
 			logger.warn(format("%s rendition failed", toMimeType), e);
+			if (os != null) {
+				os.release();
+			}
 		}
 
 		return null;
@@ -5,17 +5,13 @@ import org.apache.commons.logging.LogFactory;
 import org.docx4j.Docx4J;
 import org.docx4j.model.fields.FieldUpdater;
 import org.docx4j.openpackaging.packages.WordprocessingMLPackage;
-import org.springframework.content.commons.io.FileRemover;
-import org.springframework.content.commons.io.ObservableInputStream;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.content.commons.io.SpillFileManager;
+import org.springframework.content.commons.io.SpillOutputStream;
 import org.springframework.content.commons.renditions.RenditionProvider;
 import org.springframework.stereotype.Service;
 
-import java.io.File;
-import java.io.FileInputStream;
 import java.io.InputStream;
-import java.io.OutputStream;
-import java.nio.file.Files;
-import java.nio.file.attribute.FileAttribute;
 
 import static java.lang.String.format;
 
@@ -24,6 +20,20 @@ public class WordToPdfRenditionProvider implements RenditionProvider {
 
 	private static final Log logger = LogFactory.getLog(WordToPdfRenditionProvider.class);
 
+	private SpillFileManager spillFileManager = null;
+
+	/**
+	 * Sets the manager renditions are spilled through; the default manager if not set
+	 */
+	@Autowired(required = false)
+	public void setSpillFileManager(SpillFileManager spillFileManager) {
+		this.spillFileManager = spillFileManager;
+	}
+
+	private SpillFileManager spillFileManager() {
+		return spillFileManager != null ? spillFileManager : SpillFileManager.getDefault();
+	}
+
 	@Override
 	public String consumes() {
 		return "application/vnd.openxmlformats-officedocument.wordprocessingml.document";
@@ -36,21 +46,24 @@ public class WordToPdfRenditionProvider implements RenditionProvider {
 
 	@Override
 	public InputStream convert(InputStream fromInputSource, String toMimeType) {
+		SpillOutputStream os = null;
 		try {
 			WordprocessingMLPackage pkg = WordprocessingMLPackage.load(fromInputSource);
 
 			FieldUpdater updater = new FieldUpdater(pkg);
 			updater.update(true);
 
-			File tmpFile = Files.createTempFile(null, null, new FileAttribute<?>[]{}).toFile();
-			OutputStream os = new java.io.FileOutputStream(tmpFile);
+			os = spillFileManager().newOutputStream();
 
 			Docx4J.toPDF(pkg, os);
 
-			return new ObservableInputStream(new FileInputStream(tmpFile), new FileRemover(tmpFile));
+			return os.getInputStream();
 		}
 		catch (Exception e) {
 			logger.warn(format("%s rendition failed", toMimeType), e);
+			if (os != null) {
+				os.release();
+			}
 		}
 
 		return null;
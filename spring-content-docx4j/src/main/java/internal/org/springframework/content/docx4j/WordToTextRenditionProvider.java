@@ -1,26 +1,78 @@
 package internal.org.springframework.content.docx4j;
 
-import java.io.*;
-import java.nio.file.Files;
-import java.nio.file.attribute.FileAttribute;
+import java.io.BufferedWriter;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.docx4j.TextUtils;
 import org.docx4j.openpackaging.packages.WordprocessingMLPackage;
 import org.docx4j.openpackaging.parts.WordprocessingML.MainDocumentPart;
-import org.springframework.content.commons.io.FileRemover;
-import org.springframework.content.commons.io.ObservableInputStream;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.content.commons.io.LimitedWriter;
+import org.springframework.content.commons.io.ProducerInputStream;
+import org.springframework.content.commons.renditions.RenditionExecutor;
 import org.springframework.content.commons.renditions.RenditionProvider;
 import org.springframework.stereotype.Service;
+import org.springframework.util.Assert;
 
 import static java.lang.String.format;
 
+/**
+ * Extracts the text of Word documents block by block; i.e. paragraph by paragraph, streaming it to the reader of the
+ * rendition as it is extracted.  Extraction stops once {@link #setMaximumCharacters(long) maximumCharacters} have been
+ * written.
+ */
 @Service
-public class WordToTextRenditionProvider implements RenditionProvider {
+public class WordToTextRenditionProvider implements RenditionProvider, DisposableBean {
 
 	private static final Log logger = LogFactory.getLog(WordToTextRenditionProvider.class);
 
+	public static final int DEFAULT_QUEUED_PRODUCERS = 100;
+
+	private long maximumCharacters = Long.MAX_VALUE;
+	private Executor executor;
+	private ThreadPoolExecutor ownExecutor;
+
+	public void setMaximumCharacters(long maximumCharacters) {
+		Assert.isTrue(maximumCharacters > 0, "maximumCharacters must be greater than 0");
+		this.maximumCharacters = maximumCharacters;
+	}
+
+	/**
+	 * Sets the bounded executor text is produced on.  Defaults to the rendition executor's producer executor when there
+	 * is one, otherwise to a pool of this provider's own.
+	 */
+	public synchronized void setExecutor(Executor executor) {
+		Assert.notNull(executor, "executor must not be null");
+		this.executor = executor;
+	}
+
+	@Autowired(required = false)
+	public void setRenditionExecutor(RenditionExecutor renditionExecutor) {
+		setExecutor(renditionExecutor.getProducerExecutor());
+	}
+
+	private synchronized Executor executor() {
+		if (executor == null) {
+			ownExecutor = ProducerInputStream.newExecutor("spring-content-word-text-", Runtime.getRuntime().availableProcessors(), DEFAULT_QUEUED_PRODUCERS);
+			executor = ownExecutor;
+		}
+		return executor;
+	}
+
+	@Override
+	public synchronized void destroy() {
+		if (ownExecutor != null) {
+			ownExecutor.shutdownNow();
+		}
+	}
+
 	@Override
 	public String consumes() {
 		return "application/vnd.openxmlformats-officedocument.wordprocessingml.document";
@@ -36,24 +88,30 @@ public class WordToTextRenditionProvider implements RenditionProvider {
 		try {
 			WordprocessingMLPackage pkg = WordprocessingMLPackage.load(fromInputSource);
 
-			MainDocumentPart documentPart = pkg.getMainDocumentPart();
-
-			org.docx4j.wml.Document wmlDocumentEl = (org.docx4j.wml.Document) documentPart.getJaxbElement();
-
-			File tmpFile = Files.createTempFile(null, null, new FileAttribute<?>[]{}).toFile();
-			OutputStream os = new FileOutputStream(tmpFile);
-			Writer out = new OutputStreamWriter(os);
-
-			TextUtils.extractText(wmlDocumentEl, out);
-			out.close();
-
-			if (pkg.getMainDocumentPart().getFontTablePart() != null) {
-				pkg.getMainDocumentPart().getFontTablePart().deleteEmbeddedFontTempFiles();
-			}
-
-			pkg = null;
-
-			return new ObservableInputStream(new FileInputStream(tmpFile), new FileRemover(tmpFile));
+			return ProducerInputStream.start((out) -> {
+				try {
+					MainDocumentPart documentPart = pkg.getMainDocumentPart();
+					org.docx4j.wml.Document wmlDocumentEl = (org.docx4j.wml.Document) documentPart.getJaxbElement();
+
+					LimitedWriter writer = new LimitedWriter(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)), maximumCharacters);
+					for (Object block : wmlDocumentEl.getBody().getContent()) {
+						if (writer.isLimitReached()) {
+							break;
+						}
+						TextUtils.extractText(block, writer);
+					}
+					writer.flush();
+				}
+				catch (Exception e) {
+					logger.warn(format("%s rendition failed", toMimeType), e);
+					throw e;
+				}
+				finally {
+					if (pkg.getMainDocumentPart().getFontTablePart() != null) {
+						pkg.getMainDocumentPart().getFontTablePart().deleteEmbeddedFontTempFiles();
+					}
+				}
+			}, executor());
 		}
 		catch (Exception e) {
 			logger.warn(format("%s rendition failed", toMimeType), e);
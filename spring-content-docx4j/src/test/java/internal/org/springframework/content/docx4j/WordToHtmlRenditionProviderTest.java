@@ -1,21 +1,22 @@
 package internal.org.springframework.content.docx4j;
 
 import static org.hamcrest.CoreMatchers.*;
-import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.greaterThan;
 
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
 
+import org.apache.commons.io.IOUtils;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
 import org.junit.Before;
 import org.junit.Test;
-import org.springframework.content.commons.io.FileRemover;
-import org.springframework.content.commons.io.ObservableInputStream;
+import org.springframework.content.commons.io.SpillFileManager;
 import org.springframework.content.commons.renditions.RenditionProvider;
 
 import internal.org.springframework.content.docx4j.WordToHtmlRenditionProvider;
@@ -40,7 +41,6 @@ public class WordToHtmlRenditionProviderTest {
 		InputStream converted = service.convert(this.getClass().getResourceAsStream("/sample-docx.docx"), "text/html");
 
 		assertThat(converted.available(), is(greaterThan(0)));
-		assertThat(((ObservableInputStream)converted).getObservers(), hasItem(is(instanceOf(FileRemover.class))));
 
 		Document doc = Jsoup.parse(converted, "UTF8", "http://example.com");
 		Elements htmls = doc.getElementsByTag("HTML");
@@ -49,4 +49,23 @@ public class WordToHtmlRenditionProviderTest {
 		assertThat(html, is(not(nullValue())));
 	}
 
+	@Test
+	public void testConvertReleasesSpillFileWhenClosed() throws Exception {
+		Path directory = Files.createTempDirectory("spill");
+		SpillFileManager manager = new SpillFileManager(directory);
+		manager.setMemoryThreshold(0);
+
+		WordToHtmlRenditionProvider provider = new WordToHtmlRenditionProvider();
+		provider.setSpillFileManager(manager);
+
+		InputStream converted = provider.convert(this.getClass().getResourceAsStream("/sample-docx.docx"), "text/html");
+		assertThat(manager.getFileCount(), is(1));
+
+		IOUtils.toByteArray(converted);
+		converted.close();
+
+		assertThat(manager.getFileCount(), is(0));
+		assertThat(manager.getDiskUsage(), is(0L));
+		assertThat(directory.toFile().list().length, is(0));
+	}
 }
@@ -1,8 +1,11 @@
 package internal.org.springframework.content.docx4j;
 
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
 
+import org.apache.commons.io.IOUtils;
 import org.apache.pdfbox.cos.COSDocument;
 import org.apache.pdfbox.pdfparser.PDFParser;
 import org.apache.pdfbox.pdmodel.PDDocument;
@@ -10,8 +13,7 @@ import org.apache.pdfbox.text.PDFTextStripper;
 import org.junit.Before;
 import org.junit.Test;
 
-import org.springframework.content.commons.io.FileRemover;
-import org.springframework.content.commons.io.ObservableInputStream;
+import org.springframework.content.commons.io.SpillFileManager;
 import org.springframework.content.commons.renditions.RenditionProvider;
 
 import static org.hamcrest.CoreMatchers.*;
@@ -39,7 +41,6 @@ public class WordToPdfRenditionProviderTest {
 		InputStream converted = service.convert(this.getClass().getResourceAsStream("/sample-docx2.docx"),"application/pdf");
 
 		assertThat(converted.available(), is(greaterThan(0)));
-		assertThat(((ObservableInputStream)converted).getObservers(), hasItem(is(instanceOf(FileRemover.class))));
 
 		String content = pdfToText(converted);
 		assertThat(content, is("This is the Document Title\n \nand this is the document body.\n \n \n"));
@@ -70,4 +71,23 @@ public class WordToPdfRenditionProviderTest {
 		return null;
 	}
 
+	@Test
+	public void testConvertReleasesSpillFileWhenClosed() throws Exception {
+		Path directory = Files.createTempDirectory("spill");
+		SpillFileManager manager = new SpillFileManager(directory);
+		manager.setMemoryThreshold(0);
+
+		WordToPdfRenditionProvider provider = new WordToPdfRenditionProvider();
+		provider.setSpillFileManager(manager);
+
+		InputStream converted = provider.convert(this.getClass().getResourceAsStream("/sample-docx2.docx"), "application/pdf");
+		assertThat(manager.getFileCount(), is(1));
+
+		IOUtils.toByteArray(converted);
+		converted.close();
+
+		assertThat(manager.getFileCount(), is(0));
+		assertThat(manager.getDiskUsage(), is(0L));
+		assertThat(directory.toFile().list().length, is(0));
+	}
 }
@@ -2,7 +2,6 @@ package internal.org.springframework.content.docx4j;
 
 import static org.hamcrest.CoreMatchers.*;
 import static org.hamcrest.MatcherAssert.assertThat;
-import static org.hamcrest.Matchers.greaterThan;
 
 import java.io.InputStream;
 import java.util.Arrays;
@@ -10,8 +9,7 @@ import java.util.Arrays;
 import org.apache.commons.io.IOUtils;
 import org.junit.Before;
 import org.junit.Test;
-import org.springframework.content.commons.io.FileRemover;
-import org.springframework.content.commons.io.ObservableInputStream;
+import org.springframework.content.commons.io.SpillFileManager;
 import org.springframework.content.commons.renditions.RenditionProvider;
 
 import internal.org.springframework.content.docx4j.WordToTextRenditionProvider;
@@ -35,11 +33,30 @@ public class WordToTextRenditionProviderTest {
 	public void testConvert() throws Exception {
 		InputStream converted = service.convert(this.getClass().getResourceAsStream("/sample-docx2.docx"), "text/plain");
 
-		assertThat(converted.available(), is(greaterThan(0)));
-		assertThat(((ObservableInputStream)converted).getObservers(), hasItem(is(instanceOf(FileRemover.class))));
-
 		String content = IOUtils.toString(converted);
 		assertThat(content,is("This is the Document Title and this is the document body."));
 	}
 
+	@Test
+	public void testConvertWithMaximumCharacters() throws Exception {
+		WordToTextRenditionProvider provider = new WordToTextRenditionProvider();
+		provider.setMaximumCharacters(10);
+
+		InputStream converted = provider.convert(this.getClass().getResourceAsStream("/sample-docx2.docx"), "text/plain");
+
+		assertThat(IOUtils.toString(converted), is("This is th"));
+	}
+
+	@Test
+	public void testConvertDoesNotSpill() throws Exception {
+		long spilled = SpillFileManager.getDefault().getSpillCount();
+
+		InputStream converted = service.convert(this.getClass().getResourceAsStream("/sample-docx2.docx"), "text/plain");
+		IOUtils.toString(converted);
+		converted.close();
+
+		// text is streamed to the reader as it is extracted
+		assertThat(SpillFileManager.getDefault().getSpillCount(), is(spilled));
+	}
+
 }
@@ -6,6 +6,9 @@ import java.util.List;
 
 import org.elasticsearch.client.RestHighLevelClient;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.content.commons.io.SpillFileManager;
+import org.springframework.content.commons.renditions.ExtractedTextCache;
+import org.springframework.content.commons.renditions.RenditionExecutor;
 import org.springframework.content.commons.renditions.RenditionProvider;
 import org.springframework.content.commons.renditions.RenditionService;
 import org.springframework.content.commons.search.IndexService;
@@ -13,6 +16,7 @@ import org.springframework.content.elasticsearch.AttributeProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import internal.org.springframework.content.commons.renditions.ExtractedTextCachingRenditionService;
 import internal.org.springframework.content.commons.renditions.RenditionServiceImpl;
 
 @Configuration
@@ -27,6 +31,15 @@ public class ElasticsearchConfig {
     @Autowired(required = false)
     private AttributeProvider attributeProvider;
 
+    @Autowired(required = false)
+    private ExtractedTextCache extractedTextCache;
+
+    @Autowired(required = false)
+    private RenditionExecutor renditionExecutor;
+
+    @Autowired(required = false)
+    private SpillFileManager spillFileManager;
+
     private List<RenditionProvider> providers = new ArrayList<>();
 
     @Autowired(required=false)
@@ -38,7 +51,12 @@ public class ElasticsearchConfig {
 
     public RenditionService getRenditionService() {
         if (this.renditionService == null) {
-            this.renditionService = new RenditionServiceImpl(providers.toArray(new RenditionProvider[0]));
+            RenditionServiceImpl renditionService = new RenditionServiceImpl(providers.toArray(new RenditionProvider[0]));
+            renditionService.setRenditionExecutor(this.renditionExecutor);
+            this.renditionService = renditionService;
+            if (this.extractedTextCache != null) {
+                this.renditionService = new ExtractedTextCachingRenditionService(this.renditionService, this.extractedTextCache, this.spillFileManager);
+            }
         }
         return this.renditionService;
     }
@@ -9,6 +9,7 @@ import java.io.OutputStream;
 import java.io.Serializable;
 import java.net.URI;
 import java.net.URL;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 
@@ -109,11 +110,21 @@ public class FileSystemDeletableResource implements WritableResource, DeletableR
 		return resource.getURI();
 	}
 
+	@Override
+    public boolean isFile() {
+		return resource.isFile();
+	}
+
 	@Override
     public File getFile() {
 		return resource.getFile();
 	}
 
+	@Override
+    public ReadableByteChannel readableChannel() throws IOException {
+		return resource.readableChannel();
+	}
+
 	@Override
     public long contentLength() throws IOException {
 		return resource.contentLength();
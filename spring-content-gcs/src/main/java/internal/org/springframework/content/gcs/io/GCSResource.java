@@ -6,16 +6,23 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.URI;
 import java.net.URL;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
 
 import org.springframework.content.commons.io.DeletableResource;
+import org.springframework.content.commons.io.PresignableResource;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.WritableResource;
 import org.springframework.util.Assert;
 
 import com.google.cloud.storage.BlobId;
+import com.google.cloud.storage.BlobInfo;
+import com.google.cloud.storage.HttpMethod;
 import com.google.cloud.storage.Storage;
+import com.google.cloud.storage.Storage.SignUrlOption;
 
-public class GCSResource implements WritableResource, DeletableResource {
+public class GCSResource implements WritableResource, DeletableResource, PresignableResource {
 
 	private Storage client;
 	private Resource delegate;
@@ -110,4 +117,23 @@ public class GCSResource implements WritableResource, DeletableResource {
 	public OutputStream getOutputStream() throws IOException {
 		return ((WritableResource) delegate).getOutputStream();
 	}
+
+	@Override
+	public URL getPresignedUrl(Duration validity, String contentType) throws IOException {
+		BlobInfo blob = BlobInfo.newBuilder(BlobId.of(bucket, delegate.getFilename())).build();
+
+		// signed for the host the client uses, which is Google Cloud Storage's unless the client is configured otherwise
+		String host = client.getOptions().getHost();
+
+		SignUrlOption[] options = contentType != null
+				? new SignUrlOption[] {SignUrlOption.withV4Signature(), SignUrlOption.httpMethod(HttpMethod.GET), SignUrlOption.withHostName(host), SignUrlOption.withQueryParams(Collections.singletonMap("response-content-type", contentType))}
+				: new SignUrlOption[] {SignUrlOption.withV4Signature(), SignUrlOption.httpMethod(HttpMethod.GET), SignUrlOption.withHostName(host)};
+
+		try {
+			return client.signUrl(blob, validity.getSeconds(), TimeUnit.SECONDS, options);
+		} catch (IllegalStateException e) {
+			// the client's credentials cannot sign
+			return null;
+		}
+	}
 }
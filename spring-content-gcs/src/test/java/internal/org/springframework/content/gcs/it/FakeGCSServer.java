@@ -0,0 +1,117 @@
+package internal.org.springframework.content.gcs.it;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.net.ServerSocket;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.GenericContainer;
+
+import com.google.api.client.http.javanet.NetHttpTransport;
+import com.google.auth.ServiceAccountSigner;
+import com.google.auth.oauth2.AccessToken;
+import com.google.auth.oauth2.GoogleCredentials;
+import com.google.cloud.http.HttpTransportOptions;
+import com.google.cloud.storage.Storage;
+import com.google.cloud.storage.StorageOptions;
+
+/**
+ * This class provides a TestContainers implementation of Google Cloud Storage via
+ * a fake-gcs-server docker container.
+ *
+ * The server is published on a fixed port, the one it is told is its public host, because it serves objects at
+ * presigned URLs only when they are requested of that host.
+ *
+ * Please refer to the following for details:-
+ * <a href="https://www.testcontainers.org">http://www.testcontainers.org</a>
+ * <a href="https://github.com/fsouza/fake-gcs-server">https://github.com/fsouza/fake-gcs-server</a>
+ */
+public class FakeGCSServer extends GenericContainer<FakeGCSServer> implements Serializable {
+
+    private static final String DOCKER_IMAGE_NAME = "fsouza/fake-gcs-server:v1.24.0";
+
+    private static final int PORT = 4443;
+
+    private final String endpoint;
+
+    private FakeGCSServer() {
+        super(DOCKER_IMAGE_NAME);
+        int port = freePort();
+        String host = DockerClientFactory.instance().dockerHostIpAddress() + ":" + port;
+        this.endpoint = "https://" + host;
+        this.addFixedExposedPort(port, PORT);
+        this.withCommand("-scheme", "https", "-public-host", host, "-external-url", endpoint);
+        this.start();
+    }
+
+    /**
+     * @return a client of the server whose credentials can sign URLs
+     */
+    public static Storage getStorage() {
+        try {
+            // the server's certificate is self-signed
+            NetHttpTransport transport = new NetHttpTransport.Builder().doNotValidateCertificate().build();
+
+            return StorageOptions.newBuilder()
+                    .setHost(Singleton.INSTANCE.endpoint)
+                    .setProjectId("test")
+                    .setCredentials(new SigningCredentials())
+                    .setTransportOptions(HttpTransportOptions.newBuilder().setHttpTransportFactory(() -> transport).build())
+                    .build()
+                    .getService();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to create storage client", e);
+        }
+    }
+
+    private static int freePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to find a free port", e);
+        }
+    }
+
+    @SuppressWarnings("unused") // Serializable safe singleton usage
+    protected FakeGCSServer readResolve() {
+        return Singleton.INSTANCE;
+    }
+
+    private static class Singleton {
+        private static final FakeGCSServer INSTANCE = new FakeGCSServer();
+    }
+
+    // signs with a key of its own, which the server does not check, and never needs its token refreshed
+    private static class SigningCredentials extends GoogleCredentials implements ServiceAccountSigner {
+
+        private final KeyPair keyPair;
+
+        SigningCredentials() throws GeneralSecurityException {
+            super(new AccessToken("fake-gcs-server", null));
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+            this.keyPair = generator.generateKeyPair();
+        }
+
+        @Override
+        public String getAccount() {
+            return "test@test.iam.gserviceaccount.com";
+        }
+
+        @Override
+        public byte[] sign(byte[] toSign) {
+            try {
+                Signature signature = Signature.getInstance("SHA256withRSA");
+                signature.initSign(keyPair.getPrivate());
+                signature.update(toSign);
+                return signature.sign();
+            } catch (GeneralSecurityException e) {
+                throw new SigningException("Unable to sign", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package internal.org.springframework.content.gcs.it.presigned;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.startsWith;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.security.SecureRandom;
+import java.security.cert.X509Certificate;
+import java.net.URL;
+import java.time.Duration;
+
+import javax.net.ssl.HttpsURLConnection;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509TrustManager;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.sql.DataSource;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.content.commons.annotations.ContentId;
+import org.springframework.content.commons.annotations.ContentLength;
+import org.springframework.content.commons.annotations.MimeType;
+import org.springframework.content.commons.repository.ContentStore;
+import org.springframework.content.gcs.config.EnableGCPStorage;
+import org.springframework.content.rest.config.ContentRestConfigurer;
+import org.springframework.content.rest.config.RestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.data.rest.webmvc.config.RepositoryRestMvcConfiguration;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.Database;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.web.WebAppConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.config.annotation.DelegatingWebMvcConfiguration;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jSpringRunner;
+
+import com.google.cloud.storage.BucketInfo;
+import com.google.cloud.storage.Storage;
+
+import internal.org.springframework.content.gcs.it.FakeGCSServer;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@RunWith(Ginkgo4jSpringRunner.class)
+@Ginkgo4jConfiguration(threads=1)
+@WebAppConfiguration
+@ContextConfiguration(classes = {
+        GCSPresignedUrlIT.TestConfig.class,
+        DelegatingWebMvcConfiguration.class,
+        RepositoryRestMvcConfiguration.class,
+        RestConfiguration.class })
+public class GCSPresignedUrlIT {
+
+    private static final String BUCKET = "gcs-presigned-test-bucket";
+
+    private static final Storage storage = FakeGCSServer.getStorage();
+
+    static {
+        if (storage.get(BUCKET) == null) {
+            storage.create(BucketInfo.of(BUCKET));
+        }
+
+        System.setProperty("spring.content.gcp.storage.bucket", BUCKET);
+    }
+
+    @Autowired
+    private TestEntityRepository repo;
+    @Autowired
+    private TestEntityStore store;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    private MockMvc mvc;
+
+    private TestEntity entity;
+
+    {
+        Describe("Presigned URLs", () -> {
+
+            BeforeEach(() -> {
+                mvc = MockMvcBuilders.webAppContextSetup(context).build();
+            });
+
+            Context("given content", () -> {
+
+                BeforeEach(() -> {
+                    entity = new TestEntity();
+                    entity.setContentType("text/plain");
+                    entity = store.setContent(entity, new ByteArrayInputStream("Hello presigned content!".getBytes()));
+                    entity = repo.save(entity);
+                });
+
+                It("should redirect to a presigned URL that reads the content", () -> {
+                    String location = mvc.perform(get("/testEntities/" + entity.getId() + "/content").accept("text/plain"))
+                            .andExpect(status().isTemporaryRedirect())
+                            .andReturn().getResponse().getHeader("Location");
+
+                    HttpURLConnection connection = (HttpURLConnection) new URL(location).openConnection();
+                    trustServerCertificate(connection);
+                    try {
+                        assertThat(connection.getResponseCode(), is(200));
+                        assertThat(connection.getContentType(), startsWith("text/plain"));
+                        try (InputStream in = connection.getInputStream()) {
+                            assertThat(IOUtils.toString(in, "UTF-8"), is("Hello presigned content!"));
+                        }
+                    } finally {
+                        connection.disconnect();
+                    }
+                });
+            });
+        });
+    }
+
+    @Test
+    public void noop() {
+    }
+
+    // the server's certificate is self-signed
+    private static void trustServerCertificate(HttpURLConnection connection) throws Exception {
+        if (connection instanceof HttpsURLConnection) {
+            SSLContext sslContext = SSLContext.getInstance("TLS");
+            sslContext.init(null, new TrustManager[] {new X509TrustManager() {
+                @Override
+                public void checkClientTrusted(X509Certificate[] chain, String authType) {
+                }
+
+                @Override
+                public void checkServerTrusted(X509Certificate[] chain, String authType) {
+                }
+
+                @Override
+                public X509Certificate[] getAcceptedIssuers() {
+                    return new X509Certificate[0];
+                }
+            }}, new SecureRandom());
+            ((HttpsURLConnection) connection).setSSLSocketFactory(sslContext.getSocketFactory());
+            ((HttpsURLConnection) connection).setHostnameVerifier((hostname, session) -> true);
+        }
+    }
+
+    @Configuration
+    @EnableJpaRepositories(considerNestedRepositories = true)
+    @EnableGCPStorage
+    public static class TestConfig {
+
+        // with credentials that can sign
+        @Bean
+        public static Storage storage() {
+            return storage;
+        }
+
+        @Bean
+        public ContentRestConfigurer configurer() {
+            return new ContentRestConfigurer() {
+                @Override
+                public void configure(RestConfiguration config) {
+                    config.setPresignedUrlValidity(Duration.ofMinutes(1));
+                }
+            };
+        }
+
+        @Bean
+        public DataSource dataSource() {
+            EmbeddedDatabaseBuilder builder = new EmbeddedDatabaseBuilder();
+            return builder.setType(EmbeddedDatabaseType.H2).build();
+        }
+
+        @Bean
+        public LocalContainerEntityManagerFactoryBean entityManagerFactory() {
+
+            HibernateJpaVendorAdapter vendorAdapter = new HibernateJpaVendorAdapter();
+            vendorAdapter.setDatabase(Database.H2);
+            vendorAdapter.setGenerateDdl(true);
+
+            LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+            factory.setJpaVendorAdapter(vendorAdapter);
+            factory.setPackagesToScan("internal.org.springframework.content.gcs.it.presigned");
+            factory.setDataSource(dataSource());
+
+            return factory;
+        }
+
+        @Bean
+        public PlatformTransactionManager transactionManager() {
+
+            JpaTransactionManager txManager = new JpaTransactionManager();
+            txManager.setEntityManagerFactory(entityManagerFactory().getObject());
+            return txManager;
+        }
+    }
+
+    @Entity
+    @Setter
+    @Getter
+    @NoArgsConstructor
+    public static class TestEntity {
+
+        @Id
+        @GeneratedValue(strategy=GenerationType.AUTO)
+        private Long id;
+
+        @ContentId
+        private String contentId;
+
+        @ContentLength
+        private long contentLen;
+
+        @MimeType
+        private String contentType;
+    }
+
+    public interface TestEntityRepository extends JpaRepository<TestEntity, Long> {}
+    public interface TestEntityStore extends ContentStore<TestEntity, String> {}
+}
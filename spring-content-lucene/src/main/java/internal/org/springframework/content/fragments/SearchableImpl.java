@@ -0,0 +1,277 @@
+package internal.org.springframework.content.fragments;
+
+import static java.lang.String.format;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.WildcardQuery;
+import org.apache.lucene.search.highlight.Highlighter;
+import org.apache.lucene.search.highlight.InvalidTokenOffsetsException;
+import org.apache.lucene.search.highlight.QueryScorer;
+import org.apache.lucene.search.spans.SpanNearQuery;
+import org.apache.lucene.search.spans.SpanQuery;
+import org.apache.lucene.search.spans.SpanTermQuery;
+import org.apache.lucene.util.QueryBuilder;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.content.commons.annotations.ContentId;
+import org.springframework.content.commons.fulltext.Attribute;
+import org.springframework.content.commons.fulltext.Highlight;
+import org.springframework.content.commons.repository.StoreAccessException;
+import org.springframework.content.commons.search.Searchable;
+import org.springframework.content.commons.utils.BeanUtils;
+import org.springframework.content.commons.utils.ContentPropertyUtils;
+import org.springframework.content.lucene.FilterQueryProvider;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.util.Assert;
+
+import internal.org.springframework.content.lucene.LuceneIndexManager;
+import internal.org.springframework.content.lucene.LuceneIndexServiceImpl;
+
+public class SearchableImpl implements Searchable<Object> {
+
+    private static final Log LOGGER = LogFactory.getLog(SearchableImpl.class);
+
+    private final LuceneIndexManager manager;
+    private FilterQueryProvider filterProvider;
+    private ConversionService conversionService;
+
+    private Class<?> domainClass;
+    private Class<?> idClass;
+    private Class<?>[] genericArguments;
+
+    @Autowired
+    public SearchableImpl(LuceneIndexManager manager) {
+        this.manager = manager;
+        this.conversionService = new DefaultConversionService();
+    }
+
+    @Autowired(required=false)
+    public void setFilterQueryProvider(FilterQueryProvider provider) {
+        this.filterProvider = provider;
+    }
+
+    public void setDomainClass(Class<?> domainClass) {
+        this.domainClass = domainClass;
+    }
+
+    public void setIdClass(Class<?> idClass) {
+        this.idClass = idClass;
+    }
+
+    public void setGenericArguments(Class<?>[] genericArguments) {
+        this.genericArguments = genericArguments;
+    }
+
+    @Override
+    public Iterable<Object> search(String queryStr) {
+        return search(queryStr, null, genericArguments[0], ArrayList.class);
+    }
+
+    @Override
+    public Page<Object> search(String queryStr, Pageable pageable) {
+        return search(queryStr, pageable, genericArguments[0], Page.class);
+    }
+
+    private <R> R search(String queryString, Pageable pageable, Class<?> searchType, Class<R> returnType) {
+        Query textQuery = new SimpleQueryParser(manager.getAnalyzer(), LuceneIndexServiceImpl.TEXT).parse(queryString);
+        return execute(queryString, textQuery, pageable, searchType, returnType);
+    }
+
+    @Override
+    public Iterable<Object> findKeyword(String query) {
+        try {
+            Query textQuery = new QueryParser(LuceneIndexServiceImpl.TEXT, manager.getAnalyzer()).parse(query);
+            return execute(query, textQuery, null, genericArguments[0], ArrayList.class);
+        }
+        catch (ParseException e) {
+            throw new StoreAccessException(format("Error parsing query '%s'", query), e);
+        }
+    }
+
+    @Override
+    public Iterable<Object> findAllKeywords(String... terms) {
+        return keywords(BooleanClause.Occur.MUST, terms, null);
+    }
+
+    @Override
+    public Iterable<Object> findAnyKeywords(String... terms) {
+        return keywords(BooleanClause.Occur.SHOULD, terms, null);
+    }
+
+    @Override
+    public Iterable<Object> findKeywordsNear(int proximity, String... terms) {
+        SpanQuery[] clauses = new SpanQuery[terms.length];
+        for (int i = 0; i < terms.length; i++) {
+            clauses[i] = new SpanTermQuery(term(terms[i]));
+        }
+        Query textQuery = new SpanNearQuery(clauses, proximity, false);
+        return execute(Arrays.toString(terms), textQuery, null, genericArguments[0], ArrayList.class);
+    }
+
+    @Override
+    public Iterable<Object> findKeywordStartsWith(String term) {
+        return execute(term + "*", new PrefixQuery(term(term)), null, genericArguments[0], ArrayList.class);
+    }
+
+    @Override
+    public Iterable<Object> findKeywordStartsWithAndEndsWith(String a, String b) {
+        Term prefix = term(a);
+        Term suffix = term(b);
+        Query textQuery = new WildcardQuery(new Term(LuceneIndexServiceImpl.TEXT, prefix.text() + WildcardQuery.WILDCARD_STRING + suffix.text()));
+        return execute(a + "*" + b, textQuery, null, genericArguments[0], ArrayList.class);
+    }
+
+    @Override
+    public Iterable<Object> findAllKeywordsWithWeights(String[] terms, double[] weights) {
+        Assert.state(terms.length == weights.length, "all terms must have a weight");
+        return keywords(BooleanClause.Occur.MUST, terms, weights);
+    }
+
+    private Iterable<Object> keywords(BooleanClause.Occur occur, String[] terms, double[] weights) {
+
+        QueryBuilder queryBuilder = new QueryBuilder(manager.getAnalyzer());
+
+        BooleanQuery.Builder builder = new BooleanQuery.Builder();
+        for (int i = 0; i < terms.length; i++) {
+            Query termQuery = queryBuilder.createBooleanQuery(LuceneIndexServiceImpl.TEXT, terms[i], BooleanClause.Occur.MUST);
+            if (termQuery == null) {
+                continue;
+            }
+            if (weights != null) {
+                termQuery = new BoostQuery(termQuery, (float) weights[i]);
+            }
+            builder.add(termQuery, occur);
+        }
+
+        return execute(Arrays.toString(terms), builder.build(), null, genericArguments[0], ArrayList.class);
+    }
+
+    // normalizes a keyword the way the indexed text is analyzed, without splitting it into tokens
+    private Term term(String keyword) {
+        return new Term(LuceneIndexServiceImpl.TEXT, manager.getAnalyzer().normalize(LuceneIndexServiceImpl.TEXT, keyword));
+    }
+
+    private <R> R execute(String queryString, Query textQuery, Pageable pageable, Class<?> searchType, Class<R> returnType) {
+
+        BooleanQuery.Builder builder = new BooleanQuery.Builder();
+        builder.add(textQuery, BooleanClause.Occur.MUST);
+        builder.add(new TermQuery(new Term(LuceneIndexServiceImpl.TYPE, domainClass.getName())), BooleanClause.Occur.FILTER);
+
+        if (filterProvider != null) {
+            Map<String,Object> filters = filterProvider.filterQueries(domainClass);
+            for (String attr : filters.keySet()) {
+                builder.add(new TermQuery(new Term(attr, filters.get(attr).toString())), BooleanClause.Occur.FILTER);
+            }
+        }
+        Query query = builder.build();
+
+        try {
+            return manager.search(searcher -> {
+
+                int offset = pageable != null ? (int) pageable.getOffset() : 0;
+                int limit = pageable != null ? pageable.getPageSize() : searcher.count(query);
+
+                TopDocs hits = searcher.search(query, Math.max(1, offset + limit));
+
+                List<Object> contents = new ArrayList<>();
+                for (int i = offset; i < hits.scoreDocs.length; i++) {
+                    contents.add(getResult(searcher, hits.scoreDocs[i], textQuery, searchType));
+                }
+
+                return wrapResult(returnType, contents, pageable, hits.totalHits.value);
+            });
+        }
+        catch (IOException e) {
+            LOGGER.error(format("Error searching indexed content for '%s'", queryString), e);
+            throw new StoreAccessException(format("Error searching indexed content for '%s'", queryString), e);
+        }
+    }
+
+    private Object getResult(IndexSearcher searcher, ScoreDoc hit, Query textQuery, Class<?> resultType) throws IOException {
+
+        Document doc = searcher.doc(hit.doc);
+        String id = doc.get(LuceneIndexServiceImpl.CONTENT_ID);
+
+        if (ContentPropertyUtils.isPrimitiveContentPropertyClass(resultType)) {
+            return conversionService.convert(id, TypeDescriptor.valueOf(String.class), TypeDescriptor.valueOf(this.idClass));
+        }
+
+        Object row = org.springframework.beans.BeanUtils.instantiateClass(resultType);
+        BeanWrapper wrapper = new BeanWrapperImpl(row);
+
+        Field contentIdField = BeanUtils.findFieldWithAnnotation(resultType, ContentId.class);
+        if (contentIdField != null) {
+            wrapper.setPropertyValue(contentIdField.getName(), id);
+        }
+
+        Field highlightField = BeanUtils.findFieldWithAnnotation(resultType, Highlight.class);
+        if (highlightField != null) {
+            wrapper.setPropertyValue(highlightField.getName(), highlight(textQuery, doc.get(LuceneIndexServiceImpl.TEXT)));
+        }
+
+        for (Field field : BeanUtils.findFieldsWithAnnotation(resultType, Attribute.class, new BeanWrapperImpl(resultType))) {
+            Attribute fieldAnnotation = field.getAnnotation(Attribute.class);
+            wrapper.setPropertyValue(field.getName(), doc.get(fieldAnnotation.name()));
+        }
+
+        return row;
+    }
+
+    private String highlight(Query textQuery, String text) throws IOException {
+
+        if (text == null) {
+            return null;
+        }
+
+        try {
+            Highlighter highlighter = new Highlighter(new QueryScorer(textQuery, LuceneIndexServiceImpl.TEXT));
+            return highlighter.getBestFragment(manager.getAnalyzer(), LuceneIndexServiceImpl.TEXT, text);
+        }
+        catch (InvalidTokenOffsetsException e) {
+            LOGGER.warn("Unable to highlight search result", e);
+            return null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <R> R wrapResult(Class<R> returnType, List<Object> content, Pageable pageable, long total) {
+
+        R rc = null;
+        if (Page.class.isAssignableFrom(returnType)) {
+            LOGGER.debug("Wrapping result in Page");
+            rc = (R) new PageImpl<Object>(content, pageable, total);
+        } else {
+            LOGGER.debug("Returning result as-is");
+            rc = (R) content;
+        }
+        return rc;
+    }
+}
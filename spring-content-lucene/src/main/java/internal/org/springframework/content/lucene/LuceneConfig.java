@@ -0,0 +1,72 @@
+package internal.org.springframework.content.lucene;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.content.commons.io.SpillFileManager;
+import org.springframework.content.commons.renditions.ExtractedTextCache;
+import org.springframework.content.commons.renditions.RenditionExecutor;
+import org.springframework.content.commons.renditions.RenditionProvider;
+import org.springframework.content.commons.renditions.RenditionService;
+import org.springframework.content.commons.search.IndexService;
+import org.springframework.content.lucene.AttributeProvider;
+import org.springframework.content.lucene.LuceneProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import internal.org.springframework.content.commons.renditions.ExtractedTextCachingRenditionService;
+import internal.org.springframework.content.commons.renditions.RenditionServiceImpl;
+
+@Configuration
+public class LuceneConfig {
+
+    @Autowired(required = false)
+    private LuceneProperties properties;
+
+    @Autowired(required = false)
+    private RenditionService renditionService;
+
+    @Autowired(required = false)
+    private AttributeProvider attributeProvider;
+
+    @Autowired(required = false)
+    private ExtractedTextCache extractedTextCache;
+
+    @Autowired(required = false)
+    private RenditionExecutor renditionExecutor;
+
+    @Autowired(required = false)
+    private SpillFileManager spillFileManager;
+
+    private List<RenditionProvider> providers = new ArrayList<>();
+
+    @Autowired(required = false)
+    public void setRenditionProviders(RenditionProvider... providers) {
+        for (RenditionProvider provider : providers) {
+            this.providers.add(provider);
+        }
+    }
+
+    public RenditionService getRenditionService() {
+        if (this.renditionService == null) {
+            RenditionServiceImpl renditionService = new RenditionServiceImpl(providers.toArray(new RenditionProvider[0]));
+            renditionService.setRenditionExecutor(this.renditionExecutor);
+            this.renditionService = renditionService;
+            if (this.extractedTextCache != null) {
+                this.renditionService = new ExtractedTextCachingRenditionService(this.renditionService, this.extractedTextCache, this.spillFileManager);
+            }
+        }
+        return this.renditionService;
+    }
+
+    @Bean
+    public LuceneIndexManager luceneIndexManager() {
+        return new LuceneIndexManager(properties != null ? properties : new LuceneProperties());
+    }
+
+    @Bean
+    public IndexService luceneFulltextIndexService() {
+        return new LuceneIndexServiceImpl(luceneIndexManager(), this.getRenditionService(), attributeProvider);
+    }
+}
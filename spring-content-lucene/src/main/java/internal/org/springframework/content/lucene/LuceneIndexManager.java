@@ -0,0 +1,138 @@
+package internal.org.springframework.content.lucene;
+
+import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.index.ConcurrentMergeScheduler;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.index.TieredMergePolicy;
+import org.apache.lucene.search.ControlledRealTimeReopenThread;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.MMapDirectory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.content.commons.repository.StoreAccessException;
+import org.springframework.content.lucene.LuceneProperties;
+
+/**
+ * Owns the embedded Lucene index: a memory mapped directory, a single writer with background merges and a
+ * near-real-time searcher that is reopened in the background.
+ */
+public class LuceneIndexManager implements DisposableBean {
+
+    private static final Log LOGGER = LogFactory.getLog(LuceneIndexManager.class);
+
+    private final Analyzer analyzer;
+    private final Directory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private final ControlledRealTimeReopenThread<IndexSearcher> reopenThread;
+    private final ScheduledExecutorService committer;
+
+    private final AtomicLong generation = new AtomicLong(-1);
+
+    public LuceneIndexManager(LuceneProperties properties) {
+
+        this.analyzer = new StandardAnalyzer();
+
+        try {
+            this.directory = new MMapDirectory(properties.getDirectory().toPath());
+
+            IndexWriterConfig config = new IndexWriterConfig(analyzer);
+            config.setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+            config.setRAMBufferSizeMB(properties.getRamBufferSizeMb());
+            config.setMergePolicy(new TieredMergePolicy());
+            config.setMergeScheduler(new ConcurrentMergeScheduler());
+            this.writer = new IndexWriter(directory, config);
+
+            this.searcherManager = new SearcherManager(writer, null);
+        }
+        catch (IOException e) {
+            throw new StoreAccessException("Unable to open lucene index", e);
+        }
+
+        this.reopenThread = new ControlledRealTimeReopenThread<>(writer, searcherManager, properties.getMaxStaleMillis() / 1000d, 0);
+        this.reopenThread.setName("spring-content-lucene-reopen");
+        this.reopenThread.setDaemon(true);
+        this.reopenThread.start();
+
+        this.committer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "spring-content-lucene-commit");
+            t.setDaemon(true);
+            return t;
+        });
+        this.committer.scheduleWithFixedDelay(this::commit, properties.getCommitIntervalMillis(), properties.getCommitIntervalMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public Analyzer getAnalyzer() {
+        return analyzer;
+    }
+
+    public void update(Term id, Document document) throws IOException {
+        generation.accumulateAndGet(writer.updateDocument(id, document), Math::max);
+    }
+
+    public void delete(Term id) throws IOException {
+        generation.accumulateAndGet(writer.deleteDocuments(id), Math::max);
+    }
+
+    /**
+     * Runs the callback against a searcher that reflects at least every update made before this call
+     */
+    public <R> R search(SearcherCallback<R> callback) throws IOException {
+
+        long gen = generation.get();
+        if (gen != -1) {
+            try {
+                reopenThread.waitForGeneration(gen);
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            return callback.doWithSearcher(searcher);
+        }
+        finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    public void commit() {
+        try {
+            if (writer.hasUncommittedChanges()) {
+                writer.commit();
+            }
+        }
+        catch (IOException e) {
+            LOGGER.error("Unable to commit lucene index", e);
+        }
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        committer.shutdownNow();
+        reopenThread.close();
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    @FunctionalInterface
+    public interface SearcherCallback<R> {
+        R doWithSearcher(IndexSearcher searcher) throws IOException;
+    }
+}
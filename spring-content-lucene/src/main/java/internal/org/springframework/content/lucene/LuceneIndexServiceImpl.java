@@ -0,0 +1,119 @@
+package internal.org.springframework.content.lucene;
+
+import static java.lang.String.format;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.Term;
+import org.springframework.content.commons.annotations.ContentId;
+import org.springframework.content.commons.annotations.MimeType;
+import org.springframework.content.commons.renditions.RenditionService;
+import org.springframework.content.commons.repository.StoreAccessException;
+import org.springframework.content.commons.search.IndexService;
+import org.springframework.content.commons.utils.BeanUtils;
+import org.springframework.content.lucene.AttributeProvider;
+
+public class LuceneIndexServiceImpl<T> implements IndexService<T> {
+
+    public static final String ID = "id";
+    public static final String TYPE = "_type";
+    public static final String CONTENT_ID = "content_id";
+    public static final String TEXT = "_text_";
+
+    private static final Log LOGGER = LogFactory.getLog(LuceneIndexServiceImpl.class);
+
+    private final LuceneIndexManager manager;
+    private final RenditionService renditionService;
+    private final AttributeProvider attributeProvider;
+
+    public LuceneIndexServiceImpl(LuceneIndexManager manager, RenditionService renditionService, AttributeProvider attributeProvider) {
+        this.manager = manager;
+        this.renditionService = renditionService;
+        this.attributeProvider = attributeProvider;
+    }
+
+    @Override
+    public void index(T entity, InputStream stream) {
+
+        String id = BeanUtils.getFieldWithAnnotation(entity, ContentId.class).toString();
+
+        Document doc = new Document();
+        doc.add(new StringField(ID, key(entity.getClass(), id), Field.Store.NO));
+        doc.add(new StringField(TYPE, entity.getClass().getName(), Field.Store.NO));
+        doc.add(new StringField(CONTENT_ID, id, Field.Store.YES));
+
+        if (attributeProvider != null) {
+            Map<String, String> attributes = attributeProvider.synchronize(entity);
+            for (Map.Entry<String, String> attribute : attributes.entrySet()) {
+                if (attribute.getValue() != null) {
+                    doc.add(new StringField(attribute.getKey(), attribute.getValue(), Field.Store.YES));
+                }
+            }
+        }
+
+        try {
+            InputStream text = extractText(entity, stream);
+            if (text != null) {
+                try (InputStream in = text) {
+                    doc.add(new TextField(TEXT, IOUtils.toString(in, StandardCharsets.UTF_8), Field.Store.YES));
+                }
+            }
+
+            manager.update(new Term(ID, key(entity.getClass(), id)), doc);
+        }
+        catch (IOException e) {
+            throw new StoreAccessException(format("Error indexing content %s", id), e);
+        }
+    }
+
+    @Override
+    public void unindex(T entity) {
+
+        Object id = BeanUtils.getFieldWithAnnotation(entity, ContentId.class);
+        if (id == null) {
+            return;
+        }
+
+        try {
+            manager.delete(new Term(ID, key(entity.getClass(), id.toString())));
+        }
+        catch (IOException e) {
+            throw new StoreAccessException(format("Error deleting indexed content %s", id), e);
+        }
+    }
+
+    private InputStream extractText(T entity, InputStream stream) {
+
+        Object mimeType = BeanUtils.getFieldWithAnnotation(entity, MimeType.class);
+        if (mimeType == null) {
+            LOGGER.debug("Content has no mime type, indexing attributes only");
+            return null;
+        }
+
+        org.springframework.util.MimeType type = org.springframework.util.MimeType.valueOf(mimeType.toString());
+        if ("text".equals(type.getType())) {
+            return stream;
+        }
+
+        if (renditionService != null && renditionService.canConvert(mimeType.toString(), "text/plain")) {
+            return renditionService.convert(mimeType.toString(), stream, "text/plain");
+        }
+
+        LOGGER.debug(format("No text rendition for %s content, indexing attributes only", mimeType));
+        return null;
+    }
+
+    static String key(Class<?> domainClass, String contentId) {
+        return domainClass.getName() + ":" + contentId;
+    }
+}
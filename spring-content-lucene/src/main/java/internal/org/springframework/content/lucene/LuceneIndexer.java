@@ -0,0 +1,27 @@
+package internal.org.springframework.content.lucene;
+
+import org.springframework.content.commons.annotations.StoreEventHandler;
+import org.springframework.content.commons.repository.events.AbstractStoreEventListener;
+import org.springframework.content.commons.repository.events.AfterSetContentEvent;
+import org.springframework.content.commons.repository.events.BeforeUnsetContentEvent;
+import org.springframework.content.commons.search.IndexService;
+
+@StoreEventHandler
+public class LuceneIndexer extends AbstractStoreEventListener<Object> {
+
+	private final IndexService indexService;
+
+	public LuceneIndexer(IndexService indexService) {
+		this.indexService = indexService;
+	}
+
+	@Override
+	protected void onAfterSetContent(AfterSetContentEvent event) {
+		this.indexService.index(event.getSource(), event.getStore().getContent(event.getSource()));
+	}
+
+	@Override
+	protected void onBeforeUnsetContent(BeforeUnsetContentEvent event) {
+		this.indexService.unindex(event.getSource());
+	}
+}
@@ -0,0 +1,8 @@
+package org.springframework.content.lucene;
+
+import java.util.Map;
+
+public interface AttributeProvider<S> {
+
+    Map<String, String> synchronize(S entity);
+}
@@ -0,0 +1,16 @@
+package org.springframework.content.lucene;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.springframework.context.annotation.Import;
+
+import internal.org.springframework.content.lucene.LuceneConfig;
+
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+@Import({ LuceneFulltextIndexingConfig.class, LuceneConfig.class })
+public @interface EnableLuceneFulltextIndexing {
+}
@@ -0,0 +1,8 @@
+package org.springframework.content.lucene;
+
+import java.util.Map;
+
+public interface FilterQueryProvider {
+
+    Map<String, Object> filterQueries(Class<?> entity);
+}
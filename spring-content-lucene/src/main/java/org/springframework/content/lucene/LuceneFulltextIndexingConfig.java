@@ -0,0 +1,20 @@
+package org.springframework.content.lucene;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.content.commons.search.IndexService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import internal.org.springframework.content.lucene.LuceneIndexer;
+
+@Configuration
+public class LuceneFulltextIndexingConfig {
+
+	@Autowired
+	private IndexService luceneFulltextIndexService;
+
+	@Bean
+	public LuceneIndexer luceneFulltextIndexerEventListener() {
+		return new LuceneIndexer(luceneFulltextIndexService);
+	}
+}
@@ -0,0 +1,56 @@
+package org.springframework.content.lucene;
+
+import java.io.File;
+
+public class LuceneProperties {
+
+	private File directory = new File(System.getProperty("java.io.tmpdir"), "spring-content-lucene");
+	private double ramBufferSizeMb = 64;
+	private long maxStaleMillis = 1000;
+	private long commitIntervalMillis = 60000;
+
+	/**
+	 * Directory holding the index.  Memory mapped so it should be on a local disk.
+	 */
+	public File getDirectory() {
+		return directory;
+	}
+
+	public void setDirectory(File directory) {
+		this.directory = directory;
+	}
+
+	/**
+	 * Amount of RAM used to buffer added documents before they are flushed to a new segment.
+	 */
+	public double getRamBufferSizeMb() {
+		return ramBufferSizeMb;
+	}
+
+	public void setRamBufferSizeMb(double ramBufferSizeMb) {
+		this.ramBufferSizeMb = ramBufferSizeMb;
+	}
+
+	/**
+	 * Maximum time, in milliseconds, before an update becomes visible to searches run by other threads.  Searches
+	 * always see the updates made before them.
+	 */
+	public long getMaxStaleMillis() {
+		return maxStaleMillis;
+	}
+
+	public void setMaxStaleMillis(long maxStaleMillis) {
+		this.maxStaleMillis = maxStaleMillis;
+	}
+
+	/**
+	 * Interval, in milliseconds, at which updates are durably committed to the index directory.
+	 */
+	public long getCommitIntervalMillis() {
+		return commitIntervalMillis;
+	}
+
+	public void setCommitIntervalMillis(long commitIntervalMillis) {
+		this.commitIntervalMillis = commitIntervalMillis;
+	}
+}
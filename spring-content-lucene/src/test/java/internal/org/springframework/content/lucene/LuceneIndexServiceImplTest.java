@@ -0,0 +1,233 @@
+package internal.org.springframework.content.lucene;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.AfterEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.JustBeforeEach;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.hasItems;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.runner.RunWith;
+import org.springframework.content.commons.annotations.ContentId;
+import org.springframework.content.commons.annotations.MimeType;
+import org.springframework.content.commons.fulltext.Attribute;
+import org.springframework.content.commons.fulltext.Highlight;
+import org.springframework.content.commons.renditions.RenditionService;
+import org.springframework.content.lucene.AttributeProvider;
+import org.springframework.content.lucene.LuceneProperties;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+import internal.org.springframework.content.fragments.SearchableImpl;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@RunWith(Ginkgo4jRunner.class)
+public class LuceneIndexServiceImplTest {
+
+    private LuceneIndexManager manager;
+    private LuceneIndexServiceImpl<TEntity> indexer;
+    private SearchableImpl searchable;
+
+    private File dir;
+    private RenditionService renditionService;
+    private AttributeProvider<TEntity> attributeProvider;
+
+    {
+        Describe("LuceneIndexServiceImpl", () -> {
+
+            BeforeEach(() -> {
+                dir = Files.createTempDirectory("lucene-index").toFile();
+
+                LuceneProperties props = new LuceneProperties();
+                props.setDirectory(dir);
+                manager = new LuceneIndexManager(props);
+
+                renditionService = mock(RenditionService.class);
+                when(renditionService.canConvert("application/msword", "text/plain")).thenReturn(true);
+                when(renditionService.convert(eq("application/msword"), any(), eq("text/plain"))).thenAnswer(invocation -> new ByteArrayInputStream("the age of foolishness".getBytes()));
+
+                attributeProvider = entity -> {
+                    Map<String, String> attrs = new HashMap<>();
+                    attrs.put("author", entity.getAuthor());
+                    return attrs;
+                };
+
+                indexer = new LuceneIndexServiceImpl<>(manager, renditionService, attributeProvider);
+
+                searchable = new SearchableImpl(manager);
+                searchable.setDomainClass(TEntity.class);
+                searchable.setIdClass(String.class);
+                searchable.setGenericArguments(new Class<?>[] {String.class});
+            });
+
+            AfterEach(() -> {
+                manager.destroy();
+                FileUtils.deleteDirectory(dir);
+            });
+
+            Context("given some indexed content", () -> {
+
+                JustBeforeEach(() -> {
+                    indexer.index(new TEntity("one", "text/plain", "alice"), new ByteArrayInputStream("it was the best of times".getBytes()));
+                    indexer.index(new TEntity("two", "text/plain", "bob"), new ByteArrayInputStream("it was the worst of times".getBytes()));
+                    indexer.index(new TEntity("three", "application/msword", "alice"), new ByteArrayInputStream("binary".getBytes()));
+                });
+
+                It("should find content matching the query", () -> {
+                    assertThat((List<Object>) searchable.search("times"), hasItems("one", "two"));
+                    assertThat((List<Object>) searchable.search("worst"), contains("two"));
+                });
+
+                It("should index text renditions of non-text content", () -> {
+                    assertThat((List<Object>) searchable.search("foolishness"), contains("three"));
+                    assertThat((List<Object>) searchable.search("binary"), is(empty()));
+                });
+
+                It("should not index the raw bytes of content with no mime type", () -> {
+                    indexer.index(new TEntity("four", null, "carol"), new ByteArrayInputStream("hidden words".getBytes()));
+
+                    assertThat((List<Object>) searchable.search("hidden"), is(empty()));
+                });
+
+                It("should find content matching all or any keywords", () -> {
+                    assertThat((List<Object>) searchable.findAllKeywords("Best", "times"), contains("one"));
+                    assertThat((List<Object>) searchable.findAnyKeywords("best", "worst"), containsInAnyOrder("one", "two"));
+                });
+
+                It("should find content with keywords near each other", () -> {
+                    assertThat((List<Object>) searchable.findKeywordsNear(1, "times", "worst"), contains("two"));
+                    assertThat((List<Object>) searchable.findKeywordsNear(0, "it", "times"), is(empty()));
+                });
+
+                It("should find content with keywords by prefix and suffix", () -> {
+                    assertThat((List<Object>) searchable.findKeywordStartsWith("Fool"), contains("three"));
+                    assertThat((List<Object>) searchable.findKeywordStartsWithAndEndsWith("wo", "st"), contains("two"));
+                });
+
+                It("should find content matching weighted keywords", () -> {
+                    assertThat((List<Object>) searchable.findAllKeywordsWithWeights(new String[] {"best", "times"}, new double[] {2.0, 1.0}), contains("one"));
+                    assertThat((List<Object>) searchable.findAllKeywordsWithWeights(new String[] {"it", "times"}, new double[] {1.0, 1.0}), containsInAnyOrder("one", "two"));
+                });
+
+                It("should page results", () -> {
+                    Page<Object> page = searchable.search("times", PageRequest.of(1, 1));
+                    assertThat(page.getTotalElements(), is(2L));
+                    assertThat(page.getContent().size(), is(1));
+                });
+
+                Context("when content is unindexed", () -> {
+
+                    JustBeforeEach(() -> {
+                        indexer.unindex(new TEntity("two", "text/plain", "bob"));
+                    });
+
+                    It("should no longer be found", () -> {
+                        assertThat((List<Object>) searchable.search("times"), contains("one"));
+                    });
+                });
+
+                Context("when content is reindexed", () -> {
+
+                    JustBeforeEach(() -> {
+                        indexer.index(new TEntity("two", "text/plain", "bob"), new ByteArrayInputStream("a tale of two cities".getBytes()));
+                    });
+
+                    It("should replace the previously indexed content", () -> {
+                        assertThat((List<Object>) searchable.search("worst"), is(empty()));
+                        assertThat((List<Object>) searchable.search("cities"), contains("two"));
+                    });
+                });
+
+                Context("given a custom search return type", () -> {
+
+                    BeforeEach(() -> {
+                        searchable.setGenericArguments(new Class<?>[] {TSearchResult.class});
+                    });
+
+                    It("should populate the content id, highlight and attributes", () -> {
+                        List<Object> results = (List<Object>) searchable.search("worst");
+                        assertThat(results.size(), is(1));
+
+                        TSearchResult result = (TSearchResult) results.get(0);
+                        assertThat(result.getContentId(), is("two"));
+                        assertThat(result.getHighlight(), containsString("<B>worst</B>"));
+                        assertThat(result.getAuthor(), is("bob"));
+                    });
+
+                    It("should return the custom type from keyword queries too", () -> {
+                        List<Object> results = (List<Object>) searchable.findKeyword("worst");
+                        assertThat(results.size(), is(1));
+                        assertThat(((TSearchResult) results.get(0)).getContentId(), is("two"));
+                    });
+                });
+
+                Context("given a filter query provider", () -> {
+
+                    BeforeEach(() -> {
+                        searchable.setFilterQueryProvider(entity -> Collections.singletonMap("author", "alice"));
+                    });
+
+                    It("should only return content matching the filters", () -> {
+                        assertThat((List<Object>) searchable.search("times"), contains("one"));
+                        assertThat((List<Object>) searchable.search("times"), not(hasItems("two")));
+                    });
+                });
+            });
+        });
+    }
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    public static class TEntity {
+
+        @ContentId
+        private String contentId;
+
+        @MimeType
+        private String mimeType;
+
+        private String author;
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    public static class TSearchResult {
+
+        @ContentId
+        private String contentId;
+
+        @Highlight
+        private String highlight;
+
+        @Attribute(name = "author")
+        private String author;
+    }
+}
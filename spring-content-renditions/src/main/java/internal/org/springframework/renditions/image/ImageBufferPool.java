@@ -0,0 +1,165 @@
+package internal.org.springframework.renditions.image;
+
+import java.awt.image.BufferedImage;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.imageio.ImageTypeSpecifier;
+
+import org.springframework.util.Assert;
+
+/**
+ * A pool of images used as intermediate rasters by renderers; i.e. as the destination of a decode or a scale.
+ * <p>
+ * Images are pooled by size and type, up to a maximum number of pixels in total.  Pooled images are only softly
+ * referenced so the garbage collector may reclaim them under memory pressure.  The content of an acquired image is
+ * undefined; callers must overwrite it fully.
+ */
+public class ImageBufferPool {
+
+    /**
+     * The default maximum; enough for a few rasters of the size renditions are usually scaled to.
+     */
+    public static final long DEFAULT_MAXIMUM_PIXELS = 4L * 1024 * 1024;
+
+    private static final ImageBufferPool shared = new ImageBufferPool(DEFAULT_MAXIMUM_PIXELS);
+
+    private final long maximumPixels;
+    private final Map<Key, Deque<Pooled>> free = new ConcurrentHashMap<>();
+    private final ReferenceQueue<BufferedImage> cleared = new ReferenceQueue<>();
+    private final AtomicLong pooledPixels = new AtomicLong();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public ImageBufferPool(long maximumPixels) {
+        Assert.isTrue(maximumPixels >= 0, "maximumPixels must not be negative");
+        this.maximumPixels = maximumPixels;
+    }
+
+    public static ImageBufferPool getShared() {
+        return shared;
+    }
+
+    public BufferedImage acquire(int width, int height, int type) {
+        expunge();
+        Deque<Pooled> images = free.get(new Key(width, height, type));
+        Pooled pooled;
+        while (images != null && (pooled = images.pollFirst()) != null) {
+            pooledPixels.addAndGet(-pooled.pixels);
+            BufferedImage image = pooled.get();
+            if (image != null) {
+                hits.incrementAndGet();
+                return image;
+            }
+        }
+        misses.incrementAndGet();
+        return new BufferedImage(width, height, type);
+    }
+
+    /**
+     * Acquires an image of a type a reader decodes to.  Custom types are never pooled.
+     */
+    public BufferedImage acquire(ImageTypeSpecifier type, int width, int height) {
+        if (type.getBufferedImageType() == BufferedImage.TYPE_CUSTOM) {
+            misses.incrementAndGet();
+            return type.createBufferedImage(width, height);
+        }
+        return acquire(width, height, type.getBufferedImageType());
+    }
+
+    /**
+     * Returns an image to the pool.  The image must no longer be used by the caller.
+     */
+    public void release(BufferedImage image) {
+        if (image == null || image.getType() == BufferedImage.TYPE_CUSTOM) {
+            return;
+        }
+        expunge();
+        long pixels = pixels(image);
+        if (pooledPixels.addAndGet(pixels) > maximumPixels) {
+            pooledPixels.addAndGet(-pixels);
+            return;
+        }
+        Key key = new Key(image.getWidth(), image.getHeight(), image.getType());
+        free.computeIfAbsent(key, k -> new ConcurrentLinkedDeque<>())
+                .offerFirst(new Pooled(image, key, pixels, cleared));
+    }
+
+    public long getMaximumPixels() {
+        return maximumPixels;
+    }
+
+    public long getPooledPixels() {
+        return pooledPixels.get();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    // forgets images the garbage collector has reclaimed so that they no longer count towards the maximum
+    private void expunge() {
+        Reference<? extends BufferedImage> reference;
+        while ((reference = cleared.poll()) != null) {
+            Pooled pooled = (Pooled) reference;
+            Deque<Pooled> images = free.get(pooled.key);
+            if (images != null && images.remove(pooled)) {
+                pooledPixels.addAndGet(-pooled.pixels);
+            }
+        }
+    }
+
+    private static long pixels(BufferedImage image) {
+        return (long) image.getWidth() * image.getHeight();
+    }
+
+    private static final class Pooled extends SoftReference<BufferedImage> {
+
+        private final Key key;
+        private final long pixels;
+
+        Pooled(BufferedImage image, Key key, long pixels, ReferenceQueue<BufferedImage> queue) {
+            super(image, queue);
+            this.key = key;
+            this.pixels = pixels;
+        }
+    }
+
+    private static final class Key {
+
+        private final int width;
+        private final int height;
+        private final int type;
+
+        Key(int width, int height, int type) {
+            this.width = width;
+            this.height = height;
+            this.type = type;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return width == key.width && height == key.height && type == key.type;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(width, height, type);
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package internal.org.springframework.renditions.image;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.imageio.IIOException;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.spi.ImageReaderSpi;
+import javax.imageio.spi.ImageWriterSpi;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+
+import org.springframework.content.commons.utils.MimeTypeRegistry;
+
+/**
+ * Decodes and encodes images for renderers.
+ * <p>
+ * Unlike {@link ImageIO#read(InputStream)} and {@link ImageIO#write}, the providers of readers and writers are looked
+ * up once per format, images are decoded into rasters from an {@link ImageBufferPool} and streams are cached in
+ * memory rather than in temporary files.  When an image is decoded to be downscaled, it is subsampled as it is decoded so the
+ * full size raster is never allocated.  Images whose mime type has no reader are identified by their magic bytes, from
+ * the shared {@link MimeTypeRegistry}.
+ */
+public final class ImageCodecs {
+
+    // providers are stateless; the readers and writers they create are not, so each call creates and disposes its own
+    private static final Map<String, Optional<ImageReaderSpi>> readers = new ConcurrentHashMap<>();
+    private static final Map<String, Optional<ImageWriterSpi>> writers = new ConcurrentHashMap<>();
+
+    private ImageCodecs() {
+    }
+
+    /**
+     * Decodes an image, subsampling it if it is more than twice as large as the given width or height.  A width or
+     * height of 0 is unbounded.  The returned image should be released to the pool once it has been used.
+     */
+    public static BufferedImage read(InputStream in, String mimeType, int width, int height, ImageBufferPool pool) throws IOException {
+
+        try (ImageInputStream iis = new MemoryCacheImageInputStream(in)) {
+            ImageReader reader = newReader(mimeType);
+            if (reader == null) {
+                // the content may be mislabelled, for example as application/octet-stream
+                String detected = detect(iis);
+                if (detected != null) {
+                    reader = newReader(detected);
+                }
+            }
+            if (reader == null) {
+                Iterator<ImageReader> detected = ImageIO.getImageReaders(iis);
+                if (!detected.hasNext()) {
+                    throw new IIOException("No image reader for " + mimeType);
+                }
+                reader = detected.next();
+            }
+
+            try {
+                reader.setInput(iis, true, true);
+                int sourceWidth = reader.getWidth(0);
+                int sourceHeight = reader.getHeight(0);
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                int subsampling = subsampling(sourceWidth, sourceHeight, width, height);
+                if (subsampling > 1) {
+                    param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                }
+
+                Iterator<ImageTypeSpecifier> types = reader.getImageTypes(0);
+                if (types.hasNext()) {
+                    int destinationWidth = (sourceWidth + subsampling - 1) / subsampling;
+                    int destinationHeight = (sourceHeight + subsampling - 1) / subsampling;
+                    param.setDestination(pool.acquire(types.next(), destinationWidth, destinationHeight));
+                }
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Scales an image to fit within the given width and height, preserving its aspect ratio.  Returns the image
+     * itself when it already fits.
+     */
+    public static BufferedImage scale(BufferedImage image, int width, int height, ImageBufferPool pool) {
+
+        double scale = 1d;
+        if (width > 0) {
+            scale = Math.min(scale, (double) width / image.getWidth());
+        }
+        if (height > 0) {
+            scale = Math.min(scale, (double) height / image.getHeight());
+        }
+        if (scale >= 1d) {
+            return image;
+        }
+
+        int scaledWidth = Math.max(1, (int) Math.round(image.getWidth() * scale));
+        int scaledHeight = Math.max(1, (int) Math.round(image.getHeight() * scale));
+        BufferedImage scaled = pool.acquire(scaledWidth, scaledHeight, image.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+
+        Graphics2D g = scaled.createGraphics();
+        try {
+            g.setComposite(AlphaComposite.Src);
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(image, 0, 0, scaledWidth, scaledHeight, null);
+        } finally {
+            g.dispose();
+        }
+        return scaled;
+    }
+
+    /**
+     * Encodes an image.  A quality between 0 and 1 sets the compression quality of formats that support it; any other
+     * value uses the writer's default.
+     */
+    public static void write(BufferedImage image, String format, float quality, OutputStream out) throws IOException {
+
+        ImageWriter writer = newWriter(format);
+        if (writer == null) {
+            throw new IIOException("No image writer for " + format);
+        }
+
+        try (ImageOutputStream ios = new MemoryCacheImageOutputStream(out)) {
+            writer.setOutput(ios);
+
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (quality > 0f && quality <= 1f && param.canWriteCompressed()) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                if (param.getCompressionType() == null && param.getCompressionTypes().length > 0) {
+                    param.setCompressionType(param.getCompressionTypes()[0]);
+                }
+                param.setCompressionQuality(quality);
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    /* package */ static int subsampling(int sourceWidth, int sourceHeight, int width, int height) {
+        // subsampling picks every nth pixel so only subsample to twice the requested size and scale the rest of the way
+        int subsampling = Integer.MAX_VALUE;
+        if (width > 0) {
+            subsampling = sourceWidth / (width * 2);
+        }
+        if (height > 0) {
+            subsampling = Math.min(subsampling, sourceHeight / (height * 2));
+        }
+        return subsampling == Integer.MAX_VALUE ? 1 : Math.max(1, subsampling);
+    }
+
+    private static String detect(ImageInputStream iis) throws IOException {
+        MimeTypeRegistry mimeTypes = MimeTypeRegistry.getDefault();
+        byte[] head = new byte[mimeTypes.getMaximumSignatureLength()];
+        iis.mark();
+        try {
+            int length = 0;
+            int n;
+            while (length < head.length && (n = iis.read(head, length, head.length - length)) != -1) {
+                length += n;
+            }
+            return mimeTypes.detect(head, length);
+        } finally {
+            iis.reset();
+        }
+    }
+
+    private static ImageReader newReader(String mimeType) throws IOException {
+        Optional<ImageReaderSpi> provider = readers.computeIfAbsent(mimeType, type -> {
+            Iterator<ImageReader> found = ImageIO.getImageReadersByMIMEType(type);
+            return found.hasNext() ? Optional.ofNullable(found.next().getOriginatingProvider()) : Optional.empty();
+        });
+        return provider.isPresent() ? provider.get().createReaderInstance() : null;
+    }
+
+    private static ImageWriter newWriter(String format) throws IOException {
+        Optional<ImageWriterSpi> provider = writers.computeIfAbsent(format, name -> {
+            Iterator<ImageWriter> found = ImageIO.getImageWritersByFormatName(name);
+            return found.hasNext() ? Optional.ofNullable(found.next().getOriginatingProvider()) : Optional.empty();
+        });
+        return provider.isPresent() ? provider.get().createWriterInstance() : null;
+    }
+}
@@ -1,11 +1,13 @@
 package internal.org.springframework.renditions.pdf;
 
+import org.apache.pdfbox.io.MemoryUsageSetting;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.rendering.PDFRenderer;
 import org.apache.pdfbox.tools.imageio.ImageIOUtil;
 import org.springframework.renditions.poi.PDFService;
 
 import java.awt.image.BufferedImage;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -17,6 +19,16 @@ public class PDFServiceImpl implements PDFService {
         return PDDocument.load(stream);
     }
 
+    @Override
+    public PDDocument load(InputStream stream, MemoryUsageSetting memoryUsageSetting) throws IOException {
+        return PDDocument.load(stream, memoryUsageSetting);
+    }
+
+    @Override
+    public PDDocument load(File file, MemoryUsageSetting memoryUsageSetting) throws IOException {
+        return PDDocument.load(file, memoryUsageSetting);
+    }
+
     @Override
     public PDFRenderer renderer(PDDocument doc) {
         return new PDFRenderer(doc);
@@ -24,6 +36,11 @@ public class PDFServiceImpl implements PDFService {
 
     @Override
     public void writeImage(BufferedImage bim, String format, OutputStream out) throws IOException {
-        ImageIOUtil.writeImage(bim, "jpeg", out);
+        ImageIOUtil.writeImage(bim, format, out);
+    }
+
+    @Override
+    public void writeImage(BufferedImage bim, String format, OutputStream out, int dpi, float quality) throws IOException {
+        ImageIOUtil.writeImage(bim, format, out, dpi, quality);
     }
 }
@@ -1,5 +1,9 @@
 package org.springframework.content.renditions.config;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.content.commons.io.SpillFileManager;
+import org.springframework.content.commons.renditions.ExtractedTextCache;
+import org.springframework.content.commons.renditions.RenditionExecutor;
 import org.springframework.content.commons.renditions.RenditionProvider;
 import org.springframework.content.commons.renditions.RenditionService;
 import org.springframework.content.renditions.renderers.PdfToJpegRenderer;
@@ -7,6 +11,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 
+import internal.org.springframework.content.commons.renditions.ExtractedTextCachingRenditionService;
 import internal.org.springframework.content.commons.renditions.RenditionServiceImpl;
 
 @Configuration
@@ -14,7 +19,16 @@ import internal.org.springframework.content.commons.renditions.RenditionServiceI
 public class RenditionsConfiguration {
 
     @Bean
-    public RenditionService renditionService(RenditionProvider... providers) {
-        return new RenditionServiceImpl(providers);
+    public RenditionService renditionService(ObjectProvider<ExtractedTextCache> extractedTextCache, ObjectProvider<RenditionExecutor> renditionExecutor, ObjectProvider<SpillFileManager> spillFileManager, RenditionProvider... providers) {
+        RenditionServiceImpl renditionServiceImpl = new RenditionServiceImpl(providers);
+        renditionServiceImpl.setRenditionExecutor(renditionExecutor.getIfAvailable());
+
+        RenditionService renditionService = renditionServiceImpl;
+
+        ExtractedTextCache cache = extractedTextCache.getIfAvailable();
+        if (cache != null) {
+            renditionService = new ExtractedTextCachingRenditionService(renditionService, cache, spillFileManager.getIfAvailable());
+        }
+        return renditionService;
     }
 }
@@ -1,28 +1,63 @@
 package org.springframework.content.renditions.renderers;
 
+import internal.org.springframework.renditions.image.ImageBufferPool;
+import internal.org.springframework.renditions.image.ImageCodecs;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
-import org.springframework.content.commons.io.FileRemover;
-import org.springframework.content.commons.io.ObservableInputStream;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.content.commons.io.SpillFileManager;
+import org.springframework.content.commons.io.SpillOutputStream;
+import org.springframework.content.commons.renditions.RenditionParameters;
 import org.springframework.content.commons.renditions.RenditionProvider;
 import org.springframework.stereotype.Service;
 
-import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
-import java.io.File;
-import java.io.FileInputStream;
 import java.io.InputStream;
-import java.nio.file.Files;
-import java.nio.file.attribute.FileAttribute;
 
 import static java.lang.String.format;
 
+/**
+ * Converts jpeg images to png.  A {@code width} or {@code height} parameter downscales the image, subsampling it as it
+ * is decoded; see {@link RenditionParameters}.
+ */
 @Service
 public class JpegToPngRenditionProvider implements RenditionProvider {
 
 	private static final Log logger = LogFactory.getLog(JpegToPngRenditionProvider.class);
 
+	private ImageBufferPool pool;
+
+	public JpegToPngRenditionProvider() {
+		this(ImageBufferPool.getShared());
+	}
+
+	public JpegToPngRenditionProvider(ImageBufferPool pool) {
+		this.pool = pool;
+	}
+
+	/**
+	 * Sets the pool decoded and scaled images are taken from; the shared pool if not set
+	 */
+	@Autowired(required = false)
+	public void setImageBufferPool(ImageBufferPool pool) {
+		this.pool = pool;
+	}
+
+	private SpillFileManager spillFileManager = null;
+
+	/**
+	 * Sets the manager renditions are spilled through; the default manager if not set
+	 */
+	@Autowired(required = false)
+	public void setSpillFileManager(SpillFileManager spillFileManager) {
+		this.spillFileManager = spillFileManager;
+	}
+
+	private SpillFileManager spillFileManager() {
+		return spillFileManager != null ? spillFileManager : SpillFileManager.getDefault();
+	}
+
 	@Override
 	public String consumes() {
 		return "image/jpeg";
@@ -35,17 +70,31 @@ public class JpegToPngRenditionProvider implements RenditionProvider {
 
 	@Override
 	public InputStream convert(InputStream fromInputSource, String toMimeType) {
+		RenditionParameters parameters = RenditionParameters.of(toMimeType != null ? toMimeType : "image/png");
+
+		SpillOutputStream out = null;
+		BufferedImage decoded = null;
+		BufferedImage image = null;
 		try {
-			File tmpFile = Files.createTempFile(null, null, new FileAttribute<?>[]{}).toFile();
-			BufferedImage bufferedImage = ImageIO.read(fromInputSource);
-			ImageIO.write(bufferedImage, "png", tmpFile);
-			return new ObservableInputStream(new FileInputStream(tmpFile), new FileRemover(tmpFile));
+			decoded = ImageCodecs.read(fromInputSource, "image/jpeg", parameters.getWidth(), parameters.getHeight(), pool);
+			image = ImageCodecs.scale(decoded, parameters.getWidth(), parameters.getHeight(), pool);
+
+			out = spillFileManager().newOutputStream();
+			ImageCodecs.write(image, "png", parameters.getQuality(-1f), out);
+			return out.getInputStream();
 		}
 		catch (Exception e) {
 			logger.warn(format("%s rendition failed", toMimeType), e);
+			if (out != null) {
+				out.release();
+			}
 		}
 		finally {
 			IOUtils.closeQuietly(fromInputSource);
+			pool.release(decoded);
+			if (image != decoded) {
+				pool.release(image);
+			}
 		}
 		return null;
 	}
@@ -1,16 +1,14 @@
 package org.springframework.content.renditions.renderers;
 
 import internal.org.springframework.renditions.pdf.PDFServiceImpl;
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
-import org.apache.pdfbox.io.ScratchFile;
 import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
 import org.apache.pdfbox.rendering.ImageType;
 import org.apache.pdfbox.rendering.PDFRenderer;
-import org.apache.pdfbox.tools.imageio.ImageIOUtil;
-import org.springframework.content.commons.io.FileRemover;
-import org.springframework.content.commons.io.ObservableInputStream;
+import org.springframework.content.commons.renditions.RenditionParameters;
 import org.springframework.content.commons.renditions.RenditionProvider;
 import org.springframework.content.renditions.RenditionException;
 import org.springframework.renditions.poi.PDFService;
@@ -18,20 +16,40 @@ import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
 
 import java.awt.image.BufferedImage;
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.PipedInputStream;
-import java.io.PipedOutputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
 
+/**
+ * Renders pdf pages as images.
+ * <p>
+ * The page, size and quality of the image are taken from the parameters of the requested mime type; see
+ * {@link RenditionParameters}.  When a width or height is requested the page is rasterized directly at that size,
+ * rather than at 300 dpi and then scaled.  A {@code multipart/mixed} rendition renders several pages, one part per
+ * page, lazily as the rendition is read, up to the maximum number of pages.
+ * <p>
+ * Whatever size or dpi is requested, a page is rasterized at no more than the maximum number of pixels; larger pages
+ * are rasterized at the largest scale that fits.  A multi-page rendition stops at the page that would take it over the
+ * maximum total number of pixels.
+ */
 @Service
 public class PdfToJpegRenderer implements RenditionProvider {
 
 	private static Log logger = LogFactory.getLog(PdfToJpegRenderer.class);
 
+	public static final int DEFAULT_DPI = 300;
+
 	private PDFService pdfService;
+	private int maximumPages = RenditionParameters.MAXIMUM_PAGES;
+	private long maximumPixels = RenditionParameters.MAXIMUM_PIXELS;
+	private long maximumTotalPixels = RenditionParameters.MAXIMUM_TOTAL_PIXELS;
 
 	public PdfToJpegRenderer() {
 		this.pdfService = new PDFServiceImpl();
@@ -41,6 +59,33 @@ public class PdfToJpegRenderer implements RenditionProvider {
 		this.pdfService = pdfService;
 	}
 
+	/**
+	 * Sets the maximum number of pages a multi-page rendition renders.  Defaults to
+	 * {@link RenditionParameters#MAXIMUM_PAGES}.
+	 */
+	public void setMaximumPages(int maximumPages) {
+		Assert.isTrue(maximumPages > 0, "maximumPages must be greater than 0");
+		this.maximumPages = maximumPages;
+	}
+
+	/**
+	 * Sets the maximum number of pixels a page is rasterized at.  Defaults to
+	 * {@link RenditionParameters#MAXIMUM_PIXELS}.
+	 */
+	public void setMaximumPixels(long maximumPixels) {
+		Assert.isTrue(maximumPixels > 0, "maximumPixels must be greater than 0");
+		this.maximumPixels = maximumPixels;
+	}
+
+	/**
+	 * Sets the maximum number of pixels all the pages of a multi-page rendition are rasterized at.  Defaults to
+	 * {@link RenditionParameters#MAXIMUM_TOTAL_PIXELS}.
+	 */
+	public void setMaximumTotalPixels(long maximumTotalPixels) {
+		Assert.isTrue(maximumTotalPixels > 0, "maximumTotalPixels must be greater than 0");
+		this.maximumTotalPixels = maximumTotalPixels;
+	}
+
 	@Override
 	public String consumes() {
 		return "application/pdf";
@@ -48,47 +93,213 @@ public class PdfToJpegRenderer implements RenditionProvider {
 
 	@Override
 	public String[] produces() {
-		return new String[] { "image/jpg" };
+		return new String[] { "image/jpg", "image/jpeg", "image/png", "multipart/mixed" };
 	}
 
-	@SuppressWarnings("resource")
 	@Override
 	public InputStream convert(InputStream fromInputSource, String toMimeType) {
 
 		Assert.notNull(fromInputSource, "input source must not be null");
 
+		RenditionParameters parameters = RenditionParameters.of(toMimeType != null ? toMimeType : "image/jpeg");
+
 		PDDocument document = null;
 		try {
 			document = pdfService.load(fromInputSource);
 			PDFRenderer pdfRenderer = pdfService.renderer(document);
-			if (document.getNumberOfPages() > 0) {
-  				BufferedImage bim = pdfRenderer.renderImageWithDPI(0, 300, ImageType.RGB);
-  				File tmp = File.createTempFile("pdftojpegrenderer", ".tmp");
-  				tmp.deleteOnExit();
-				FileOutputStream out = new FileOutputStream(tmp);
-				try {
-					pdfService.writeImage(bim, "jpeg", out);
-				} catch (IOException e) {
-					logger.error("Error writing buffered image to output stream");
-					throw new RenditionException("Error writing buffered image to output stream", e);
-				} finally {
-					IOUtils.closeQuietly(out);
-				}
-				return new ObservableInputStream(new FileInputStream(tmp), new FileRemover(tmp));
+
+			if (parameters.isMultiPage()) {
+				InputStream pages = new PagesInputStream(document, pdfRenderer, parameters);
+				// closed by the stream
+				document = null;
+				return pages;
+			}
+
+			int page = parameters.getPage() - 1;
+			if (page < document.getNumberOfPages()) {
+				BufferedImage bim = render(document, pdfRenderer, page, parameters);
+				return new ByteArrayInputStream(encode(bim, parameters));
 			}
 		} catch (IOException e) {
 			logger.error("Error rendering application/pdf to image/jpeg");
 			throw new RenditionException("Error rendering application/pdf to image/jpeg", e);
 		} finally {
-			try {
-				if (document != null) {
-					document.close();
+			close(document);
+		}
+
+		return null;
+	}
+
+	private BufferedImage render(PDDocument document, PDFRenderer pdfRenderer, int page, RenditionParameters parameters) throws IOException {
+
+		PDPage pdPage = document.getPage(page);
+		float scale = scale(pdPage, parameters);
+		float capped = cap(pdPage, scale, maximumPixels);
+		if (parameters.hasSize() || capped < scale) {
+			return pdfRenderer.renderImage(page, capped, ImageType.RGB);
+		}
+		return pdfRenderer.renderImageWithDPI(page, parameters.getDpi(DEFAULT_DPI), ImageType.RGB);
+	}
+
+	/* package */ static float scale(PDPage page, RenditionParameters parameters) {
+
+		if (!parameters.hasSize()) {
+			return parameters.getDpi(DEFAULT_DPI) / 72f;
+		}
+
+		float[] size = size(page);
+		float width = size[0];
+		float height = size[1];
+
+		float scale = Float.MAX_VALUE;
+		if (parameters.getWidth() > 0 && width > 0) {
+			scale = parameters.getWidth() / width;
+		}
+		if (parameters.getHeight() > 0 && height > 0) {
+			scale = Math.min(scale, parameters.getHeight() / height);
+		}
+		return scale == Float.MAX_VALUE ? DEFAULT_DPI / 72f : scale;
+	}
+
+	/**
+	 * Reduces the scale, if need be, so that the page is rasterized at no more than the given number of pixels
+	 */
+	/* package */ static float cap(PDPage page, float scale, long maximumPixels) {
+
+		double pixels = pixels(page, scale);
+		return pixels > maximumPixels ? (float) (scale * Math.sqrt(maximumPixels / pixels)) : scale;
+	}
+
+	private static double pixels(PDPage page, float scale) {
+
+		float[] size = size(page);
+		return (double) size[0] * scale * size[1] * scale;
+	}
+
+	private static float[] size(PDPage page) {
+
+		PDRectangle box = page.getCropBox();
+		if (page.getRotation() % 180 != 0) {
+			return new float[] { box.getHeight(), box.getWidth() };
+		}
+		return new float[] { box.getWidth(), box.getHeight() };
+	}
+
+	private byte[] encode(BufferedImage bim, RenditionParameters parameters) {
+
+		// the encoded image is always smaller than the raster already held in memory, so no need to spill it to disk
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try {
+			String format = parameters.getFormat("jpeg");
+			float quality = parameters.getQuality(-1f);
+			if (quality > 0f) {
+				pdfService.writeImage(bim, format, out, parameters.getDpi(72), quality);
+			} else {
+				pdfService.writeImage(bim, format, out);
+			}
+		} catch (IOException e) {
+			logger.error("Error writing buffered image to output stream");
+			throw new RenditionException("Error writing buffered image to output stream", e);
+		}
+		return out.toByteArray();
+	}
+
+	private static void close(PDDocument document) {
+		try {
+			if (document != null) {
+				document.close();
+			}
+		} catch (IOException e) {
+			// silent
+		}
+	}
+
+	private class PagesInputStream extends InputStream {
+
+		private final PDDocument document;
+		private final PDFRenderer pdfRenderer;
+		private final RenditionParameters parameters;
+		private final Iterator<Integer> pages;
+		private final String boundary;
+
+		private InputStream current = new ByteArrayInputStream(new byte[0]);
+		private boolean finished = false;
+
+		PagesInputStream(PDDocument document, PDFRenderer pdfRenderer, RenditionParameters parameters) {
+			this.document = document;
+			this.pdfRenderer = pdfRenderer;
+			this.parameters = parameters;
+			this.pages = withinTotalPixels(document, parameters.getPages(document.getNumberOfPages(), maximumPages), parameters).iterator();
+			this.boundary = parameters.getBoundary();
+		}
+
+		private List<Integer> withinTotalPixels(PDDocument document, List<Integer> pages, RenditionParameters parameters) {
+			double total = 0;
+			for (int i = 0; i < pages.size(); i++) {
+				PDPage page = document.getPage(pages.get(i) - 1);
+				total += pixels(page, cap(page, scale(page, parameters), maximumPixels));
+				if (total > maximumTotalPixels && i > 0) {
+					return pages.subList(0, i);
 				}
-			} catch (IOException e) {
-				// silent
 			}
+			return pages;
 		}
 
-		return null;
+		@Override
+		public int read() throws IOException {
+			int b;
+			while ((b = current.read()) == -1) {
+				if (!next()) {
+					return -1;
+				}
+			}
+			return b;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			if (len == 0) {
+				return 0;
+			}
+			int read;
+			while ((read = current.read(b, off, len)) == -1) {
+				if (!next()) {
+					return -1;
+				}
+			}
+			return read;
+		}
+
+		@Override
+		public int available() throws IOException {
+			return current.available();
+		}
+
+		private boolean next() throws IOException {
+			if (pages.hasNext()) {
+				int page = pages.next();
+				byte[] image = encode(render(document, pdfRenderer, page - 1, parameters), parameters);
+				String headers = "--" + boundary + "\r\n"
+						+ "Content-Type: image/" + parameters.getFormat("jpeg") + "\r\n"
+						+ "Content-Disposition: inline; name=\"page-" + page + "\"\r\n"
+						+ "Content-Length: " + image.length + "\r\n\r\n";
+				current = new SequenceInputStream(Collections.enumeration(Arrays.asList(
+						new ByteArrayInputStream(headers.getBytes(StandardCharsets.US_ASCII)),
+						new ByteArrayInputStream(image),
+						new ByteArrayInputStream("\r\n".getBytes(StandardCharsets.US_ASCII)))));
+				return true;
+			}
+			if (!finished) {
+				finished = true;
+				current = new ByteArrayInputStream(("--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII));
+				return true;
+			}
+			return false;
+		}
+
+		@Override
+		public void close() throws IOException {
+			PdfToJpegRenderer.close(document);
+		}
 	}
 }
@@ -0,0 +1,285 @@
+package org.springframework.content.renditions.renderers;
+
+import internal.org.springframework.renditions.pdf.PDFServiceImpl;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.content.commons.io.DeletableResource;
+import org.springframework.content.commons.io.LimitedWriter;
+import org.springframework.content.commons.io.ProducerInputStream;
+import org.springframework.content.commons.io.SpillFileManager;
+import org.springframework.content.commons.io.SpillOutputStream;
+import org.springframework.content.commons.renditions.RenditionExecutor;
+import org.springframework.content.commons.renditions.RenditionProvider;
+import org.springframework.content.renditions.RenditionException;
+import org.springframework.renditions.poi.PDFService;
+import org.springframework.stereotype.Service;
+import org.springframework.util.Assert;
+import org.springframework.util.MimeType;
+import org.springframework.util.StreamUtils;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Extracts the text of pdf documents.
+ * <p>
+ * Text is extracted page by page and streamed to the reader of the rendition as it is extracted, so the rendition is
+ * never held in memory.  The document itself is parsed with at most {@link #setMemoryBudget(long) memoryBudget} bytes
+ * of main memory, beyond which pdfbox uses a scratch file.  Consecutive pages are extracted in parallel from separate
+ * copies of the document.  Extraction stops once {@link #setMaximumCharacters(long) maximumCharacters} have been
+ * written.
+ */
+@Service
+public class PdfToTextRenderer implements RenditionProvider, DisposableBean {
+
+	private static Log logger = LogFactory.getLog(PdfToTextRenderer.class);
+
+	public static final long DEFAULT_MEMORY_BUDGET = 16L * 1024 * 1024;
+
+	public static final int DEFAULT_QUEUED_PRODUCERS = 100;
+
+	private PDFService pdfService;
+	private Executor executor;
+	private ThreadPoolExecutor ownExecutor;
+	private int parallelism = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+	private long maximumCharacters = Long.MAX_VALUE;
+	private long memoryBudget = DEFAULT_MEMORY_BUDGET;
+	private SpillFileManager spillFileManager = null;
+
+	public PdfToTextRenderer() {
+		this.pdfService = new PDFServiceImpl();
+	}
+
+	public PdfToTextRenderer(PDFService pdfService) {
+		this.pdfService = pdfService;
+	}
+
+	/**
+	 * Sets the number of pages extracted at once.  Each costs a copy of the document.
+	 */
+	public void setParallelism(int parallelism) {
+		Assert.isTrue(parallelism > 0, "parallelism must be greater than 0");
+		this.parallelism = parallelism;
+	}
+
+	/**
+	 * Sets the bounded executor text is produced, and pages are extracted, on.  Defaults to the rendition executor's
+	 * producer executor when there is one, otherwise to a pool of this renderer's own.
+	 */
+	public synchronized void setExecutor(Executor executor) {
+		Assert.notNull(executor, "executor must not be null");
+		this.executor = executor;
+	}
+
+	@Autowired(required = false)
+	public void setRenditionExecutor(RenditionExecutor renditionExecutor) {
+		setExecutor(renditionExecutor.getProducerExecutor());
+	}
+
+	private synchronized Executor executor() {
+		if (executor == null) {
+			ownExecutor = ProducerInputStream.newExecutor("spring-content-pdf-text-", Runtime.getRuntime().availableProcessors(), DEFAULT_QUEUED_PRODUCERS);
+			executor = ownExecutor;
+		}
+		return executor;
+	}
+
+	@Override
+	public synchronized void destroy() {
+		if (ownExecutor != null) {
+			ownExecutor.shutdownNow();
+		}
+	}
+
+	public void setMaximumCharacters(long maximumCharacters) {
+		Assert.isTrue(maximumCharacters > 0, "maximumCharacters must be greater than 0");
+		this.maximumCharacters = maximumCharacters;
+	}
+
+	/**
+	 * Sets the main memory each copy of a document may use before pdfbox spills to a scratch file
+	 */
+	public void setMemoryBudget(long memoryBudget) {
+		Assert.isTrue(memoryBudget > 0, "memoryBudget must be greater than 0");
+		this.memoryBudget = memoryBudget;
+	}
+
+	/**
+	 * Sets the manager documents are spilled through; the default manager if not set
+	 */
+	@Autowired(required = false)
+	public void setSpillFileManager(SpillFileManager spillFileManager) {
+		this.spillFileManager = spillFileManager;
+	}
+
+	@Override
+	public String consumes() {
+		return "application/pdf";
+	}
+
+	@Override
+	public String[] produces() {
+		return new String[] { "text/plain" };
+	}
+
+	@Override
+	public InputStream convert(InputStream fromInputSource, String toMimeType) {
+
+		Assert.notNull(fromInputSource, "input source must not be null");
+
+		Charset charset = charset(toMimeType);
+
+		// the source is read again for each copy of the document
+		SpillOutputStream source = (spillFileManager != null ? spillFileManager : SpillFileManager.getDefault()).newOutputStream();
+		DeletableResource resource;
+		try {
+			StreamUtils.copy(fromInputSource, source);
+			resource = source.toResource();
+		} catch (IOException e) {
+			source.release();
+			throw new RenditionException("Error reading application/pdf", e);
+		}
+
+		Executor executor = executor();
+		return ProducerInputStream.start((out) -> {
+			try {
+				extract(resource, source.isSpilled(), out, charset, executor);
+			} catch (Exception e) {
+				logger.warn("Error rendering application/pdf to text/plain", e);
+				throw e;
+			} finally {
+				resource.delete();
+			}
+		}, (producer) -> {
+			try {
+				executor.execute(producer);
+			} catch (RejectedExecutionException ree) {
+				// the producer never runs to delete the source
+				source.release();
+				throw ree;
+			}
+		});
+	}
+
+	private void extract(DeletableResource resource, boolean spilled, OutputStream out, Charset charset, Executor executor) throws Exception {
+
+		LimitedWriter writer = new LimitedWriter(new BufferedWriter(new OutputStreamWriter(out, charset)), maximumCharacters);
+
+		List<PDDocument> documents = new ArrayList<>();
+		try {
+			documents.add(load(resource, spilled));
+			int pages = documents.get(0).getNumberOfPages();
+			for (int i = 1; i < Math.min(parallelism, pages); i++) {
+				documents.add(load(resource, spilled));
+			}
+
+			PDFTextStripper stripper = new PDFTextStripper();
+			for (int first = 1; first <= pages && !writer.isLimitReached(); first += documents.size()) {
+
+				if (documents.size() == 1) {
+					stripper.setStartPage(first);
+					stripper.setEndPage(first);
+					stripper.writeText(documents.get(0), writer);
+					continue;
+				}
+
+				List<FutureTask<String>> texts = new ArrayList<>();
+				try {
+					for (int i = 1; i < documents.size() && first + i <= pages; i++) {
+						FutureTask<String> text = pageText(documents.get(i), first + i);
+						texts.add(text);
+						try {
+							executor.execute(text);
+						} catch (RejectedExecutionException ree) {
+							// extracted on this thread instead
+						}
+					}
+
+					// the first page of each batch is extracted, and written, on this thread
+					stripper.setStartPage(first);
+					stripper.setEndPage(first);
+					stripper.writeText(documents.get(0), writer);
+
+					for (FutureTask<String> text : texts) {
+						// a page still waiting for a thread of the bounded executor is extracted on this one
+						text.run();
+						writer.write(text.get());
+					}
+				} catch (ExecutionException ee) {
+					throw ee.getCause() instanceof Exception ? (Exception) ee.getCause() : ee;
+				} finally {
+					for (Future<String> text : texts) {
+						text.cancel(true);
+					}
+				}
+			}
+			writer.flush();
+		} finally {
+			for (PDDocument document : documents) {
+				close(document);
+			}
+		}
+	}
+
+	private PDDocument load(DeletableResource resource, boolean spilled) throws IOException {
+		MemoryUsageSetting memoryUsageSetting = MemoryUsageSetting.setupMixed(memoryBudget);
+		if (spilled) {
+			return pdfService.load(resource.getFile(), memoryUsageSetting);
+		}
+		try (InputStream in = resource.getInputStream()) {
+			return pdfService.load(in, memoryUsageSetting);
+		}
+	}
+
+	private static FutureTask<String> pageText(PDDocument document, int page) {
+		return new FutureTask<>(() -> {
+			PDFTextStripper stripper = new PDFTextStripper();
+			stripper.setStartPage(page);
+			stripper.setEndPage(page);
+			StringWriter text = new StringWriter();
+			stripper.writeText(document, text);
+			return text.toString();
+		});
+	}
+
+	private static Charset charset(String mimeType) {
+		if (mimeType != null) {
+			try {
+				Charset charset = MimeType.valueOf(mimeType).getCharset();
+				if (charset != null) {
+					return charset;
+				}
+			} catch (IllegalArgumentException iae) {
+				// fall through
+			}
+		}
+		return StandardCharsets.UTF_8;
+	}
+
+	private static void close(PDDocument document) {
+		try {
+			document.close();
+		} catch (IOException e) {
+			// silent
+		}
+	}
+}
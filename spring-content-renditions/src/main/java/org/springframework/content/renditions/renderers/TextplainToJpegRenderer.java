@@ -1,13 +1,16 @@
 package org.springframework.content.renditions.renderers;
 
+import internal.org.springframework.renditions.image.ImageBufferPool;
+import internal.org.springframework.renditions.image.ImageCodecs;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.content.commons.renditions.RenditionParameters;
 import org.springframework.content.commons.renditions.RenditionProvider;
 import org.springframework.content.renditions.RenditionException;
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
 
-import javax.imageio.ImageIO;
 import java.awt.*;
 import java.awt.font.FontRenderContext;
 import java.awt.font.LineBreakMeasurer;
@@ -18,7 +21,6 @@ import java.awt.image.BufferedImage;
 import java.io.*;
 import java.text.AttributedCharacterIterator;
 import java.text.AttributedString;
-import java.util.ArrayList;
 
 @Service
 public class TextplainToJpegRenderer implements RenditionProvider {
@@ -26,11 +28,13 @@ public class TextplainToJpegRenderer implements RenditionProvider {
 	private static Log logger = LogFactory.getLog(WordToJpegRenderer.class);
 
 	private static int width = 272;
+	private static int height = 480;
 	private static int margin = 5;
 	private static String fontName = "Courier New";
 	private static int fontSize = 12;
 
 	private boolean wrapText = false;
+	private ImageBufferPool pool = ImageBufferPool.getShared();
 
 	public TextplainToJpegRenderer() {
 	}
@@ -39,6 +43,19 @@ public class TextplainToJpegRenderer implements RenditionProvider {
 		this.wrapText = wrapText;
 	}
 
+	public TextplainToJpegRenderer(boolean wrapText, ImageBufferPool pool) {
+		this.wrapText = wrapText;
+		this.pool = pool;
+	}
+
+	/**
+	 * Sets the pool canvases are taken from; the shared pool if not set
+	 */
+	@Autowired(required = false)
+	public void setImageBufferPool(ImageBufferPool pool) {
+		this.pool = pool;
+	}
+
 	@Override
 	public String consumes() {
 		return "text/plain";
@@ -62,13 +79,7 @@ public class TextplainToJpegRenderer implements RenditionProvider {
 			throw new RenditionException("Error creating font", e);
 		}
 
-		BufferedImage tempBuffer = new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB);
-		Graphics2D g = tempBuffer.createGraphics();
-		g.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
-				RenderingHints.VALUE_ANTIALIAS_ON);
-		g.setFont(font);
-
-		FontRenderContext fc = g.getFontRenderContext();
+		FontRenderContext fc = new FontRenderContext(null, true, false);
 		Rectangle2D bounds = font.getStringBounds("Random Text", fc);
 		int lineHeight = (int) bounds.getHeight();
 
@@ -81,88 +92,76 @@ public class TextplainToJpegRenderer implements RenditionProvider {
 			throw new RenditionException("Error opening input stream", e);
 		}
 
-		ArrayList images = new ArrayList();
-
-		int lineCnt = margin + margin;
-
-		while (true) {
-			String line;
-
+		// lines are drawn straight onto a pooled canvas rather than onto an image per line
+		BufferedImage canvas = pool.acquire(width, height, BufferedImage.TYPE_INT_RGB);
+		try {
+			Graphics2D g = canvas.createGraphics();
 			try {
-				line = reader.readLine();
-			}
-			catch (IOException ignore) {
-				break;
-			}
-
-			if (line == null) { // EOF
-				break;
-			}
-
-			if ("".equals(line)) { // Empty line
-				line = " ";
-			}
-
-			AttributedString attribString = new AttributedString(line);
-			attribString.addAttribute(TextAttribute.BACKGROUND, Color.WHITE, 0,
-					line.length());
-			attribString.addAttribute(TextAttribute.FOREGROUND, Color.BLACK, 0,
-					line.length());
-			attribString.addAttribute(TextAttribute.FONT, font, 0, line.length());
-
-			AttributedCharacterIterator aci = attribString.getIterator();
-			LineBreakMeasurer lbm = new LineBreakMeasurer(aci, fc);
-
-			while (lbm.getPosition() < line.length()) {
-				BufferedImage lineBuffer = new BufferedImage(width, lineHeight,
-						BufferedImage.TYPE_INT_ARGB);
-
-				Graphics2D g1 = lineBuffer.createGraphics();
-				g1.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
+				g.setBackground(Color.WHITE);
+				g.clearRect(0, 0, width, height);
+				g.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
 						RenderingHints.VALUE_ANTIALIAS_ON);
 
-				TextLayout layout = lbm.nextLayout(width - margin);
-
-				int y = (int) layout.getAscent();
-
-				layout.draw(g1, margin, y);
-				images.add(lineBuffer);
-				lineCnt += lineHeight;
-
-				if (lineCnt + lineHeight > 480 || !wrapText) {
-					break;
+				int lines = 0;
+				int lineCnt = margin + margin;
+
+				// lines below the canvas are not visible so stop reading once it is full
+				while (margin + (lines * lineHeight) < height) {
+					String line;
+
+					try {
+						line = reader.readLine();
+					}
+					catch (IOException ignore) {
+						break;
+					}
+
+					if (line == null) { // EOF
+						break;
+					}
+
+					if ("".equals(line)) { // Empty line
+						line = " ";
+					}
+
+					AttributedString attribString = new AttributedString(line);
+					attribString.addAttribute(TextAttribute.BACKGROUND, Color.WHITE, 0,
+							line.length());
+					attribString.addAttribute(TextAttribute.FOREGROUND, Color.BLACK, 0,
+							line.length());
+					attribString.addAttribute(TextAttribute.FONT, font, 0, line.length());
+
+					AttributedCharacterIterator aci = attribString.getIterator();
+					LineBreakMeasurer lbm = new LineBreakMeasurer(aci, fc);
+
+					while (lbm.getPosition() < line.length()) {
+						TextLayout layout = lbm.nextLayout(width - margin);
+
+						int top = margin + (lines * lineHeight);
+						g.setClip(0, top, width, lineHeight);
+						layout.draw(g, margin, top + (int) layout.getAscent());
+						lines++;
+						lineCnt += lineHeight;
+
+						if (lineCnt + lineHeight > height || !wrapText) {
+							break;
+						}
+					}
 				}
 			}
-		}
-
-		if (lineCnt != 0) {
-			try {
-				saveImage(images, lineHeight, "/tmp/textToJpeg.jpeg");
-				return new FileInputStream("/tmp/textToJpeg.jpeg");
-			}
-			catch (IOException e) {
-				throw new RenditionException("Error writing image", e);
+			finally {
+				g.dispose();
 			}
-		}
-
-		return null;
-	}
-
-	private void saveImage(ArrayList<BufferedImage> images, int lineHeight,
-			String fileName) throws IOException {
-		BufferedImage buffer = new BufferedImage(272, 480, BufferedImage.TYPE_INT_RGB);
 
-		Graphics2D g = buffer.createGraphics();
-		g.setBackground(Color.WHITE);
-		g.clearRect(0, 0, 272, 480);
-
-		for (int i = 0; i < images.size(); i++) {
-			g.drawImage((BufferedImage) images.get(i), 0, margin + (i * lineHeight),
-					null);
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			ImageCodecs.write(canvas, "jpeg", RenditionParameters.of(toMimeType != null ? toMimeType : "image/jpeg").getQuality(-1f), out);
+			return new ByteArrayInputStream(out.toByteArray());
+		}
+		catch (IOException e) {
+			throw new RenditionException("Error writing image", e);
+		}
+		finally {
+			pool.release(canvas);
 		}
-
-		OutputStream out = new FileOutputStream(new File(fileName.toString()));
-		ImageIO.write(buffer, "jpg", out);
-		out.close();
 	}
 }
@@ -1,9 +1,11 @@
 package org.springframework.renditions.poi;
 
+import org.apache.pdfbox.io.MemoryUsageSetting;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.rendering.PDFRenderer;
 
 import java.awt.image.BufferedImage;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -12,7 +14,19 @@ public interface PDFService {
 
 	PDDocument load(InputStream stream) throws IOException;
 
+	default PDDocument load(InputStream stream, MemoryUsageSetting memoryUsageSetting) throws IOException {
+		return load(stream);
+	}
+
+	default PDDocument load(File file, MemoryUsageSetting memoryUsageSetting) throws IOException {
+		return PDDocument.load(file, memoryUsageSetting);
+	}
+
 	PDFRenderer renderer(PDDocument doc);
 
 	void writeImage(BufferedImage bim, String format, OutputStream out) throws IOException;
+
+	default void writeImage(BufferedImage bim, String format, OutputStream out, int dpi, float quality) throws IOException {
+		writeImage(bim, format, out);
+	}
 }
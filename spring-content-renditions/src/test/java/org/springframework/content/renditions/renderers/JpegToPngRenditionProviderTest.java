@@ -1,8 +1,6 @@
 package org.springframework.content.renditions.renderers;
 
-import static org.hamcrest.CoreMatchers.hasItem;
 import static org.hamcrest.CoreMatchers.hasItems;
-import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.greaterThan;
@@ -10,14 +8,17 @@ import static org.hamcrest.Matchers.greaterThan;
 import java.awt.image.BufferedImage;
 import java.awt.image.DataBufferByte;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
 
 import javax.imageio.ImageIO;
 
+import internal.org.springframework.renditions.image.ImageBufferPool;
+import org.apache.commons.io.IOUtils;
 import org.junit.Before;
 import org.junit.Test;
-import org.springframework.content.commons.io.FileRemover;
-import org.springframework.content.commons.io.ObservableInputStream;
+import org.springframework.content.commons.io.SpillFileManager;
 import org.springframework.content.commons.renditions.RenditionProvider;
 
 public class JpegToPngRenditionProviderTest {
@@ -40,7 +41,6 @@ public class JpegToPngRenditionProviderTest {
 		InputStream converted = service.convert(this.getClass().getResourceAsStream("/sample.jpeg"), "image/png");
 
 		assertThat(converted.available(), is(greaterThan(0)));
-		assertThat(((ObservableInputStream)converted).getObservers(), hasItem(is(instanceOf(FileRemover.class))));
 
 		BufferedImage expectedImage = ImageIO.read(this.getClass().getResourceAsStream("/sample.png"));
 		byte[] expectedRastaData = ((DataBufferByte) expectedImage.getData().getDataBuffer()).getData();
@@ -50,4 +50,60 @@ public class JpegToPngRenditionProviderTest {
 
         assertThat(expectedRastaData, is(actualRastaData));
 	}
+
+	@Test
+	public void testConvertWithWidth() throws Exception {
+		BufferedImage original = ImageIO.read(this.getClass().getResourceAsStream("/sample.jpeg"));
+
+		InputStream converted = service.convert(this.getClass().getResourceAsStream("/sample.jpeg"), "image/png;width=32");
+
+		BufferedImage actualImage = ImageIO.read(converted);
+		assertThat(actualImage.getWidth(), is(32));
+		assertThat(actualImage.getHeight(), is(Math.max(1, (int) Math.round(original.getHeight() * 32d / original.getWidth()))));
+	}
+
+	@Test
+	public void testConvertReusesRasters() throws Exception {
+		ImageBufferPool pool = new ImageBufferPool(ImageBufferPool.DEFAULT_MAXIMUM_PIXELS);
+		service = new JpegToPngRenditionProvider(pool);
+
+		ImageIO.read(service.convert(this.getClass().getResourceAsStream("/sample.jpeg"), "image/png")).flush();
+		ImageIO.read(service.convert(this.getClass().getResourceAsStream("/sample.jpeg"), "image/png")).flush();
+
+		assertThat(pool.getMisses(), is(1L));
+		assertThat(pool.getHits(), is(1L));
+	}
+
+	@Test
+	public void testConvertDoesNotPoolRastersBeyondTheLimit() throws Exception {
+		ImageBufferPool pool = new ImageBufferPool(0);
+		service = new JpegToPngRenditionProvider(pool);
+
+		ImageIO.read(service.convert(this.getClass().getResourceAsStream("/sample.jpeg"), "image/png")).flush();
+		ImageIO.read(service.convert(this.getClass().getResourceAsStream("/sample.jpeg"), "image/png")).flush();
+
+		assertThat(pool.getMisses(), is(2L));
+		assertThat(pool.getHits(), is(0L));
+		assertThat(pool.getPooledPixels(), is(0L));
+	}
+
+	@Test
+	public void testConvertReleasesSpillFileWhenClosed() throws Exception {
+		Path directory = Files.createTempDirectory("spill");
+		SpillFileManager manager = new SpillFileManager(directory);
+		manager.setMemoryThreshold(0);
+
+		JpegToPngRenditionProvider provider = new JpegToPngRenditionProvider();
+		provider.setSpillFileManager(manager);
+
+		InputStream converted = provider.convert(this.getClass().getResourceAsStream("/sample.jpeg"), "image/png");
+		assertThat(manager.getFileCount(), is(1));
+
+		IOUtils.toByteArray(converted);
+		converted.close();
+
+		assertThat(manager.getFileCount(), is(0));
+		assertThat(manager.getDiskUsage(), is(0L));
+		assertThat(directory.toFile().list().length, is(0));
+	}
 }
@@ -2,18 +2,25 @@ package org.springframework.content.renditions.renderers;
 
 import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
 import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import org.apache.commons.io.IOUtils;
 import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
 import org.apache.pdfbox.rendering.ImageType;
 import org.apache.pdfbox.rendering.PDFRenderer;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.springframework.content.commons.renditions.RenditionParameters;
 import org.springframework.content.commons.renditions.RenditionProvider;
 import org.springframework.content.renditions.RenditionException;
 import org.springframework.renditions.poi.PDFService;
 
+import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 
 import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
 import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
@@ -22,15 +29,24 @@ import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
 import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.JustBeforeEach;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.hasItemInArray;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.core.IsInstanceOf.instanceOf;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyFloat;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isA;
 import static org.mockito.Matchers.anyObject;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -46,12 +62,16 @@ public class PdfToJpegRendererTest {
 
 	private InputStream input;
 	private String mimeType;
+	private InputStream result;
 
 	private Exception e;
 
 	{
 		Describe("WordToJpegRenderer", () -> {
 			BeforeEach(() -> {
+				mimeType = null;
+				result = null;
+				e = null;
 				pdf = mock(PDFService.class);
 				renderer = new PdfToJpegRenderer(pdf);
 			});
@@ -69,7 +89,7 @@ public class PdfToJpegRendererTest {
 			Context("#convert", () -> {
 				JustBeforeEach(() -> {
 					try {
-						renderer.convert(input, mimeType);
+						result = renderer.convert(input, mimeType);
 					}
 					catch (Exception e) {
 						this.e = e;
@@ -81,6 +101,7 @@ public class PdfToJpegRendererTest {
 						when(pdf.load(anyObject())).thenReturn(doc);
 						pdfRenderer = mock(PDFRenderer.class);
 						when(pdf.renderer(doc)).thenReturn(pdfRenderer);
+						when(doc.getPage(anyInt())).thenReturn(new PDPage(PDRectangle.A4));
 
 						input = new ByteArrayInputStream("".getBytes());
 					});
@@ -107,6 +128,125 @@ public class PdfToJpegRendererTest {
 							});
 						});
 					});
+					Context("given a page parameter", () -> {
+						BeforeEach(() -> {
+							when(doc.getNumberOfPages()).thenReturn(3);
+							mimeType = "image/jpeg;page=2";
+						});
+						It("should render that page", () -> {
+							verify(pdfRenderer).renderImageWithDPI(1, 300, ImageType.RGB);
+						});
+					});
+					Context("given a page parameter beyond the last page", () -> {
+						BeforeEach(() -> {
+							when(doc.getNumberOfPages()).thenReturn(1);
+							mimeType = "image/jpeg;page=2";
+						});
+						It("should not render anything", () -> {
+							assertThat(result, is(nullValue()));
+							verify(pdfRenderer, never()).renderImageWithDPI(anyInt(), anyFloat(), any());
+						});
+					});
+					Context("given a width parameter", () -> {
+						BeforeEach(() -> {
+							when(doc.getNumberOfPages()).thenReturn(1);
+							when(doc.getPage(0)).thenReturn(new PDPage(new PDRectangle(640, 480)));
+							mimeType = "image/jpeg;width=64";
+						});
+						It("should rasterize the page at the requested size", () -> {
+							verify(pdfRenderer).renderImage(0, 0.1f, ImageType.RGB);
+							verify(pdfRenderer, never()).renderImageWithDPI(anyInt(), anyFloat(), any());
+						});
+					});
+					Context("given width and height parameters", () -> {
+						BeforeEach(() -> {
+							when(doc.getNumberOfPages()).thenReturn(1);
+							when(doc.getPage(0)).thenReturn(new PDPage(new PDRectangle(640, 480)));
+							mimeType = "image/jpeg;width=64;height=24";
+						});
+						It("should fit the page within the requested size", () -> {
+							verify(pdfRenderer).renderImage(0, 0.05f, ImageType.RGB);
+						});
+					});
+					Context("given dpi and quality parameters", () -> {
+						BeforeEach(() -> {
+							when(doc.getNumberOfPages()).thenReturn(1);
+							mimeType = "image/png;dpi=72;quality=0.5";
+						});
+						It("should render and encode the image accordingly", () -> {
+							verify(pdfRenderer).renderImageWithDPI(0, 72, ImageType.RGB);
+							verify(pdf).writeImage(any(), eq("png"), isA(OutputStream.class), eq(72), eq(0.5f));
+						});
+					});
+					Context("given a dpi that would rasterize the page at more than the maximum pixels", () -> {
+						BeforeEach(() -> {
+							when(doc.getNumberOfPages()).thenReturn(1);
+							mimeType = "image/jpeg;dpi=1200";
+						});
+						It("should rasterize the page at the largest scale within the maximum", () -> {
+							ArgumentCaptor<Float> scale = ArgumentCaptor.forClass(Float.class);
+							verify(pdfRenderer).renderImage(eq(0), scale.capture(), eq(ImageType.RGB));
+							assertThat(pixels(PDRectangle.A4, scale.getValue()), is(lessThanOrEqualTo((double) RenditionParameters.MAXIMUM_PIXELS)));
+							assertThat(pixels(PDRectangle.A4, scale.getValue()), is(greaterThan(0.99 * RenditionParameters.MAXIMUM_PIXELS)));
+							verify(pdfRenderer, never()).renderImageWithDPI(anyInt(), anyFloat(), any());
+						});
+					});
+					Context("given a width parameter for a tall page", () -> {
+						BeforeEach(() -> {
+							when(doc.getNumberOfPages()).thenReturn(1);
+							when(doc.getPage(0)).thenReturn(new PDPage(new PDRectangle(100, 14400)));
+							mimeType = "image/jpeg;width=10000";
+						});
+						It("should not let the height take the page over the maximum pixels", () -> {
+							ArgumentCaptor<Float> scale = ArgumentCaptor.forClass(Float.class);
+							verify(pdfRenderer).renderImage(eq(0), scale.capture(), eq(ImageType.RGB));
+							assertThat(pixels(new PDRectangle(100, 14400), scale.getValue()), is(lessThanOrEqualTo((double) RenditionParameters.MAXIMUM_PIXELS)));
+						});
+					});
+					Context("given a multipart mimetype whose pages would exceed the maximum total pixels", () -> {
+						BeforeEach(() -> {
+							when(doc.getNumberOfPages()).thenReturn(3);
+							when(pdfRenderer.renderImageWithDPI(anyInt(), anyFloat(), any())).thenReturn(new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB));
+							// an A4 page at 300 dpi is about 8.7M pixels
+							((PdfToJpegRenderer) renderer).setMaximumTotalPixels(20_000_000L);
+							mimeType = "multipart/mixed;boundary=xyz";
+						});
+						It("should stop at the page that would take it over the maximum", () -> {
+							String parts = IOUtils.toString(result, StandardCharsets.US_ASCII);
+							assertThat(parts, containsString("name=\"page-2\""));
+							assertThat(parts, not(containsString("name=\"page-3\"")));
+							assertThat(parts, endsWith("--xyz--\r\n"));
+							verify(pdfRenderer, never()).renderImageWithDPI(eq(2), anyFloat(), any());
+						});
+					});
+					Context("given a multipart mimetype", () -> {
+						BeforeEach(() -> {
+							when(doc.getNumberOfPages()).thenReturn(3);
+							when(pdfRenderer.renderImageWithDPI(anyInt(), anyFloat(), any())).thenReturn(new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB));
+							doAnswer(invocation -> {
+								((OutputStream)invocation.getArgument(2)).write("image".getBytes());
+								return null;
+							}).when(pdf).writeImage(any(), any(), any());
+							mimeType = "multipart/mixed;boundary=xyz;pages=\"1,3\"";
+						});
+						It("should not render any page until the rendition is read", () -> {
+							verify(pdfRenderer, never()).renderImageWithDPI(anyInt(), anyFloat(), any());
+							verify(doc, never()).close();
+						});
+						It("should render each requested page as a part", () -> {
+							String parts = IOUtils.toString(result, StandardCharsets.US_ASCII);
+							assertThat(parts, containsString("--xyz\r\nContent-Type: image/jpeg\r\nContent-Disposition: inline; name=\"page-1\"\r\nContent-Length: 5\r\n\r\nimage\r\n"));
+							assertThat(parts, containsString("name=\"page-3\""));
+							assertThat(parts, not(containsString("name=\"page-2\"")));
+							assertThat(parts, endsWith("--xyz--\r\n"));
+							verify(pdfRenderer).renderImageWithDPI(0, 300, ImageType.RGB);
+							verify(pdfRenderer).renderImageWithDPI(2, 300, ImageType.RGB);
+						});
+						It("should close the document when the rendition is closed", () -> {
+							result.close();
+							verify(doc).close();
+						});
+					});
 					Context("when the input stream is not a valid pdf file", () -> {
 						BeforeEach(() -> {
 							doThrow(IOException.class).when(pdf).load(anyObject());
@@ -126,4 +266,8 @@ public class PdfToJpegRendererTest {
 			});
 		});
 	}
+
+	private static double pixels(PDRectangle page, float scale) {
+		return (double) page.getWidth() * scale * page.getHeight() * scale;
+	}
 }
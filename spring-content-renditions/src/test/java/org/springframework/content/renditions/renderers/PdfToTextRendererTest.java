@@ -0,0 +1,118 @@
+package org.springframework.content.renditions.renderers;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import org.apache.commons.io.IOUtils;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.junit.runner.RunWith;
+import org.springframework.content.commons.io.ProducerInputStream;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.JustBeforeEach;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasItemInArray;
+
+@RunWith(Ginkgo4jRunner.class)
+@Ginkgo4jConfiguration(threads = 1)
+public class PdfToTextRendererTest {
+
+	private PdfToTextRenderer renderer;
+
+	private byte[] pdf;
+	private InputStream result;
+
+	{
+		Describe("PdfToTextRenderer", () -> {
+
+			BeforeEach(() -> {
+				renderer = new PdfToTextRenderer();
+				pdf = pdf(5);
+			});
+
+			It("should convert pdf to text", () -> {
+				assertThat(renderer.consumes(), is("application/pdf"));
+				assertThat(renderer.produces(), hasItemInArray("text/plain"));
+			});
+
+			Context("#convert", () -> {
+
+				JustBeforeEach(() -> {
+					result = renderer.convert(new ByteArrayInputStream(pdf), "text/plain");
+				});
+
+				It("should extract the text of every page in order", () -> {
+					assertThat(text(result), is("Page 1\nPage 2\nPage 3\nPage 4\nPage 5\n"));
+				});
+
+				Context("given pages are extracted in parallel", () -> {
+
+					BeforeEach(() -> {
+						renderer.setParallelism(3);
+					});
+
+					It("should extract the text of every page in order", () -> {
+						assertThat(text(result), is("Page 1\nPage 2\nPage 3\nPage 4\nPage 5\n"));
+					});
+
+					Context("given an executor with a single thread", () -> {
+
+						BeforeEach(() -> {
+							renderer.setExecutor(ProducerInputStream.newExecutor("test-", 1, 10));
+						});
+
+						It("should extract the pages waiting for a thread on the producer's thread", () -> {
+							assertThat(text(result), is("Page 1\nPage 2\nPage 3\nPage 4\nPage 5\n"));
+						});
+					});
+				});
+
+				Context("given a maximum number of characters", () -> {
+
+					BeforeEach(() -> {
+						renderer.setParallelism(1);
+						renderer.setMaximumCharacters(10);
+					});
+
+					It("should stop extracting once they are written", () -> {
+						assertThat(text(result), is("Page 1\nPag"));
+					});
+				});
+			});
+		});
+	}
+
+	private static String text(InputStream in) throws Exception {
+		return IOUtils.toString(in, StandardCharsets.UTF_8).replace("\r\n", "\n");
+	}
+
+	private static byte[] pdf(int pages) throws Exception {
+		try (PDDocument doc = new PDDocument()) {
+			for (int i = 1; i <= pages; i++) {
+				PDPage page = new PDPage();
+				doc.addPage(page);
+				try (PDPageContentStream content = new PDPageContentStream(doc, page)) {
+					content.beginText();
+					content.setFont(PDType1Font.HELVETICA, 12);
+					content.newLineAtOffset(100, 700);
+					content.showText("Page " + i);
+					content.endText();
+				}
+			}
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			doc.save(out);
+			return out.toByteArray();
+		}
+	}
+}
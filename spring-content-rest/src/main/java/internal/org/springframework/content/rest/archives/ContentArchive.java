@@ -0,0 +1,224 @@
+package internal.org.springframework.content.rest.archives;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.commons.io.FilenameUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.NullOutputStream;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * Streams the content of many entries as one ZIP archive.
+ * <p>
+ * Entries are written in order while the entries after them are fetched, up to the read ahead, in parallel so that the
+ * latency of fetching content from a store is overlapped with writing the content before it.  Each entry fetched
+ * ahead holds one buffer of its content.  Stored entries are read twice, first to compute their size and checksum,
+ * which the ZIP format requires ahead of a stored entry's content.
+ * <p>
+ * Entries are taken from their iterator only as they are fetched, so they may be produced lazily; i.e. as the pages of
+ * a query are read.
+ */
+public class ContentArchive {
+
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Executor executor;
+    private final int readAhead;
+    private final int method;
+
+    private final Set<InputStream> open = new HashSet<>();
+    private boolean closed = false;
+
+    /**
+     * @param method {@link ZipEntry#STORED} or {@link ZipEntry#DEFLATED}
+     */
+    public ContentArchive(Executor executor, int readAhead, int method) {
+        Assert.notNull(executor, "executor must not be null");
+        Assert.isTrue(readAhead >= 0, "readAhead must not be negative");
+        Assert.isTrue(method == ZipEntry.STORED || method == ZipEntry.DEFLATED, "method must be STORED or DEFLATED");
+        this.executor = executor;
+        this.readAhead = readAhead;
+        this.method = method;
+    }
+
+    public void write(Iterator<Entry> entries, OutputStream out) throws IOException {
+
+        Set<String> names = new HashSet<>();
+        Iterator<Entry> pending = entries;
+        Deque<Future<Fetched>> fetching = new ArrayDeque<>();
+
+        try {
+            ZipOutputStream zip = new ZipOutputStream(out);
+            zip.setMethod(method);
+
+            while (pending.hasNext() && fetching.size() <= readAhead) {
+                fetching.add(fetch(pending.next()));
+            }
+
+            while (!fetching.isEmpty()) {
+                Fetched fetched = await(fetching.poll());
+
+                ZipEntry entry = new ZipEntry(uniqueName(fetched.name, names));
+                if (method == ZipEntry.STORED) {
+                    entry.setSize(fetched.size);
+                    entry.setCompressedSize(fetched.size);
+                    entry.setCrc(fetched.crc);
+                }
+                zip.putNextEntry(entry);
+                try (InputStream in = fetched.content) {
+                    IOUtils.copyLarge(in, zip, new byte[BUFFER_SIZE]);
+                } finally {
+                    release(fetched.content);
+                }
+                zip.closeEntry();
+
+                if (pending.hasNext()) {
+                    fetching.add(fetch(pending.next()));
+                }
+            }
+
+            // an archive that fails is left unfinished so that it cannot be mistaken for a complete one
+            zip.finish();
+        } finally {
+            for (Future<Fetched> future : fetching) {
+                future.cancel(true);
+            }
+            close();
+        }
+    }
+
+    private Future<Fetched> fetch(Entry entry) {
+
+        FutureTask<Fetched> task = new FutureTask<>(() -> {
+            long size = -1;
+            long crc = -1;
+            if (method == ZipEntry.STORED) {
+                try (CheckedInputStream in = new CheckedInputStream(entry.content.call(), new CRC32())) {
+                    size = IOUtils.copyLarge(in, NullOutputStream.NULL_OUTPUT_STREAM, new byte[BUFFER_SIZE]);
+                    crc = in.getChecksum().getValue();
+                }
+            }
+
+            InputStream content = opened(new BufferedInputStream(entry.content.call(), BUFFER_SIZE));
+            // fill the buffer ahead of the entry being written
+            content.mark(1);
+            content.read();
+            content.reset();
+
+            return new Fetched(entry.name, content, size, crc);
+        });
+
+        if (readAhead > 0) {
+            executor.execute(task);
+        } else {
+            task.run();
+        }
+        return task;
+    }
+
+    private Fetched await(Future<Fetched> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("Unable to fetch content", e.getCause());
+        }
+    }
+
+    private InputStream opened(InputStream in) throws IOException {
+        synchronized (open) {
+            if (!closed) {
+                open.add(in);
+                return in;
+            }
+        }
+        // the archive was abandoned while the content was being fetched
+        in.close();
+        throw new InterruptedIOException();
+    }
+
+    private void release(InputStream in) {
+        synchronized (open) {
+            open.remove(in);
+        }
+    }
+
+    private void close() {
+        synchronized (open) {
+            closed = true;
+            for (InputStream in : open) {
+                IOUtils.closeQuietly(in);
+            }
+            open.clear();
+        }
+    }
+
+    static String uniqueName(String name, Set<String> names) {
+
+        // entries are never written outside the archive's root
+        String candidate = FilenameUtils.getName(name);
+        if (!StringUtils.hasText(candidate)) {
+            candidate = "content";
+        }
+
+        String unique = candidate;
+        for (int i = 1; !names.add(unique); i++) {
+            String extension = FilenameUtils.getExtension(candidate);
+            unique = FilenameUtils.getBaseName(candidate) + " (" + i + ")" + (extension.isEmpty() ? "" : "." + extension);
+        }
+        return unique;
+    }
+
+    public static class Entry {
+
+        private final String name;
+        private final Callable<InputStream> content;
+
+        /**
+         * @param content opens the entry's content, on the thread fetching it
+         */
+        public Entry(String name, Callable<InputStream> content) {
+            this.name = name;
+            this.content = content;
+        }
+    }
+
+    private static class Fetched {
+
+        private final String name;
+        private final InputStream content;
+        private final long size;
+        private final long crc;
+
+        Fetched(String name, InputStream content, long size, long crc) {
+            this.name = name;
+            this.content = content;
+            this.size = size;
+            this.crc = crc;
+        }
+    }
+}
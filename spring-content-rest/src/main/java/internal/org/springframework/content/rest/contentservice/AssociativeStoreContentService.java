@@ -20,6 +20,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.content.commons.io.RangeableResource;
 import org.springframework.content.commons.mappingcontext.ContentProperty;
 import org.springframework.content.commons.property.PropertyPath;
+import org.springframework.content.commons.renditions.RenditionUnavailableException;
 import org.springframework.content.commons.repository.AssociativeStore;
 import org.springframework.content.commons.repository.ContentStore;
 import org.springframework.content.commons.storeservice.StoreInfo;
@@ -123,12 +124,22 @@ public class AssociativeStoreContentService implements ContentService {
                 }
             }
 
+            if (PresignedUrlRedirect.redirect(config, resource, producedResourceType != null ? producedResourceType : resourceType, response)) {
+                return;
+            }
+
             if (resource instanceof RangeableResource) {
                 this.configureResourceForByteRangeRequest((RangeableResource)resource, headers);
             }
 
             request.setAttribute("SPRING_CONTENT_RESOURCE", resource);
             request.setAttribute("SPRING_CONTENT_CONTENTTYPE", producedResourceType);
+        } catch (RenditionUnavailableException e) {
+
+            logger.warn("Rendition unavailable", e);
+
+            response.setHeader(HttpHeaders.RETRY_AFTER, "5");
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage(), e);
         } catch (Exception e) {
 
             logger.error("Unable to retrieve content", e);
@@ -1,6 +1,9 @@
 package internal.org.springframework.content.rest.contentservice;
 
+import org.springframework.content.commons.io.SpillFileManager;
 import org.springframework.content.commons.mappingcontext.MappingContext;
+import org.springframework.content.commons.renditions.EagerRenditionGenerator;
+import org.springframework.content.commons.renditions.RenditionCache;
 import org.springframework.content.commons.repository.AssociativeStore;
 import org.springframework.content.commons.repository.ContentStore;
 import org.springframework.content.commons.storeservice.Stores;
@@ -20,6 +23,10 @@ public class ContentServiceFactory {
     private final Stores stores;
     private MappingContext mappingContext;
     private final StoreByteRangeHttpRequestHandler byteRangeRestRequestHandler;
+    private RenditionCache renditionCache;
+    private EagerRenditionGenerator renditionGenerator;
+    private final RenditionNegotiator renditionNegotiator;
+    private SpillFileManager spillFileManager;
 
     public ContentServiceFactory(RestConfiguration config, Repositories repositories, RepositoryInvokerFactory repoInvokerFactory, Stores stores, MappingContext mappingContext, StoreByteRangeHttpRequestHandler byteRangeRestRequestHandler) {
         this.config = config;
@@ -28,6 +35,19 @@ public class ContentServiceFactory {
         this.stores = stores;
         this.mappingContext = mappingContext;
         this.byteRangeRestRequestHandler = byteRangeRestRequestHandler;
+        this.renditionNegotiator = new RenditionNegotiator(mappingContext);
+    }
+
+    public void setRenditionCache(RenditionCache renditionCache) {
+        this.renditionCache = renditionCache;
+    }
+
+    public void setRenditionGenerator(EagerRenditionGenerator renditionGenerator) {
+        this.renditionGenerator = renditionGenerator;
+    }
+
+    public void setSpillFileManager(SpillFileManager spillFileManager) {
+        this.spillFileManager = spillFileManager;
     }
 
     public ContentService getContentService(StoreResource resource) {
@@ -36,7 +56,11 @@ public class ContentServiceFactory {
 
             Object entity = ((AssociatedStoreResource)resource).getAssociation();
 
-            return new ContentStoreContentService(config, null, repoInvokerFactory.getInvokerFor(entity.getClass()), mappingContext, byteRangeRestRequestHandler);
+            ContentStoreContentService contentService = new ContentStoreContentService(config, null, repoInvokerFactory.getInvokerFor(entity.getClass()), mappingContext, byteRangeRestRequestHandler, renditionNegotiator);
+            contentService.setRenditionCache(renditionCache);
+            contentService.setRenditionGenerator(renditionGenerator);
+            contentService.setSpillFileManager(spillFileManager);
+            return contentService;
 
         } else if (AssociativeStore.class.isAssignableFrom(resource.getStoreInfo().getInterface())) {
 
@@ -45,7 +69,7 @@ public class ContentServiceFactory {
 
         } else {
 
-            return new StoreContentService(byteRangeRestRequestHandler);
+            return new StoreContentService(config, byteRangeRestRequestHandler);
         }
     }
 }
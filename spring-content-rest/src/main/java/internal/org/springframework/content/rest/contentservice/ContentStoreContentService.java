@@ -1,12 +1,11 @@
 package internal.org.springframework.content.rest.contentservice;
 
+import static internal.org.springframework.content.rest.contentservice.RenditionNegotiator.matchParameters;
 import static java.lang.String.format;
 
-import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.Method;
-import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -16,29 +15,36 @@ import java.util.Map;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
-import org.apache.commons.io.FileUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.content.commons.io.DeletableResource;
 import org.springframework.content.commons.io.RangeableResource;
+import org.springframework.content.commons.io.SpillFileManager;
+import org.springframework.content.commons.io.SpillOutputStream;
 import org.springframework.content.commons.mappingcontext.ContentProperty;
 import org.springframework.content.commons.mappingcontext.MappingContext;
 import org.springframework.content.commons.property.PropertyPath;
+import org.springframework.content.commons.renditions.EagerRenditionGenerator;
+import org.springframework.content.commons.renditions.RenditionCache;
+import org.springframework.content.commons.renditions.RenditionKey;
+import org.springframework.content.commons.renditions.RenditionUnavailableException;
 import org.springframework.content.commons.repository.ContentStore;
 import org.springframework.content.commons.storeservice.StoreInfo;
 import org.springframework.content.rest.RestResource;
 import org.springframework.content.rest.config.RestConfiguration;
 import org.springframework.content.rest.config.RestConfiguration.Resolver;
-import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
 import org.springframework.data.repository.support.RepositoryInvoker;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.InvalidMediaTypeException;
 import org.springframework.http.MediaType;
 import org.springframework.util.ReflectionUtils;
+import org.springframework.util.StreamUtils;
 import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.server.ResponseStatusException;
 
+import internal.org.springframework.content.rest.contentservice.RenditionNegotiator.Candidate;
 import internal.org.springframework.content.rest.controllers.MethodNotAllowedException;
 import internal.org.springframework.content.rest.io.AssociatedStoreResource;
 import internal.org.springframework.content.rest.io.RenderedResource;
@@ -55,13 +61,29 @@ public class ContentStoreContentService implements ContentService {
     private final RepositoryInvoker repoInvoker;
     private final MappingContext mappingContext;
     private final StoreByteRangeHttpRequestHandler byteRangeRestRequestHandler;
+    private RenditionCache renditionCache;
+    private EagerRenditionGenerator renditionGenerator;
+    private final RenditionNegotiator negotiator;
+    private SpillFileManager spillFileManager;
 
-
-    public ContentStoreContentService(RestConfiguration config, StoreInfo store, RepositoryInvoker repoInvoker, MappingContext mappingContext, StoreByteRangeHttpRequestHandler byteRangeRestRequestHandler) {
+    public ContentStoreContentService(RestConfiguration config, StoreInfo store, RepositoryInvoker repoInvoker, MappingContext mappingContext, StoreByteRangeHttpRequestHandler byteRangeRestRequestHandler, RenditionNegotiator negotiator) {
         this.config = config;
         this.repoInvoker = repoInvoker;
         this.mappingContext = mappingContext;
         this.byteRangeRestRequestHandler = byteRangeRestRequestHandler;
+        this.negotiator = negotiator;
+    }
+
+    public void setRenditionCache(RenditionCache renditionCache) {
+        this.renditionCache = renditionCache;
+    }
+
+    public void setRenditionGenerator(EagerRenditionGenerator renditionGenerator) {
+        this.renditionGenerator = renditionGenerator;
+    }
+
+    public void setSpillFileManager(SpillFileManager spillFileManager) {
+        this.spillFileManager = spillFileManager;
     }
 
     @Override
@@ -84,25 +106,43 @@ public class ContentStoreContentService implements ContentService {
         try {
             MediaType producedResourceType = null;
             Resource storedRenditionResource = null;
-            List<MediaType> acceptedMimeTypes = headers.getAccept();
-            if (acceptedMimeTypes.size() > 0) {
+            List<Candidate> candidates = negotiator.negotiate(storeResource, resourceType, request, headers);
+            if (candidates.size() > 0) {
 
-                MediaType.sortBySpecificityAndQuality(acceptedMimeTypes);
-                for (MediaType acceptedMimeType : acceptedMimeTypes) {
+                for (Candidate candidate : candidates) {
 
-                    if (acceptedMimeType.includes(resourceType) && matchParameters(acceptedMimeType, resourceType)) {
+                    if (candidate.isContent()) {
 
                         producedResourceType = resourceType;
                         break;
-                    } else if ((storedRenditionResource = findStoredRendition(storeResource, acceptedMimeType)) != null) {
+                    } else if ((storedRenditionResource = findStoredRendition(storeResource, candidate.getAcceptedType())) != null) {
 
                          resource = storedRenditionResource;
-                         producedResourceType = acceptedMimeType;
+                         producedResourceType = candidate.getAcceptedType();
                          break;
-                    } else if (((StoreResource) resource).isRenderableAs(acceptedMimeType)) {
+                    } else if (candidate.isRenderable()) {
+
+                        MediaType acceptedMimeType = candidate.getRenditionType();
+                        RenditionKey key = renditionCache != null ? RenditionKey.of(storeResource.getAssociation(), property, acceptedMimeType.toString(), storeResource) : null;
+                        if (key == null) {
+                            resource = new RenderedResource(((StoreResource) resource).renderAs(acceptedMimeType), resource);
+                        } else {
+                            // the renditions are cached, so the representation can be validated before it is rendered
+                            response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+                            response.setHeader(HttpHeaders.ETAG, "\"" + key.getId() + "\"");
+                            if (new ServletWebRequest(request, response).checkNotModified(key.getId())) {
+                                return;
+                            }
+
+                            if (isRenditionInProgress(key) && preferAsync(headers)) {
+                                response.setStatus(HttpStatus.ACCEPTED.value());
+                                response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+                                return;
+                            }
 
-                        resource = new RenderedResource(((StoreResource) resource).renderAs(acceptedMimeType), resource);
-                        producedResourceType = acceptedMimeType;
+                            resource = renderCached(key, (StoreResource) resource, acceptedMimeType);
+                        }
+                        producedResourceType = candidate.getProducedType();
                         break;
                     }
                 }
@@ -113,12 +153,22 @@ public class ContentStoreContentService implements ContentService {
                 }
             }
 
+            if (PresignedUrlRedirect.redirect(config, resource, producedResourceType != null ? producedResourceType : resourceType, response)) {
+                return;
+            }
+
             if (resource instanceof RangeableResource) {
                 this.configureResourceForByteRangeRequest((RangeableResource)resource, headers);
             }
 
             request.setAttribute("SPRING_CONTENT_RESOURCE", resource);
             request.setAttribute("SPRING_CONTENT_CONTENTTYPE", producedResourceType);
+        } catch (RenditionUnavailableException e) {
+
+            logger.warn("Rendition unavailable", e);
+
+            response.setHeader(HttpHeaders.RETRY_AFTER, "5");
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage(), e);
         } catch (Exception e) {
 
             logger.error("Unable to retrieve content", e);
@@ -222,8 +272,12 @@ public class ContentStoreContentService implements ContentService {
             return;
         }
 
-        if (FileSystemResource.class.isAssignableFrom(contentArg.getClass())) {
-            ((FileSystemResource)contentArg).getFile().delete();
+        if (contentArg instanceof DeletableResource) {
+            try {
+                ((DeletableResource)contentArg).delete();
+            } catch (IOException e) {
+                logger.warn(format("Unable to delete %s", ((DeletableResource)contentArg).getDescription()), e);
+            }
         }
     }
 
@@ -236,11 +290,12 @@ public class ContentStoreContentService implements ContentService {
                 throw new IllegalArgumentException(format("Unable to get inputstream from resource %s", resource.getFilename()));
             }
         } else if (Resource.class.equals(parameterType)) {
-            try {
-                File f = Files.createTempFile("", "").toFile();
-                FileUtils.copyInputStreamToFile(resource.getInputStream(), f);
-                return new FileSystemResource(f);
+            SpillOutputStream copy = (spillFileManager != null ? spillFileManager : SpillFileManager.getDefault()).newOutputStream();
+            try (InputStream in = resource.getInputStream()) {
+                StreamUtils.copy(in, copy);
+                return copy.toResource();
             } catch (IOException e) {
+                copy.release();
                 throw new IllegalArgumentException(format("Unable to re-purpose resource %s", resource.getFilename()));
             }
         } else {
@@ -260,17 +315,6 @@ public class ContentStoreContentService implements ContentService {
         return resolved.toArray(new Method[]{});
     }
 
-    private boolean matchParameters(MediaType acceptedMediaType, MediaType producableMediaType) {
-        for (String name : producableMediaType.getParameters().keySet()) {
-            String s1 = producableMediaType.getParameter(name);
-            String s2 = acceptedMediaType.getParameter(name);
-            if (StringUtils.hasText(s1) && StringUtils.hasText(s2) && !s1.equalsIgnoreCase(s2)) {
-                return false;
-            }
-        }
-        return true;
-    }
-
     private void configureResourceForByteRangeRequest(RangeableResource resource, HttpHeaders headers) {
         if (headers.containsKey(HttpHeaders.RANGE)) {
             resource.setRange(headers.getFirst(HttpHeaders.RANGE));
@@ -287,24 +331,47 @@ public class ContentStoreContentService implements ContentService {
         return 0;
     }
 
+    private boolean isRenditionInProgress(RenditionKey key) {
+        return renditionGenerator != null && renditionGenerator.getStatus(key) != null;
+    }
+
+    private boolean preferAsync(HttpHeaders headers) {
+        List<String> prefer = headers.get("Prefer");
+        return prefer != null && prefer.stream().anyMatch(value -> value.toLowerCase().contains("respond-async"));
+    }
+
+    private Resource renderCached(RenditionKey key, StoreResource resource, MediaType mimeType) throws IOException {
+
+        Resource cached = renditionCache.get(key);
+        if (cached == null) {
+            // rendering populates the cache
+            InputStream rendition = resource.renderAs(mimeType);
+            cached = renditionCache.get(key);
+            if (cached == null) {
+                return new RenderedResource(rendition, resource);
+            }
+            if (rendition != null) {
+                rendition.close();
+            }
+        }
+        return new RenderedResource(cached, resource);
+    }
+
     private Resource findStoredRendition(AssociatedStoreResource storeResource, MediaType acceptedMimeType) {
 
         Resource storedRenditionResource = null;
 
         Object entity = storeResource.getAssociation();
 
-        for (ContentProperty contentProperty : this.mappingContext.getContentProperties(entity.getClass())) {
+        for (ContentProperty contentProperty : negotiator.getContentProperties(entity.getClass())) {
             Object candidateMimeType = contentProperty.getMimeType(entity);
             if (candidateMimeType != null) {
-                String strCandidateMimeType = candidateMimeType.toString();
-                try {
-                    MediaType candidateType = MediaType.parseMediaType(strCandidateMimeType);
-                    if (acceptedMimeType.includes(candidateType) && matchParameters(acceptedMimeType, candidateType)) {
-                        ContentStore store = storeResource.getStoreInfo().getImplementation(ContentStore.class);
-                        storedRenditionResource = new RenderedResource(store.getContent(entity, PropertyPath.from(contentProperty.getContentPropertyPath())), storeResource);
-                        break;
-                    }
-                } catch (InvalidMediaTypeException imte) {}
+                MediaType candidateType = negotiator.parseMediaType(candidateMimeType.toString());
+                if (candidateType != null && acceptedMimeType.includes(candidateType) && matchParameters(acceptedMimeType, candidateType)) {
+                    ContentStore store = storeResource.getStoreInfo().getImplementation(ContentStore.class);
+                    storedRenditionResource = new RenderedResource(store.getContent(entity, PropertyPath.from(contentProperty.getContentPropertyPath())), storeResource);
+                    break;
+                }
             }
         }
 
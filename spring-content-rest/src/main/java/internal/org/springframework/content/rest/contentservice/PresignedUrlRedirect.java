@@ -0,0 +1,62 @@
+package internal.org.springframework.content.rest.contentservice;
+
+import java.io.IOException;
+import java.net.URL;
+
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.content.commons.io.PresignableResource;
+import org.springframework.content.rest.config.RestConfiguration;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import internal.org.springframework.content.rest.io.AssociatedStoreResourceImpl;
+import internal.org.springframework.content.rest.io.StoreResourceImpl;
+
+/**
+ * Redirects clients to read content straight from the storage holding it, with a presigned URL, rather than proxying
+ * the content through the application.
+ */
+final class PresignedUrlRedirect {
+
+    private PresignedUrlRedirect() {
+    }
+
+    /**
+     * @return true if the response redirects to a presigned URL.  Renditions rendered by the application are never
+     * redirected.
+     */
+    static boolean redirect(RestConfiguration config, Resource resource, MediaType contentType, HttpServletResponse response) throws IOException {
+
+        if (config == null || config.getPresignedUrlValidity() == null) {
+            return false;
+        }
+
+        Resource unwrapped = resource;
+        while (true) {
+            if (unwrapped instanceof AssociatedStoreResourceImpl) {
+                unwrapped = ((AssociatedStoreResourceImpl<?>) unwrapped).getDelegate();
+            } else if (unwrapped instanceof StoreResourceImpl) {
+                unwrapped = ((StoreResourceImpl) unwrapped).getDelegate();
+            } else {
+                break;
+            }
+        }
+
+        if (!(unwrapped instanceof PresignableResource)) {
+            return false;
+        }
+
+        URL url = ((PresignableResource) unwrapped).getPresignedUrl(config.getPresignedUrlValidity(), contentType != null ? contentType.toString() : null);
+        if (url == null) {
+            return false;
+        }
+
+        response.setStatus(HttpStatus.TEMPORARY_REDIRECT.value());
+        response.setHeader(HttpHeaders.LOCATION, url.toString());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+        return true;
+    }
+}
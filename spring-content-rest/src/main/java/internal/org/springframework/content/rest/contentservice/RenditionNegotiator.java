@@ -0,0 +1,248 @@
+package internal.org.springframework.content.rest.contentservice;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.springframework.content.commons.mappingcontext.ContentProperty;
+import org.springframework.content.commons.mappingcontext.MappingContext;
+import org.springframework.content.commons.renditions.RenditionParameters;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.StringUtils;
+
+import internal.org.springframework.content.rest.io.AssociatedStoreResource;
+
+/**
+ * Negotiates the representation a request for content is served: the content itself, the content of another content
+ * property of the entity, or a rendition.
+ * <p>
+ * The content properties of each domain class are resolved from the mapping context once.  The accepted types of a
+ * request, in order of preference, and whether each can be rendered are memoized by store, content property, content
+ * type, Accept header and rendition parameters, so a repeated request neither parses media types nor walks the
+ * rendition graph.  The most recently used {@value #MAXIMUM_MEMOIZED} negotiations and media types are kept.
+ */
+public class RenditionNegotiator {
+
+    static final int MAXIMUM_MEMOIZED = 1024;
+
+    private static final Pattern RENDITION_PARAMETER_VALUE = Pattern.compile("[A-Za-z0-9.,\\-]{1,32}");
+
+    private static final MediaType INVALID = new MediaType("invalid", "invalid");
+
+    private final MappingContext mappingContext;
+
+    private final Map<Class<?>, List<ContentProperty>> contentProperties = new ConcurrentHashMap<>();
+    private final Map<String, List<Candidate>> negotiations = lru(MAXIMUM_MEMOIZED);
+    private final Map<String, MediaType> mediaTypes = lru(MAXIMUM_MEMOIZED);
+
+    public RenditionNegotiator(MappingContext mappingContext) {
+        this.mappingContext = mappingContext;
+    }
+
+    /**
+     * @return the accepted types of the request, most preferred first, or an empty list when the request accepts any
+     * type
+     */
+    public List<Candidate> negotiate(AssociatedStoreResource resource, MediaType resourceType, HttpServletRequest request, HttpHeaders headers) {
+
+        List<String> accept = headers.get(HttpHeaders.ACCEPT);
+        if (accept == null || accept.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        StringBuilder key = new StringBuilder()
+                .append(resource.getStoreInfo().getInterface().getName()).append('\n')
+                .append(resource.getPropertyPath().getName()).append('\n')
+                .append(resourceType).append('\n')
+                .append(String.join(",", accept));
+        for (String name : RenditionParameters.NAMES) {
+            String value = request.getParameter(name);
+            if (value != null) {
+                key.append('\n').append(name).append('=').append(value);
+            }
+        }
+
+        List<Candidate> candidates = negotiations.get(key.toString());
+        if (candidates == null) {
+            candidates = candidates(resource, resourceType, request, headers);
+            negotiations.put(key.toString(), candidates);
+        }
+        return candidates;
+    }
+
+    /**
+     * @return the content properties of the domain class, any of which may hold a stored rendition
+     */
+    public List<ContentProperty> getContentProperties(Class<?> domainClass) {
+        return contentProperties.computeIfAbsent(domainClass, (clazz) -> {
+            // the mapping context maps some properties under more than one path
+            Set<ContentProperty> distinct = Collections.newSetFromMap(new IdentityHashMap<>());
+            List<ContentProperty> properties = new ArrayList<>();
+            for (ContentProperty property : mappingContext.getContentProperties(clazz)) {
+                if (distinct.add(property)) {
+                    properties.add(property);
+                }
+            }
+            return Collections.unmodifiableList(properties);
+        });
+    }
+
+    /**
+     * @return the parsed mime type, or null if it is invalid
+     */
+    public MediaType parseMediaType(String mimeType) {
+        MediaType mediaType = mediaTypes.get(mimeType);
+        if (mediaType == null) {
+            try {
+                mediaType = MediaType.parseMediaType(mimeType);
+            } catch (InvalidMediaTypeException imte) {
+                mediaType = INVALID;
+            }
+            mediaTypes.put(mimeType, mediaType);
+        }
+        return mediaType != INVALID ? mediaType : null;
+    }
+
+    static boolean matchParameters(MediaType acceptedMediaType, MediaType producableMediaType) {
+        for (String name : producableMediaType.getParameters().keySet()) {
+            String s1 = producableMediaType.getParameter(name);
+            String s2 = acceptedMediaType.getParameter(name);
+            if (StringUtils.hasText(s1) && StringUtils.hasText(s2) && !s1.equalsIgnoreCase(s2)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private List<Candidate> candidates(AssociatedStoreResource resource, MediaType resourceType, HttpServletRequest request, HttpHeaders headers) {
+
+        List<MediaType> acceptedMimeTypes = headers.getAccept();
+        MediaType.sortBySpecificityAndQuality(acceptedMimeTypes);
+
+        List<Candidate> candidates = new ArrayList<>();
+        for (MediaType acceptedMimeType : acceptedMimeTypes) {
+            MediaType renditionType = renditionType(acceptedMimeType, request);
+            // rendition parameters only switch away from the content when a concrete rendition type is accepted
+            boolean parameterized = hasRenditionParameters(renditionType) && isConcrete(renditionType);
+            boolean matchesContent = acceptedMimeType.includes(resourceType) && matchParameters(acceptedMimeType, resourceType);
+
+            boolean renderable = false;
+            if (parameterized || !matchesContent) {
+                renderable = resource.isRenderableAs(renditionType);
+            }
+
+            candidates.add(new Candidate(acceptedMimeType, renditionType, withoutRenditionParameters(renditionType), matchesContent && !(parameterized && renderable), renderable));
+        }
+        return Collections.unmodifiableList(candidates);
+    }
+
+    /**
+     * Adds rendition parameters given as request parameters, and a boundary to multipart renditions, to the accepted
+     * mime type
+     */
+    private static MediaType renditionType(MediaType acceptedMimeType, HttpServletRequest request) {
+
+        Map<String, String> parameters = new LinkedHashMap<>(acceptedMimeType.getParameters());
+        parameters.remove("q");
+        for (String name : RenditionParameters.NAMES) {
+            String value = request.getParameter(name);
+            if (value != null && RENDITION_PARAMETER_VALUE.matcher(value).matches() && !parameters.containsKey(name)) {
+                parameters.put(name, "\"" + value + "\"");
+            }
+        }
+        if ("multipart".equals(acceptedMimeType.getType()) && !parameters.containsKey(RenditionParameters.BOUNDARY)) {
+            parameters.put(RenditionParameters.BOUNDARY, RenditionParameters.DEFAULT_BOUNDARY);
+        }
+        return new MediaType(acceptedMimeType, parameters);
+    }
+
+    private static <V> Map<String, V> lru(int maximumSize) {
+        return Collections.synchronizedMap(new LinkedHashMap<String, V>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+                return size() > maximumSize;
+            }
+        });
+    }
+
+    private static MediaType withoutRenditionParameters(MediaType mimeType) {
+
+        Map<String, String> parameters = new LinkedHashMap<>(mimeType.getParameters());
+        parameters.keySet().removeAll(RenditionParameters.NAMES);
+        return new MediaType(mimeType, parameters);
+    }
+
+    private static boolean isConcrete(MediaType mimeType) {
+        return !mimeType.isWildcardType() && !mimeType.isWildcardSubtype();
+    }
+
+    private static boolean hasRenditionParameters(MediaType mimeType) {
+        for (String name : RenditionParameters.NAMES) {
+            if (mimeType.getParameter(name) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * An accepted type and how it can be served
+     */
+    public static final class Candidate {
+
+        private final MediaType acceptedType;
+        private final MediaType renditionType;
+        private final MediaType producedType;
+        private final boolean content;
+        private final boolean renderable;
+
+        Candidate(MediaType acceptedType, MediaType renditionType, MediaType producedType, boolean content, boolean renderable) {
+            this.acceptedType = acceptedType;
+            this.renditionType = renditionType;
+            this.producedType = producedType;
+            this.content = content;
+            this.renderable = renderable;
+        }
+
+        public MediaType getAcceptedType() {
+            return acceptedType;
+        }
+
+        /**
+         * @return the accepted type with any rendition parameters given as request parameters
+         */
+        public MediaType getRenditionType() {
+            return renditionType;
+        }
+
+        /**
+         * @return the content type of the rendition
+         */
+        public MediaType getProducedType() {
+            return producedType;
+        }
+
+        /**
+         * @return true if the content itself satisfies this type
+         */
+        public boolean isContent() {
+            return content;
+        }
+
+        public boolean isRenderable() {
+            return renderable;
+        }
+    }
+}
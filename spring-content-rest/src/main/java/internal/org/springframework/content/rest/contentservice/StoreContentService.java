@@ -15,6 +15,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.content.commons.io.DeletableResource;
 import org.springframework.content.commons.io.RangeableResource;
+import org.springframework.content.commons.renditions.RenditionUnavailableException;
+import org.springframework.content.rest.config.RestConfiguration;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.WritableResource;
 import org.springframework.http.HttpHeaders;
@@ -32,9 +34,11 @@ public class StoreContentService implements ContentService {
 
     private static final Logger logger = LoggerFactory.getLogger(StoreContentService.class);
 
+    private final RestConfiguration config;
     private final StoreByteRangeHttpRequestHandler byteRangeRestRequestHandler;
 
-    public StoreContentService(StoreByteRangeHttpRequestHandler byteRangeRestRequestHandler) {
+    public StoreContentService(RestConfiguration config, StoreByteRangeHttpRequestHandler byteRangeRestRequestHandler) {
+        this.config = config;
         this.byteRangeRestRequestHandler = byteRangeRestRequestHandler;
     }
 
@@ -67,12 +71,22 @@ public class StoreContentService implements ContentService {
                 }
             }
 
+            if (PresignedUrlRedirect.redirect(config, resource, producedResourceType != null ? producedResourceType : resourceType, response)) {
+                return;
+            }
+
             if (resource instanceof RangeableResource) {
                 this.configureResourceForByteRangeRequest((RangeableResource)resource, headers);
             }
 
             request.setAttribute("SPRING_CONTENT_RESOURCE", resource);
             request.setAttribute("SPRING_CONTENT_CONTENTTYPE", producedResourceType);
+        } catch (RenditionUnavailableException e) {
+
+            logger.warn("Rendition unavailable", e);
+
+            response.setHeader(HttpHeaders.RETRY_AFTER, "5");
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage(), e);
         } catch (Exception e) {
 
             logger.error("Unable to retrieve content", e);
@@ -0,0 +1,14 @@
+package internal.org.springframework.content.rest.controllers;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class ConflictException extends RuntimeException {
+
+	private static final long serialVersionUID = -3806521961326232504L;
+
+	public ConflictException(String message) {
+		super(message);
+	}
+}
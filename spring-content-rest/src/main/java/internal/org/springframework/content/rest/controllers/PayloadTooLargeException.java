@@ -0,0 +1,14 @@
+package internal.org.springframework.content.rest.controllers;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.PAYLOAD_TOO_LARGE)
+public class PayloadTooLargeException extends RuntimeException {
+
+	private static final long serialVersionUID = 5106938327390451208L;
+
+	public PayloadTooLargeException(String message) {
+		super(message);
+	}
+}
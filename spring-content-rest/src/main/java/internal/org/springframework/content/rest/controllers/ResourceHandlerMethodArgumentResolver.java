@@ -22,25 +22,29 @@ import org.springframework.web.context.request.NativeWebRequest;
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.method.support.ModelAndViewContainer;
 import org.springframework.web.util.UriTemplate;
-import org.springframework.web.util.UrlPathHelper;
 
 import internal.org.springframework.content.rest.controllers.resolvers.AssociativeStoreResourceResolver;
 import internal.org.springframework.content.rest.controllers.resolvers.EntityResolution;
 import internal.org.springframework.content.rest.controllers.resolvers.EntityResolvers;
+import internal.org.springframework.content.rest.controllers.resolvers.EntityRoute;
 import internal.org.springframework.content.rest.controllers.resolvers.ResourceResolver;
 import internal.org.springframework.content.rest.controllers.resolvers.StoreResourceResolver;
 import internal.org.springframework.content.rest.io.StoreResourceImpl;
+import internal.org.springframework.content.rest.mappings.StoreRoute;
+import internal.org.springframework.content.rest.mappings.StoreRoutes;
 import internal.org.springframework.content.rest.utils.StoreUtils;
 
 public class ResourceHandlerMethodArgumentResolver implements HandlerMethodArgumentResolver {
 
+    private static final AntPathMatcher matcher = new AntPathMatcher();
+
     private UriTemplate entityUriTemplate = new UriTemplate("/{repository}/{id}");
     private UriTemplate entityPropertyUriTemplate = new UriTemplate("/{repository}/{id}/{property}");
     private UriTemplate entityPropertyWithIdUriTemplate = new UriTemplate("/{repository}/{id}/{property}/**");
     private UriTemplate revisionPropertyUriTemplate = new UriTemplate("/{repository}/{id}/revisions/{revisionId}/{property}");
     private UriTemplate revisionPropertyWithIdUriTemplate = new UriTemplate("/{repository}/{id}/revisions/{revisionId}/{property}/{contentId}");
 
-    private EntityResolvers entityResolvers;
+    private StoreRoutes routes;
     private List<ResourceResolver> resolvers = new ArrayList<>();
 
     private ApplicationContext context;
@@ -50,13 +54,17 @@ public class ResourceHandlerMethodArgumentResolver implements HandlerMethodArgum
     private final MappingContext mappingContext;
 
     public ResourceHandlerMethodArgumentResolver(ApplicationContext context, RestConfiguration config, Repositories repositories, Stores stores, MappingContext mappingContext, EntityResolvers entityResolvers) {
+        this(context, config, repositories, stores, mappingContext, new StoreRoutes(stores, entityResolvers, config));
+    }
+
+    public ResourceHandlerMethodArgumentResolver(ApplicationContext context, RestConfiguration config, Repositories repositories, Stores stores, MappingContext mappingContext, StoreRoutes routes) {
         this.context = context;
         this.config = config;
         this.repositories = repositories;
         this.stores = stores;
         this.mappingContext = mappingContext;
 
-        this.entityResolvers = entityResolvers;
+        this.routes = routes;
 
         resolvers.add(new StoreResourceResolver(this.mappingContext));
         resolvers.add(new AssociativeStoreResourceResolver(this.mappingContext));
@@ -82,27 +90,29 @@ public class ResourceHandlerMethodArgumentResolver implements HandlerMethodArgum
     @Override
     public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer, NativeWebRequest webRequest, WebDataBinderFactory binderFactory) throws Exception {
 
-        String pathInfo = webRequest.getNativeRequest(HttpServletRequest.class).getRequestURI();
-        pathInfo = new UrlPathHelper().getPathWithinApplication(webRequest.getNativeRequest(HttpServletRequest.class));
-        pathInfo = StoreUtils.storeLookupPath(pathInfo, this.getConfig().getBaseUri());
+        StoreRoute route = routes.route(webRequest.getNativeRequest(HttpServletRequest.class));
+        String pathInfo = route.getStoreLookupPath();
 
-        String[] pathSegments = pathInfo.split("/");
+        String[] pathSegments = route.getSegments();
         if (pathSegments.length < 2) {
             return null;
         }
 
         String store = pathSegments[1];
 
-        StoreInfo info = this.getStores().getStore(Store.class, StoreUtils.withStorePath(store));
+        StoreInfo info = route.getStore();
         if (info == null) {
             throw new IllegalArgumentException(String.format("Store for path %s not found", store));
         }
 
         if (AssociativeStore.class.isAssignableFrom(info.getInterface())) {
 
-            EntityResolution result = this.entityResolvers.resolve(pathInfo);
+            EntityRoute entityRoute = route.getEntityRoute();
+            if (entityRoute == null) {
+                throw new IllegalArgumentException(String.format("No entity resolver for path %s", pathInfo));
+            }
+            EntityResolution result = entityRoute.getResolver().resolve(entityRoute);
 
-            AntPathMatcher matcher = new AntPathMatcher();
             Comparator<String> patternComparator = matcher.getPatternComparator(pathInfo);
 
             List<String> uriTemplates = new ArrayList<>();
@@ -137,9 +147,9 @@ public class ResourceHandlerMethodArgumentResolver implements HandlerMethodArgum
     }
 
     protected Object resolveStoreArgument(NativeWebRequest nativeWebRequest, StoreInfo info) {
-        String path = new UrlPathHelper().getPathWithinApplication(nativeWebRequest.getNativeRequest(HttpServletRequest.class));
+        String path = routes.route(nativeWebRequest.getNativeRequest(HttpServletRequest.class)).getPath();
         String pathToUse = path.substring(StoreUtils.storePath(info).length() + 1);
 
-        return new StoreResourceImpl(info, info.getImplementation(Store.class).getResource(pathToUse));
+        return new StoreResourceImpl(info, info.getImplementation(Store.class).getResource(pathToUse), this.getConfig().mimeTypes());
       }
 }
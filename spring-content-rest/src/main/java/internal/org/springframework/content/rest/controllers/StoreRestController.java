@@ -1,7 +1,13 @@
 package internal.org.springframework.content.rest.controllers;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -11,7 +17,10 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.content.commons.io.SpillFileManager;
 import org.springframework.content.commons.mappingcontext.MappingContext;
+import org.springframework.content.commons.renditions.EagerRenditionGenerator;
+import org.springframework.content.commons.renditions.RenditionCache;
 import org.springframework.content.commons.storeservice.Stores;
 import org.springframework.content.rest.config.RestConfiguration;
 import org.springframework.context.ApplicationContext;
@@ -22,6 +31,7 @@ import org.springframework.data.repository.support.RepositoryInvokerFactory;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
@@ -29,6 +39,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import internal.org.springframework.content.rest.annotations.ContentRestController;
 import internal.org.springframework.content.rest.contentservice.ContentService;
@@ -36,6 +47,8 @@ import internal.org.springframework.content.rest.contentservice.ContentServiceFa
 import internal.org.springframework.content.rest.io.InputStreamResource;
 import internal.org.springframework.content.rest.io.StoreResource;
 import internal.org.springframework.content.rest.mappings.StoreByteRangeHttpRequestHandler;
+import internal.org.springframework.content.rest.uploads.ContentUploads;
+import internal.org.springframework.content.rest.uploads.ContentUploads.Upload;
 import internal.org.springframework.content.rest.utils.HeaderUtils;
 
 @ContentRestController
@@ -66,6 +79,18 @@ public class StoreRestController implements InitializingBean  {
     @Autowired
     private MappingContext mappingContext;
 
+    @Autowired(required=false)
+    private RenditionCache renditionCache;
+
+    @Autowired(required=false)
+    private EagerRenditionGenerator renditionGenerator;
+
+    @Autowired(required=false)
+    private SpillFileManager spillFileManager;
+
+    @Autowired
+    private ContentUploads uploads;
+
     private ContentServiceFactory contentServiceFactory;
 
     public StoreRestController() {
@@ -192,6 +217,100 @@ public class StoreRestController implements InitializingBean  {
         response.setStatus(HttpStatus.NO_CONTENT.value());
     }
 
+    @RequestMapping(value = STORE_REQUEST_MAPPING, method = RequestMethod.POST, params = "uploads")
+    public ResponseEntity<Map<String, Object>> createUpload(HttpServletRequest request, @RequestHeader HttpHeaders headers,
+            Resource resource)
+                    throws IOException {
+
+        Upload upload = uploads.create(uploadTarget(request), headers.getContentType());
+
+        URI location = ServletUriComponentsBuilder.fromRequest(request)
+                .replaceQueryParam("uploads")
+                .replaceQueryParam("uploadId", upload.getId())
+                .build().toUri();
+
+        return ResponseEntity.created(location).body(describe(upload));
+    }
+
+    @RequestMapping(value = STORE_REQUEST_MAPPING, method = RequestMethod.PUT, params = {"uploadId", "partNumber"})
+    public ResponseEntity<Void> putUploadPart(HttpServletRequest request,
+            @RequestParam("uploadId") String uploadId,
+            @RequestParam("partNumber") int partNumber,
+            Resource resource)
+                    throws IOException {
+
+        uploads.get(uploadId, uploadTarget(request)).writePart(partNumber, request.getInputStream());
+
+        return ResponseEntity.noContent().build();
+    }
+
+    @RequestMapping(value = STORE_REQUEST_MAPPING, method = RequestMethod.GET, params = "uploadId")
+    public ResponseEntity<Map<String, Object>> getUpload(HttpServletRequest request,
+            @RequestParam("uploadId") String uploadId,
+            Resource resource)
+                    throws IOException {
+
+        return ResponseEntity.ok(describe(uploads.get(uploadId, uploadTarget(request))));
+    }
+
+    @RequestMapping(value = STORE_REQUEST_MAPPING, method = RequestMethod.POST, params = "uploadId")
+    public void completeUpload(HttpServletRequest request, HttpServletResponse response, @RequestHeader HttpHeaders headers,
+            @RequestParam("uploadId") String uploadId,
+            Resource resource)
+                    throws IOException, MethodNotAllowedException {
+
+        Upload upload = uploads.get(uploadId, uploadTarget(request)).claim();
+
+        StoreResource storeResource = (StoreResource)resource;
+
+        ContentService contentService = contentServiceFactory.getContentService(storeResource);
+
+        try (InputStream content = upload.getContent()) {
+            handleMultipart(request, response, headers,
+                    contentService,
+                    new InputStreamResource(content, null),
+                    upload.getMimeType(),
+                    storeResource,
+                    storeResource.getETag());
+        } catch (IOException | MethodNotAllowedException | RuntimeException e) {
+            upload.release();
+            throw e;
+        }
+
+        upload.delete();
+    }
+
+    @RequestMapping(value = STORE_REQUEST_MAPPING, method = RequestMethod.DELETE, params = "uploadId")
+    public ResponseEntity<Void> abortUpload(HttpServletRequest request,
+            @RequestParam("uploadId") String uploadId,
+            Resource resource)
+                    throws IOException {
+
+        uploads.get(uploadId, uploadTarget(request)).claim().delete();
+
+        return ResponseEntity.noContent().build();
+    }
+
+    private static String uploadTarget(HttpServletRequest request) {
+        return request.getRequestURI();
+    }
+
+    private static Map<String, Object> describe(Upload upload) {
+
+        List<Map<String, Object>> parts = new ArrayList<>();
+        for (Map.Entry<Integer, Long> part : upload.getParts().entrySet()) {
+            Map<String, Object> description = new LinkedHashMap<>();
+            description.put("partNumber", part.getKey());
+            description.put("size", part.getValue());
+            parts.add(description);
+        }
+
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("uploadId", upload.getId());
+        description.put("parts", parts);
+        return description;
+    }
+
     protected void handleMultipart(HttpServletRequest request, HttpServletResponse response,
             HttpHeaders headers,
             ContentService contentService,
@@ -234,5 +353,8 @@ public class StoreRestController implements InitializingBean  {
         }
 
         contentServiceFactory = new ContentServiceFactory(config, repositories, repoInvokerFactory, stores, mappingContext, byteRangeRestRequestHandler);
+        contentServiceFactory.setRenditionCache(renditionCache);
+        contentServiceFactory.setRenditionGenerator(renditionGenerator);
+        contentServiceFactory.setSpillFileManager(spillFileManager);
     }
     }
\ No newline at end of file
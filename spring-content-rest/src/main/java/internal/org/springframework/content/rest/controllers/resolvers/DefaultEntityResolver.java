@@ -46,7 +46,6 @@ import org.springframework.data.repository.support.Repositories;
 import org.springframework.data.repository.support.RepositoryInvoker;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.http.ResponseEntity;
-import org.springframework.util.AntPathMatcher;
 import org.springframework.util.ReflectionUtils;
 import org.springframework.util.StringUtils;
 import org.springframework.web.HttpRequestMethodNotSupportedException;
@@ -94,19 +93,16 @@ public class DefaultEntityResolver implements EntityResolver {
 
     @Override
     public EntityResolution resolve(String pathInfo) {
+        return resolve(EntityResolvers.route(this, pathInfo));
+    }
 
-        AntPathMatcher matcher = new AntPathMatcher();
-        Map<String,String> variables = matcher.extractUriTemplateVariables(this.mapping, pathInfo);
-        String repository = variables.get("repository");
-        String id = variables.get("id");
+    @Override
+    public EntityResolution resolve(EntityRoute route) {
 
-        String[] pathSegments = pathInfo.split("/");
-        String store = pathSegments[1];
+        String repository = route.getVariable("repository");
+        String id = route.getVariable("id");
 
-        StoreInfo info = this.stores.getStore(Store.class, StoreUtils.withStorePath(store));
-        if (info == null) {
-            throw new IllegalArgumentException(String.format("Store for path %s not found", store));
-        }
+        StoreInfo info = getStore(route);
 
         Object domainObj = null;
         try {
@@ -120,7 +116,7 @@ public class DefaultEntityResolver implements EntityResolver {
             throw new ResourceNotFoundException();
         }
 
-        String propertyPath = matcher.extractPathWithinPattern(this.mapping, pathInfo);
+        String propertyPath = route.getPropertyPath();
         if (!StringUtils.hasText(propertyPath)) {
             ContentProperty property = selectPrimaryContentProperty(info);
             propertyPath = property.getContentPropertyPath();
@@ -131,21 +127,15 @@ public class DefaultEntityResolver implements EntityResolver {
 
     @Override
     public boolean hasPropertyFor(String pathInfo) {
+        return hasPropertyFor(EntityResolvers.route(this, pathInfo));
+    }
 
-        AntPathMatcher matcher = new AntPathMatcher();
-        Map<String,String> variables = matcher.extractUriTemplateVariables(this.mapping, pathInfo);
-        String repository = variables.get("repository");
-        String id = variables.get("id");
-
-        String[] pathSegments = pathInfo.split("/");
-        String store = pathSegments[1];
+    @Override
+    public boolean hasPropertyFor(EntityRoute route) {
 
-        StoreInfo info = this.stores.getStore(Store.class, StoreUtils.withStorePath(store));
-        if (info == null) {
-            throw new IllegalArgumentException(String.format("Store for path %s not found", store));
-        }
+        StoreInfo info = getStore(route);
 
-        String propertyPath = matcher.extractPathWithinPattern(this.mapping, pathInfo);
+        String propertyPath = route.getPropertyPath();
         if (propertyPath == null) {
             propertyPath = "";
         }
@@ -153,6 +143,22 @@ public class DefaultEntityResolver implements EntityResolver {
         return mappingContext.getContentProperty(info.getDomainObjectClass(), propertyPath) != null;
     }
 
+    private StoreInfo getStore(EntityRoute route) {
+
+        if (route.getStore() != null) {
+            return route.getStore();
+        }
+
+        String[] pathSegments = route.getPath().split("/");
+        String store = pathSegments[1];
+
+        StoreInfo info = this.stores.getStore(Store.class, StoreUtils.withStorePath(store));
+        if (info == null) {
+            throw new IllegalArgumentException(String.format("Store for path %s not found", store));
+        }
+        return info;
+    }
+
     public Object findOne(Repositories repositories, StoreInfo info, String repository, String id)
             throws HttpRequestMethodNotSupportedException {
 
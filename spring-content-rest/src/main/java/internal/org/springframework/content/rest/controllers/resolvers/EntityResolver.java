@@ -4,4 +4,15 @@ public interface EntityResolver {
     public String getMapping();
     public EntityResolution resolve(String path);
     public boolean hasPropertyFor(String path);
+
+    /**
+     * Resolves the entity of a route already matched to this resolver's mapping
+     */
+    default EntityResolution resolve(EntityRoute route) {
+        return resolve(route.getPath());
+    }
+
+    default boolean hasPropertyFor(EntityRoute route) {
+        return hasPropertyFor(route.getPath());
+    }
 }
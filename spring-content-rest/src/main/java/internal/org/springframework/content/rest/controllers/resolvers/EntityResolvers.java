@@ -1,68 +1,226 @@
 package internal.org.springframework.content.rest.controllers.resolvers;
 
+import static java.lang.String.format;
+
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
+import org.springframework.content.commons.storeservice.StoreInfo;
 import org.springframework.util.AntPathMatcher;
-
+import org.springframework.util.StringUtils;
+
+/**
+ * The entity resolvers, matched to paths by their mappings.
+ * <p>
+ * Mappings made of literal segments, {@code {variable}} segments and a trailing {@code **} are compiled into a trie
+ * so a path is matched against every mapping, and its variables and property path extracted, in one pass over its
+ * segments.  Other mappings are matched with an {@link AntPathMatcher}.  As before, when more than one mapping matches
+ * the most specific, by {@link AntPathMatcher#getPatternComparator(String)}, is used.
+ */
 public class EntityResolvers extends ArrayList<EntityResolver> {
 
     private static final long serialVersionUID = -7652384665879868640L;
 
+    private static final AntPathMatcher matcher = new AntPathMatcher();
+
+    private transient volatile Trie trie;
+
     public EntityResolution resolve(String path) {
-        AntPathMatcher matcher = new AntPathMatcher();
-        Comparator<String> patternComparator = matcher.getPatternComparator(path);
+        EntityRoute route = route(path, null);
+        if (route == null) {
+            throw new IllegalArgumentException(format("No entity resolver for path %s", path));
+        }
+        return route.getResolver().resolve(route);
+    }
 
-        List<String> entityUriTemplates = new ArrayList<>();
-        for (EntityResolver resolver : this) {
-            if (matcher.match(resolver.getMapping(), path)) {
-                entityUriTemplates.add(resolver.getMapping());
+    public boolean hasPropertyFor(String path) {
+        EntityRoute route = route(path, null);
+        return route != null && route.getResolver().hasPropertyFor(route);
+    }
+
+    /**
+     * @return the route of the path through the resolver whose mapping matches it best, or null if none match
+     */
+    public EntityRoute route(String path, StoreInfo store) {
+        Trie trie = this.trie;
+        if (trie == null || trie.modCount != this.modCount) {
+            // compiled when first used, and again if resolvers have been added since
+            trie = new Trie(this, this.modCount);
+            this.trie = trie;
+        }
+        return trie.match(path, store);
+    }
+
+    /**
+     * @return the route of the path through the given resolver, whose mapping it must match
+     */
+    public static EntityRoute route(EntityResolver resolver, String path) {
+        Map<String, String> variables = matcher.extractUriTemplateVariables(resolver.getMapping(), path);
+        return new EntityRoute(resolver, path, variables, matcher.extractPathWithinPattern(resolver.getMapping(), path), null);
+    }
+
+    private static final class Trie {
+
+        private final int modCount;
+        private final Node root = new Node();
+        private final List<Terminal> unsupported = new ArrayList<>();
+
+        Trie(List<EntityResolver> resolvers, int modCount) {
+            this.modCount = modCount;
+            for (int i = 0; i < resolvers.size(); i++) {
+                add(resolvers.get(i), i);
             }
         }
 
-        String bestMatch = null;
-        if (entityUriTemplates.size() > 1) {
-            entityUriTemplates.sort(patternComparator);
+        private void add(EntityResolver resolver, int order) {
+            String[] tokens = StringUtils.tokenizeToStringArray(resolver.getMapping(), "/", false, true);
+            String[] names = new String[tokens.length];
+
+            Node node = root;
+            for (int i = 0; i < tokens.length; i++) {
+                String token = tokens[i];
+                if ("**".equals(token) && i == tokens.length - 1) {
+                    node.rest.add(new Terminal(resolver, order, names));
+                    return;
+                } else if (token.length() > 2 && token.startsWith("{") && token.endsWith("}") && isLiteral(token.substring(1, token.length() - 1))) {
+                    names[i] = token.substring(1, token.length() - 1);
+                    if (node.variable == null) {
+                        node.variable = new Node();
+                    }
+                    node = node.variable;
+                } else if (isLiteral(token)) {
+                    node = node.literals.computeIfAbsent(token, (key) -> new Node());
+                } else {
+                    unsupported.add(new Terminal(resolver, order, null));
+                    return;
+                }
+            }
+            node.exact.add(new Terminal(resolver, order, names));
         }
 
-        bestMatch = entityUriTemplates.get(0);
+        EntityRoute match(String path, StoreInfo store) {
+            String[] segments = StringUtils.tokenizeToStringArray(path, "/", false, true);
 
-        EntityResolver matchedEntityResolver = null;
-        for (EntityResolver resolver : this) {
-            if (bestMatch.equals(resolver.getMapping())) {
-                matchedEntityResolver = resolver;
+            List<Candidate> candidates = new ArrayList<>(2);
+            collect(root, segments, 0, candidates);
+            for (Terminal terminal : unsupported) {
+                if (matcher.match(terminal.resolver.getMapping(), path)) {
+                    candidates.add(new Candidate(terminal, null, null));
+                }
+            }
+            if (candidates.isEmpty()) {
+                return null;
             }
+
+            Candidate best = candidates.get(0);
+            if (candidates.size() > 1) {
+                candidates.sort(Comparator.comparingInt((candidate) -> candidate.terminal.order));
+                Comparator<String> comparator = matcher.getPatternComparator(path);
+                best = candidates.get(0);
+                for (Candidate candidate : candidates) {
+                    String mapping = candidate.terminal.resolver.getMapping();
+                    int comparison = comparator.compare(mapping, best.terminal.resolver.getMapping());
+                    // the first of the most specific mappings, and the last resolver with that mapping
+                    if (comparison < 0 || mapping.equals(best.terminal.resolver.getMapping())) {
+                        best = candidate;
+                    }
+                }
+            }
+
+            if (best.variables == null) {
+                String mapping = best.terminal.resolver.getMapping();
+                return new EntityRoute(best.terminal.resolver, path, matcher.extractUriTemplateVariables(mapping, path), matcher.extractPathWithinPattern(mapping, path), store);
+            }
+            return new EntityRoute(best.terminal.resolver, path, best.variables, best.propertyPath, store);
         }
 
-        return matchedEntityResolver.resolve(path);
-    }
+        private void collect(Node node, String[] segments, int depth, List<Candidate> candidates) {
+            for (Terminal terminal : node.rest) {
+                candidates.add(new Candidate(terminal, terminal.variables(segments), join(segments, depth)));
+            }
+            if (depth == segments.length) {
+                for (Terminal terminal : node.exact) {
+                    candidates.add(new Candidate(terminal, terminal.variables(segments), ""));
+                }
+                return;
+            }
 
-    public boolean hasPropertyFor(String path) {
-        AntPathMatcher matcher = new AntPathMatcher();
-        Comparator<String> patternComparator = matcher.getPatternComparator(path);
+            Node literal = node.literals.get(segments[depth]);
+            if (literal != null) {
+                collect(literal, segments, depth + 1, candidates);
+            }
+            if (node.variable != null) {
+                collect(node.variable, segments, depth + 1, candidates);
+            }
+        }
 
-        List<String> entityUriTemplates = new ArrayList<>();
-        for (EntityResolver resolver : this) {
-            if (matcher.match(resolver.getMapping(), path)) {
-                entityUriTemplates.add(resolver.getMapping());
+        private static String join(String[] segments, int from) {
+            if (from >= segments.length) {
+                return "";
             }
+            StringBuilder joined = new StringBuilder(segments[from]);
+            for (int i = from + 1; i < segments.length; i++) {
+                joined.append('/').append(segments[i]);
+            }
+            return joined.toString();
         }
 
-        String bestMatch = null;
-        if (entityUriTemplates.size() > 1) {
-            entityUriTemplates.sort(patternComparator);
+        private static boolean isLiteral(String token) {
+            for (int i = 0; i < token.length(); i++) {
+                char c = token.charAt(i);
+                if (c == '*' || c == '?' || c == '{' || c == '}' || c == ':') {
+                    return false;
+                }
+            }
+            return !token.isEmpty();
         }
+    }
+
+    private static final class Node {
+        private final Map<String, Node> literals = new HashMap<>();
+        private Node variable;
+        private final List<Terminal> exact = new ArrayList<>(1);
+        private final List<Terminal> rest = new ArrayList<>(1);
+    }
+
+    private static final class Terminal {
+
+        private final EntityResolver resolver;
+        private final int order;
+        private final String[] names;
 
-        bestMatch = entityUriTemplates.get(0);
+        Terminal(EntityResolver resolver, int order, String[] names) {
+            this.resolver = resolver;
+            this.order = order;
+            this.names = names;
+        }
 
-        EntityResolver matchedEntityResolver = null;
-        for (EntityResolver resolver : this) {
-            if (bestMatch.equals(resolver.getMapping())) {
-                matchedEntityResolver = resolver;
+        Map<String, String> variables(String[] segments) {
+            Map<String, String> variables = new LinkedHashMap<>();
+            for (int i = 0; i < names.length; i++) {
+                if (names[i] != null) {
+                    variables.put(names[i], segments[i]);
+                }
             }
+            return variables.isEmpty() ? Collections.emptyMap() : variables;
         }
+    }
+
+    private static final class Candidate {
 
-        return matchedEntityResolver.hasPropertyFor(path);
+        private final Terminal terminal;
+        private final Map<String, String> variables;
+        private final String propertyPath;
+
+        Candidate(Terminal terminal, Map<String, String> variables, String propertyPath) {
+            this.terminal = terminal;
+            this.variables = variables;
+            this.propertyPath = propertyPath;
+        }
     }
 }
@@ -0,0 +1,52 @@
+package internal.org.springframework.content.rest.controllers.resolvers;
+
+import java.util.Map;
+
+import org.springframework.content.commons.storeservice.StoreInfo;
+
+/**
+ * The entity resolver matching a store lookup path, and the template variables and content property path extracted from
+ * the path by its mapping
+ */
+public class EntityRoute {
+
+    private final EntityResolver resolver;
+    private final String path;
+    private final Map<String, String> variables;
+    private final String propertyPath;
+    private final StoreInfo store;
+
+    public EntityRoute(EntityResolver resolver, String path, Map<String, String> variables, String propertyPath, StoreInfo store) {
+        this.resolver = resolver;
+        this.path = path;
+        this.variables = variables;
+        this.propertyPath = propertyPath;
+        this.store = store;
+    }
+
+    public EntityResolver getResolver() {
+        return resolver;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public String getVariable(String name) {
+        return variables.get(name);
+    }
+
+    /**
+     * @return the path matched by a trailing {@code **} of the mapping, or an empty string
+     */
+    public String getPropertyPath() {
+        return propertyPath;
+    }
+
+    /**
+     * @return the store the path is for, or null if it has not been resolved
+     */
+    public StoreInfo getStore() {
+        return store;
+    }
+}
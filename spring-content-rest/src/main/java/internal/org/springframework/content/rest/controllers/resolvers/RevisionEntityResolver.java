@@ -3,7 +3,6 @@ package internal.org.springframework.content.rest.controllers.resolvers;
 import static java.lang.String.format;
 
 import java.lang.reflect.Method;
-import java.util.Map;
 import java.util.Optional;
 
 import org.springframework.content.commons.mappingcontext.MappingContext;
@@ -14,7 +13,6 @@ import org.springframework.content.commons.storeservice.Stores;
 import org.springframework.data.history.Revision;
 import org.springframework.data.repository.history.RevisionRepository;
 import org.springframework.data.repository.support.Repositories;
-import org.springframework.util.AntPathMatcher;
 import org.springframework.util.Assert;
 import org.springframework.util.ReflectionUtils;
 
@@ -42,23 +40,20 @@ public class RevisionEntityResolver implements EntityResolver {
 
     @Override
     public EntityResolution resolve(String pathInfo) {
+        return resolve(EntityResolvers.route(this, pathInfo));
+    }
+
+    @Override
+    public EntityResolution resolve(EntityRoute route) {
 
-        AntPathMatcher matcher = new AntPathMatcher();
-        Map<String,String> variables = matcher.extractUriTemplateVariables(this.mapping, pathInfo);
-        String repository = variables.get("repository");
-        String id = variables.get("id");
-        String revisionId = variables.get("revisionId");
+        String repository = route.getVariable("repository");
+        String id = route.getVariable("id");
+        String revisionId = route.getVariable("revisionId");
 
         Method FIND_REVISION_METHOD = ReflectionUtils.findMethod(RevisionRepository.class, "findRevision", Object.class, Number.class);
         Assert.notNull(FIND_REVISION_METHOD, "findRevision method cannot be null");
 
-        String[] pathSegments = pathInfo.split("/");
-        String store = pathSegments[1];
-
-        StoreInfo info = this.stores.getStore(Store.class, StoreUtils.withStorePath(store));
-        if (info == null) {
-            throw new IllegalArgumentException(String.format("Store for path %s not found", store));
-        }
+        StoreInfo info = getStore(route);
 
         Optional<Object> repo = repositories.getRepositoryFor(info.getDomainObjectClass());
         repo.orElseThrow(() -> new IllegalStateException(format("Unable to find repository '%s'", repository)));
@@ -72,7 +67,7 @@ public class RevisionEntityResolver implements EntityResolver {
             throw new ResourceNotFoundException();
         }
 
-        String propertyPath = matcher.extractPathWithinPattern(this.mapping, pathInfo);
+        String propertyPath = route.getPropertyPath();
         if (propertyPath == null) {
             propertyPath = "";
         }
@@ -83,22 +78,34 @@ public class RevisionEntityResolver implements EntityResolver {
 
     @Override
     public boolean hasPropertyFor(String pathInfo) {
+        return hasPropertyFor(EntityResolvers.route(this, pathInfo));
+    }
+
+    @Override
+    public boolean hasPropertyFor(EntityRoute route) {
+
+        StoreInfo info = getStore(route);
 
-        AntPathMatcher matcher = new AntPathMatcher();
-        Map<String,String> variables = matcher.extractUriTemplateVariables(this.mapping, pathInfo);
+        String propertyPath = route.getPropertyPath();
+        if (propertyPath == null) {
+            propertyPath = "";
+        }
+        return mappingContext.getContentProperty(info.getDomainObjectClass(), propertyPath) != null;
+    }
+
+    private StoreInfo getStore(EntityRoute route) {
 
-        String[] pathSegments = pathInfo.split("/");
+        if (route.getStore() != null) {
+            return route.getStore();
+        }
+
+        String[] pathSegments = route.getPath().split("/");
         String store = pathSegments[1];
 
         StoreInfo info = this.stores.getStore(Store.class, StoreUtils.withStorePath(store));
         if (info == null) {
             throw new IllegalArgumentException(String.format("Store for path %s not found", store));
         }
-
-        String propertyPath = matcher.extractPathWithinPattern(this.mapping, pathInfo);
-        if (propertyPath == null) {
-            propertyPath = "";
-        }
-        return mappingContext.getContentProperty(info.getDomainObjectClass(), propertyPath) != null;
+        return info;
     }
 }
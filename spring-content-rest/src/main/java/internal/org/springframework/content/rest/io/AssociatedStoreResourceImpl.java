@@ -94,7 +94,7 @@ public class AssociatedStoreResourceImpl<S> implements HttpResource, AssociatedS
         return this.contentProperty;
     }
 
-    protected Resource getDelegate() {
+    public Resource getDelegate() {
 
         return original;
     }
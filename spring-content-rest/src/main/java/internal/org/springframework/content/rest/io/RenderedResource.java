@@ -20,6 +20,7 @@ import java.time.ZonedDateTime;
 public class RenderedResource extends InputStreamResource {
 
     private Resource original;
+    private long contentLength = -1L;
     private long lastModified;
 
     public RenderedResource(InputStream rendition, Resource original) {
@@ -28,9 +29,19 @@ public class RenderedResource extends InputStreamResource {
         this.lastModified = ZonedDateTime.now().toInstant().toEpochMilli();
     }
 
+    /**
+     * Represents a previously rendered, cached rendition whose length and modification time are known
+     */
+    public RenderedResource(Resource rendition, Resource original) throws IOException {
+        super(rendition.getInputStream());
+        this.original = original;
+        this.contentLength = rendition.contentLength();
+        this.lastModified = rendition.lastModified();
+    }
+
     @Override
     public long contentLength() throws IOException {
-        return -1L;
+        return contentLength;
     }
 
     @Override
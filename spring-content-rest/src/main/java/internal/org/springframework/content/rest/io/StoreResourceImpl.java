@@ -9,10 +9,9 @@ import java.net.URL;
 import java.nio.channels.ReadableByteChannel;
 import java.nio.channels.WritableByteChannel;
 
-import javax.activation.MimetypesFileTypeMap;
-
 import org.springframework.content.commons.io.DeletableResource;
 import org.springframework.content.commons.storeservice.StoreInfo;
+import org.springframework.content.commons.utils.MimeTypeRegistry;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.WritableResource;
 import org.springframework.http.MediaType;
@@ -23,14 +22,26 @@ public class StoreResourceImpl implements Resource, StoreResource {
 
     private Resource delegate;
     private StoreInfo storeInfo;
+    private MimeTypeRegistry mimeTypes;
 
     public StoreResourceImpl(StoreInfo storeInfo, Resource delegate) {
+        this(storeInfo, delegate, MimeTypeRegistry.getDefault());
+    }
+
+    public StoreResourceImpl(StoreInfo storeInfo, Resource delegate, MimeTypeRegistry mimeTypes) {
 
         Assert.notNull(storeInfo, "storeInfo cannot be null");
         Assert.notNull(delegate, "delegate cannot be null");
+        Assert.notNull(mimeTypes, "mimeTypes cannot be null");
 
         this.storeInfo = storeInfo;
         this.delegate = delegate;
+        this.mimeTypes = mimeTypes;
+    }
+
+    public Resource getDelegate() {
+
+        return delegate;
     }
 
     @Override
@@ -52,8 +63,13 @@ public class StoreResourceImpl implements Resource, StoreResource {
     @Override
     public MediaType getMimeType() {
 
-        String mimeType = new MimetypesFileTypeMap().getContentType(this.getFilename());
-        return MediaType.valueOf(mimeType != null ? mimeType : "");
+        String mimeType;
+        try {
+            mimeType = mimeTypes.getMimeType(this.getFilename(), delegate);
+        } catch (IOException e) {
+            mimeType = mimeTypes.getMimeType(this.getFilename());
+        }
+        return MediaType.valueOf(mimeType);
     }
 
     @Override
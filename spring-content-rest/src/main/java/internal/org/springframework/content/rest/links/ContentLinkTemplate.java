@@ -0,0 +1,135 @@
+package internal.org.springframework.content.rest.links;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.content.commons.storeservice.StoreInfo;
+import org.springframework.content.rest.StoreRestResource;
+import org.springframework.hateoas.Affordance;
+import org.springframework.hateoas.LinkRelation;
+import org.springframework.hateoas.server.core.LinkBuilderSupport;
+import org.springframework.util.StringUtils;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import internal.org.springframework.content.rest.utils.StoreUtils;
+
+/**
+ * The content links of a domain class, precomputed but for the store's href, which depends on the request, and the
+ * entity's id.
+ */
+final class ContentLinkTemplate {
+
+    static final String ID_VARIABLE = "{id}";
+
+    private final StoreInfo store;
+    private final boolean singleContentProperty;
+    private final LinkRelation originalRel;
+    private final LinkRelation shortcutRel;
+    private final List<String> contentPropertyPaths = new ArrayList<>();
+    private final List<String> contentPropertySuffixes = new ArrayList<>();
+    private final List<LinkRelation> contentPropertyRels = new ArrayList<>();
+
+    ContentLinkTemplate(StoreInfo store, Collection<String> contentPropertyPaths) {
+        this.store = store;
+        this.singleContentProperty = contentPropertyPaths.size() == 1;
+        this.originalRel = LinkRelation.of(entityRel(store, StoreUtils.storePath(store)));
+        this.shortcutRel = LinkRelation.of(entityRel(store, StringUtils.uncapitalize(StoreUtils.getSimpleName(store))));
+
+        for (String contentPropertyPath : contentPropertyPaths) {
+            if (!contentPropertyPath.isEmpty()) {
+                this.contentPropertyPaths.add(contentPropertyPath);
+                // encoded as the link builder would
+                this.contentPropertySuffixes.add(new PathBuilder(UriComponentsBuilder.newInstance().build()).slash(contentPropertyPath).toString());
+                this.contentPropertyRels.add(LinkRelation.of(propertyLinkRel(store, contentPropertyPath)));
+            }
+        }
+    }
+
+    StoreInfo getStore() {
+        return store;
+    }
+
+    boolean isSingleContentProperty() {
+        return singleContentProperty;
+    }
+
+    LinkRelation getOriginalRel() {
+        return originalRel;
+    }
+
+    LinkRelation getShortcutRel() {
+        return shortcutRel;
+    }
+
+    List<String> getContentPropertyPaths() {
+        return Collections.unmodifiableList(contentPropertyPaths);
+    }
+
+    String getContentPropertySuffix(int i) {
+        return contentPropertySuffixes.get(i);
+    }
+
+    LinkRelation getContentPropertyRel(int i) {
+        return contentPropertyRels.get(i);
+    }
+
+    /**
+     * @return the id as a path segment of a link, or null if the link builder has to encode it
+     */
+    static String idSegment(Object id) {
+        String segment = id.toString();
+        if (segment.isEmpty()) {
+            return null;
+        }
+        for (int i = 0; i < segment.length(); i++) {
+            char c = segment.charAt(i);
+            if (!((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '-' || c == '.' || c == '_' || c == '~')) {
+                return null;
+            }
+        }
+        return segment;
+    }
+
+    /**
+     * Builds paths the way store links are built
+     */
+    private static class PathBuilder extends LinkBuilderSupport<PathBuilder> {
+
+        PathBuilder(UriComponents components) {
+            super(components);
+        }
+
+        @Override
+        protected PathBuilder getThis() {
+            return this;
+        }
+
+        @Override
+        protected PathBuilder createNewInstance(UriComponents components, List<Affordance> affordances) {
+            return new PathBuilder(components);
+        }
+    }
+
+    private static String propertyLinkRel(StoreInfo storeInfo, String name) {
+        String contentRel = StringUtils.uncapitalize(name);
+        Class<?> storeIface = storeInfo.getInterface();
+        StoreRestResource exportSpec = storeIface.getAnnotation(StoreRestResource.class);
+        if (exportSpec != null && !StringUtils.isEmpty(exportSpec.linkRel())) {
+            contentRel = exportSpec.linkRel() + "/" + name;
+        }
+        return contentRel;
+    }
+
+    private static String entityRel(StoreInfo storeInfo, String defaultLinkRel) {
+        String entityLinkRel = defaultLinkRel;
+        Class<?> storeIface = storeInfo.getInterface();
+        StoreRestResource exportSpec = storeIface.getAnnotation(StoreRestResource.class);
+        if (exportSpec != null && !StringUtils.isEmpty(exportSpec.linkRel())) {
+            entityLinkRel = exportSpec.linkRel();
+        }
+        return entityLinkRel;
+    }
+}
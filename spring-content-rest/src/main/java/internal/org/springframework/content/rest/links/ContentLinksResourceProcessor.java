@@ -4,9 +4,13 @@ import static java.lang.String.format;
 
 import java.lang.reflect.Method;
 import java.net.URI;
-import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -19,21 +23,27 @@ import org.springframework.content.commons.repository.AssociativeStore;
 import org.springframework.content.commons.storeservice.StoreInfo;
 import org.springframework.content.commons.storeservice.Stores;
 import org.springframework.content.commons.utils.DomainObjectUtils;
-import org.springframework.content.rest.StoreRestResource;
 import org.springframework.content.rest.config.RestConfiguration;
 import org.springframework.core.io.Resource;
 import org.springframework.data.projection.TargetAware;
 import org.springframework.data.rest.webmvc.BaseUri;
 import org.springframework.data.rest.webmvc.PersistentEntityResource;
 import org.springframework.hateoas.Affordance;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkRelation;
+import org.springframework.hateoas.Links;
+import org.springframework.hateoas.RepresentationModel;
 import org.springframework.hateoas.server.LinkBuilder;
 import org.springframework.hateoas.server.RepresentationModelProcessor;
 import org.springframework.hateoas.server.core.LinkBuilderSupport;
 import org.springframework.http.HttpHeaders;
 import org.springframework.util.Assert;
 import org.springframework.util.ReflectionUtils;
-import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
 import org.springframework.web.util.UriComponents;
 
 import internal.org.springframework.content.rest.controllers.StoreRestController;
@@ -41,6 +51,9 @@ import internal.org.springframework.content.rest.utils.StoreUtils;
 
 /**
  * Adds content and content collection links to Spring Data REST Entity Resources.
+ * <p>
+ * Links are built from a template precomputed per domain class, and the store's href computed once per request, so
+ * only the entity's id is substituted per resource.
  *
  * @author warrep
  *
@@ -55,10 +68,15 @@ public class ContentLinksResourceProcessor implements RepresentationModelProcess
 		Assert.notNull(GET_CONTENT_METHOD, "Unable to find StoreRestController.getContent method");
 	}
 
+	private static final String STORE_HREFS_ATTRIBUTE = ContentLinksResourceProcessor.class.getName() + ".STORE_HREFS";
+	private static final String ADDED_LINKS_ATTRIBUTE = ContentLinksResourceProcessor.class.getName() + ".ADDED_LINKS";
+
 	private Stores stores;
 	private RestConfiguration config;
 	private MappingContext mappingContext;
 
+	private final Map<Class<?>, Optional<ContentLinkTemplate>> templates = new ConcurrentHashMap<>();
+
 	public ContentLinksResourceProcessor(Stores stores, RestConfiguration config, MappingContext mappingContext) {
 		this.stores = stores;
 		this.config = config;
@@ -70,7 +88,24 @@ public class ContentLinksResourceProcessor implements RepresentationModelProcess
 	}
 
 	@Override
-    public PersistentEntityResource process(final PersistentEntityResource resource) {
+	public PersistentEntityResource process(final PersistentEntityResource resource) {
+
+		if (!config.contentLinkTemplates()) {
+			return addContentLinks(resource);
+		}
+
+		// a search's entities are only known to be part of a collection once the collection itself is processed
+		Links before = resource.getLinks();
+		addContentLinks(resource);
+		List<Link> added = resource.getLinks().stream().filter(link -> !before.contains(link)).collect(Collectors.toList());
+		Map<RepresentationModel<?>, List<Link>> addedLinks = addedLinks();
+		if (!added.isEmpty() && addedLinks != null) {
+			addedLinks.put(resource, added);
+		}
+		return resource;
+	}
+
+	private PersistentEntityResource addContentLinks(final PersistentEntityResource resource) {
 
 		Object object = resource.getContent();
 		if (object == null)
@@ -86,84 +121,182 @@ public class ContentLinksResourceProcessor implements RepresentationModelProcess
 			return resource;
 		}
 
-		Class<?> persistentEntityType = resource.getPersistentEntity().getType();
-		StoreInfo store = stores.getStore(AssociativeStore.class, Stores.withDomainClass(persistentEntityType));
-		if(store == null) {
+		ContentLinkTemplate template = getTemplate(resource.getPersistentEntity().getType());
+		if(template == null) {
 			// If there is no store, this PersistentEntityResource can't have content links
 			return resource;
 		}
-		Collection<String> contentPropertyPaths = mappingContext.getContentPaths(persistentEntityType);
 
-		if(contentPropertyPaths.size() == 1 && config.shortcutLinks() && !config.fullyQualifiedLinks()) {
-			// for compatibility with v0.x.0 versions
-			originalLink(config.getBaseUri(), store, entityId).ifPresent((l) -> addLink(resource, l));
+		String storeHref = storeHref(template.getStore());
+		if (storeHref != null && config.contentLinkTemplates() && isCollectionRequest()) {
+			// linked once, by the collection's templated links
+			return resource;
+		}
 
-			addLink(resource, shortcutLink(config.getBaseUri(), store, entityId, StringUtils
-					.uncapitalize(StoreUtils.getSimpleName(store))));
+		String idSegment = storeHref != null ? ContentLinkTemplate.idSegment(entityId) : null;
+		if (idSegment != null) {
+			addLinks(resource, template, storeHref + "/" + idSegment);
+			return resource;
+		}
+
+		StoreInfo store = template.getStore();
+		if(template.isSingleContentProperty() && config.shortcutLinks() && !config.fullyQualifiedLinks()) {
+			// for compatibility with v0.x.0 versions
+			addLink(resource, shortcutLink(config.getBaseUri(), store, entityId, template.getOriginalRel()));
+			addLink(resource, shortcutLink(config.getBaseUri(), store, entityId, template.getShortcutRel()));
 		} else {
-			for (String contentPropertyPath: contentPropertyPaths) {
-				if(!contentPropertyPath.isEmpty()) {
-					resource.add(fullyQualifiedLink(config.getBaseUri(), store, entityId, contentPropertyPath));
-				}
+			List<String> contentPropertyPaths = template.getContentPropertyPaths();
+			for (int i = 0; i < contentPropertyPaths.size(); i++) {
+				resource.add(fullyQualifiedLink(config.getBaseUri(), store, entityId, contentPropertyPaths.get(i), template.getContentPropertyRel(i)));
 			}
 		}
 
 		return resource;
 	}
 
-	private void addLink(PersistentEntityResource resource, Link l) {
+	/**
+	 * Adds the content links of the collection's entities, with their id as a template variable, to the collection,
+	 * and removes them from the entities
+	 */
+	CollectionModel<PersistentEntityResource> processCollection(CollectionModel<PersistentEntityResource> model) {
 
-		if (resource.hasLink(l.getRel())) {
-			for (Link existingLink : resource.getLinks(l.getRel())) {
-				if (existingLink.getHref().equals(l.getHref())) {
-					return;
+		if (!config.contentLinkTemplates()) {
+			return model;
+		}
+
+		for (Object element : model.getContent()) {
+			if (element instanceof PersistentEntityResource && ((PersistentEntityResource) element).getPersistentEntity() != null) {
+
+				ContentLinkTemplate template = getTemplate(((PersistentEntityResource) element).getPersistentEntity().getType());
+				String storeHref = template != null ? storeHref(template.getStore()) : null;
+				if (storeHref != null) {
+					addLinks(model, template, storeHref + "/" + ContentLinkTemplate.ID_VARIABLE);
+					removeAddedLinks(model);
 				}
+				break;
 			}
 		}
+		return model;
+	}
 
-		resource.add(l);
+	private void removeAddedLinks(CollectionModel<PersistentEntityResource> model) {
+
+		Map<RepresentationModel<?>, List<Link>> addedLinks = addedLinks();
+		if (addedLinks == null || addedLinks.isEmpty()) {
+			return;
+		}
+
+		for (PersistentEntityResource element : model.getContent()) {
+			List<Link> added = addedLinks.remove(element);
+			if (added != null) {
+				Links links = element.getLinks();
+				element.removeLinks();
+				links.forEach(link -> {
+					if (!added.contains(link)) {
+						element.add(link);
+					}
+				});
+			}
+		}
 	}
 
-	private String propertyLinkRel(StoreInfo storeInfo, String name) {
-		String contentRel = StringUtils.uncapitalize(name);
-		Class<?> storeIface = storeInfo.getInterface();
-		StoreRestResource exportSpec = storeIface.getAnnotation(StoreRestResource.class);
-		if (exportSpec != null && !StringUtils.isEmpty(exportSpec.linkRel())) {
-			contentRel = exportSpec.linkRel() + "/" + name;
+	@SuppressWarnings("unchecked")
+	private static Map<RepresentationModel<?>, List<Link>> addedLinks() {
+
+		RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+		if (attributes == null) {
+			return null;
+		}
+
+		Map<RepresentationModel<?>, List<Link>> addedLinks = (Map<RepresentationModel<?>, List<Link>>) attributes.getAttribute(ADDED_LINKS_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+		if (addedLinks == null) {
+			addedLinks = new IdentityHashMap<>();
+			attributes.setAttribute(ADDED_LINKS_ATTRIBUTE, addedLinks, RequestAttributes.SCOPE_REQUEST);
 		}
-		return contentRel;
+		return addedLinks;
 	}
 
-	private String entityRel(StoreInfo storeInfo, String defaultLinkRel) {
-		String entityLinkRel = defaultLinkRel;
-		Class<?> storeIface = storeInfo.getInterface();
-		StoreRestResource exportSpec = storeIface.getAnnotation(StoreRestResource.class);
-		if (exportSpec != null && !StringUtils.isEmpty(exportSpec.linkRel())) {
-			entityLinkRel = exportSpec.linkRel();
+	private void addLinks(RepresentationModel<?> model, ContentLinkTemplate template, String entityHref) {
+
+		if(template.isSingleContentProperty() && config.shortcutLinks() && !config.fullyQualifiedLinks()) {
+			// for compatibility with v0.x.0 versions
+			addLink(model, Link.of(entityHref, template.getOriginalRel()));
+			addLink(model, Link.of(entityHref, template.getShortcutRel()));
+		} else {
+			int size = template.getContentPropertyPaths().size();
+			for (int i = 0; i < size; i++) {
+				model.add(Link.of(entityHref + template.getContentPropertySuffix(i), template.getContentPropertyRel(i)));
+			}
 		}
-		return entityLinkRel;
 	}
 
-	private Optional<Link> originalLink(URI baseUri, StoreInfo store, Object id) {
+	private ContentLinkTemplate getTemplate(Class<?> persistentEntityType) {
+		return templates.computeIfAbsent(persistentEntityType, (type) -> {
+			StoreInfo store = stores.getStore(AssociativeStore.class, Stores.withDomainClass(type));
+			return Optional.ofNullable(store != null ? new ContentLinkTemplate(store, mappingContext.getContentPaths(type)) : null);
+		}).orElse(null);
+	}
+
+	/**
+	 * @return the href of the store, computed once per request, or null if ids cannot simply be appended to it
+	 */
+	@SuppressWarnings("unchecked")
+	private String storeHref(StoreInfo store) {
+
+		RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+
+		Map<StoreInfo, Optional<String>> hrefs = null;
+		if (attributes != null) {
+			hrefs = (Map<StoreInfo, Optional<String>>) attributes.getAttribute(STORE_HREFS_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+			if (hrefs == null) {
+				hrefs = new HashMap<>();
+				attributes.setAttribute(STORE_HREFS_ATTRIBUTE, hrefs, RequestAttributes.SCOPE_REQUEST);
+			}
+		}
+
+		Optional<String> href = hrefs != null ? hrefs.get(store) : null;
+		if (href == null) {
+			LinkBuilder builder = StoreLinkBuilder.linkTo(new BaseUri(config.getBaseUri()), store);
+			String storeHref = builder.toString();
+			href = builder.slash("0").toString().equals(storeHref + "/0") ? Optional.of(storeHref) : Optional.empty();
+			if (hrefs != null) {
+				hrefs.put(store, href);
+			}
+		}
+		return href.orElse(null);
+	}
+
+	private static boolean isCollectionRequest() {
+
+		RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+		Object handler = attributes != null ? attributes.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) : null;
+		return handler instanceof HandlerMethod && CollectionModel.class.isAssignableFrom(((HandlerMethod) handler).getMethod().getReturnType());
+	}
+
+	private void addLink(RepresentationModel<?> resource, Link l) {
 
-		if (id == null) {
-			return Optional.empty();
+		if (resource.hasLink(l.getRel())) {
+			for (Link existingLink : resource.getLinks(l.getRel())) {
+				if (existingLink.getHref().equals(l.getHref())) {
+					return;
+				}
+			}
 		}
 
-		return Optional.of(shortcutLink(baseUri, store, id, StoreUtils.storePath(store)));
+		resource.add(l);
 	}
 
-	private Link shortcutLink(URI baseUri, StoreInfo store, Object id, String defaultLinkRel) {
+	private Link shortcutLink(URI baseUri, StoreInfo store, Object id, LinkRelation rel) {
 
 		LinkBuilder builder = null;
 		builder = StoreLinkBuilder.linkTo(new BaseUri(baseUri), store);
 
 		builder = builder.slash(id);
 
-		return builder.withRel(entityRel(store, defaultLinkRel));
+		return builder.withRel(rel);
 	}
 
-	private Link fullyQualifiedLink(URI baseUri, StoreInfo store, Object id, String contentPropertyPath) {
+	private Link fullyQualifiedLink(URI baseUri, StoreInfo store, Object id, String contentPropertyPath, LinkRelation rel) {
 
 	    Assert.notNull(id);
 
@@ -173,7 +306,7 @@ public class ContentLinksResourceProcessor implements RepresentationModelProcess
 
 		builder = builder.slash(contentPropertyPath);
 
-		return builder.withRel(propertyLinkRel(store, contentPropertyPath));
+		return builder.withRel(rel);
 	}
 
     private Object getProjectionTarget(Object object) {
@@ -184,6 +317,28 @@ public class ContentLinksResourceProcessor implements RepresentationModelProcess
         return AopUtils.isAopProxy(object);
     }
 
+	/**
+	 * Adds templated content links to collections of entities when {@link RestConfiguration#contentLinkTemplates()}
+	 * is enabled
+	 */
+	public static class ContentLinkTemplatesProcessor implements RepresentationModelProcessor<CollectionModel<PersistentEntityResource>> {
+
+		private final ContentLinksResourceProcessor processor;
+
+		public ContentLinkTemplatesProcessor(Stores stores, RestConfiguration config, MappingContext mappingContext) {
+			this(new ContentLinksResourceProcessor(stores, config, mappingContext));
+		}
+
+		ContentLinkTemplatesProcessor(ContentLinksResourceProcessor processor) {
+			this.processor = processor;
+		}
+
+		@Override
+		public CollectionModel<PersistentEntityResource> process(CollectionModel<PersistentEntityResource> model) {
+			return processor.processCollection(model);
+		}
+	}
+
 	public static class StoreLinkBuilder extends LinkBuilderSupport<StoreLinkBuilder> {
 
 		public StoreLinkBuilder(BaseUri baseUri, StoreInfo store) {
@@ -6,7 +6,6 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 import java.lang.reflect.Method;
-import java.net.URI;
 import java.util.List;
 
 import javax.servlet.http.HttpServletRequest;
@@ -25,11 +24,9 @@ import org.springframework.http.MediaType;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.servlet.mvc.condition.RequestCondition;
-import org.springframework.web.util.UrlPathHelper;
 
 import internal.org.springframework.content.rest.annotations.ContentRestController;
 import internal.org.springframework.content.rest.controllers.resolvers.EntityResolvers;
-import internal.org.springframework.content.rest.utils.StoreUtils;
 
 public class ContentHandlerMapping extends StoreAwareHandlerMapping {
 
@@ -37,14 +34,16 @@ public class ContentHandlerMapping extends StoreAwareHandlerMapping {
 	private static MediaType json = MediaType.parseMediaType("application/json");
 
     private Exclusions exclusions = null;
-	private Stores contentStores;
-	private EntityResolvers entityResolvers = null;
+	private StoreRoutes routes;
 
 	public ContentHandlerMapping(Stores contentStores, EntityResolvers entityResolvers, RestConfiguration config) {
+		this(new StoreRoutes(contentStores, entityResolvers, config), config);
+	}
+
+	public ContentHandlerMapping(StoreRoutes routes, RestConfiguration config) {
 		super(config);
 		initExclusions(exclusions, config);
-		this.contentStores = contentStores;
-		this.entityResolvers = entityResolvers;
+		this.routes = routes;
 		setOrder(Ordered.LOWEST_PRECEDENCE - 200);
 	}
 
@@ -87,19 +86,19 @@ public class ContentHandlerMapping extends StoreAwareHandlerMapping {
 	protected HandlerMethod lookupHandlerMethod(String lookupPath, HttpServletRequest request)
 			throws Exception {
 
-		String storeLookupPath = StoreUtils.storeLookupPath(lookupPath, this.getConfiguration().getBaseUri());
+		StoreRoute route = routes.route(request, lookupPath);
 
-		if (storeLookupPath != null) {
+		if (route.getStoreLookupPath() != null) {
 			// is a content property, if so look up a handler method?
-			String[] path = storeLookupPath.split("/");
+			String[] path = route.getSegments();
 			if (path.length < 3)
 				return null;
 
-			StoreInfo info2 = contentStores.getStore(Store.class, StoreUtils.withStorePath(path[1]));
+			StoreInfo info2 = route.getStore();
 			if (info2 != null) {
 
 			    if (isFullyQualifiedContentPropertyRequest(path, info2)) {
-			        if (entityResolvers.hasPropertyFor(storeLookupPath)) {
+			        if (route.hasContentProperty()) {
     			        return super.lookupHandlerMethod(lookupPath, request);
     			    }
 
@@ -122,24 +121,23 @@ public class ContentHandlerMapping extends StoreAwareHandlerMapping {
 	@Override
 	protected CorsConfiguration getCorsConfiguration(Object handler, HttpServletRequest request) {
 		String lookupPath = getUrlPathHelper().getLookupPathForRequest(request);
-		String storeLookupPath = StoreUtils.storeLookupPath(lookupPath, this.getConfiguration().getBaseUri());
+		StoreRoute route = routes.route(request, lookupPath);
 		CorsConfiguration corsConfiguration = super.getCorsConfiguration(handler, request);
 
-		if (storeLookupPath == null) {
+		if (route.getStoreLookupPath() == null) {
 			return corsConfiguration;
 		}
 
-		String[] path = storeLookupPath.split("/");
+		String[] path = route.getSegments();
 		if (path.length < 3)
 			return corsConfiguration;
 
-		StoreInfo info2 = contentStores.getStore(Store.class, StoreUtils.withStorePath(path[1]));
+		StoreInfo info2 = route.getStore();
 		if (info2 == null) {
 			return corsConfiguration;
 		}
 
-		CorsConfigurationBuilder builder = new CorsConfigurationBuilder();
-		CorsConfiguration storeCorsConfiguration = builder.build(info2.getInterface());
+		CorsConfiguration storeCorsConfiguration = routes.getCorsConfiguration(info2.getInterface());
 
 		return corsConfiguration == null ? storeCorsConfiguration : corsConfiguration.combine(storeCorsConfiguration);
 	}
@@ -190,7 +188,7 @@ public class ContentHandlerMapping extends StoreAwareHandlerMapping {
 		StoreType typeAnnotation = AnnotationUtils.findAnnotation(method,
 				StoreType.class);
 		if (typeAnnotation != null) {
-			return new StoreCondition(typeAnnotation, this.contentStores, method, this.getConfiguration().getBaseUri());
+			return new StoreCondition(typeAnnotation, this.routes, method);
 		}
 		return null;
 	}
@@ -205,15 +203,13 @@ public class ContentHandlerMapping extends StoreAwareHandlerMapping {
 	public static class StoreCondition implements RequestCondition<StoreCondition> {
 
 		private String storeType = "store";
-		private Stores stores;
+		private StoreRoutes routes;
 		private Method method;
-		private URI baseUri;
 
-		public StoreCondition(StoreType typeAnnotation, Stores stores, Method method, URI baseUri) {
+		public StoreCondition(StoreType typeAnnotation, StoreRoutes routes, Method method) {
 			storeType = typeAnnotation.value();
-			this.stores = stores;
+			this.routes = routes;
 			this.method = method;
-			this.baseUri = baseUri;
 		}
 
 		@Override
@@ -223,15 +219,13 @@ public class ContentHandlerMapping extends StoreAwareHandlerMapping {
 
 		@Override
 		public StoreCondition getMatchingCondition(HttpServletRequest request) {
-			String path = new UrlPathHelper().getPathWithinApplication(request);
+			StoreRoute route = routes.route(request);
 
-			String storeLookupPath = StoreUtils.storeLookupPath(path, baseUri);
-
-			String[] segments = storeLookupPath.split("/");
+			String[] segments = route.getSegments();
 			if (segments.length < 3) {
 				return null;
 			}
-			StoreInfo info = stores.getStore(Store.class, StoreUtils.withStorePath(segments[1]));
+			StoreInfo info = route.getStore();
 			if (info != null
 					&& ((Store.class.isAssignableFrom(info.getInterface())
 							&& "store".equals(storeType))
@@ -253,8 +247,7 @@ public class ContentHandlerMapping extends StoreAwareHandlerMapping {
 					&& other.isMappingForRequest(request))
 				return -1;
 			else {
-				String path = new UrlPathHelper().getPathWithinApplication(request);
-				String storeLookupPath = StoreUtils.storeLookupPath(path, baseUri);
+				String storeLookupPath = routes.route(request).getStoreLookupPath();
 
 				String filename = FilenameUtils.getName(storeLookupPath);
 				String extension = FilenameUtils.getExtension(filename);
@@ -269,19 +262,18 @@ public class ContentHandlerMapping extends StoreAwareHandlerMapping {
 		}
 
 		public boolean isMappingForRequest(HttpServletRequest request) {
-			String path = new UrlPathHelper().getPathWithinApplication(request);
-			String storeLookupPath = StoreUtils.storeLookupPath(path, baseUri);
+			StoreRoute route = routes.route(request);
 
-			String[] segments = storeLookupPath.split("/");
+			String[] segments = route.getSegments();
 			if (segments.length < 3) {
 				return false;
 			}
-			StoreInfo info = stores.getStore(Store.class, StoreUtils.withStorePath(segments[1]));
+			StoreInfo info = route.getStore();
 			if (info != null
-					&& (Store.class.isAssignableFrom(info.getInterface())
+					&& ((Store.class.isAssignableFrom(info.getInterface())
 							&& "store".equals(storeType))
 					|| (ContentStore.class.isAssignableFrom(info.getInterface())
-							&& "contentstore".equals(storeType))) {
+							&& "contentstore".equals(storeType)))) {
 				return true;
 			}
 			return false;
@@ -0,0 +1,91 @@
+package internal.org.springframework.content.rest.mappings;
+
+import java.io.File;
+import java.io.IOException;
+
+import javax.servlet.ServletResponseWrapper;
+import javax.servlet.http.HttpServletRequest;
+
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.server.ServletServerHttpResponse;
+
+import internal.org.springframework.content.rest.io.AssociatedStoreResourceImpl;
+import internal.org.springframework.content.rest.io.StoreResourceImpl;
+
+/**
+ * Hands content held in a file to the servlet container to send with sendfile.
+ * <p>
+ * Only sendfile, as Tomcat's NIO connectors support it, sends the file from the page cache to the socket without
+ * copying it into the heap.  The servlet API gives no other way to reach the socket: transferring the file's channel
+ * into the response's output stream copies every byte through a heap buffer just as a buffered copy does.  So when
+ * the container does not support sendfile the content is left to the usual buffered copy.
+ */
+final class FileResourceTransfer {
+
+    static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    // below this size a buffered write is as cheap as setting up sendfile
+    static final long SENDFILE_MINIMUM = 48 * 1024;
+
+    private FileResourceTransfer() {
+    }
+
+    /**
+     * @return the file holding the resource's content, or null if it is not held in a file.  Renditions are never held
+     * in the file of the content they were rendered from.
+     */
+    static File getFile(Resource resource) throws IOException {
+
+        Resource unwrapped = resource;
+        while (true) {
+            if (unwrapped instanceof AssociatedStoreResourceImpl) {
+                unwrapped = ((AssociatedStoreResourceImpl<?>) unwrapped).getDelegate();
+            } else if (unwrapped instanceof StoreResourceImpl) {
+                unwrapped = ((StoreResourceImpl) unwrapped).getDelegate();
+            } else {
+                break;
+            }
+        }
+
+        if (unwrapped == null || unwrapped instanceof org.springframework.core.io.InputStreamResource || !unwrapped.isFile()) {
+            return null;
+        }
+        return unwrapped.getFile();
+    }
+
+    /**
+     * Hands count bytes of the file, starting at position, to the container to send
+     *
+     * @return false if the container cannot send them with sendfile, or the file no longer holds them, in which case
+     * nothing is written and the caller copies the content itself
+     */
+    static boolean sendfile(File file, long position, long count, HttpServletRequest request, HttpOutputMessage outputMessage) throws IOException {
+
+        if (!canSendfile(count, request, outputMessage) || position + count > file.length()) {
+            return false;
+        }
+
+        request.setAttribute(SENDFILE_FILENAME, file.getCanonicalPath());
+        request.setAttribute(SENDFILE_START, position);
+        request.setAttribute(SENDFILE_END, position + count);
+        // writes the headers; the container sends the file once the response is committed
+        outputMessage.getBody();
+        return true;
+    }
+
+    private static boolean canSendfile(long count, HttpServletRequest request, HttpOutputMessage outputMessage) {
+
+        // asynchronous downloads are written on another thread, after the container would have sent the file
+        if (request == null || count < SENDFILE_MINIMUM || request.isAsyncStarted() || !Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            return false;
+        }
+
+        // a wrapped response may buffer or transform the body, which sendfile would bypass
+        return outputMessage instanceof ServletServerHttpResponse
+                && !(((ServletServerHttpResponse) outputMessage).getServletResponse() instanceof ServletResponseWrapper);
+    }
+}
@@ -0,0 +1,160 @@
+package internal.org.springframework.content.rest.mappings;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.PrintWriter;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * The response of an asynchronous download.
+ * <p>
+ * Writes are split into chunks and each chunk is timed, so that a write making no progress, to a client that has
+ * stopped reading, can be detected as stalled.  Once the download is stopped, because it stalled or because its
+ * asynchronous request timed out or completed, nothing more is written; the container may have recycled the response.
+ */
+class GuardedDownloadResponse extends HttpServletResponseWrapper {
+
+    static final int CHUNK_SIZE = 64 * 1024;
+
+    // how long stopping waits for a write in progress to be abandoned
+    static final long STOP_WAIT_MILLIS = 5000;
+
+    private final long stallTimeoutNanos;
+
+    private final ReentrantLock writing = new ReentrantLock();
+    private volatile boolean stopped = false;
+    private volatile Thread writer;
+    // when the chunk being written started, or 0 when no chunk is being written
+    private volatile long writeStarted = 0;
+
+    private ServletOutputStream out;
+
+    /**
+     * @param stallTimeout how long a chunk may take to write, or null if writes never stall
+     */
+    GuardedDownloadResponse(HttpServletResponse response, Duration stallTimeout) {
+        super(response);
+        this.stallTimeoutNanos = stallTimeout != null && !stallTimeout.isNegative() && !stallTimeout.isZero() ? stallTimeout.toNanos() : Long.MAX_VALUE;
+    }
+
+    @Override
+    public synchronized ServletOutputStream getOutputStream() throws IOException {
+        if (out == null) {
+            out = new GuardedOutputStream(super.getOutputStream());
+        }
+        return out;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        throw new IllegalStateException("Downloads are written to the output stream");
+    }
+
+    boolean isStalled() {
+        long started = writeStarted;
+        return started != 0 && System.nanoTime() - started > stallTimeoutNanos;
+    }
+
+    boolean isStopped() {
+        return stopped;
+    }
+
+    /**
+     * Stops the download, interrupting a write in progress, without waiting for it to be abandoned
+     */
+    void stop() {
+        stopped = true;
+        Thread writing = writer;
+        if (writing != null) {
+            writing.interrupt();
+        }
+    }
+
+    /**
+     * Stops the download and waits for a write in progress to be abandoned, so that the response can be recycled
+     */
+    void stopAndAwait() {
+        stop();
+        try {
+            if (writing.tryLock(STOP_WAIT_MILLIS, TimeUnit.MILLISECONDS)) {
+                writing.unlock();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private interface Write {
+        void write() throws IOException;
+    }
+
+    private void guarded(Write write) throws IOException {
+        writing.lock();
+        try {
+            if (stopped) {
+                throw new InterruptedIOException("Download stopped");
+            }
+            writer = Thread.currentThread();
+            writeStarted = System.nanoTime() | 1;
+            write.write();
+        } finally {
+            writeStarted = 0;
+            writer = null;
+            writing.unlock();
+        }
+    }
+
+    private class GuardedOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+
+        GuardedOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            guarded(() -> delegate.write(b));
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                int offset = off;
+                int length = Math.min(len, CHUNK_SIZE);
+                guarded(() -> delegate.write(b, offset, length));
+                off += length;
+                len -= length;
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            guarded(delegate::flush);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!stopped) {
+                guarded(delegate::close);
+            }
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
@@ -1,20 +1,180 @@
 package internal.org.springframework.content.rest.mappings;
 
+import java.io.File;
 import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
+import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.content.rest.config.RestConfiguration;
 import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourceRegion;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotWritableException;
 import org.springframework.http.converter.ResourceHttpMessageConverter;
 import org.springframework.http.converter.ResourceRegionHttpMessageConverter;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncManager;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.resource.ResourceHttpRequestHandler;
 
-public class StoreByteRangeHttpRequestHandler extends ResourceHttpRequestHandler {
+import internal.org.springframework.content.rest.contentservice.ContentStoreContentService;
+
+/**
+ * Serves content, and byte ranges of content.
+ * <p>
+ * Content held in a file, such as that of a filesystem store, is handed to the container to send with sendfile,
+ * when it supports it, rather than copied through the heap; see {@link FileResourceTransfer}.
+ * <p>
+ * When {@link RestConfiguration#getDownloadExecutor() a download executor} is configured the response is written
+ * on that executor, as asynchronous request processing, so slow clients do not hold container threads.  A write that
+ * stalls for longer than {@link RestConfiguration#getDownloadStallTimeout() the stall timeout} stops the download, and
+ * a download is stopped before its response is recycled when its asynchronous request times out or completes.
+ */
+public class StoreByteRangeHttpRequestHandler extends ResourceHttpRequestHandler implements DisposableBean {
+
+	private static final Logger logger = LoggerFactory.getLogger(StoreByteRangeHttpRequestHandler.class);
+
+	private static final long NO_TIMEOUT = -1;
+	private static final long MINIMUM_CHECK_PERIOD_MILLIS = 10;
+
+	// the converters write the body after the request has been handled by the superclass
+	private final ThreadLocal<HttpServletRequest> currentRequest = new ThreadLocal<>();
+
+	private RestConfiguration config;
+
+	// checks downloads for stalled writes
+	private ScheduledThreadPoolExecutor watchdog;
 
 	public StoreByteRangeHttpRequestHandler() {
 	}
 
+	public StoreByteRangeHttpRequestHandler(RestConfiguration config) {
+		this.config = config;
+	}
+
+	@Override
+	public void handleRequest(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
+
+		AsyncTaskExecutor executor = config != null ? config.getDownloadExecutor() : null;
+		if (executor == null || !request.isAsyncSupported()) {
+			writeResponse(request, response);
+			return;
+		}
+
+		WebAsyncManager asyncManager = WebAsyncUtils.getAsyncManager(request);
+		if (asyncManager.isConcurrentHandlingStarted()) {
+			writeResponse(request, response);
+			return;
+		}
+
+		GuardedDownloadResponse guarded = new GuardedDownloadResponse(response, config.getDownloadStallTimeout());
+
+		Duration timeout = config.getDownloadTimeout();
+		WebAsyncTask<Void> task = new WebAsyncTask<>(timeout != null && !timeout.isNegative() && !timeout.isZero() ? timeout.toMillis() : NO_TIMEOUT, executor, () -> {
+			ScheduledFuture<?> check = watch(guarded, config.getDownloadStallTimeout());
+			try {
+				writeResponse(request, guarded);
+			} catch (Exception e) {
+				if (guarded.isStopped()) {
+					logger.debug("Download stopped", e);
+				} else if (!ContentStoreContentService.isClientAbortException(e)) {
+					logger.error("Unable to handle request", e);
+					throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to handle request", e);
+				}
+			} finally {
+				if (check != null) {
+					check.cancel(false);
+				}
+			}
+			return null;
+		});
+
+		asyncManager.registerCallableInterceptor(GuardedDownloadResponse.class.getName(), new CallableProcessingInterceptor() {
+			@Override
+			public <T> Object handleTimeout(NativeWebRequest webRequest, Callable<T> callable) {
+				guarded.stopAndAwait();
+				return RESULT_NONE;
+			}
+
+			@Override
+			public <T> Object handleError(NativeWebRequest webRequest, Callable<T> callable, Throwable t) {
+				guarded.stopAndAwait();
+				return RESULT_NONE;
+			}
+
+			@Override
+			public <T> void afterCompletion(NativeWebRequest webRequest, Callable<T> callable) {
+				guarded.stopAndAwait();
+			}
+		});
+
+		try {
+			asyncManager.startCallableProcessing(task);
+		} catch (IOException | ServletException | RuntimeException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new ServletException(e);
+		}
+	}
+
+	private ScheduledFuture<?> watch(GuardedDownloadResponse guarded, Duration stallTimeout) {
+		if (stallTimeout == null || stallTimeout.isNegative() || stallTimeout.isZero()) {
+			return null;
+		}
+		long period = Math.max(MINIMUM_CHECK_PERIOD_MILLIS, stallTimeout.toMillis() / 4);
+		return getWatchdog().scheduleWithFixedDelay(() -> {
+			if (guarded.isStalled()) {
+				logger.debug("Stopping stalled download");
+				guarded.stop();
+			}
+		}, period, period, TimeUnit.MILLISECONDS);
+	}
+
+	private synchronized ScheduledThreadPoolExecutor getWatchdog() {
+		if (watchdog == null) {
+			watchdog = new ScheduledThreadPoolExecutor(1, r -> {
+				Thread thread = new Thread(r, "content-download-watchdog");
+				thread.setDaemon(true);
+				return thread;
+			});
+			watchdog.setRemoveOnCancelPolicy(true);
+		}
+		return watchdog;
+	}
+
+	@Override
+	public synchronized void destroy() {
+		if (watchdog != null) {
+			watchdog.shutdownNow();
+		}
+	}
+
+	private void writeResponse(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
+		currentRequest.set(request);
+		try {
+			super.handleRequest(request, response);
+		} finally {
+			currentRequest.remove();
+		}
+	}
+
 	@Override
 	protected Resource getResource(HttpServletRequest request) throws IOException {
 		return (Resource) request.getAttribute("SPRING_CONTENT_RESOURCE");
@@ -30,7 +190,46 @@ public class StoreByteRangeHttpRequestHandler extends ResourceHttpRequestHandler
 
 	@Override
 	public void afterPropertiesSet() throws Exception {
-		this.setResourceHttpMessageConverter(new ResourceHttpMessageConverter());
-		this.setResourceRegionHttpMessageConverter(new ResourceRegionHttpMessageConverter());
+		this.setResourceHttpMessageConverter(new FileResourceHttpMessageConverter());
+		this.setResourceRegionHttpMessageConverter(new FileResourceRegionHttpMessageConverter());
+	}
+
+	private class FileResourceHttpMessageConverter extends ResourceHttpMessageConverter {
+
+		@Override
+		protected void writeContent(Resource resource, HttpOutputMessage outputMessage) throws IOException, HttpMessageNotWritableException {
+			File file = FileResourceTransfer.getFile(resource);
+			long length = resource.contentLength();
+			if (file != null && length >= 0 && FileResourceTransfer.sendfile(file, 0, length, currentRequest.get(), outputMessage)) {
+				return;
+			}
+			super.writeContent(resource, outputMessage);
+		}
+	}
+
+	private class FileResourceRegionHttpMessageConverter extends ResourceRegionHttpMessageConverter {
+
+		@Override
+		protected void writeResourceRegion(ResourceRegion region, HttpOutputMessage outputMessage) throws IOException {
+			File file = FileResourceTransfer.getFile(region.getResource());
+			if (file == null) {
+				super.writeResourceRegion(region, outputMessage);
+				return;
+			}
+
+			long start = region.getPosition();
+			long resourceLength = region.getResource().contentLength();
+			long end = Math.min(start + region.getCount() - 1, resourceLength - 1);
+			long rangeLength = end - start + 1;
+
+			HttpHeaders headers = outputMessage.getHeaders();
+			headers.add(HttpHeaders.CONTENT_RANGE, "bytes " + start + '-' + end + '/' + resourceLength);
+			headers.setContentLength(rangeLength);
+
+			if (!FileResourceTransfer.sendfile(file, start, rangeLength, currentRequest.get(), outputMessage)) {
+				headers.remove(HttpHeaders.CONTENT_RANGE);
+				super.writeResourceRegion(region, outputMessage);
+			}
+		}
 	}
 }
@@ -0,0 +1,90 @@
+package internal.org.springframework.content.rest.mappings;
+
+import org.springframework.content.commons.storeservice.StoreInfo;
+
+import internal.org.springframework.content.rest.controllers.resolvers.EntityRoute;
+
+/**
+ * The route of a store request: the path within the base uri, its segments and, computed when first needed, its
+ * store and entity route.
+ */
+public class StoreRoute {
+
+    private static final String[] NO_SEGMENTS = new String[0];
+
+    private final StoreRoutes routes;
+    private final String requestUri;
+    private final String path;
+    private final String storeLookupPath;
+    private final String[] segments;
+
+    private boolean storeResolved;
+    private StoreInfo store;
+
+    private boolean entityRouted;
+    private EntityRoute entityRoute;
+    private Boolean contentProperty;
+
+    StoreRoute(StoreRoutes routes, String requestUri, String path) {
+        this.routes = routes;
+        this.requestUri = requestUri;
+        this.path = path;
+        this.storeLookupPath = routes.storeLookupPath(path);
+        this.segments = storeLookupPath != null ? storeLookupPath.split("/") : NO_SEGMENTS;
+    }
+
+    String getRequestUri() {
+        return requestUri;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * @return the path within the base uri, or null if the path is not within the base uri
+     */
+    public String getStoreLookupPath() {
+        return storeLookupPath;
+    }
+
+    /**
+     * @return the segments of the store lookup path; the first is empty and the second the store path
+     */
+    public String[] getSegments() {
+        return segments;
+    }
+
+    /**
+     * @return the store exported at the path's store path, or null
+     */
+    public StoreInfo getStore() {
+        if (!storeResolved) {
+            store = segments.length > 1 ? routes.getStore(segments[1]) : null;
+            storeResolved = true;
+        }
+        return store;
+    }
+
+    /**
+     * @return the route of the path through the entity resolvers, or null if no entity resolver matches it
+     */
+    public EntityRoute getEntityRoute() {
+        if (!entityRouted) {
+            entityRoute = storeLookupPath != null ? routes.getEntityResolvers().route(storeLookupPath, getStore()) : null;
+            entityRouted = true;
+        }
+        return entityRoute;
+    }
+
+    /**
+     * @return true if the path's entity route is to a content property of the store's domain class
+     */
+    public boolean hasContentProperty() {
+        if (contentProperty == null) {
+            EntityRoute route = getEntityRoute();
+            contentProperty = route != null && route.getResolver().hasPropertyFor(route);
+        }
+        return contentProperty;
+    }
+}
@@ -0,0 +1,122 @@
+package internal.org.springframework.content.rest.mappings;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.springframework.content.commons.repository.Store;
+import org.springframework.content.commons.storeservice.StoreInfo;
+import org.springframework.content.commons.storeservice.Stores;
+import org.springframework.content.rest.config.RestConfiguration;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.util.UrlPathHelper;
+
+import internal.org.springframework.content.rest.controllers.resolvers.EntityResolvers;
+import internal.org.springframework.content.rest.utils.StoreUtils;
+
+/**
+ * Routes store requests.
+ * <p>
+ * A request is routed once: its path is split, its store looked up and its entity, if any, matched to an entity
+ * resolver and the route cached as a request attribute for the handler mapping, its conditions and the argument
+ * resolvers.  Stores are memoized by store path and CORS configurations by store interface.
+ */
+public class StoreRoutes {
+
+    static final String ROUTE_ATTRIBUTE = StoreRoutes.class.getName() + ".ROUTE";
+    static final String LOOKUP_ROUTE_ATTRIBUTE = StoreRoutes.class.getName() + ".LOOKUP_ROUTE";
+
+    private static final int MAXIMUM_CACHED = 1024;
+
+    private static final UrlPathHelper urlPathHelper = new UrlPathHelper();
+
+    private final Stores stores;
+    private final EntityResolvers entityResolvers;
+    private final RestConfiguration config;
+
+    private final Map<String, Optional<StoreInfo>> storesByPath = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Optional<CorsConfiguration>> corsConfigurations = new ConcurrentHashMap<>();
+
+    public StoreRoutes(Stores stores, EntityResolvers entityResolvers, RestConfiguration config) {
+        this.stores = stores;
+        this.entityResolvers = entityResolvers;
+        this.config = config;
+    }
+
+    /**
+     * @return the route of the request's path within the application
+     */
+    public StoreRoute route(HttpServletRequest request) {
+
+        StoreRoute route = cached(request, ROUTE_ATTRIBUTE, null);
+        if (route == null) {
+            route = new StoreRoute(this, request.getRequestURI(), urlPathHelper.getPathWithinApplication(request));
+            request.setAttribute(ROUTE_ATTRIBUTE, route);
+        }
+        return route;
+    }
+
+    /**
+     * @return the route of the request's lookup path
+     */
+    public StoreRoute route(HttpServletRequest request, String lookupPath) {
+
+        StoreRoute route = cached(request, LOOKUP_ROUTE_ATTRIBUTE, lookupPath);
+        if (route == null) {
+            route = cached(request, ROUTE_ATTRIBUTE, lookupPath);
+        }
+        if (route == null) {
+            route = new StoreRoute(this, request.getRequestURI(), lookupPath);
+            request.setAttribute(LOOKUP_ROUTE_ATTRIBUTE, route);
+        }
+        return route;
+    }
+
+    /**
+     * @return the store exported at the given path, or null
+     */
+    public StoreInfo getStore(String storePath) {
+
+        Optional<StoreInfo> store = storesByPath.get(storePath);
+        if (store == null) {
+            store = Optional.ofNullable(stores.getStore(Store.class, StoreUtils.withStorePath(storePath)));
+            if (storesByPath.size() < MAXIMUM_CACHED) {
+                storesByPath.put(storePath, store);
+            }
+        }
+        return store.orElse(null);
+    }
+
+    /**
+     * @return the CORS configuration of the store interface's {@code @CrossOrigin} annotation, or null
+     */
+    public CorsConfiguration getCorsConfiguration(Class<?> storeInterface) {
+        return corsConfigurations
+                .computeIfAbsent(storeInterface, (clazz) -> Optional.ofNullable(new CorsConfigurationBuilder().build(clazz)))
+                .orElse(null);
+    }
+
+    EntityResolvers getEntityResolvers() {
+        return entityResolvers;
+    }
+
+    String storeLookupPath(String path) {
+        return StoreUtils.storeLookupPath(path, config.getBaseUri());
+    }
+
+    private static StoreRoute cached(HttpServletRequest request, String attribute, String path) {
+
+        Object cached = request.getAttribute(attribute);
+        if (cached instanceof StoreRoute) {
+            StoreRoute route = (StoreRoute) cached;
+            // forwards and error dispatches reuse the request's attributes
+            if (Objects.equals(route.getRequestUri(), request.getRequestURI()) && (path == null || route.getPath().equals(path))) {
+                return route;
+            }
+        }
+        return null;
+    }
+}
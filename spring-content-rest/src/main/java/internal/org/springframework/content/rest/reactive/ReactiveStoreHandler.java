@@ -0,0 +1,347 @@
+package internal.org.springframework.content.rest.reactive;
+
+import static java.lang.String.format;
+
+import java.lang.annotation.Annotation;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import org.springframework.content.commons.mappingcontext.ContentProperty;
+import org.springframework.content.commons.mappingcontext.MappingContext;
+import org.springframework.content.commons.property.PropertyPath;
+import org.springframework.content.commons.repository.ReactiveContentStore;
+import org.springframework.content.commons.storeservice.StoreInfo;
+import org.springframework.content.commons.storeservice.Stores;
+import org.springframework.content.commons.utils.BeanUtils;
+import org.springframework.content.rest.config.RestConfiguration;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.reactive.function.BodyExtractors;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.server.RequestPredicates;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ResponseStatusException;
+
+import internal.org.springframework.content.rest.utils.HeaderUtils;
+import internal.org.springframework.content.rest.utils.StoreUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Handles the content requests of {@link ReactiveContentStore}s on WebFlux.
+ * <p>
+ * Requests are mapped as {@code StoreRestController} maps them, {@code /{store}/{id}/{contentProperty}}, within the
+ * base uri.  Content is streamed between the exchange and the store; no request or response is held on a thread while
+ * the store reads or writes.
+ */
+public class ReactiveStoreHandler {
+
+    private static final String ROUTE_ATTRIBUTE = ReactiveStoreHandler.class.getName() + ".ROUTE";
+
+    private static final Class<? extends Annotation> JPA_VERSION = jpaVersion();
+
+    private final RestConfiguration config;
+    private final Stores stores;
+    private final Repositories repositories;
+    private final MappingContext mappingContext;
+
+    public ReactiveStoreHandler(RestConfiguration config, Stores stores, Repositories repositories, MappingContext mappingContext) {
+        this.config = config;
+        this.stores = stores;
+        this.repositories = repositories;
+        this.mappingContext = mappingContext;
+    }
+
+    /**
+     * @return the content endpoints of the reactive stores
+     */
+    public RouterFunction<ServerResponse> routes() {
+        return RouterFunctions.route(RequestPredicates.GET("/**").and(this::isStoreRequest), this::getContent)
+                .andRoute(RequestPredicates.PUT("/**").and(this::isStoreRequest), this::setContent)
+                .andRoute(RequestPredicates.POST("/**").and(this::isStoreRequest), this::setContent)
+                .andRoute(RequestPredicates.DELETE("/**").and(this::isStoreRequest), this::unsetContent);
+    }
+
+    boolean isStoreRequest(ServerRequest request) {
+        return route(request) != null;
+    }
+
+    public Mono<ServerResponse> getContent(ServerRequest request) {
+
+        StoreRoute route = route(request);
+
+        return findEntity(route).flatMap(entity -> {
+
+            if (route.property.getContentId(entity) == null) {
+                return Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND));
+            }
+
+            String etag = etag(entity);
+            if (StringUtils.hasText(etag) && request.exchange().checkNotModified(etag)) {
+                return ServerResponse.status(HttpStatus.NOT_MODIFIED).build();
+            }
+
+            DataBufferFactory bufferFactory = request.exchange().getResponse().bufferFactory();
+
+            MediaType mimeType = mimeType(route.property.getMimeType(entity));
+            long length = length(route.property.getContentLength(entity));
+
+            List<HttpRange> ranges;
+            try {
+                ranges = request.headers().range();
+            } catch (IllegalArgumentException iae) {
+                return rangeNotSatisfiable(length);
+            }
+
+            // multiple ranges would each need the content from the start; the range header is ignored instead
+            if (ranges.size() == 1 && length >= 0) {
+                HttpRange range = ranges.get(0);
+                long start, end;
+                try {
+                    start = range.getRangeStart(length);
+                    end = range.getRangeEnd(length);
+                } catch (IllegalArgumentException iae) {
+                    return rangeNotSatisfiable(length);
+                }
+
+                // the store fetches only the range, when it can
+                long rangeStart = start, rangeLength = end - start + 1;
+                Flux<DataBuffer> body = Flux.defer(() -> route.store.getContent(entity, route.path, rangeStart, rangeLength)).map(bufferFactory::wrap);
+                return ServerResponse.status(HttpStatus.PARTIAL_CONTENT)
+                        .contentType(mimeType)
+                        .contentLength(end - start + 1)
+                        .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                        .header(HttpHeaders.CONTENT_RANGE, format("bytes %d-%d/%d", start, end, length))
+                        .body(BodyInserters.fromDataBuffers(body));
+            }
+
+            Flux<DataBuffer> content = Flux.defer(() -> route.store.getContent(entity, route.path)).map(bufferFactory::wrap);
+            ServerResponse.BodyBuilder response = ServerResponse.ok()
+                    .contentType(mimeType)
+                    .header(HttpHeaders.ACCEPT_RANGES, "bytes");
+            if (length >= 0) {
+                response.contentLength(length);
+            }
+            return response.body(BodyInserters.fromDataBuffers(content));
+        });
+    }
+
+    public Mono<ServerResponse> setContent(ServerRequest request) {
+
+        StoreRoute route = route(request);
+
+        MediaType contentType = request.headers().contentType().orElse(MediaType.APPLICATION_OCTET_STREAM);
+        if (MediaType.MULTIPART_FORM_DATA.includes(contentType)) {
+            return ServerResponse.status(HttpStatus.UNSUPPORTED_MEDIA_TYPE).build();
+        }
+
+        // the store is given the content's length up front
+        long contentLength = request.headers().contentLength().orElse(-1);
+        if (contentLength < 0) {
+            return ServerResponse.status(HttpStatus.LENGTH_REQUIRED).build();
+        }
+
+        return findEntity(route).flatMap(entity -> {
+
+            boolean isNew = route.property.getContentId(entity) == null;
+            if (!isNew) {
+                HeaderUtils.evaluateHeaderConditions(request.headers().asHttpHeaders(), etag(entity), null);
+            }
+
+            route.property.setMimeType(entity, contentType.toString());
+
+            Flux<ByteBuffer> content = request.body(BodyExtractors.toDataBuffers()).map(ReactiveStoreHandler::toByteBuffer);
+
+            return route.store.setContent(entity, route.path, contentLength, content)
+                    .flatMap(updated -> saveEntity(route, updated))
+                    .then(ServerResponse.status(isNew ? HttpStatus.CREATED : HttpStatus.OK).build());
+        });
+    }
+
+    public Mono<ServerResponse> unsetContent(ServerRequest request) {
+
+        StoreRoute route = route(request);
+
+        return findEntity(route).flatMap(entity -> {
+
+            if (route.property.getContentId(entity) == null) {
+                return Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND));
+            }
+
+            HeaderUtils.evaluateHeaderConditions(request.headers().asHttpHeaders(), etag(entity), null);
+
+            return route.store.unsetContent(entity, route.path)
+                    .flatMap(updated -> {
+                        route.property.setMimeType(updated, null);
+                        route.property.setOriginalFileName(updated, null);
+                        return saveEntity(route, updated);
+                    })
+                    .then(ServerResponse.noContent().build());
+        });
+    }
+
+    StoreRoute route(ServerRequest request) {
+
+        Object cached = request.attributes().get(ROUTE_ATTRIBUTE);
+        if (cached instanceof StoreRoute) {
+            return (StoreRoute) cached;
+        }
+
+        String lookupPath = StoreUtils.storeLookupPath(request.requestPath().pathWithinApplication().value(), config.getBaseUri());
+        if (lookupPath == null) {
+            return null;
+        }
+
+        String[] segments = lookupPath.split("/");
+        if (segments.length < 3) {
+            return null;
+        }
+
+        StoreInfo info = stores.getStore(ReactiveContentStore.class, StoreUtils.withStorePath(segments[1]));
+        if (info == null || info.getDomainObjectClass() == null) {
+            return null;
+        }
+
+        String propertyPath = String.join("/", Arrays.copyOfRange(segments, 3, segments.length));
+        ContentProperty property = null;
+        if (propertyPath.isEmpty()) {
+            Iterator<ContentProperty> properties = mappingContext.getContentProperties(info.getDomainObjectClass()).iterator();
+            property = properties.hasNext() ? properties.next() : null;
+        } else {
+            property = mappingContext.getContentProperty(info.getDomainObjectClass(), propertyPath);
+        }
+        if (property == null) {
+            return null;
+        }
+
+        StoreRoute route = new StoreRoute(info, StringUtils.uriDecode(segments[2], StandardCharsets.UTF_8), property);
+        request.attributes().put(ROUTE_ATTRIBUTE, route);
+        return route;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Mono<Object> findEntity(StoreRoute route) {
+
+        Class<?> domainClass = route.info.getDomainObjectClass();
+        RepositoryInformation ri = repositories.getRepositoryInformationFor(domainClass).orElse(null);
+        Object repository = repositories.getRepositoryFor(domainClass).orElse(null);
+        if (ri == null || repository == null) {
+            return Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND));
+        }
+
+        ConversionService converters = (ConversionService) config.converters();
+        Object id = converters.canConvert(String.class, ri.getIdType()) ? converters.convert(route.id, ri.getIdType()) : route.id;
+
+        Mono<Object> entity;
+        if (repository instanceof ReactiveCrudRepository) {
+            entity = ((ReactiveCrudRepository<Object, Object>) repository).findById(id);
+        } else if (repository instanceof CrudRepository) {
+            // a blocking repository is kept off the event loop
+            entity = Mono.fromCallable(() -> ((CrudRepository<Object, Object>) repository).findById(id).orElse(null))
+                    .subscribeOn(Schedulers.boundedElastic());
+        } else {
+            return Mono.error(new ResponseStatusException(HttpStatus.METHOD_NOT_ALLOWED));
+        }
+        return entity.switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Mono<Object> saveEntity(StoreRoute route, Object entity) {
+
+        Object repository = repositories.getRepositoryFor(route.info.getDomainObjectClass()).orElse(null);
+
+        if (repository instanceof ReactiveCrudRepository) {
+            return ((ReactiveCrudRepository<Object, Object>) repository).save(entity);
+        }
+        return Mono.fromCallable(() -> ((CrudRepository<Object, Object>) repository).save(entity))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private static Mono<ServerResponse> rangeNotSatisfiable(long length) {
+        ServerResponse.BodyBuilder response = ServerResponse.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE);
+        if (length >= 0) {
+            response.header(HttpHeaders.CONTENT_RANGE, format("bytes */%d", length));
+        }
+        return response.build();
+    }
+
+    private static String etag(Object entity) {
+        Object etag = BeanUtils.getFieldWithAnnotation(entity, Version.class);
+        if (etag == null && JPA_VERSION != null) {
+            etag = BeanUtils.getFieldWithAnnotation(entity, JPA_VERSION);
+        }
+        return etag != null ? etag.toString() : "";
+    }
+
+    private static MediaType mimeType(Object mimeType) {
+        if (mimeType != null) {
+            try {
+                return MediaType.parseMediaType(mimeType.toString());
+            } catch (IllegalArgumentException iae) {}
+        }
+        return MediaType.APPLICATION_OCTET_STREAM;
+    }
+
+    private static long length(Object length) {
+        return length instanceof Number ? ((Number) length).longValue() : -1L;
+    }
+
+    // stores may hold on to a buffer after the exchange has released it
+    private static ByteBuffer toByteBuffer(DataBuffer buffer) {
+        try {
+            ByteBuffer copy = ByteBuffer.allocate(buffer.readableByteCount());
+            copy.put(buffer.asByteBuffer());
+            copy.flip();
+            return copy;
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Class<? extends Annotation> jpaVersion() {
+        try {
+            return (Class<? extends Annotation>) ClassUtils.forName("javax.persistence.Version", ReactiveStoreHandler.class.getClassLoader());
+        } catch (ClassNotFoundException | LinkageError e) {
+            return null;
+        }
+    }
+
+    static class StoreRoute {
+
+        private final StoreInfo info;
+        private final ReactiveContentStore<Object, ?> store;
+        private final String id;
+        private final ContentProperty property;
+        private final PropertyPath path;
+
+        @SuppressWarnings("unchecked")
+        StoreRoute(StoreInfo info, String id, ContentProperty property) {
+            this.info = info;
+            this.store = info.getImplementation(ReactiveContentStore.class);
+            this.id = id;
+            this.property = property;
+            this.path = PropertyPath.from(property.getContentPropertyPath());
+        }
+    }
+}
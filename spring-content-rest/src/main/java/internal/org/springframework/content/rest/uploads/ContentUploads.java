@@ -0,0 +1,402 @@
+package internal.org.springframework.content.rest.uploads;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Properties;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.http.MediaType;
+import org.springframework.util.Assert;
+
+import internal.org.springframework.content.rest.controllers.BadRequestException;
+import internal.org.springframework.content.rest.controllers.ConflictException;
+import internal.org.springframework.content.rest.controllers.PayloadTooLargeException;
+import internal.org.springframework.content.rest.controllers.ResourceNotFoundException;
+
+/**
+ * The resumable uploads in progress.
+ * <p>
+ * An upload's parts are spooled, each to its own file, as they arrive, in any order and in parallel, and are read back
+ * in order as the upload's content when it completes.  A part is only kept once it has been received whole so that a
+ * failed part can simply be sent again.  Uploads that see no parts for the time to live are discarded, periodically.
+ * <p>
+ * An upload is completed, or aborted, by first claiming it, renaming its directory, so that exactly one request
+ * completes or aborts it and other requests for the upload are rejected meanwhile.
+ */
+public class ContentUploads implements InitializingBean, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContentUploads.class);
+
+    public static final int MAXIMUM_PARTS = 10000;
+
+    private static final String METADATA = "upload.properties";
+    private static final String PART_SUFFIX = ".part";
+    private static final String CLAIMED_SUFFIX = ".claimed";
+
+    private static final long MAXIMUM_PURGE_INTERVAL_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    private final File directory;
+    private final boolean temporary;
+    private final Duration timeToLive;
+    private final long maximumPartSize;
+    private final long maximumSize;
+
+    // uploads claimed by this application, which are never purged
+    private final Set<String> claimed = ConcurrentHashMap.newKeySet();
+
+    private ScheduledThreadPoolExecutor purger;
+
+    /**
+     * @param directory the directory uploads are spooled to, or null to spool them to a directory of their own that
+     *          is deleted when the application stops
+     * @param maximumPartSize the maximum size, in bytes, of a part
+     * @param maximumSize the maximum size, in bytes, of an upload
+     */
+    public ContentUploads(File directory, Duration timeToLive, long maximumPartSize, long maximumSize) {
+        Assert.notNull(timeToLive, "timeToLive must not be null");
+        Assert.isTrue(maximumPartSize > 0, "maximumPartSize must be greater than 0");
+        Assert.isTrue(maximumSize > 0, "maximumSize must be greater than 0");
+        this.temporary = directory == null;
+        if (directory == null) {
+            try {
+                // readable only by the application's user, unlike the temporary directory itself
+                directory = Files.createTempDirectory("spring-content-uploads").toFile();
+            } catch (IOException e) {
+                throw new IllegalStateException("Unable to create upload directory", e);
+            }
+        }
+        this.directory = directory;
+        this.timeToLive = timeToLive;
+        this.maximumPartSize = maximumPartSize;
+        this.maximumSize = maximumSize;
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        long interval = Math.max(1000, Math.min(MAXIMUM_PURGE_INTERVAL_MILLIS, timeToLive.toMillis() / 4));
+        purger = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread thread = new Thread(r, "content-uploads-purge");
+            thread.setDaemon(true);
+            return thread;
+        });
+        purger.scheduleWithFixedDelay(this::purgeExpired, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        if (purger != null) {
+            purger.shutdownNow();
+        }
+        if (temporary) {
+            FileUtils.deleteQuietly(directory);
+        }
+    }
+
+    /**
+     * Starts an upload of content of the given mime type to the target
+     */
+    public Upload create(String target, MediaType mimeType) throws IOException {
+
+        String id = UUID.randomUUID().toString();
+        File uploadDirectory = new File(directory, id);
+        Files.createDirectories(uploadDirectory.toPath());
+
+        Properties metadata = new Properties();
+        metadata.setProperty("target", target);
+        metadata.setProperty("mimeType", (mimeType != null ? mimeType : MediaType.APPLICATION_OCTET_STREAM).toString());
+        try (OutputStream out = Files.newOutputStream(new File(uploadDirectory, METADATA).toPath())) {
+            metadata.store(out, null);
+        }
+
+        return new Upload(id, uploadDirectory, metadata);
+    }
+
+    /**
+     * @return the upload to the target
+     * @throws ResourceNotFoundException if there is no such upload to the target
+     * @throws ConflictException if the upload is being completed or aborted
+     */
+    public Upload get(String id, String target) throws IOException {
+
+        try {
+            id = UUID.fromString(id).toString();
+        } catch (IllegalArgumentException iae) {
+            throw new ResourceNotFoundException();
+        }
+
+        File uploadDirectory = new File(directory, id);
+        Properties metadata = new Properties();
+        try (InputStream in = Files.newInputStream(new File(uploadDirectory, METADATA).toPath())) {
+            metadata.load(in);
+        } catch (NoSuchFileException e) {
+            throw missing(id);
+        }
+        if (!target.equals(metadata.getProperty("target"))) {
+            throw new ResourceNotFoundException();
+        }
+
+        return new Upload(id, uploadDirectory, metadata);
+    }
+
+    void purgeExpired() {
+
+        File[] uploadDirectories = directory.listFiles(File::isDirectory);
+        if (uploadDirectories == null) {
+            return;
+        }
+
+        long expiry = System.currentTimeMillis() - timeToLive.toMillis();
+        for (File uploadDirectory : uploadDirectories) {
+            String id = uploadDirectory.getName();
+            if (id.endsWith(CLAIMED_SUFFIX) && claimed.contains(id.substring(0, id.length() - CLAIMED_SUFFIX.length()))) {
+                continue;
+            }
+            // an upload left claimed, by an application that stopped, expires like any other
+            File metadataFile = new File(uploadDirectory, METADATA);
+            if (metadataFile.exists() && metadataFile.lastModified() < expiry) {
+                FileUtils.deleteQuietly(uploadDirectory);
+                logger.debug("Discarded expired upload {}", id);
+            }
+        }
+    }
+
+    // an upload that cannot be found may have been claimed by a request completing or aborting it
+    private RuntimeException missing(String id) {
+        if (new File(directory, id + CLAIMED_SUFFIX).exists()) {
+            return new ConflictException(String.format("Upload %s is being completed or aborted", id));
+        }
+        return new ResourceNotFoundException();
+    }
+
+    public class Upload {
+
+        private final String id;
+        private final File directory;
+        private final Properties metadata;
+        private final boolean claim;
+
+        Upload(String id, File directory, Properties metadata) {
+            this(id, directory, metadata, false);
+        }
+
+        private Upload(String id, File directory, Properties metadata, boolean claim) {
+            this.id = id;
+            this.directory = directory;
+            this.metadata = metadata;
+            this.claim = claim;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public MediaType getMimeType() {
+            return MediaType.parseMediaType(metadata.getProperty("mimeType"));
+        }
+
+        /**
+         * Spools a part, replacing any part of the same number
+         *
+         * @return the part's size
+         */
+        public long writePart(int partNumber, InputStream content) throws IOException {
+
+            if (partNumber < 1 || partNumber > MAXIMUM_PARTS) {
+                throw new BadRequestException(String.format("Part number must be between 1 and %d", MAXIMUM_PARTS));
+            }
+
+            long otherParts = 0;
+            for (Map.Entry<Integer, Long> part : getParts().entrySet()) {
+                if (part.getKey() != partNumber) {
+                    otherParts += part.getValue();
+                }
+            }
+            long limit = Math.min(maximumPartSize, maximumSize - otherParts);
+
+            Path received;
+            try {
+                received = Files.createTempFile(directory.toPath(), partName(partNumber), ".tmp");
+            } catch (NoSuchFileException e) {
+                throw missing(id);
+            }
+            try {
+                long size;
+                try (OutputStream out = Files.newOutputStream(received)) {
+                    // read no more than one byte past the limit
+                    size = IOUtils.copyLarge(content, out, 0, Math.max(limit, 0) + 1);
+                }
+                if (size > limit) {
+                    throw tooLarge();
+                }
+                try {
+                    Files.move(received, new File(directory, partName(partNumber)).toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (NoSuchFileException e) {
+                    throw missing(id);
+                }
+
+                new File(directory, METADATA).setLastModified(System.currentTimeMillis());
+                return size;
+            } finally {
+                Files.deleteIfExists(received);
+            }
+        }
+
+        /**
+         * @return the size of each part received, by part number
+         */
+        public SortedMap<Integer, Long> getParts() {
+
+            SortedMap<Integer, Long> parts = new TreeMap<>();
+
+            File[] files = directory.listFiles((dir, name) -> name.endsWith(PART_SUFFIX));
+            if (files != null) {
+                for (File file : files) {
+                    parts.put(Integer.parseInt(file.getName().substring(0, file.getName().length() - PART_SUFFIX.length())), file.length());
+                }
+            }
+            return parts;
+        }
+
+        /**
+         * @return the parts, in order, as one stream
+         * @throws BadRequestException if a part is missing
+         */
+        public InputStream getContent() throws IOException {
+
+            SortedMap<Integer, Long> parts = getParts();
+            if (parts.isEmpty() || parts.lastKey() != parts.size()) {
+                throw new BadRequestException(String.format("Upload %s is missing parts", id));
+            }
+            // parts sent in parallel may together exceed the limit each was checked against
+            if (parts.values().stream().mapToLong(Long::longValue).sum() > maximumSize) {
+                throw tooLarge();
+            }
+
+            List<File> files = new ArrayList<>();
+            for (Integer partNumber : parts.keySet()) {
+                files.add(new File(directory, partName(partNumber)));
+            }
+            return new SequenceInputStream(new PartEnumeration(files));
+        }
+
+        /**
+         * Claims the upload, to complete or abort it, so that no other request can complete, abort or add parts to it
+         *
+         * @return the claimed upload, to be deleted once completed or aborted, or released if completing it fails
+         * @throws ConflictException if the upload is already claimed
+         */
+        public Upload claim() throws IOException {
+
+            Assert.state(!claim, "upload is already claimed");
+
+            File claimedDirectory = new File(directory.getParentFile(), id + CLAIMED_SUFFIX);
+            claimed.add(id);
+            try {
+                Files.move(directory.toPath(), claimedDirectory.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            } catch (NoSuchFileException | FileAlreadyExistsException e) {
+                claimed.remove(id);
+                throw missing(id);
+            } catch (IOException e) {
+                claimed.remove(id);
+                // some filesystems report a rename onto an existing directory differently
+                if (claimedDirectory.exists()) {
+                    throw missing(id);
+                }
+                throw e;
+            }
+            new File(claimedDirectory, METADATA).setLastModified(System.currentTimeMillis());
+
+            return new Upload(id, claimedDirectory, metadata, true);
+        }
+
+        /**
+         * Releases a claimed upload that failed to complete, so that it can be completed again
+         */
+        public void release() {
+
+            Assert.state(claim, "upload is not claimed");
+
+            try {
+                Files.move(directory.toPath(), new File(directory.getParentFile(), id).toPath(), StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                logger.warn(String.format("Unable to release upload %s", id), e);
+            } finally {
+                claimed.remove(id);
+            }
+        }
+
+        public void delete() {
+            FileUtils.deleteQuietly(directory);
+            if (claim) {
+                claimed.remove(id);
+            }
+        }
+
+        private PayloadTooLargeException tooLarge() {
+            return new PayloadTooLargeException(String.format("Parts must be no larger than %d bytes and uploads no larger than %d bytes", maximumPartSize, maximumSize));
+        }
+
+        private String partName(int partNumber) {
+            return String.format("%05d%s", partNumber, PART_SUFFIX);
+        }
+    }
+
+    // opens each part as it is reached
+    private static class PartEnumeration implements Enumeration<InputStream> {
+
+        private final List<File> files;
+        private int next = 0;
+
+        PartEnumeration(List<File> files) {
+            this.files = Collections.unmodifiableList(files);
+        }
+
+        @Override
+        public boolean hasMoreElements() {
+            return next < files.size();
+        }
+
+        @Override
+        public InputStream nextElement() {
+            if (!hasMoreElements()) {
+                throw new NoSuchElementException();
+            }
+            try {
+                return Files.newInputStream(files.get(next++).toPath());
+            } catch (IOException e) {
+                throw new IllegalStateException(String.format("Unable to read part %s", files.get(next - 1)), e);
+            }
+        }
+    }
+}
@@ -5,6 +5,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.net.URL;
+import java.util.function.Function;
 
 import internal.org.springframework.content.rest.annotations.ContentStoreRestResource;
 import org.atteo.evo.inflector.English;
@@ -24,15 +25,24 @@ public final class StoreUtils {
 	private StoreUtils() {
 	}
 
+	/**
+	 * Indexes stores by their store path
+	 */
+	public static final Function<StoreInfo, Object> STORE_PATH = StoreUtils::storePath;
+
 	public static StoreFilter withStorePath(String storePath) {
-		return new StoreFilter() {
+		return new IndexedStoreFilter() {
 			@Override
 			public String name() {
 				return storePath;
 			}
 			@Override
-			public boolean matches(StoreInfo info) {
-				return storePath.equals(storePath(info));
+			public Function<StoreInfo, Object> index() {
+				return STORE_PATH;
+			}
+			@Override
+			public Object key() {
+				return storePath;
 			}
 		};
 	}
@@ -1,12 +1,14 @@
 package org.springframework.content.rest.config;
 
 import internal.org.springframework.content.rest.links.ContentLinksResourceProcessor;
+import internal.org.springframework.content.rest.links.ContentLinksResourceProcessor.ContentLinkTemplatesProcessor;
 import org.springframework.content.commons.mappingcontext.MappingContext;
 import org.springframework.content.commons.storeservice.Stores;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 import org.springframework.data.rest.webmvc.PersistentEntityResource;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.server.RepresentationModelProcessor;
 
 @Configuration
@@ -17,4 +19,9 @@ public class HypermediaConfiguration {
 	public RepresentationModelProcessor<PersistentEntityResource> contentLinksProcessor(Stores stores, RestConfiguration config, MappingContext mappingContext) {
 		return new ContentLinksResourceProcessor(stores, config, mappingContext);
 	}
+
+	@Bean
+	public RepresentationModelProcessor<CollectionModel<PersistentEntityResource>> contentLinkTemplatesProcessor(Stores stores, RestConfiguration config, MappingContext mappingContext) {
+		return new ContentLinkTemplatesProcessor(stores, config, mappingContext);
+	}
 }
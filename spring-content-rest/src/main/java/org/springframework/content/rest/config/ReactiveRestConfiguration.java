@@ -0,0 +1,85 @@
+package org.springframework.content.rest.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.NoSuchBeanDefinitionException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.content.commons.mappingcontext.MappingContext;
+import org.springframework.content.commons.storeservice.StoreInfo;
+import org.springframework.content.commons.storeservice.Stores;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import internal.org.springframework.content.rest.reactive.ReactiveStoreHandler;
+
+/**
+ * Exports the content of {@link org.springframework.content.commons.repository.ReactiveContentStore}s on WebFlux.
+ * <p>
+ * The content endpoints have the uris of those {@link RestConfiguration} exports on Spring MVC and are configured by
+ * the same {@link ContentRestConfigurer}s.
+ */
+@Configuration
+public class ReactiveRestConfiguration implements InitializingBean {
+
+	@Autowired
+	private ApplicationContext context;
+
+	@Autowired(required = false)
+	private List<ContentRestConfigurer> configurers = new ArrayList<>();
+
+	private RestConfiguration config;
+
+	public RestConfiguration getRestConfiguration() {
+		return config;
+	}
+
+	@Bean
+	ReactiveStoreHandler reactiveStoreHandler(ObjectProvider<Stores> storesProvider, ObjectProvider<MappingContext> mappingContextProvider) {
+
+		// shares the stores and mapping context of a RestConfiguration in the same context, if any
+		Stores stores = storesProvider.getIfUnique(config::getStores);
+		MappingContext mappingContext = mappingContextProvider.getIfUnique(() -> mappingContext(stores));
+
+		Repositories repositories = null;
+		try {
+			repositories = context.getBean(Repositories.class);
+		} catch (NoSuchBeanDefinitionException nsbde) {
+			repositories = new Repositories(context);
+		}
+
+		return new ReactiveStoreHandler(config, stores, repositories, mappingContext);
+	}
+
+	@Bean
+	RouterFunction<ServerResponse> reactiveStoreRoutes(ReactiveStoreHandler reactiveStoreHandler) {
+		return reactiveStoreHandler.routes();
+	}
+
+	private static MappingContext mappingContext(Stores stores) {
+		MappingContext context = new MappingContext("/", ".");
+
+		for (StoreInfo info : stores.getStores(Stores.MATCH_ALL)) {
+			if (info.getDomainObjectClass() != null) {
+				context.getContentProperties(info.getDomainObjectClass());
+			}
+		}
+
+		return context;
+	}
+
+	@Override
+	public void afterPropertiesSet() throws Exception {
+
+		config = new RestConfiguration(context);
+		for (ContentRestConfigurer configurer : configurers) {
+			configurer.configure(config);
+		}
+	}
+}
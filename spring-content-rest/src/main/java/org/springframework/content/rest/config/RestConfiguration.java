@@ -1,12 +1,17 @@
 package org.springframework.content.rest.config;
 
+import java.io.File;
 import java.io.InputStream;
 import java.lang.reflect.Method;
 import java.net.URI;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
@@ -15,6 +20,7 @@ import org.springframework.content.commons.mappingcontext.MappingContext;
 import org.springframework.content.commons.storeservice.StoreInfo;
 import org.springframework.content.commons.storeservice.StoreResolver;
 import org.springframework.content.commons.storeservice.Stores;
+import org.springframework.content.commons.utils.MimeTypeRegistry;
 import org.springframework.content.rest.config.StoreCacheControlInterceptor.StoreCacheControlConfigurer;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
@@ -24,9 +30,14 @@ import org.springframework.core.convert.ConversionService;
 import org.springframework.core.convert.converter.ConverterRegistry;
 import org.springframework.core.convert.support.DefaultConversionService;
 import org.springframework.core.io.Resource;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ConcurrentTaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.data.repository.support.DefaultRepositoryInvokerFactory;
 import org.springframework.data.repository.support.Repositories;
 import org.springframework.data.repository.support.RepositoryInvokerFactory;
+import org.springframework.data.rest.extensions.contentsearch.ContentSearchResultCache;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.util.Assert;
@@ -40,7 +51,9 @@ import internal.org.springframework.content.rest.controllers.resolvers.DefaultEn
 import internal.org.springframework.content.rest.controllers.resolvers.EntityResolvers;
 import internal.org.springframework.content.rest.controllers.resolvers.RevisionEntityResolver;
 import internal.org.springframework.content.rest.mappings.ContentHandlerMapping;
+import internal.org.springframework.content.rest.mappings.StoreRoutes;
 import internal.org.springframework.content.rest.mappings.StoreByteRangeHttpRequestHandler;
+import internal.org.springframework.content.rest.uploads.ContentUploads;
 
 @Configuration
 @ComponentScan("internal.org.springframework.content.rest.controllers, org.springframework.data.rest.extensions, org.springframework.data.rest.versioning")
@@ -48,6 +61,15 @@ public class RestConfiguration implements InitializingBean {
 
     public static boolean FULLY_QUALIFIED_DEFAULTS_DEFAULT = true;
     public static boolean SHORTCUT_LINKS_DEFAULT = true;
+    public static int SEARCH_RESULT_CACHE_SIZE_DEFAULT = 0;
+    public static Duration SEARCH_RESULT_CACHE_TTL_DEFAULT = Duration.ofMinutes(5);
+    public static Duration UPLOAD_TTL_DEFAULT = Duration.ofHours(24);
+    public static long UPLOAD_MAXIMUM_PART_SIZE_DEFAULT = 1024L * 1024 * 1024;
+    public static long UPLOAD_MAXIMUM_SIZE_DEFAULT = 64L * 1024 * 1024 * 1024;
+    public static int ARCHIVE_READ_AHEAD_DEFAULT = 4;
+    public static int ARCHIVE_THREADS_DEFAULT = 16;
+    public static int ARCHIVE_MAXIMUM_ENTRIES_DEFAULT = 10000;
+    public static Duration DOWNLOAD_STALL_TIMEOUT_DEFAULT = Duration.ofMinutes(1);
 
 	private static final URI NO_URI = URI.create("");
 
@@ -61,7 +83,22 @@ public class RestConfiguration implements InitializingBean {
 	private StoreCorsRegistry corsRegistry;
 	private boolean fullyQualifiedLinks = FULLY_QUALIFIED_DEFAULTS_DEFAULT;
     private boolean shortcutLinks = SHORTCUT_LINKS_DEFAULT;
+    private boolean contentLinkTemplates = false;
+    private AsyncTaskExecutor downloadExecutor = null;
+    private Duration downloadTimeout = null;
+    private Duration downloadStallTimeout = DOWNLOAD_STALL_TIMEOUT_DEFAULT;
+    private Duration presignedUrlValidity = null;
+    private File uploadDirectory = null;
+    private Duration uploadTimeToLive = UPLOAD_TTL_DEFAULT;
+    private long uploadMaximumPartSize = UPLOAD_MAXIMUM_PART_SIZE_DEFAULT;
+    private long uploadMaximumSize = UPLOAD_MAXIMUM_SIZE_DEFAULT;
+    private int archiveReadAhead = ARCHIVE_READ_AHEAD_DEFAULT;
+    private TaskExecutor archiveExecutor = archiveExecutor(ARCHIVE_THREADS_DEFAULT);
+    private int archiveMaximumEntries = ARCHIVE_MAXIMUM_ENTRIES_DEFAULT;
+    private int searchResultCacheSize = SEARCH_RESULT_CACHE_SIZE_DEFAULT;
+    private Duration searchResultCacheTimeToLive = SEARCH_RESULT_CACHE_TTL_DEFAULT;
 	private ConverterRegistry converters = new DefaultConversionService();
+	private MimeTypeRegistry mimeTypes = MimeTypeRegistry.getDefault();
 
 	private Map<Class<?>, DomainTypeConfig> domainTypeConfigMap = new HashMap<>();
 	private Exclusions shortcutExclusions = new Exclusions();
@@ -73,6 +110,11 @@ public class RestConfiguration implements InitializingBean {
 		this.corsRegistry = new StoreCorsRegistry();
 	}
 
+	RestConfiguration(ApplicationContext context) {
+		this();
+		this.context = context;
+	}
+
 	public URI getBaseUri() {
 		return baseUri;
 	}
@@ -97,6 +139,181 @@ public class RestConfiguration implements InitializingBean {
         this.shortcutLinks = shortcutLinks;
     }
 
+    public boolean contentLinkTemplates() {
+        return contentLinkTemplates;
+    }
+
+    /**
+     * When true, collection resources carry their entities' content links once, as links templated on the entity id,
+     * instead of each entity carrying its own.  Defaults to false.
+     */
+    public void setContentLinkTemplates(boolean contentLinkTemplates) {
+        this.contentLinkTemplates = contentLinkTemplates;
+    }
+
+    public AsyncTaskExecutor getDownloadExecutor() {
+        return downloadExecutor;
+    }
+
+    /**
+     * Sets the executor content is written to clients on, as asynchronous requests, releasing the container's request
+     * thread while the content is transferred.  Defaults to null, which writes content on the request thread.
+     * <p>
+     * On Java 21 an executor of virtual threads, such as
+     * {@code new TaskExecutorAdapter(Executors.newVirtualThreadPerTaskExecutor())}, lets many slow downloads proceed
+     * concurrently without a thread each.
+     */
+    public void setDownloadExecutor(AsyncTaskExecutor downloadExecutor) {
+        this.downloadExecutor = downloadExecutor;
+    }
+
+    public Duration getDownloadTimeout() {
+        return downloadTimeout;
+    }
+
+    /**
+     * Sets how long an asynchronous download may take, in total, before it is abandoned.  Defaults to null, no
+     * timeout, so that large downloads to clients that keep reading are never cut short; see
+     * {@link #setDownloadStallTimeout(Duration)}.
+     */
+    public void setDownloadTimeout(Duration downloadTimeout) {
+        this.downloadTimeout = downloadTimeout;
+    }
+
+    public Duration getDownloadStallTimeout() {
+        return downloadStallTimeout;
+    }
+
+    /**
+     * Sets how long a single write of an asynchronous download may block, on a client that has stopped reading, before
+     * the download is abandoned.  Defaults to one minute.  Null disables the check.
+     */
+    public void setDownloadStallTimeout(Duration downloadStallTimeout) {
+        this.downloadStallTimeout = downloadStallTimeout;
+    }
+
+    public Duration getPresignedUrlValidity() {
+        return presignedUrlValidity;
+    }
+
+    /**
+     * Sets how long the presigned URLs that downloads are redirected to are valid for.  When set, requests for content
+     * held by a store that can presign URLs, such as S3, Azure Storage or Google Cloud Storage, are redirected to read
+     * the content straight from the storage.  Defaults to null, which serves all content through the application.
+     */
+    public void setPresignedUrlValidity(Duration presignedUrlValidity) {
+        this.presignedUrlValidity = presignedUrlValidity;
+    }
+
+    public File getUploadDirectory() {
+        return uploadDirectory;
+    }
+
+    /**
+     * Sets the directory the parts of resumable uploads are spooled to until the upload completes.  Uploads spooled
+     * to a directory survive the application restarting.  Defaults to null, which spools uploads to a new directory,
+     * readable only by the application's user, that is deleted when the application stops.
+     */
+    public void setUploadDirectory(File uploadDirectory) {
+        this.uploadDirectory = uploadDirectory;
+    }
+
+    public Duration getUploadTimeToLive() {
+        return uploadTimeToLive;
+    }
+
+    /**
+     * Sets how long a resumable upload is kept after its last part is received.  Defaults to 24 hours.
+     */
+    public void setUploadTimeToLive(Duration uploadTimeToLive) {
+        Assert.notNull(uploadTimeToLive, "uploadTimeToLive must not be null");
+        this.uploadTimeToLive = uploadTimeToLive;
+    }
+
+    public long getUploadMaximumPartSize() {
+        return uploadMaximumPartSize;
+    }
+
+    /**
+     * Sets the maximum size, in bytes, of a part of a resumable upload.  Larger parts are rejected with 413 Payload Too
+     * Large.  Defaults to 1 GiB.
+     */
+    public void setUploadMaximumPartSize(long uploadMaximumPartSize) {
+        Assert.isTrue(uploadMaximumPartSize > 0, "uploadMaximumPartSize must be greater than 0");
+        this.uploadMaximumPartSize = uploadMaximumPartSize;
+    }
+
+    public long getUploadMaximumSize() {
+        return uploadMaximumSize;
+    }
+
+    /**
+     * Sets the maximum size, in bytes, of a resumable upload, across all of its parts.  A part that takes an upload
+     * over this size is rejected with 413 Payload Too Large.  Defaults to 64 GiB.
+     */
+    public void setUploadMaximumSize(long uploadMaximumSize) {
+        Assert.isTrue(uploadMaximumSize > 0, "uploadMaximumSize must be greater than 0");
+        this.uploadMaximumSize = uploadMaximumSize;
+    }
+
+    public int getArchiveReadAhead() {
+        return archiveReadAhead;
+    }
+
+    /**
+     * Sets how many entries of a ZIP archive download are fetched from their store, in parallel, ahead of the entry
+     * being written.  Defaults to 4.  0 fetches each entry only when it is written.
+     */
+    public void setArchiveReadAhead(int archiveReadAhead) {
+        Assert.isTrue(archiveReadAhead >= 0, "archiveReadAhead must not be negative");
+        this.archiveReadAhead = archiveReadAhead;
+    }
+
+    public TaskExecutor getArchiveExecutor() {
+        return archiveExecutor;
+    }
+
+    /**
+     * Sets the executor the entries of ZIP archive downloads are fetched ahead on.  Defaults to an executor, shared by
+     * all archive downloads, of at most 16 threads; entries fetched ahead beyond that wait for a thread.
+     */
+    public void setArchiveExecutor(TaskExecutor archiveExecutor) {
+        Assert.notNull(archiveExecutor, "archiveExecutor must not be null");
+        this.archiveExecutor = archiveExecutor;
+    }
+
+    public int getArchiveMaximumEntries() {
+        return archiveMaximumEntries;
+    }
+
+    /**
+     * Sets the maximum number of entities a ZIP archive download may archive.  A request for more is rejected with 400
+     * Bad Request.  Defaults to 10000.
+     */
+    public void setArchiveMaximumEntries(int archiveMaximumEntries) {
+        Assert.isTrue(archiveMaximumEntries > 0, "archiveMaximumEntries must be greater than 0");
+        this.archiveMaximumEntries = archiveMaximumEntries;
+    }
+
+    public int getSearchResultCacheSize() {
+        return searchResultCacheSize;
+    }
+
+    /**
+     * Sets the maximum number of fulltext search results to cache.  Defaults to 0, which disables caching.
+     */
+    public void setSearchResultCacheSize(int searchResultCacheSize) {
+        this.searchResultCacheSize = searchResultCacheSize;
+    }
+
+    public Duration getSearchResultCacheTimeToLive() {
+        return searchResultCacheTimeToLive;
+    }
+
+    public void setSearchResultCacheTimeToLive(Duration searchResultCacheTimeToLive) {
+        this.searchResultCacheTimeToLive = searchResultCacheTimeToLive;
+    }
+
 	public StoreCorsRegistry getCorsRegistry() {
 		return corsRegistry;
 	}
@@ -141,6 +358,19 @@ public class RestConfiguration implements InitializingBean {
 	    return converters;
 	}
 
+	/**
+	 * @return the registry the mime types of Store content are resolved from.  Shared with renderers unless replaced
+	 * with {@link #setMimeTypeRegistry(MimeTypeRegistry)}.
+	 */
+	public MimeTypeRegistry mimeTypes() {
+	    return mimeTypes;
+	}
+
+	public void setMimeTypeRegistry(MimeTypeRegistry mimeTypes) {
+	    Assert.notNull(mimeTypes, "mimeTypes must not be null");
+	    this.mimeTypes = mimeTypes;
+	}
+
 	@Bean
 	Stores stores() {
 	    return this.getStores();
@@ -151,6 +381,11 @@ public class RestConfiguration implements InitializingBean {
 	    return this.getStoreHandlerInterceptor();
 	}
 
+    @Bean
+    ContentSearchResultCache contentSearchResultCache() {
+        return new ContentSearchResultCache(searchResultCacheSize, searchResultCacheTimeToLive);
+    }
+
     @Bean
     MappingContext mappingContext() {
         MappingContext context = new MappingContext("/", ".");
@@ -165,18 +400,37 @@ public class RestConfiguration implements InitializingBean {
     }
 
 	@Bean
-	RequestMappingHandlerMapping contentHandlerMapping(Stores stores, EntityResolvers entityResolvers) {
-		ContentHandlerMapping mapping = new ContentHandlerMapping(stores, entityResolvers, this);
+	RequestMappingHandlerMapping contentHandlerMapping(StoreRoutes storeRoutes) {
+		ContentHandlerMapping mapping = new ContentHandlerMapping(storeRoutes, this);
 		mapping.setCorsConfigurations(this.getCorsRegistry().getCorsConfigurations());
         mapping.setInterceptors(this.getStoreHandlerInterceptor());
 		return mapping;
 	}
 
+	@Bean
+	StoreRoutes storeRoutes(Stores stores, EntityResolvers entityResolvers) {
+		return new StoreRoutes(stores, entityResolvers, this);
+	}
+
 	@Bean
 	StoreByteRangeHttpRequestHandler byteRangeRestRequestHandler() {
-		return new StoreByteRangeHttpRequestHandler();
+		return new StoreByteRangeHttpRequestHandler(this);
 	}
 
+	@Bean
+	ContentUploads contentUploads() {
+		return new ContentUploads(uploadDirectory, uploadTimeToLive, uploadMaximumPartSize, uploadMaximumSize);
+	}
+
+    // daemon threads, started on demand and stopped when idle, so that the executor needs no shutting down
+    private static TaskExecutor archiveExecutor(int threads) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("content-archive-");
+        threadFactory.setDaemon(true);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), threadFactory);
+        executor.allowCoreThreadTimeOut(true);
+        return new ConcurrentTaskExecutor(executor);
+    }
+
 	@Bean
 	EntityResolvers entityResolvers(ApplicationContext context, Stores stores, MappingContext mappingContext) {
 
@@ -229,7 +483,7 @@ public class RestConfiguration implements InitializingBean {
 		private Stores stores;
 
 		@Autowired
-		private EntityResolvers entityResolvers;
+		private StoreRoutes storeRoutes;
 
 		@Autowired
 		private MappingContext mappingContext;
@@ -237,7 +491,7 @@ public class RestConfiguration implements InitializingBean {
 		@Override
 		public void addArgumentResolvers(List<HandlerMethodArgumentResolver> argumentResolvers) {
 
-			argumentResolvers.add(new ResourceHandlerMethodArgumentResolver(context, config, repositories, stores, mappingContext, entityResolvers));
+			argumentResolvers.add(new ResourceHandlerMethodArgumentResolver(context, config, repositories, stores, mappingContext, storeRoutes));
 		}
 
 		@Override
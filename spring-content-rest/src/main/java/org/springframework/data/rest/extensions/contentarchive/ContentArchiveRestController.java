@@ -0,0 +1,341 @@
+package org.springframework.data.rest.extensions.contentarchive;
+
+import static java.lang.String.format;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+
+import javax.servlet.http.HttpServletResponse;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.content.commons.mappingcontext.ContentProperty;
+import org.springframework.content.commons.mappingcontext.MappingContext;
+import org.springframework.content.commons.property.PropertyPath;
+import org.springframework.content.commons.repository.ContentStore;
+import org.springframework.content.commons.storeservice.StoreInfo;
+import org.springframework.content.commons.storeservice.Stores;
+import org.springframework.content.rest.config.RestConfiguration;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.data.rest.core.mapping.SearchResourceMappings;
+import org.springframework.data.rest.extensions.contentsearch.ContentSearchRestController;
+import org.springframework.data.rest.webmvc.RepositoryRestController;
+import org.springframework.data.rest.webmvc.ResourceNotFoundException;
+import org.springframework.data.rest.webmvc.RootResourceInformation;
+import org.springframework.data.rest.webmvc.support.DefaultedPageable;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import internal.org.springframework.content.rest.archives.ContentArchive;
+import internal.org.springframework.content.rest.contentservice.ContentStoreContentService;
+import internal.org.springframework.content.rest.controllers.BadRequestException;
+
+/**
+ * Downloads the content of many entities, selected by id or by a repository query method, as one ZIP archive.
+ * <p>
+ * The results of a query method are read, a page at a time, as the archive is written.  Requests for more than the
+ * configured maximum number of entries are rejected before the archive is started when the number is known up front:
+ * the ids given, the total of a {@link Page} or the size of a collection.  Otherwise, i.e. for a {@link Slice}, the
+ * archive ends, unfinished, at the maximum.
+ */
+@RepositoryRestController
+public class ContentArchiveRestController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContentArchiveRestController.class);
+
+    public static final String APPLICATION_ZIP_VALUE = "application/zip";
+
+    private static final String ENTITIES_MAPPING = "/{repository}";
+    private static final String SEARCH_MAPPING = "/{repository}/search/{search}";
+
+    private final Repositories repositories;
+    private final Stores stores;
+    private final MappingContext mappingContext;
+    private final RestConfiguration config;
+
+    @Autowired
+    public ContentArchiveRestController(Repositories repositories, Stores stores, MappingContext mappingContext, RestConfiguration config) {
+        this.repositories = repositories;
+        this.stores = stores;
+        this.mappingContext = mappingContext;
+        this.config = config;
+    }
+
+    @RequestMapping(value = ENTITIES_MAPPING, method = RequestMethod.GET, params = "ids", produces = APPLICATION_ZIP_VALUE)
+    public void archiveContent(RootResourceInformation repoInfo,
+            @PathVariable String repository,
+            @RequestParam("ids") List<String> ids,
+            @RequestParam(name = "property", required = false) String property,
+            @RequestParam(name = "compression", required = false) String compression,
+            HttpServletResponse response) throws IOException {
+
+        Class<?> domainType = repoInfo.getDomainType();
+
+        checkMaximumEntries(ids.size());
+
+        RepositoryInformation ri = repositories.getRepositoryInformationFor(domainType).orElseThrow(ResourceNotFoundException::new);
+        Set<Object> entityIds = new LinkedHashSet<>();
+        for (String id : ids) {
+            entityIds.add(DefaultConversionService.getSharedInstance().convert(id, ri.getIdType()));
+        }
+
+        List<Object> entities = new ArrayList<>();
+        Optional<Object> repo = repositories.getRepositoryFor(domainType);
+        if (repo.isPresent() && repo.get() instanceof CrudRepository) {
+            ContentSearchRestController.fetchEntitiesInBatches((CrudRepository<?, ?>) repo.get(), new ArrayList<>(entityIds), entities);
+        } else {
+            for (Object id : entityIds) {
+                repoInfo.getInvoker().invokeFindById(id).ifPresent(entities::add);
+            }
+        }
+
+        if (entities.size() < entityIds.size()) {
+            throw new ResourceNotFoundException();
+        }
+
+        writeArchive(repository, domainType, entities.iterator(), property, compression, response);
+    }
+
+    @RequestMapping(value = SEARCH_MAPPING, method = RequestMethod.GET, produces = APPLICATION_ZIP_VALUE)
+    public void archiveContent(RootResourceInformation repoInfo,
+            @PathVariable String repository,
+            @PathVariable String search,
+            @RequestParam MultiValueMap<String, Object> parameters,
+            @RequestParam(name = "property", required = false) String property,
+            @RequestParam(name = "compression", required = false) String compression,
+            DefaultedPageable pageable,
+            Sort sort,
+            HttpServletResponse response) throws IOException {
+
+        SearchResourceMappings searchMappings = repoInfo.getSearchMappings();
+        if (!searchMappings.isExported()) {
+            throw new ResourceNotFoundException();
+        }
+
+        Method method = searchMappings.getMappedMethod(search);
+        if (method == null) {
+            throw new ResourceNotFoundException();
+        }
+
+        // every page of a paged query method's results is archived, unless the request asks for a page
+        QueryResults results = new QueryResults(repoInfo, method, parameters, pageable.getPageable(), sort, pageable.isDefault());
+        if (results.total >= 0) {
+            checkMaximumEntries(results.total);
+        }
+
+        writeArchive(repository, repoInfo.getDomainType(), results, property, compression, response);
+    }
+
+    private void checkMaximumEntries(long entries) {
+        if (entries > config.getArchiveMaximumEntries()) {
+            throw new BadRequestException(format("Too many entries to archive, at most %d are allowed", config.getArchiveMaximumEntries()));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void writeArchive(String repository, Class<?> domainType, Iterator<Object> entities, String property, String compression, HttpServletResponse response) throws IOException {
+
+        StoreInfo[] infos = stores.getStores(ContentStore.class, Stores.withDomainClass(domainType));
+
+        if (infos.length == 0) {
+            throw new ResourceNotFoundException("Entity has no content associations");
+        }
+
+        if (infos.length > 1) {
+            throw new IllegalStateException(format("Too many content assocation for Entity %s", domainType.getCanonicalName()));
+        }
+
+        ContentStore<Object, ?> store = infos[0].getImplementation(ContentStore.class);
+
+        ContentProperty contentProperty = null;
+        if (property != null) {
+            contentProperty = mappingContext.getContentProperty(domainType, property);
+        } else if (!mappingContext.getContentProperties(domainType).isEmpty()) {
+            contentProperty = mappingContext.getContentProperties(domainType).iterator().next();
+        }
+        if (contentProperty == null) {
+            throw new BadRequestException(format("Unknown content property %s", property));
+        }
+
+        int method = ZipEntry.DEFLATED;
+        if ("stored".equalsIgnoreCase(compression)) {
+            method = ZipEntry.STORED;
+        } else if (compression != null && !"deflate".equalsIgnoreCase(compression)) {
+            throw new BadRequestException(format("Unknown compression %s, expected stored or deflate", compression));
+        }
+
+        Iterator<ContentArchive.Entry> entries = new Entries(entities, store, contentProperty, config.getArchiveMaximumEntries());
+
+        response.setContentType(APPLICATION_ZIP_VALUE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(repository + ".zip").build().toString());
+
+        try {
+            new ContentArchive(config.getArchiveExecutor(), config.getArchiveReadAhead(), method).write(entries, response.getOutputStream());
+        } catch (IOException e) {
+            // the response is committed, so the client sees the archive end abruptly
+            if (!ContentStoreContentService.isClientAbortException(e)) {
+                logger.error(format("Unable to archive content of %s", repository), e);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * The results of a query method, read a page at a time as they are iterated
+     */
+    private static class QueryResults implements Iterator<Object> {
+
+        private final RootResourceInformation repoInfo;
+        private final Method method;
+        private final MultiValueMap<String, Object> parameters;
+        private final Sort sort;
+        private final boolean allPages;
+
+        // the number of results, or -1 if it is not known until they have all been read
+        private final long total;
+
+        private Iterator<?> current = Collections.emptyIterator();
+        private Pageable next;
+
+        QueryResults(RootResourceInformation repoInfo, Method method, MultiValueMap<String, Object> parameters, Pageable pageable, Sort sort, boolean allPages) {
+            this.repoInfo = repoInfo;
+            this.method = method;
+            this.parameters = parameters;
+            this.sort = sort;
+            this.allPages = allPages;
+
+            Object first = fetch(pageable);
+            if (first instanceof Page) {
+                Page<?> page = (Page<?>) first;
+                this.total = allPages ? page.getTotalElements() : page.getNumberOfElements();
+            } else if (first instanceof Slice) {
+                this.total = allPages && ((Slice<?>) first).hasNext() ? -1 : ((Slice<?>) first).getNumberOfElements();
+            } else if (first instanceof Collection) {
+                this.total = ((Collection<?>) first).size();
+            } else {
+                this.total = first != null ? 1 : 0;
+            }
+        }
+
+        private Object fetch(Pageable pageable) {
+            next = null;
+            Object result = repoInfo.getInvoker().invokeQueryMethod(method, parameters, pageable, sort).orElse(null);
+            if (result == null) {
+                current = Collections.emptyIterator();
+            } else if (result instanceof Iterable) {
+                current = ((Iterable<?>) result).iterator();
+            } else {
+                current = Collections.singleton(result).iterator();
+            }
+
+            if (result instanceof Slice && allPages && ((Slice<?>) result).hasNext()) {
+                next = ((Slice<?>) result).nextPageable();
+            }
+            return result;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!current.hasNext() && next != null) {
+                fetch(next);
+            }
+            return current.hasNext();
+        }
+
+        @Override
+        public Object next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return current.next();
+        }
+    }
+
+    /**
+     * The archive entries of entities with content, made as the archive takes them
+     */
+    private static class Entries implements Iterator<ContentArchive.Entry> {
+
+        private final Iterator<Object> entities;
+        private final ContentStore<Object, ?> store;
+        private final ContentProperty contentProperty;
+        private final PropertyPath path;
+        private final int maximumEntries;
+
+        private ContentArchive.Entry next;
+        private int count = 0;
+
+        Entries(Iterator<Object> entities, ContentStore<Object, ?> store, ContentProperty contentProperty, int maximumEntries) {
+            this.entities = entities;
+            this.store = store;
+            this.contentProperty = contentProperty;
+            this.path = PropertyPath.from(contentProperty.getContentPropertyPath());
+            this.maximumEntries = maximumEntries;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && entities.hasNext()) {
+                next = entry(entities.next());
+            }
+            return next != null;
+        }
+
+        @Override
+        public ContentArchive.Entry next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            ContentArchive.Entry entry = next;
+            next = null;
+            return entry;
+        }
+
+        private ContentArchive.Entry entry(Object entity) {
+
+            Object contentId = contentProperty.getContentId(entity);
+            if (contentId == null) {
+                return null;
+            }
+
+            Object originalFileName = contentProperty.getOriginalFileName(entity);
+            String name = originalFileName != null ? originalFileName.toString() : contentId.toString();
+            boolean allowed = ++count <= maximumEntries;
+            return new ContentArchive.Entry(name, () -> {
+                if (!allowed) {
+                    // the count was not known up front, so the response has already started
+                    throw new IOException(format("Too many entries to archive, at most %d are allowed", maximumEntries));
+                }
+                InputStream content = store.getContent(entity, path);
+                if (content == null) {
+                    throw new IOException(format("Content %s not found", contentId));
+                }
+                return content;
+            });
+        }
+    }
+}
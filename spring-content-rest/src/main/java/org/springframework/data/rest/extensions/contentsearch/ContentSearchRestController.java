@@ -7,6 +7,7 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.security.Principal;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -76,6 +77,7 @@ public class ContentSearchRestController {
     private QueryMethodsEntityLookupStrategy qmLookupStrategy;
 
     private ReflectionService reflectionService;
+    private ContentSearchResultCache resultCache;
 
     static {
         put(searchMethods, "search", ReflectionUtils.findMethod(Searchable.class, "search", new Class<?>[] { String.class}));
@@ -112,6 +114,11 @@ public class ContentSearchRestController {
         this.qmLookupStrategy = lookupStrategy;
     }
 
+    @Autowired(required = false)
+    public void setContentSearchResultCache(ContentSearchResultCache resultCache) {
+        this.resultCache = resultCache;
+    }
+
     @SuppressWarnings({ "rawtypes", "unchecked" })
     @StoreType("contentstore")
     @ResponseBody
@@ -121,22 +128,23 @@ public class ContentSearchRestController {
             DefaultedPageable pageable,
             Sort sort,
             PersistentEntityResourceAssembler assembler,
+            Principal principal,
             @PathVariable String repository,
             @RequestParam(name = "queryString") String queryString) {
 
-        return searchContentInternal(repoInfo, repository, pageable, sort, assembler, "search", new String[] { queryString });
+        return searchContentInternal(repoInfo, repository, pageable, sort, assembler, principal, "search", new String[] { queryString });
     }
 
     @SuppressWarnings({ "rawtypes", "unchecked" })
     @StoreType("contentstore")
     @ResponseBody
     @RequestMapping(value = ENTITY_SEARCHMETHOD_MAPPING, method = RequestMethod.GET)
-    public CollectionModel<?> searchContent(RootResourceInformation repoInfo, DefaultedPageable pageable, Sort sort, PersistentEntityResourceAssembler assembler, @PathVariable String repository, @RequestParam(name = "keyword") List<String> keywords) {
+    public CollectionModel<?> searchContent(RootResourceInformation repoInfo, DefaultedPageable pageable, Sort sort, PersistentEntityResourceAssembler assembler, Principal principal, @PathVariable String repository, @RequestParam(name = "keyword") List<String> keywords) {
 
-        return searchContentInternal(repoInfo, repository, pageable, sort, assembler, "findKeyword", keywords.toArray(new String[] {}));
+        return searchContentInternal(repoInfo, repository, pageable, sort, assembler, principal, "findKeyword", keywords.toArray(new String[] {}));
     }
 
-    private CollectionModel<?> searchContentInternal(RootResourceInformation repoInfo, String repository, DefaultedPageable pageable, Sort sort, PersistentEntityResourceAssembler assembler, String searchMethod, String[] keywords) {
+    private CollectionModel<?> searchContentInternal(RootResourceInformation repoInfo, String repository, DefaultedPageable pageable, Sort sort, PersistentEntityResourceAssembler assembler, Principal principal, String searchMethod, String[] keywords) {
 
         StoreInfo[] infos = stores.getStores(ContentStore.class, new StoreFilter() {
             @Override
@@ -187,13 +195,45 @@ public class ContentSearchRestController {
             returnType = InternalResult.class;
         }
 
-        Object[] argValues = (pageable.unpagedIfDefault().isUnpaged()) ? new String[] {keywords[0]} : new Object[] {keywords[0], pageable.getPageable()};
-        Iterable<?> intermediateResults = (Iterable<?>)reflectionService.invokeMethod(method, store, argValues);
+        Class<?> resultType = returnType;
+        boolean unpaged = pageable.unpagedIfDefault().isUnpaged();
+        Object[] argValues = unpaged ? new String[] {keywords[0]} : new Object[] {keywords[0], pageable.getPageable()};
+
+        Iterable<?> hits;
+        if (resultCache != null) {
+            // filter query providers may scope results to the current user
+            List<Object> key = Arrays.asList(info.getInterface(), searchMethod, keywords[0], unpaged ? null : pageable.getPageable(), sort, principal != null ? principal.getName() : null);
+            hits = resultCache.get(repoInfo.getDomainType(), key, () -> searchHits(store, method, argValues));
+        } else {
+            hits = searchHits(store, method, argValues);
+        }
 
-        if (intermediateResults == null || intermediateResults.iterator().hasNext() == false) {
+        if (hits == null || hits.iterator().hasNext() == false) {
             return CollectionModel.empty();
         }
 
+        SearchResults searchResults = toSearchResults(repoInfo, repository, pageable, hits, resultType);
+        return ControllerUtils.toCollectionModel(searchResults.getResults(), pagedResourcesAssembler, searchResults.isEntities() ? assembler : null, searchResults.getType());
+    }
+
+    private Iterable<?> searchHits(ContentStore<Object, Serializable> store, Method method, Object[] argValues) {
+
+        Iterable<?> hits = (Iterable<?>)reflectionService.invokeMethod(method, store, argValues);
+        if (hits == null) {
+            return null;
+        }
+
+        // hits may be cached, so copy them out of whatever the store returned
+        List<Object> content = new ArrayList<>();
+        hits.forEach(content::add);
+        if (hits instanceof Page) {
+            return new PageImpl<>(content, ((Page<?>)hits).getPageable(), ((Page<?>)hits).getTotalElements());
+        }
+        return content;
+    }
+
+    private SearchResults toSearchResults(RootResourceInformation repoInfo, String repository, DefaultedPageable pageable, Iterable<?> intermediateResults, Class<?> returnType) {
+
         final List<Object> results = new ArrayList<>();
 
         RepositoryInformation ri = RepositoryUtils.findRepositoryInformation(repositories, repository);
@@ -239,11 +279,11 @@ public class ContentSearchRestController {
             }
 
             Iterable<?> wrappedResults = convertToFinalResultType(results, pageable, intermediateResults);
-            return ControllerUtils.toCollectionModel(wrappedResults, pagedResourcesAssembler, assembler, domainClass);
+            return new SearchResults(wrappedResults, domainClass, true);
         } else {
             intermediateResults.forEach(results::add);
             Iterable<?> wrappedResults = convertToFinalResultType(results, pageable, intermediateResults);
-            return ControllerUtils.toCollectionModel(wrappedResults, pagedResourcesAssembler, null, results.get(0).getClass());
+            return new SearchResults(wrappedResults, results.get(0).getClass(), false);
         }
     }
 
@@ -318,4 +358,13 @@ public class ContentSearchRestController {
         @ContentId
         private Object contentId;
     }
+
+    @Getter
+    @AllArgsConstructor
+    private static class SearchResults {
+
+        private final Iterable<?> results;
+        private final Class<?> type;
+        private final boolean entities;
+    }
 }
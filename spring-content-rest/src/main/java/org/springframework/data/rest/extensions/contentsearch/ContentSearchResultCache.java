@@ -0,0 +1,178 @@
+package org.springframework.data.rest.extensions.contentsearch;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.content.commons.repository.events.AbstractStoreEventListener;
+import org.springframework.content.commons.repository.events.AfterSetContentEvent;
+import org.springframework.content.commons.repository.events.BeforeUnsetContentEvent;
+import org.springframework.util.Assert;
+
+/**
+ * Caches the hits of fulltext searches made through {@link ContentSearchRestController}.  Only the hits returned by
+ * the store, such as entity and content ids, are cached; the matching entities are loaded for each request.
+ * <p>
+ * Entries are evicted least-recently-used once the cache holds {@code maximumSize} entries, expire after
+ * {@code timeToLive} and are invalidated for a domain type whenever content of that type is set or unset.
+ * A {@code maximumSize} of 0 disables the cache.
+ */
+public class ContentSearchResultCache extends AbstractStoreEventListener<Object> {
+
+    private final int maximumSize;
+    private final long timeToLiveNanos;
+
+    private final Map<Key, Entry> entries;
+    private final Map<Class<?>, Long> generations = new HashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public ContentSearchResultCache(int maximumSize, Duration timeToLive) {
+        Assert.isTrue(maximumSize >= 0, "maximumSize must not be negative");
+        Assert.notNull(timeToLive, "timeToLive must not be null");
+
+        this.maximumSize = maximumSize;
+        this.timeToLiveNanos = timeToLive.toNanos();
+        this.entries = new LinkedHashMap<Key, Entry>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > ContentSearchResultCache.this.maximumSize;
+            }
+        };
+    }
+
+    public boolean isEnabled() {
+        return maximumSize > 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <V> V get(Class<?> domainType, Object key, Supplier<V> loader) {
+
+        if (!isEnabled()) {
+            return loader.get();
+        }
+
+        Key cacheKey = new Key(domainType, key);
+        long generation;
+        synchronized (this) {
+            Entry entry = entries.get(cacheKey);
+            if (entry != null && System.nanoTime() - entry.created < timeToLiveNanos) {
+                hits.incrementAndGet();
+                return (V) entry.value;
+            }
+            entries.remove(cacheKey);
+            generation = generations.getOrDefault(domainType, 0L);
+        }
+
+        misses.incrementAndGet();
+        V value = loader.get();
+
+        synchronized (this) {
+            // content changed while loading, the result may already be stale
+            if (generations.getOrDefault(domainType, 0L) == generation) {
+                entries.put(cacheKey, new Entry(value, System.nanoTime()));
+            }
+        }
+        return value;
+    }
+
+    public synchronized void invalidate(Class<?> domainType) {
+
+        generations.merge(domainType, 1L, Long::sum);
+
+        Iterator<Key> keys = entries.keySet().iterator();
+        while (keys.hasNext()) {
+            if (keys.next().domainType.isAssignableFrom(domainType)) {
+                keys.remove();
+                invalidations.incrementAndGet();
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public long getInvalidationCount() {
+        return invalidations.get();
+    }
+
+    public double getHitRate() {
+        long requests = hits.get() + misses.get();
+        return requests == 0 ? 0d : (double) hits.get() / requests;
+    }
+
+    @Override
+    protected void onAfterSetContent(AfterSetContentEvent event) {
+        if (isEnabled()) {
+            invalidate(event.getSource().getClass());
+        }
+    }
+
+    @Override
+    protected void onBeforeUnsetContent(BeforeUnsetContentEvent event) {
+        if (isEnabled()) {
+            invalidate(event.getSource().getClass());
+        }
+    }
+
+    private static class Key {
+
+        private final Class<?> domainType;
+        private final Object key;
+
+        Key(Class<?> domainType, Object key) {
+            this.domainType = domainType;
+            this.key = key;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return domainType.equals(other.domainType) && Objects.equals(key, other.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(domainType, key);
+        }
+    }
+
+    private static class Entry {
+
+        private final Object value;
+        private final long created;
+
+        Entry(Object value, long created) {
+            this.value = value;
+            this.created = created;
+        }
+    }
+}
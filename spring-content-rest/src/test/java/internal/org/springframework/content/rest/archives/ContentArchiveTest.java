@@ -0,0 +1,180 @@
+package internal.org.springframework.content.rest.archives;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.runner.RunWith;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+import internal.org.springframework.content.rest.archives.ContentArchive.Entry;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.AfterEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+@RunWith(Ginkgo4jRunner.class)
+public class ContentArchiveTest {
+
+    private ExecutorService executor;
+    private List<byte[]> contents;
+    private List<Entry> entries;
+    private AtomicInteger fetching;
+    private AtomicInteger maximumFetching;
+    private ByteArrayOutputStream out;
+
+    private Exception e;
+
+    {
+        Describe("ContentArchive", () -> {
+
+            BeforeEach(() -> {
+                executor = Executors.newCachedThreadPool();
+                fetching = new AtomicInteger();
+                maximumFetching = new AtomicInteger();
+                out = new ByteArrayOutputStream();
+
+                contents = new ArrayList<>();
+                entries = new ArrayList<>();
+                for (int i = 0; i < 10; i++) {
+                    byte[] content = new byte[100 * 1024];
+                    new Random().nextBytes(content);
+                    contents.add(content);
+                    entries.add(new Entry("content-" + i + ".bin", () -> open(content)));
+                }
+            });
+
+            AfterEach(() -> {
+                executor.shutdownNow();
+            });
+
+            It("should write each entry's content, in order", () -> {
+                new ContentArchive(executor, 4, ZipEntry.DEFLATED).write(entries.iterator(), out);
+
+                List<ZipEntry> zipEntries = new ArrayList<>();
+                List<byte[]> read = unzip(out.toByteArray(), zipEntries);
+                assertThat(read.size(), is(10));
+                for (int i = 0; i < 10; i++) {
+                    assertThat(zipEntries.get(i).getName(), is("content-" + i + ".bin"));
+                    assertThat(zipEntries.get(i).getMethod(), is(ZipEntry.DEFLATED));
+                    assertThat(read.get(i), is(contents.get(i)));
+                }
+            });
+
+            It("should fetch no more than the read ahead in parallel", () -> {
+                new ContentArchive(executor, 2, ZipEntry.DEFLATED).write(entries.iterator(), out);
+
+                assertThat(maximumFetching.get(), is(lessThanOrEqualTo(3)));
+            });
+
+            It("should write stored entries", () -> {
+                new ContentArchive(executor, 0, ZipEntry.STORED).write(entries.iterator(), out);
+
+                List<ZipEntry> zipEntries = new ArrayList<>();
+                List<byte[]> read = unzip(out.toByteArray(), zipEntries);
+                for (int i = 0; i < 10; i++) {
+                    assertThat(zipEntries.get(i).getMethod(), is(ZipEntry.STORED));
+                    assertThat(read.get(i), is(contents.get(i)));
+                }
+            });
+
+            Context("given content that cannot be fetched", () -> {
+
+                BeforeEach(() -> {
+                    entries.set(5, new Entry("broken.bin", () -> {
+                        throw new IOException("badness");
+                    }));
+                });
+
+                It("should fail and leave the archive unfinished", () -> {
+                    try {
+                        new ContentArchive(executor, 4, ZipEntry.DEFLATED).write(entries.iterator(), out);
+                    } catch (Exception e) {
+                        this.e = e;
+                    }
+
+                    assertThat(e, is(not(nullValue())));
+                    assertThat(e.getMessage(), is("badness"));
+
+                    // no central directory was written
+                    try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+                        int read = 0;
+                        while (zip.getNextEntry() != null) {
+                            read++;
+                        }
+                        assertThat(read, is(5));
+                    }
+                    byte[] archive = out.toByteArray();
+                    assertThat(indexOf(archive, new byte[] {0x50, 0x4b, 0x05, 0x06}), is(-1));
+                });
+            });
+        });
+
+        Describe("#uniqueName", () -> {
+
+            It("should keep names unique and within the archive", () -> {
+                Set<String> names = new HashSet<>();
+                assertThat(ContentArchive.uniqueName("a.txt", names), is("a.txt"));
+                assertThat(ContentArchive.uniqueName("a.txt", names), is("a (1).txt"));
+                assertThat(ContentArchive.uniqueName("../../a.txt", names), is("a (2).txt"));
+                assertThat(ContentArchive.uniqueName("", names), is("content"));
+            });
+        });
+    }
+
+    private InputStream open(byte[] content) {
+        maximumFetching.accumulateAndGet(fetching.incrementAndGet(), Math::max);
+        return new ByteArrayInputStream(content) {
+            @Override
+            public void close() throws IOException {
+                fetching.decrementAndGet();
+                super.close();
+            }
+        };
+    }
+
+    private static List<byte[]> unzip(byte[] archive, List<ZipEntry> zipEntries) throws IOException {
+        List<byte[]> read = new ArrayList<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(archive))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                zipEntries.add(entry);
+                read.add(IOUtils.toByteArray(zip));
+            }
+        }
+        return read;
+    }
+
+    private static int indexOf(byte[] bytes, byte[] sought) {
+        outer:
+        for (int i = 0; i <= bytes.length - sought.length; i++) {
+            for (int j = 0; j < sought.length; j++) {
+                if (bytes[i + j] != sought[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,105 @@
+package internal.org.springframework.content.rest.contentservice;
+
+import java.net.URL;
+import java.time.Duration;
+
+import org.junit.runner.RunWith;
+import org.springframework.content.commons.io.PresignableResource;
+import org.springframework.content.commons.storeservice.StoreInfo;
+import org.springframework.content.rest.config.RestConfiguration;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+import internal.org.springframework.content.rest.io.StoreResourceImpl;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.JustBeforeEach;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+@RunWith(Ginkgo4jRunner.class)
+public class PresignedUrlRedirectTest {
+
+    private RestConfiguration config;
+    private Resource delegate;
+    private MockHttpServletResponse response;
+
+    private boolean redirected;
+
+    {
+        Describe("PresignedUrlRedirect", () -> {
+
+            BeforeEach(() -> {
+                config = new RestConfiguration();
+                delegate = mock(Resource.class, withSettings().extraInterfaces(PresignableResource.class));
+                when(((PresignableResource) delegate).getPresignedUrl(any(), any())).thenReturn(new URL("https://bucket.example.com/some-content?signature=abc"));
+                response = new MockHttpServletResponse();
+            });
+
+            JustBeforeEach(() -> {
+                redirected = PresignedUrlRedirect.redirect(config, new StoreResourceImpl(mock(StoreInfo.class), delegate), MediaType.TEXT_PLAIN, response);
+            });
+
+            Context("given presigned urls are not enabled", () -> {
+
+                It("should not redirect", () -> {
+                    assertThat(redirected, is(false));
+                    verify((PresignableResource) delegate, never()).getPresignedUrl(any(), any());
+                });
+            });
+
+            Context("given presigned urls are enabled", () -> {
+
+                BeforeEach(() -> {
+                    config.setPresignedUrlValidity(Duration.ofMinutes(5));
+                });
+
+                It("should redirect to the store's presigned url", () -> {
+                    assertThat(redirected, is(true));
+                    assertThat(response.getStatus(), is(307));
+                    assertThat(response.getHeader(HttpHeaders.LOCATION), is("https://bucket.example.com/some-content?signature=abc"));
+                    assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL), is("no-store"));
+                    verify((PresignableResource) delegate).getPresignedUrl(eq(Duration.ofMinutes(5)), eq("text/plain"));
+                });
+
+                Context("given the store cannot presign a url", () -> {
+
+                    BeforeEach(() -> {
+                        when(((PresignableResource) delegate).getPresignedUrl(any(), any())).thenReturn(null);
+                    });
+
+                    It("should not redirect", () -> {
+                        assertThat(redirected, is(false));
+                        assertThat(response.getHeader(HttpHeaders.LOCATION), is(nullValue()));
+                    });
+                });
+
+                Context("given content a store cannot presign", () -> {
+
+                    BeforeEach(() -> {
+                        delegate = mock(Resource.class);
+                    });
+
+                    It("should not redirect", () -> {
+                        assertThat(redirected, is(false));
+                    });
+                });
+            });
+        });
+    }
+}
@@ -0,0 +1,157 @@
+package internal.org.springframework.content.rest.contentservice;
+
+import java.util.List;
+
+import org.junit.runner.RunWith;
+import org.springframework.content.commons.mappingcontext.MappingContext;
+import org.springframework.content.commons.property.PropertyPath;
+import org.springframework.content.commons.repository.ContentStore;
+import org.springframework.content.commons.storeservice.StoreInfo;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.util.MimeType;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+import internal.org.springframework.content.rest.contentservice.RenditionNegotiator.Candidate;
+import internal.org.springframework.content.rest.io.AssociatedStoreResource;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.JustBeforeEach;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(Ginkgo4jRunner.class)
+public class RenditionNegotiatorTest {
+
+    private RenditionNegotiator negotiator;
+
+    private AssociatedStoreResource resource;
+    private MockHttpServletRequest request;
+    private HttpHeaders headers;
+
+    private List<Candidate> candidates;
+
+    {
+        Describe("RenditionNegotiator", () -> {
+
+            BeforeEach(() -> {
+                negotiator = new RenditionNegotiator(new MappingContext("/", "."));
+
+                StoreInfo info = mock(StoreInfo.class);
+                when(info.getInterface()).thenReturn((Class) ContentStore.class);
+
+                resource = mock(AssociatedStoreResource.class);
+                when(resource.getStoreInfo()).thenReturn(info);
+                when(resource.getPropertyPath()).thenReturn(PropertyPath.from("content"));
+                when(resource.isRenderableAs(any(MimeType.class))).thenAnswer(invocation -> invocation.getArgument(0, MimeType.class).getSubtype().equals("jpeg"));
+
+                request = new MockHttpServletRequest();
+                headers = new HttpHeaders();
+            });
+
+            JustBeforeEach(() -> {
+                candidates = negotiator.negotiate(resource, MediaType.valueOf("application/pdf"), request, headers);
+            });
+
+            Context("given no Accept header", () -> {
+
+                It("should return no candidates", () -> {
+                    assertThat(candidates.isEmpty(), is(true));
+                });
+            });
+
+            Context("given an Accept header", () -> {
+
+                BeforeEach(() -> {
+                    headers.set(HttpHeaders.ACCEPT, "application/pdf;q=0.5, image/jpeg, text/plain;q=0.8");
+                });
+
+                It("should order the accepted types by preference and resolve how each is served", () -> {
+                    assertThat(candidates.size(), is(3));
+
+                    assertThat(candidates.get(0).getAcceptedType().toString(), is("image/jpeg"));
+                    assertThat(candidates.get(0).isContent(), is(false));
+                    assertThat(candidates.get(0).isRenderable(), is(true));
+
+                    assertThat(candidates.get(1).getAcceptedType().getSubtype(), is("plain"));
+                    assertThat(candidates.get(1).isRenderable(), is(false));
+
+                    assertThat(candidates.get(2).getAcceptedType().getSubtype(), is("pdf"));
+                    assertThat(candidates.get(2).isContent(), is(true));
+                });
+
+                It("should memoize the negotiation", () -> {
+                    List<Candidate> again = negotiator.negotiate(resource, MediaType.valueOf("application/pdf"), request, headers);
+                    assertThat(again, is(sameInstance(candidates)));
+                    verify(resource, times(2)).isRenderableAs(any(MimeType.class));
+                });
+
+                It("should keep memoizing the most recent negotiations once full", () -> {
+                    for (int i = 0; i < RenditionNegotiator.MAXIMUM_MEMOIZED; i++) {
+                        MockHttpServletRequest other = new MockHttpServletRequest();
+                        other.setParameter("width", Integer.toString(i));
+                        negotiator.negotiate(resource, MediaType.valueOf("application/pdf"), other, headers);
+                    }
+                    List<Candidate> evicted = negotiator.negotiate(resource, MediaType.valueOf("application/pdf"), request, headers);
+                    assertThat(evicted, is(not(sameInstance(candidates))));
+
+                    List<Candidate> again = negotiator.negotiate(resource, MediaType.valueOf("application/pdf"), request, headers);
+                    assertThat(again, is(sameInstance(evicted)));
+                });
+
+                Context("given rendition parameters", () -> {
+
+                    BeforeEach(() -> {
+                        request.setParameter("width", "64");
+                    });
+
+                    It("should add them to the rendition type but not the produced type", () -> {
+                        assertThat(candidates.get(0).getRenditionType().getParameter("width"), is("\"64\""));
+                        assertThat(candidates.get(0).getProducedType().getParameter("width"), is(nullValue()));
+                    });
+
+                    It("should not share the negotiation of requests without them", () -> {
+                        request.removeParameter("width");
+                        List<Candidate> unparameterized = negotiator.negotiate(resource, MediaType.valueOf("application/pdf"), request, headers);
+                        assertThat(unparameterized.get(0).getRenditionType().getParameter("width"), is(nullValue()));
+                    });
+                });
+            });
+
+            Context("given an Accept header of any type and rendition parameters", () -> {
+
+                BeforeEach(() -> {
+                    headers.set(HttpHeaders.ACCEPT, "*/*");
+                    request.setParameter("page", "2");
+                    when(resource.isRenderableAs(any(MimeType.class))).thenReturn(true);
+                });
+
+                It("should serve the content rather than a rendition", () -> {
+                    assertThat(candidates.size(), is(1));
+                    assertThat(candidates.get(0).isContent(), is(true));
+                });
+            });
+
+            Context("#parseMediaType", () -> {
+
+                It("should return null for invalid types", () -> {
+                    assertThat(negotiator.parseMediaType("not a type"), is(nullValue()));
+                    assertThat(negotiator.parseMediaType("image/png"), is(MediaType.IMAGE_PNG));
+                });
+            });
+        });
+    }
+}
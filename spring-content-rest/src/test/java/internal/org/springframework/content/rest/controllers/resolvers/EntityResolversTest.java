@@ -0,0 +1,153 @@
+package internal.org.springframework.content.rest.controllers.resolvers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.runner.RunWith;
+import org.springframework.util.AntPathMatcher;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+
+@RunWith(Ginkgo4jRunner.class)
+public class EntityResolversTest {
+
+    private EntityResolvers resolvers;
+
+    private EntityResolver entity, entityProperty, revision, revisionProperty;
+
+    private EntityRoute route;
+
+    {
+        Describe("EntityResolvers", () -> {
+
+            BeforeEach(() -> {
+                entity = new TestEntityResolver("/{repository}/{id}");
+                entityProperty = new TestEntityResolver("/{repository}/{id}/**");
+                revision = new TestEntityResolver("/{repository}/{id}/revisions/{revisionId}");
+                revisionProperty = new TestEntityResolver("/{repository}/{id}/revisions/{revisionId}/**");
+
+                resolvers = new EntityResolvers();
+                resolvers.add(entity);
+                resolvers.add(entityProperty);
+                resolvers.add(revision);
+                resolvers.add(revisionProperty);
+            });
+
+            Context("given an entity path", () -> {
+                It("should route to the entity resolver", () -> {
+                    route = resolvers.route("/tests/123", null);
+                    assertThat(route.getResolver(), is(entity));
+                    assertThat(route.getVariable("repository"), is("tests"));
+                    assertThat(route.getVariable("id"), is("123"));
+                    assertThat(route.getPropertyPath(), is(""));
+                });
+            });
+
+            Context("given an entity content property path", () -> {
+                It("should route to the entity property resolver and extract the property path", () -> {
+                    route = resolvers.route("/tests/123/content/456", null);
+                    assertThat(route.getResolver(), is(entityProperty));
+                    assertThat(route.getVariable("id"), is("123"));
+                    assertThat(route.getPropertyPath(), is("content/456"));
+                });
+            });
+
+            Context("given a revision path", () -> {
+                It("should route to the revision resolver", () -> {
+                    route = resolvers.route("/tests/123/revisions/2", null);
+                    assertThat(route.getResolver(), is(revision));
+                    assertThat(route.getVariable("revisionId"), is("2"));
+                });
+            });
+
+            Context("given a revision content property path", () -> {
+                It("should route as the path matcher would", () -> {
+                    route = resolvers.route("/tests/123/revisions/2/content", null);
+                    assertThat(route.getResolver(), is(bestMatch("/tests/123/revisions/2/content")));
+                });
+            });
+
+            Context("given a path no resolver matches", () -> {
+                It("should not route it", () -> {
+                    assertThat(resolvers.route("/tests", null), is(nullValue()));
+                    assertThat(resolvers.hasPropertyFor("/tests"), is(false));
+                });
+            });
+
+            Context("given a resolver added after the first route", () -> {
+                It("should route to it", () -> {
+                    resolvers.route("/tests/123", null);
+
+                    EntityResolver literal = new TestEntityResolver("/tests/{id}/content");
+                    resolvers.add(literal);
+
+                    route = resolvers.route("/tests/123/content", null);
+                    assertThat(route.getResolver(), is(literal));
+                    assertThat(route.getVariable("id"), is("123"));
+                });
+            });
+
+            Context("given a mapping the trie does not compile", () -> {
+                It("should route as the path matcher would", () -> {
+                    resolvers.add(new TestEntityResolver("/{repository}/{id}/**/*.txt"));
+
+                    route = resolvers.route("/tests/123/content/file.txt", null);
+                    assertThat(route.getResolver(), is(bestMatch("/tests/123/content/file.txt")));
+                    assertThat(route.getVariable("id"), is("123"));
+                });
+            });
+        });
+    }
+
+    private EntityResolver bestMatch(String path) {
+        AntPathMatcher matcher = new AntPathMatcher();
+        List<String> mappings = new ArrayList<>();
+        for (EntityResolver resolver : resolvers) {
+            if (matcher.match(resolver.getMapping(), path)) {
+                mappings.add(resolver.getMapping());
+            }
+        }
+        mappings.sort(matcher.getPatternComparator(path));
+
+        EntityResolver best = null;
+        for (EntityResolver resolver : resolvers) {
+            if (mappings.get(0).equals(resolver.getMapping())) {
+                best = resolver;
+            }
+        }
+        return best;
+    }
+
+    private static class TestEntityResolver implements EntityResolver {
+
+        private final String mapping;
+
+        TestEntityResolver(String mapping) {
+            this.mapping = mapping;
+        }
+
+        @Override
+        public String getMapping() {
+            return mapping;
+        }
+
+        @Override
+        public EntityResolution resolve(String path) {
+            return null;
+        }
+
+        @Override
+        public boolean hasPropertyFor(String path) {
+            return false;
+        }
+    }
+}
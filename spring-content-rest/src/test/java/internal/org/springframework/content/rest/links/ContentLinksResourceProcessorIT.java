@@ -12,7 +12,12 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.beans.HasPropertyWithValue.hasProperty;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.io.ByteArrayInputStream;
+import java.util.Collections;
 import java.util.UUID;
 
 import org.junit.Test;
@@ -25,6 +30,7 @@ import org.springframework.data.mapping.context.PersistentEntities;
 import org.springframework.data.repository.support.Repositories;
 import org.springframework.data.rest.webmvc.PersistentEntityResource;
 import org.springframework.data.rest.webmvc.config.RepositoryRestMvcConfiguration;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.ContextConfiguration;
@@ -35,14 +41,19 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.context.WebApplicationContext;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
 import org.springframework.web.servlet.config.annotation.DelegatingWebMvcConfiguration;
 
 import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
 import com.github.paulcwarren.ginkgo4j.Ginkgo4jSpringRunner;
 
+import internal.org.springframework.content.rest.links.ContentLinksResourceProcessor.ContentLinkTemplatesProcessor;
 import internal.org.springframework.content.rest.support.BaseUriConfig;
 import internal.org.springframework.content.rest.support.TestEntity2;
 import internal.org.springframework.content.rest.support.TestEntity4;
+import internal.org.springframework.content.rest.support.TestEntity4ContentRepository;
+import internal.org.springframework.content.rest.support.TestEntity4Repository;
 import internal.org.springframework.content.rest.support.TestEntity5;
 import internal.org.springframework.content.rest.support.TestEntityChild;
 
@@ -68,21 +79,29 @@ public class ContentLinksResourceProcessorIT {
 	@Autowired
 	private ContentLinksResourceProcessor processor;
 
+	@Autowired
+	private TestEntity4Repository repository4;
+
+	@Autowired
+	private TestEntity4ContentRepository store4;
+
 	@Autowired
 	private WebApplicationContext context;
 
 	private MockMvc mvc;
 
+	private MockHttpServletRequest request;
 	private PersistentEntityResource resource;
+	private String name;
 
 	{
 		Describe("given the spring content baseUri property is set to contentApi", () -> {
 			BeforeEach(() -> {
 				mvc = MockMvcBuilders.webAppContextSetup(context).build();
+				request = new MockHttpServletRequest();
 			});
 
 			JustBeforeEach(() -> {
-				MockHttpServletRequest request = new MockHttpServletRequest();
 				RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
 
 				processor.process(resource);
@@ -137,6 +156,26 @@ public class ContentLinksResourceProcessorIT {
                         assertThat(resource.getLinks("testEntity4"), not(hasItem(hasProperty("href", is("http://localhost/contentApi/testEntity4s/999")))));
                     });
                 });
+
+				Context("when content link templates are enabled and the entity is part of a collection", () -> {
+					BeforeEach(() -> {
+						processor.getRestConfiguration().setContentLinkTemplates(true);
+						request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, new HandlerMethod(new CollectionController(), CollectionController.class.getMethod("getCollection")));
+					});
+
+					AfterEach(() -> {
+						processor.getRestConfiguration().setContentLinkTemplates(false);
+					});
+
+					It("should add a templated content link to the collection instead of the entity", () -> {
+						assertThat(resource.getLinks("content").isEmpty(), is(true));
+
+						CollectionModel<PersistentEntityResource> collection = new ContentLinkTemplatesProcessor(processor).process(CollectionModel.of(Collections.singletonList(resource)));
+						assertThat(collection.getLinks("content"), hasItem(hasProperty("href", is("http://localhost/contentApi/testEntity4s/{id}/content"))));
+						assertThat(collection.getRequiredLink("content").isTemplated(), is(true));
+						assertThat(collection.getRequiredLink("content").expand(999).getHref(), is("http://localhost/contentApi/testEntity4s/999/content"));
+					});
+				});
 			});
 
 			Context("given an entity with multiple @ContentId properties", () -> {
@@ -198,9 +237,56 @@ public class ContentLinksResourceProcessorIT {
 				});
 			});
 		});
+
+		Describe("given content link templates are enabled", () -> {
+			BeforeEach(() -> {
+				mvc = MockMvcBuilders.webAppContextSetup(context).build();
+				processor.getRestConfiguration().setContentLinkTemplates(true);
+
+				name = UUID.randomUUID().toString();
+				for (int i = 0; i < 2; i++) {
+					TestEntity4 entity = new TestEntity4();
+					entity.setName(name);
+					repository4.save(store4.setContent(entity, new ByteArrayInputStream("content".getBytes())));
+				}
+			});
+
+			AfterEach(() -> {
+				processor.getRestConfiguration().setContentLinkTemplates(false);
+			});
+
+			Context("given a paged collection", () -> {
+				It("should link the content of its entities once, templated on their id", () -> {
+					mvc.perform(get("/api/testEntity4s?page=0&size=1").accept("application/hal+json"))
+							.andExpect(status().isOk())
+							.andExpect(jsonPath("$.page.size").value(1))
+							.andExpect(jsonPath("$._links.content.href").value("http://localhost/contentApi/testEntity4s/{id}/content"))
+							.andExpect(jsonPath("$._links.content.templated").value(true))
+							.andExpect(jsonPath("$._embedded.testEntity4s[0]._links.content").doesNotExist());
+				});
+			});
+
+			Context("given a search result", () -> {
+				It("should link the content of its entities once, templated on their id", () -> {
+					mvc.perform(get("/api/testEntity4s/search/findByName?name=" + name).accept("application/hal+json"))
+							.andExpect(status().isOk())
+							.andExpect(jsonPath("$._embedded.testEntity4s.length()").value(2))
+							.andExpect(jsonPath("$._links.content.href").value("http://localhost/contentApi/testEntity4s/{id}/content"))
+							.andExpect(jsonPath("$._links.content.templated").value(true))
+							.andExpect(jsonPath("$._embedded.testEntity4s[0]._links.content").doesNotExist())
+							.andExpect(jsonPath("$._embedded.testEntity4s[1]._links.content").doesNotExist());
+				});
+			});
+		});
 	}
 
 	@Test
 	public void noop() {
 	}
+
+	public static class CollectionController {
+		public CollectionModel<?> getCollection() {
+			return null;
+		}
+	}
 }
@@ -0,0 +1,262 @@
+package internal.org.springframework.content.rest.mappings;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+
+import org.junit.runner.RunWith;
+import org.springframework.content.commons.storeservice.StoreInfo;
+import org.springframework.content.rest.config.RestConfiguration;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.async.StandardServletAsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncManager;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+import internal.org.springframework.content.rest.io.RenderedResource;
+import internal.org.springframework.content.rest.io.StoreResourceImpl;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.AfterEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.JustBeforeEach;
+
+@RunWith(Ginkgo4jRunner.class)
+public class StoreByteRangeHttpRequestHandlerTest {
+
+	private StoreByteRangeHttpRequestHandler handler;
+
+	private File file;
+	private byte[] content;
+	private Resource resource;
+
+	private MockHttpServletRequest request;
+	private MockHttpServletResponse response;
+
+	private RestConfiguration config;
+	private BlockingOutputStream blocking;
+	private StandardServletAsyncWebRequest asyncWebRequest;
+
+	{
+		Describe("StoreByteRangeHttpRequestHandler", () -> {
+
+			BeforeEach(() -> {
+				handler = new StoreByteRangeHttpRequestHandler();
+				handler.afterPropertiesSet();
+
+				content = new byte[64 * 1024];
+				new Random().nextBytes(content);
+				file = File.createTempFile("content", ".bin");
+				Files.write(file.toPath(), content);
+
+				resource = new StoreResourceImpl(mock(StoreInfo.class), new FileSystemResource(file));
+
+				request = new MockHttpServletRequest("GET", "/content");
+				response = new MockHttpServletResponse();
+			});
+
+			JustBeforeEach(() -> {
+				request.setAttribute("SPRING_CONTENT_RESOURCE", resource);
+				request.setAttribute("SPRING_CONTENT_CONTENTTYPE", MediaType.APPLICATION_OCTET_STREAM);
+				handler.handleRequest(request, response);
+			});
+
+			AfterEach(() -> {
+				file.delete();
+			});
+
+			Context("given content held in a file", () -> {
+
+				It("should transfer the file", () -> {
+					assertThat(response.getStatus(), is(200));
+					assertThat(response.getContentLengthLong(), is((long) content.length));
+					assertThat(response.getContentAsByteArray(), is(content));
+				});
+
+				Context("given a byte range", () -> {
+
+					BeforeEach(() -> {
+						request.addHeader("Range", "bytes=100-199");
+					});
+
+					It("should transfer the range of the file", () -> {
+						assertThat(response.getStatus(), is(206));
+						assertThat(response.getHeader("Content-Range"), is("bytes 100-199/" + content.length));
+						assertThat(response.getContentAsByteArray(), is(Arrays.copyOfRange(content, 100, 200)));
+					});
+				});
+
+				Context("given the container supports sendfile", () -> {
+
+					BeforeEach(() -> {
+						request.setAttribute(FileResourceTransfer.SENDFILE_SUPPORT, Boolean.TRUE);
+						request.addHeader("Range", "bytes=1024-");
+					});
+
+					It("should hand the range of the file to the container", () -> {
+						assertThat(response.getStatus(), is(206));
+						assertThat(request.getAttribute(FileResourceTransfer.SENDFILE_FILENAME), is(file.getCanonicalPath()));
+						assertThat(request.getAttribute(FileResourceTransfer.SENDFILE_START), is(1024L));
+						assertThat(request.getAttribute(FileResourceTransfer.SENDFILE_END), is((long) content.length));
+						assertThat(response.getContentAsByteArray().length, is(0));
+					});
+				});
+			});
+
+			Context("given a download executor", () -> {
+
+				BeforeEach(() -> {
+					config = new RestConfiguration();
+					config.setDownloadExecutor(new SimpleAsyncTaskExecutor());
+					handler = new StoreByteRangeHttpRequestHandler(config);
+					handler.afterPropertiesSet();
+
+					request.setAsyncSupported(true);
+					request.setAttribute(FileResourceTransfer.SENDFILE_SUPPORT, Boolean.TRUE);
+					WebAsyncUtils.getAsyncManager(request).setAsyncWebRequest(new StandardServletAsyncWebRequest(request, response));
+				});
+
+				It("should write the content asynchronously, on the executor", () -> {
+					WebAsyncManager asyncManager = WebAsyncUtils.getAsyncManager(request);
+					assertThat(request.isAsyncStarted(), is(true));
+
+					long deadline = System.currentTimeMillis() + 10000;
+					while (!asyncManager.hasConcurrentResult() && System.currentTimeMillis() < deadline) {
+						Thread.sleep(10);
+					}
+
+					assertThat(asyncManager.hasConcurrentResult(), is(true));
+					assertThat(response.getStatus(), is(200));
+					assertThat(response.getContentAsByteArray(), is(content));
+					assertThat(request.getAttribute(FileResourceTransfer.SENDFILE_FILENAME), is((Object) null));
+				});
+
+				Context("given a client that stops reading", () -> {
+
+					BeforeEach(() -> {
+						blocking = new BlockingOutputStream();
+						response = new MockHttpServletResponse() {
+							@Override
+							public ServletOutputStream getOutputStream() {
+								return blocking;
+							}
+						};
+						asyncWebRequest = new StandardServletAsyncWebRequest(request, response);
+						WebAsyncUtils.getAsyncManager(request).setAsyncWebRequest(asyncWebRequest);
+					});
+
+					Context("given a stall timeout", () -> {
+
+						BeforeEach(() -> {
+							config.setDownloadStallTimeout(Duration.ofMillis(100));
+						});
+
+						It("should stop the download", () -> {
+							WebAsyncManager asyncManager = WebAsyncUtils.getAsyncManager(request);
+
+							long deadline = System.currentTimeMillis() + 10000;
+							while (!asyncManager.hasConcurrentResult() && System.currentTimeMillis() < deadline) {
+								Thread.sleep(10);
+							}
+
+							assertThat(asyncManager.hasConcurrentResult(), is(true));
+							assertThat(blocking.interrupted, is(true));
+							assertThat(blocking.writes, is(1));
+						});
+					});
+
+					Context("given no stall timeout", () -> {
+
+						BeforeEach(() -> {
+							config.setDownloadStallTimeout(null);
+						});
+
+						It("should stop the download, before the response is recycled, when the request times out", () -> {
+							blocking.started.await();
+
+							asyncWebRequest.onTimeout(new AsyncEvent(request.getAsyncContext()));
+
+							assertThat(blocking.interrupted, is(true));
+							assertThat(blocking.writing, is(false));
+							assertThat(blocking.writes, is(1));
+						});
+					});
+				});
+			});
+
+			Context("given a rendition of content held in a file", () -> {
+
+				BeforeEach(() -> {
+					resource = new RenderedResource(new ByteArrayInputStream("rendition".getBytes()), resource);
+					request.setAttribute(FileResourceTransfer.SENDFILE_SUPPORT, Boolean.TRUE);
+				});
+
+				It("should serve the rendition, not the file", () -> {
+					assertThat(response.getContentAsString(), is("rendition"));
+					assertThat(request.getAttribute(FileResourceTransfer.SENDFILE_FILENAME), is((Object) null));
+				});
+			});
+		});
+	}
+
+	private static class BlockingOutputStream extends ServletOutputStream {
+
+		private final CountDownLatch started = new CountDownLatch(1);
+		private final CountDownLatch unblocked = new CountDownLatch(1);
+
+		private volatile boolean writing = false;
+		private volatile boolean interrupted = false;
+		private volatile int writes = 0;
+
+		@Override
+		public void write(int b) throws IOException {
+			write(new byte[] {(byte) b}, 0, 1);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			writes++;
+			writing = true;
+			started.countDown();
+			try {
+				unblocked.await();
+			} catch (InterruptedException e) {
+				interrupted = true;
+				throw new InterruptedIOException();
+			} finally {
+				writing = false;
+			}
+		}
+
+		@Override
+		public boolean isReady() {
+			return true;
+		}
+
+		@Override
+		public void setWriteListener(WriteListener writeListener) {
+		}
+	}
+}
@@ -0,0 +1,254 @@
+package internal.org.springframework.content.rest.reactive;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Serializable;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+
+import org.junit.runner.RunWith;
+import org.springframework.content.commons.mappingcontext.ContentProperty;
+import org.springframework.content.commons.mappingcontext.MappingContext;
+import org.springframework.content.commons.property.PropertyPath;
+import org.springframework.content.commons.repository.ReactiveContentStore;
+import org.springframework.content.commons.storeservice.StoreFilter;
+import org.springframework.content.commons.storeservice.StoreInfo;
+import org.springframework.content.commons.storeservice.Stores;
+import org.springframework.content.rest.config.RestConfiguration;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+import internal.org.springframework.content.rest.support.TestEntity;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.JustBeforeEach;
+
+@RunWith(Ginkgo4jRunner.class)
+public class ReactiveStoreHandlerTest {
+
+    private RestConfiguration config;
+    private InMemoryStore store;
+    private TestEntity entity;
+    private byte[] content;
+
+    private WebTestClient client;
+
+    {
+        Describe("ReactiveStoreHandler", () -> {
+
+            BeforeEach(() -> {
+                config = new RestConfiguration();
+                store = new InMemoryStore();
+
+                entity = new TestEntity();
+                entity.setId(1L);
+
+                content = new byte[20 * 1024];
+                new Random().nextBytes(content);
+            });
+
+            JustBeforeEach(() -> {
+                ReactiveStoreHandler handler = new ReactiveStoreHandler(config, stores(store), repositories(entity), new MappingContext("/", "."));
+                client = WebTestClient.bindToRouterFunction(handler.routes()).build();
+            });
+
+            Context("given an entity without content", () -> {
+
+                It("should not find its content", () -> {
+                    client.get().uri("/testEntities/1").exchange().expectStatus().isNotFound();
+                });
+
+                It("should create its content", () -> {
+                    client.put().uri("/testEntities/1/content").contentType(MediaType.TEXT_PLAIN).bodyValue(content)
+                            .exchange()
+                            .expectStatus().isCreated();
+
+                    assertThat(entity.getContentId(), is(not(nullValue())));
+                    assertThat(entity.getLen(), is((long) content.length));
+                    assertThat(entity.getMimeType(), is("text/plain"));
+                    assertThat(store.contents.get(entity.getContentId()), is(content));
+                });
+
+                It("should not route an unknown store or entity", () -> {
+                    client.get().uri("/unknowns/1").exchange().expectStatus().isNotFound();
+                    client.get().uri("/testEntities/2").exchange().expectStatus().isNotFound();
+                });
+            });
+
+            Context("given an entity with content", () -> {
+
+                BeforeEach(() -> {
+                    store.setContent(entity, PropertyPath.from("content"), content.length, Flux.just(ByteBuffer.wrap(content))).block();
+                    entity.setMimeType("text/plain");
+                });
+
+                It("should stream its content", () -> {
+                    byte[] body = client.get().uri("/testEntities/1").exchange()
+                            .expectStatus().isOk()
+                            .expectHeader().contentType(MediaType.TEXT_PLAIN)
+                            .expectHeader().contentLength(content.length)
+                            .expectHeader().valueEquals(HttpHeaders.ACCEPT_RANGES, "bytes")
+                            .expectBody(byte[].class).returnResult().getResponseBody();
+
+                    assertThat(body, is(content));
+                });
+
+                It("should stream a range of its content", () -> {
+                    byte[] body = client.get().uri("/testEntities/1/content").header(HttpHeaders.RANGE, "bytes=1000-9999").exchange()
+                            .expectStatus().isEqualTo(206)
+                            .expectHeader().contentLength(9000)
+                            .expectHeader().valueEquals(HttpHeaders.CONTENT_RANGE, "bytes 1000-9999/" + content.length)
+                            .expectBody(byte[].class).returnResult().getResponseBody();
+
+                    assertThat(body, is(Arrays.copyOfRange(content, 1000, 10000)));
+                    assertThat(store.ranges, is(Collections.singletonList(Arrays.asList(1000L, 9000L))));
+                });
+
+                It("should not stream a range beyond its content", () -> {
+                    client.get().uri("/testEntities/1").header(HttpHeaders.RANGE, HttpRange.createByteRange(content.length + 1).toString())
+                            .exchange()
+                            .expectStatus().isEqualTo(416)
+                            .expectHeader().valueEquals(HttpHeaders.CONTENT_RANGE, "bytes */" + content.length);
+                });
+
+                It("should replace its content", () -> {
+                    client.post().uri("/testEntities/1").contentType(MediaType.TEXT_PLAIN).bodyValue("replaced")
+                            .exchange()
+                            .expectStatus().isOk();
+
+                    assertThat(store.contents.get(entity.getContentId()), is("replaced".getBytes()));
+                });
+
+                It("should delete its content", () -> {
+                    client.delete().uri("/testEntities/1").exchange().expectStatus().isNoContent();
+
+                    assertThat(entity.getContentId(), is(nullValue()));
+                    assertThat(entity.getMimeType(), is(nullValue()));
+                    client.get().uri("/testEntities/1").exchange().expectStatus().isNotFound();
+                });
+
+                Context("given a base uri", () -> {
+
+                    BeforeEach(() -> {
+                        config.setBaseUri(URI.create("/api"));
+                    });
+
+                    It("should stream its content within the base uri only", () -> {
+                        client.get().uri("/api/testEntities/1").exchange().expectStatus().isOk();
+                        client.get().uri("/testEntities/1").exchange().expectStatus().isNotFound();
+                    });
+                });
+            });
+        });
+    }
+
+    public interface TestEntityReactiveStore extends ReactiveContentStore<TestEntity, UUID> {
+    }
+
+    private static Stores stores(InMemoryStore store) {
+        StoreInfo info = mock(StoreInfo.class);
+        when(info.getInterface()).thenReturn((Class) TestEntityReactiveStore.class);
+        when(info.getDomainObjectClass()).thenReturn((Class) TestEntity.class);
+        when(info.getImplementation(ReactiveContentStore.class)).thenReturn(store);
+
+        Stores stores = mock(Stores.class);
+        when(stores.getStore(eq(ReactiveContentStore.class), any())).thenAnswer(invocation -> {
+            StoreFilter filter = invocation.getArgument(1);
+            return filter.matches(info) ? info : null;
+        });
+        return stores;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Repositories repositories(TestEntity entity) {
+        RepositoryInformation ri = mock(RepositoryInformation.class);
+        when(ri.getIdType()).thenReturn((Class) Long.class);
+
+        ReactiveCrudRepository<Object, Object> repository = mock(ReactiveCrudRepository.class);
+        when(repository.findById(any(Object.class))).thenAnswer(invocation -> entity.getId().equals(invocation.getArgument(0)) ? Mono.just(entity) : Mono.empty());
+        when(repository.save(any())).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        Repositories repositories = mock(Repositories.class);
+        when(repositories.getRepositoryInformationFor(TestEntity.class)).thenReturn(Optional.of(ri));
+        when(repositories.getRepositoryFor(TestEntity.class)).thenReturn(Optional.of(repository));
+        return repositories;
+    }
+
+    private static class InMemoryStore implements ReactiveContentStore<Object, Serializable> {
+
+        private final MappingContext mappingContext = new MappingContext("/", ".");
+        private final Map<Object, byte[]> contents = new HashMap<>();
+        private final List<List<Long>> ranges = new ArrayList<>();
+
+        @Override
+        public Mono<Object> setContent(Object entity, PropertyPath path, long contentLen, Flux<ByteBuffer> buffer) {
+            ContentProperty property = mappingContext.getContentProperty(entity.getClass(), path.getName());
+            return buffer.collect(ByteArrayOutputStream::new, (out, bytes) -> {
+                byte[] chunk = new byte[bytes.remaining()];
+                bytes.get(chunk);
+                out.write(chunk, 0, chunk.length);
+            }).map(out -> {
+                Object contentId = property.getContentId(entity);
+                if (contentId == null) {
+                    contentId = UUID.randomUUID();
+                    property.setContentId(entity, contentId, null);
+                }
+                contents.put(contentId, out.toByteArray());
+                property.setContentLength(entity, contentLen);
+                return entity;
+            });
+        }
+
+        @Override
+        public Flux<ByteBuffer> getContent(Object entity, PropertyPath path) {
+            byte[] bytes = contents.get(mappingContext.getContentProperty(entity.getClass(), path.getName()).getContentId(entity));
+            // in chunks, as a store would stream it
+            return Flux.range(0, (bytes.length + 4095) / 4096)
+                    .map(i -> ByteBuffer.wrap(bytes, i * 4096, Math.min(4096, bytes.length - i * 4096)));
+        }
+
+        @Override
+        public Flux<ByteBuffer> getContent(Object entity, PropertyPath path, long offset, long length) {
+            ranges.add(Arrays.asList(offset, length));
+            return ReactiveContentStore.super.getContent(entity, path, offset, length);
+        }
+
+        @Override
+        public Mono<Object> unsetContent(Object entity, PropertyPath path) {
+            ContentProperty property = mappingContext.getContentProperty(entity.getClass(), path.getName());
+            contents.remove(property.getContentId(entity));
+            property.setContentId(entity, null, null);
+            property.setContentLength(entity, 0L);
+            return Mono.just(entity);
+        }
+    }
+}
@@ -1,7 +1,12 @@
 package internal.org.springframework.content.rest.support;
 
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.repository.query.Param;
 
 //@RepositoryRestResource(path="/testEntities")
 public interface TestEntity4Repository extends JpaRepository<TestEntity4, Long> {
+
+	List<TestEntity4> findByName(@Param("name") String name);
 }
@@ -1,8 +1,13 @@
 package internal.org.springframework.content.rest.support;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 
 public interface TestEntity7Repository extends CrudRepository<TestEntity7, Long> {
 
-    TestEntity7 findByName(String name);
+    TestEntity7 findByName(@Param("name") String name);
+
+    Page<TestEntity7> findByOriginalFileName(@Param("originalFileName") String originalFileName, Pageable pageable);
 }
@@ -0,0 +1,136 @@
+package internal.org.springframework.content.rest.uploads;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.file.Files;
+import java.time.Duration;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.runner.RunWith;
+import org.springframework.http.MediaType;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+import internal.org.springframework.content.rest.controllers.ConflictException;
+import internal.org.springframework.content.rest.controllers.PayloadTooLargeException;
+import internal.org.springframework.content.rest.controllers.ResourceNotFoundException;
+import internal.org.springframework.content.rest.uploads.ContentUploads.Upload;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.AfterEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.JustBeforeEach;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+@RunWith(Ginkgo4jRunner.class)
+public class ContentUploadsTest {
+
+    private File directory;
+    private Duration timeToLive;
+    private ContentUploads uploads;
+    private Upload upload;
+
+    private Exception e;
+
+    {
+        Describe("ContentUploads", () -> {
+
+            BeforeEach(() -> {
+                directory = Files.createTempDirectory("content-uploads-test").toFile();
+                timeToLive = Duration.ofHours(1);
+                e = null;
+            });
+
+            JustBeforeEach(() -> {
+                uploads = new ContentUploads(directory, timeToLive, 1024, 2048);
+                upload = uploads.create("/target", MediaType.TEXT_PLAIN);
+            });
+
+            AfterEach(() -> {
+                uploads.destroy();
+                FileUtils.deleteQuietly(directory);
+            });
+
+            It("should reject a part larger than the maximum part size", () -> {
+                try {
+                    upload.writePart(1, new ByteArrayInputStream(new byte[1025]));
+                } catch (Exception e) {
+                    this.e = e;
+                }
+
+                assertThat(e, is(instanceOf(PayloadTooLargeException.class)));
+                assertThat(upload.getParts().isEmpty(), is(true));
+            });
+
+            It("should reject a part that takes the upload over the maximum size", () -> {
+                upload.writePart(1, new ByteArrayInputStream(new byte[1024]));
+                upload.writePart(2, new ByteArrayInputStream(new byte[1000]));
+                // replacing a part counts only its new size
+                upload.writePart(2, new ByteArrayInputStream(new byte[1024]));
+                try {
+                    upload.writePart(3, new ByteArrayInputStream(new byte[1]));
+                } catch (Exception e) {
+                    this.e = e;
+                }
+
+                assertThat(e, is(instanceOf(PayloadTooLargeException.class)));
+                assertThat(upload.getParts().size(), is(2));
+            });
+
+            It("should let only one request claim an upload", () -> {
+                upload.claim();
+                try {
+                    uploads.get(upload.getId(), "/target").claim();
+                } catch (Exception e) {
+                    this.e = e;
+                }
+
+                assertThat(e, is(instanceOf(ConflictException.class)));
+            });
+
+            It("should keep an upload that has not expired", () -> {
+                uploads.purgeExpired();
+
+                assertThat(uploads.get(upload.getId(), "/target").getId(), is(upload.getId()));
+            });
+
+            Context("given an expired upload", () -> {
+
+                BeforeEach(() -> {
+                    timeToLive = Duration.ofMillis(-1);
+                });
+
+                It("should be purged", () -> {
+                    uploads.purgeExpired();
+
+                    try {
+                        uploads.get(upload.getId(), "/target");
+                    } catch (Exception e) {
+                        this.e = e;
+                    }
+                    assertThat(e, is(instanceOf(ResourceNotFoundException.class)));
+                });
+            });
+
+            Context("given no directory", () -> {
+
+                BeforeEach(() -> {
+                    directory = null;
+                });
+
+                It("should spool uploads to a directory of its own, deleted when destroyed", () -> {
+                    File own = uploads.getDirectory();
+                    assertThat(own.exists(), is(true));
+                    assertThat(own.equals(new File(System.getProperty("java.io.tmpdir"))), is(false));
+
+                    uploads.destroy();
+                    assertThat(own.exists(), is(false));
+                });
+            });
+        });
+    }
+}
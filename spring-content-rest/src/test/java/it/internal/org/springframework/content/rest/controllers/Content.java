@@ -156,6 +156,19 @@ public class Content {
                     assertThat(response.getContentType(), is("text/html"));
                 });
             });
+            Context("a GET to /{store}/{id} with a mime type that matches a renderer and rendition parameters", () -> {
+                It("should return the rendition without the rendition parameters in its content type", () -> {
+                    MockHttpServletResponse response = mvc
+                            .perform(get(url + "?width=64")
+                                    .contextPath(contextPath)
+                                    .accept("text/html;q=0.9"))
+                            .andExpect(status().isOk()).andReturn()
+                            .getResponse();
+
+                    assertThat(response.getContentAsString(), is("<html><body>Hello Spring Content World!</body></html>"));
+                    assertThat(response.getContentType(), is("text/html"));
+                });
+            });
             Context("a GET to /{store}/{id} with a mime type that matches a renderer and the original content-type", () -> {
 
                 BeforeEach(() -> {
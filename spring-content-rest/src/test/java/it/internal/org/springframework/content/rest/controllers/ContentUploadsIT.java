@@ -0,0 +1,185 @@
+package it.internal.org.springframework.content.rest.controllers;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.startsWith;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.content.rest.config.RestConfiguration;
+import org.springframework.data.rest.webmvc.config.RepositoryRestMvcConfiguration;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.web.WebAppConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.config.annotation.DelegatingWebMvcConfiguration;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jSpringRunner;
+import com.jayway.jsonpath.JsonPath;
+
+import internal.org.springframework.content.rest.support.EntityConfig;
+import internal.org.springframework.content.rest.support.StoreConfig;
+import internal.org.springframework.content.rest.support.TestEntity;
+import internal.org.springframework.content.rest.support.TestEntityContentRepository;
+import internal.org.springframework.content.rest.support.TestEntityRepository;
+import internal.org.springframework.content.rest.uploads.ContentUploads;
+import internal.org.springframework.content.rest.uploads.ContentUploads.Upload;
+
+@RunWith(Ginkgo4jSpringRunner.class)
+@WebAppConfiguration
+@ContextConfiguration(classes = {
+		StoreConfig.class,
+		EntityConfig.class,
+		DelegatingWebMvcConfiguration.class,
+		RepositoryRestMvcConfiguration.class,
+		RestConfiguration.class })
+@Transactional
+@ActiveProfiles("store")
+public class ContentUploadsIT {
+
+	@Autowired
+	TestEntityRepository repository;
+	@Autowired
+	TestEntityContentRepository store;
+
+	@Autowired
+	private ContentUploads uploads;
+
+	@Autowired
+	private WebApplicationContext context;
+
+	private MockMvc mvc;
+
+	private TestEntity testEntity;
+	private String url;
+	private String uploadId;
+	private byte[] content;
+	private Upload claimed;
+
+	{
+		Describe("Resumable uploads", () -> {
+			BeforeEach(() -> {
+				mvc = MockMvcBuilders.webAppContextSetup(context).build();
+
+				testEntity = repository.save(new TestEntity());
+				url = "/testEntitiesContent/" + testEntity.getId() + "/content";
+
+				content = new byte[3 * 1024];
+				new Random().nextBytes(content);
+			});
+			Context("given an upload", () -> {
+				BeforeEach(() -> {
+					String body = mvc.perform(post(url + "?uploads").contentType(MediaType.TEXT_PLAIN))
+							.andExpect(status().isCreated())
+							.andExpect(header().string("Location", startsWith("http://localhost" + url + "?uploadId=")))
+							.andReturn().getResponse().getContentAsString();
+					uploadId = JsonPath.read(body, "$.uploadId");
+				});
+				Context("given its parts are received out of order", () -> {
+					BeforeEach(() -> {
+						mvc.perform(put(url + "?uploadId=" + uploadId + "&partNumber=3").content(Arrays.copyOfRange(content, 2048, 3072)))
+								.andExpect(status().isNoContent());
+						mvc.perform(put(url + "?uploadId=" + uploadId + "&partNumber=1").content(Arrays.copyOfRange(content, 0, 1024)))
+								.andExpect(status().isNoContent());
+					});
+					It("should list the parts received", () -> {
+						mvc.perform(get(url + "?uploadId=" + uploadId))
+								.andExpect(status().isOk())
+								.andExpect(jsonPath("$.parts.length()").value(2))
+								.andExpect(jsonPath("$.parts[0].partNumber").value(1))
+								.andExpect(jsonPath("$.parts[1].partNumber").value(3))
+								.andExpect(jsonPath("$.parts[1].size").value(1024));
+					});
+					It("should not complete without the missing part", () -> {
+						mvc.perform(post(url + "?uploadId=" + uploadId))
+								.andExpect(status().isBadRequest());
+					});
+					Context("given the missing part is received", () -> {
+						BeforeEach(() -> {
+							mvc.perform(put(url + "?uploadId=" + uploadId + "&partNumber=2").content(Arrays.copyOfRange(content, 1024, 2048)))
+									.andExpect(status().isNoContent());
+						});
+						It("should set the content to the parts in order", () -> {
+							mvc.perform(post(url + "?uploadId=" + uploadId))
+									.andExpect(status().isCreated());
+
+							TestEntity fetched = repository.findById(testEntity.getId()).get();
+							assertThat(fetched.getMimeType(), is("text/plain"));
+							assertThat(fetched.getLen(), is((long) content.length));
+							try (InputStream in = store.getContent(fetched)) {
+								assertThat(IOUtils.toByteArray(in), is(content));
+							}
+
+							mvc.perform(get(url + "?uploadId=" + uploadId))
+									.andExpect(status().isNotFound());
+						});
+					});
+				});
+				Context("given it is being completed", () -> {
+					BeforeEach(() -> {
+						mvc.perform(put(url + "?uploadId=" + uploadId + "&partNumber=1").content(content))
+								.andExpect(status().isNoContent());
+
+						claimed = uploads.get(uploadId, url).claim();
+					});
+					It("should not be completed again", () -> {
+						mvc.perform(post(url + "?uploadId=" + uploadId))
+								.andExpect(status().isConflict());
+					});
+					It("should not be aborted", () -> {
+						mvc.perform(delete(url + "?uploadId=" + uploadId))
+								.andExpect(status().isConflict());
+					});
+					It("should not receive parts", () -> {
+						mvc.perform(put(url + "?uploadId=" + uploadId + "&partNumber=2").content(content))
+								.andExpect(status().isConflict());
+					});
+					It("should be completed once released", () -> {
+						claimed.release();
+
+						mvc.perform(post(url + "?uploadId=" + uploadId))
+								.andExpect(status().isCreated());
+						mvc.perform(post(url + "?uploadId=" + uploadId))
+								.andExpect(status().isNotFound());
+					});
+				});
+				It("should be aborted", () -> {
+					mvc.perform(delete(url + "?uploadId=" + uploadId))
+							.andExpect(status().isNoContent());
+					mvc.perform(get(url + "?uploadId=" + uploadId))
+							.andExpect(status().isNotFound());
+				});
+				It("should not be found for other content", () -> {
+					TestEntity other = repository.save(new TestEntity());
+					mvc.perform(get("/testEntitiesContent/" + other.getId() + "/content?uploadId=" + uploadId))
+							.andExpect(status().isNotFound());
+				});
+			});
+		});
+	}
+
+	@Test
+	public void noop() {
+	}
+}
@@ -0,0 +1,205 @@
+package it.rest.extensions.contentarchive;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.AfterEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.content.rest.config.RestConfiguration;
+import org.springframework.data.rest.webmvc.config.RepositoryRestMvcConfiguration;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.web.WebAppConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.config.annotation.DelegatingWebMvcConfiguration;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jSpringRunner;
+
+import internal.org.springframework.content.rest.support.EntityConfig;
+import internal.org.springframework.content.rest.support.StoreConfig;
+import internal.org.springframework.content.rest.support.TestEntity;
+import internal.org.springframework.content.rest.support.TestEntity7;
+import internal.org.springframework.content.rest.support.TestEntity7Repository;
+import internal.org.springframework.content.rest.support.TestEntity7Store;
+import internal.org.springframework.content.rest.support.TestEntityContentRepository;
+import internal.org.springframework.content.rest.support.TestEntityRepository;
+
+@RunWith(Ginkgo4jSpringRunner.class)
+@Ginkgo4jConfiguration(threads = 1)
+@WebAppConfiguration
+@ContextConfiguration(classes = {
+        StoreConfig.class,
+        EntityConfig.class,
+        DelegatingWebMvcConfiguration.class,
+        RepositoryRestMvcConfiguration.class,
+        RestConfiguration.class })
+@Transactional
+@ActiveProfiles("store")
+public class ContentArchiveRestControllerIT {
+
+    @Autowired
+    private TestEntityRepository repository;
+    @Autowired
+    private TestEntityContentRepository store;
+
+    @Autowired
+    private TestEntity7Repository repository7;
+    @Autowired
+    private TestEntity7Store store7;
+
+    @Autowired
+    private RestConfiguration config;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    private MockMvc mvc;
+
+    private TestEntity entity1;
+    private TestEntity entity2;
+    private TestEntity entity3;
+    private String originalFileName;
+
+    {
+        Describe("ContentArchiveRestController", () -> {
+            BeforeEach(() -> {
+                mvc = MockMvcBuilders.webAppContextSetup(context).build();
+
+                entity1 = repository.save(store.setContent(withName(new TestEntity(), "report.txt"), new ByteArrayInputStream("first".getBytes())));
+                entity2 = repository.save(store.setContent(withName(new TestEntity(), "report.txt"), new ByteArrayInputStream("second".getBytes())));
+                entity3 = repository.save(new TestEntity());
+            });
+            AfterEach(() -> {
+                config.setArchiveMaximumEntries(RestConfiguration.ARCHIVE_MAXIMUM_ENTRIES_DEFAULT);
+            });
+            Context("given entity ids", () -> {
+                It("should stream their content as a zip archive", () -> {
+                    byte[] archive = mvc.perform(get("/testEntities?ids=" + entity1.getId() + "," + entity2.getId() + "," + entity3.getId())
+                            .accept("application/zip"))
+                            .andExpect(status().isOk())
+                            .andExpect(header().string("Content-Type", "application/zip"))
+                            .andExpect(header().string("Content-Disposition", "attachment; filename=\"testEntities.zip\""))
+                            .andReturn().getResponse().getContentAsByteArray();
+
+                    Map<String, String> entries = unzip(archive, ZipEntry.DEFLATED);
+                    assertThat(entries.size(), is(2));
+                    assertThat(entries.get("report.txt"), is("first"));
+                    assertThat(entries.get("report (1).txt"), is("second"));
+                });
+                It("should store the entries uncompressed when asked to", () -> {
+                    byte[] archive = mvc.perform(get("/testEntities?compression=stored&ids=" + entity1.getId() + "," + entity2.getId())
+                            .accept("application/zip"))
+                            .andExpect(status().isOk())
+                            .andReturn().getResponse().getContentAsByteArray();
+
+                    Map<String, String> entries = unzip(archive, ZipEntry.STORED);
+                    assertThat(entries.get("report.txt"), is("first"));
+                    assertThat(entries.get("report (1).txt"), is("second"));
+                });
+                It("should not archive unknown entities", () -> {
+                    mvc.perform(get("/testEntities?ids=" + entity1.getId() + ",999999").accept("application/zip"))
+                            .andExpect(status().isNotFound());
+                });
+                It("should not archive with an unknown compression", () -> {
+                    mvc.perform(get("/testEntities?compression=bzip2&ids=" + entity1.getId()).accept("application/zip"))
+                            .andExpect(status().isBadRequest());
+                });
+                It("should not archive more than the maximum number of entries", () -> {
+                    config.setArchiveMaximumEntries(1);
+
+                    mvc.perform(get("/testEntities?ids=" + entity1.getId() + "," + entity2.getId()).accept("application/zip"))
+                            .andExpect(status().isBadRequest());
+                });
+            });
+            Context("given a repository query", () -> {
+                It("should stream the content of its results as a zip archive", () -> {
+                    String name = UUID.randomUUID().toString();
+                    TestEntity7 entity7 = new TestEntity7(name);
+                    entity7.setOriginalFileName("found.txt");
+                    repository7.save(store7.setContent(entity7, new ByteArrayInputStream("found".getBytes())));
+
+                    byte[] archive = mvc.perform(get("/testEntity7s/search/findByName?name=" + name).accept("application/zip"))
+                            .andExpect(status().isOk())
+                            .andReturn().getResponse().getContentAsByteArray();
+
+                    Map<String, String> entries = unzip(archive, ZipEntry.DEFLATED);
+                    assertThat(entries.size(), is(1));
+                    assertThat(entries.get("found.txt"), is("found"));
+                });
+                Context("given a paged query with more than one page of results", () -> {
+                    BeforeEach(() -> {
+                        originalFileName = UUID.randomUUID().toString() + ".txt";
+                        for (int i = 0; i < 25; i++) {
+                            TestEntity7 entity7 = new TestEntity7(UUID.randomUUID().toString());
+                            entity7.setOriginalFileName(originalFileName);
+                            repository7.save(store7.setContent(entity7, new ByteArrayInputStream(("found " + i).getBytes())));
+                        }
+                    });
+                    It("should archive every page", () -> {
+                        byte[] archive = mvc.perform(get("/testEntity7s/search/findByOriginalFileName?originalFileName=" + originalFileName).accept("application/zip"))
+                                .andExpect(status().isOk())
+                                .andReturn().getResponse().getContentAsByteArray();
+
+                        assertThat(unzip(archive, ZipEntry.DEFLATED).size(), is(25));
+                    });
+                    It("should archive only the page asked for", () -> {
+                        byte[] archive = mvc.perform(get("/testEntity7s/search/findByOriginalFileName?originalFileName=" + originalFileName + "&page=1&size=10").accept("application/zip"))
+                                .andExpect(status().isOk())
+                                .andReturn().getResponse().getContentAsByteArray();
+
+                        assertThat(unzip(archive, ZipEntry.DEFLATED).size(), is(10));
+                    });
+                    It("should not archive more than the maximum number of entries", () -> {
+                        config.setArchiveMaximumEntries(20);
+
+                        mvc.perform(get("/testEntity7s/search/findByOriginalFileName?originalFileName=" + originalFileName).accept("application/zip"))
+                                .andExpect(status().isBadRequest());
+                    });
+                });
+            });
+        });
+    }
+
+    private static TestEntity withName(TestEntity entity, String originalFileName) {
+        entity.setOriginalFileName(originalFileName);
+        return entity;
+    }
+
+    private static Map<String, String> unzip(byte[] archive, int method) throws IOException {
+        Map<String, String> entries = new LinkedHashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(archive))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                assertThat(entry.getMethod(), is(method));
+                entries.put(entry.getName(), IOUtils.toString(zip, "UTF-8"));
+            }
+        }
+        return entries;
+    }
+
+    @Test
+    public void noop() {
+    }
+}
@@ -1,5 +1,6 @@
 package it.rest.extensions.contentsearch;
 
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.AfterEach;
 import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
 import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
 import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
@@ -26,6 +27,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import java.io.File;
 import java.io.StringReader;
 import java.lang.reflect.Method;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -54,6 +56,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.data.repository.CrudRepository;
@@ -62,6 +65,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.data.rest.core.annotation.RepositoryRestResource;
 import org.springframework.data.rest.extensions.contentsearch.ContentSearchRestController;
 import org.springframework.data.rest.extensions.contentsearch.ContentSearchRestController.InternalResult;
+import org.springframework.data.rest.extensions.contentsearch.ContentSearchResultCache;
 import org.springframework.data.rest.webmvc.RootResourceInformation;
 import org.springframework.data.rest.webmvc.config.RepositoryRestMvcConfiguration;
 import org.springframework.test.context.ContextConfiguration;
@@ -288,6 +292,49 @@ public class ContentSearchRestControllerIT {
                             assertThat(id1, is(not(id2)));
                         });
 
+                        Context("given a search result cache", () -> {
+
+                            BeforeEach(() -> {
+                                context.getBean(ContentSearchRestController.class).setContentSearchResultCache(new ContentSearchResultCache(10, Duration.ofMinutes(1)));
+                            });
+
+                            AfterEach(() -> {
+                                context.getBean(ContentSearchRestController.class).setContentSearchResultCache(context.getBean(ContentSearchResultCache.class));
+                            });
+
+                            It("should cache the search hits but load the entities for each request", () -> {
+                                mvc.perform(get("/testEntityWithSharedIds/searchContent?queryString=two")
+                                        .accept("application/hal+json"))
+                                        .andExpect(status().isOk());
+
+                                repository.delete(entity2);
+
+                                MvcResult result = mvc.perform(get("/testEntityWithSharedIds/searchContent?queryString=two")
+                                        .accept("application/hal+json"))
+                                        .andExpect(status().isOk()).andReturn();
+
+                                verify(reflectionService, times(1)).invokeMethod(any(), any(), eq("two"));
+
+                                ReadableRepresentation halResponse = representationFactory
+                                        .readRepresentation("application/hal+json",
+                                                new StringReader(result.getResponse()
+                                                        .getContentAsString()));
+                                assertThat(halResponse.getResourcesByRel("testEntityWithSharedIds").size(), is(1));
+                            });
+
+                            It("should key the cached hits by sort", () -> {
+                                mvc.perform(get("/testEntityWithSharedIds/searchContent?queryString=two")
+                                        .accept("application/hal+json"))
+                                        .andExpect(status().isOk());
+                                mvc.perform(get("/testEntityWithSharedIds/searchContent?queryString=two&sort=id,desc")
+                                        .accept("application/hal+json"))
+                                        .andExpect(status().isOk());
+
+                                verify(reflectionService, times(1)).invokeMethod(any(), any(), eq("two"));
+                                verify(reflectionService, times(1)).invokeMethod(any(), any(), eq("two"), eq(PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "id"))));
+                            });
+                        });
+
 
                     });
 
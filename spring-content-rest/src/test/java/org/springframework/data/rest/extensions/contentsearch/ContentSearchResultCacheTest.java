@@ -0,0 +1,123 @@
+package org.springframework.data.rest.extensions.contentsearch;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.runner.RunWith;
+import org.springframework.content.commons.repository.events.AfterSetContentEvent;
+import org.springframework.content.commons.repository.events.BeforeUnsetContentEvent;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+@RunWith(Ginkgo4jRunner.class)
+public class ContentSearchResultCacheTest {
+
+    private ContentSearchResultCache cache;
+    private AtomicInteger loads;
+
+    {
+        Describe("ContentSearchResultCache", () -> {
+
+            BeforeEach(() -> {
+                loads = new AtomicInteger();
+            });
+
+            Context("given an enabled cache", () -> {
+
+                BeforeEach(() -> {
+                    cache = new ContentSearchResultCache(2, Duration.ofMinutes(5));
+                });
+
+                It("should only load a repeated search once", () -> {
+                    assertThat(cache.get(Document.class, "foo", this::load), is(1));
+                    assertThat(cache.get(Document.class, "foo", this::load), is(1));
+
+                    assertThat(cache.getHitCount(), is(1L));
+                    assertThat(cache.getMissCount(), is(1L));
+                    assertThat(cache.getHitRate(), is(0.5d));
+                });
+
+                It("should evict the least recently used search", () -> {
+                    cache.get(Document.class, "foo", this::load);
+                    cache.get(Document.class, "bar", this::load);
+                    cache.get(Document.class, "foo", this::load);
+                    cache.get(Document.class, "baz", this::load);
+
+                    assertThat(cache.size(), is(2));
+                    assertThat(cache.get(Document.class, "foo", this::load), is(1));
+                    assertThat(cache.get(Document.class, "bar", this::load), is(4));
+                });
+
+                It("should invalidate searches when content is set", () -> {
+                    cache.get(Document.class, "foo", this::load);
+                    cache.get(Other.class, "foo", this::load);
+
+                    cache.onApplicationEvent(new AfterSetContentEvent(new Document(), null));
+
+                    assertThat(cache.get(Document.class, "foo", this::load), is(3));
+                    assertThat(cache.get(Other.class, "foo", this::load), is(2));
+                    assertThat(cache.getInvalidationCount(), is(1L));
+                });
+
+                It("should invalidate searches when content is unset", () -> {
+                    cache.get(Document.class, "foo", this::load);
+
+                    cache.onApplicationEvent(new BeforeUnsetContentEvent(new Document(), null));
+
+                    assertThat(cache.get(Document.class, "foo", this::load), is(2));
+                });
+
+                It("should not cache a search that was invalidated while it was loading", () -> {
+                    cache.get(Document.class, "foo", () -> {
+                        cache.invalidate(Document.class);
+                        return load();
+                    });
+
+                    assertThat(cache.size(), is(0));
+                });
+            });
+
+            Context("given an expired search", () -> {
+
+                BeforeEach(() -> {
+                    cache = new ContentSearchResultCache(2, Duration.ZERO);
+                });
+
+                It("should reload it", () -> {
+                    cache.get(Document.class, "foo", this::load);
+                    assertThat(cache.get(Document.class, "foo", this::load), is(2));
+                });
+            });
+
+            Context("given a disabled cache", () -> {
+
+                BeforeEach(() -> {
+                    cache = new ContentSearchResultCache(0, Duration.ofMinutes(5));
+                });
+
+                It("should always load", () -> {
+                    cache.get(Document.class, "foo", this::load);
+                    assertThat(cache.get(Document.class, "foo", this::load), is(2));
+                    assertThat(cache.size(), is(0));
+                });
+            });
+        });
+    }
+
+    private Integer load() {
+        return loads.incrementAndGet();
+    }
+
+    public static class Document {
+    }
+
+    public static class Other {
+    }
+}
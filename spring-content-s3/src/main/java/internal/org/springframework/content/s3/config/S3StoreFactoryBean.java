@@ -20,6 +20,7 @@ import internal.org.springframework.content.s3.store.DefaultReactiveS3StoreImpl;
 import internal.org.springframework.content.s3.store.DefaultS3StoreImpl;
 import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 
 @SuppressWarnings("rawtypes")
 public class S3StoreFactoryBean extends AbstractStoreFactoryBean {
@@ -41,6 +42,9 @@ public class S3StoreFactoryBean extends AbstractStoreFactoryBean {
 	@Autowired(required=false)
 	private MultiTenantS3ClientProvider s3Provider = null;
 
+	@Autowired(required=false)
+	private S3Presigner presigner;
+
 	@Autowired(required=false)
 	private LockingAndVersioningProxyFactory versioning;
 
@@ -82,7 +86,9 @@ public class S3StoreFactoryBean extends AbstractStoreFactoryBean {
 		    if (client == null) {
 		        throw new NoSuchBeanDefinitionException(S3Client.class.getCanonicalName());
 		    }
-		    return new DefaultS3StoreImpl(context, loader, mappingContext, s3StorePlacementService, client, s3Provider);
+		    DefaultS3StoreImpl store = new DefaultS3StoreImpl(context, loader, mappingContext, s3StorePlacementService, client, s3Provider);
+		    store.setPresigner(presigner);
+		    return store;
 		} else {
             if (asyncClient == null) {
                 throw new NoSuchBeanDefinitionException(S3AsyncClient.class.getCanonicalName());
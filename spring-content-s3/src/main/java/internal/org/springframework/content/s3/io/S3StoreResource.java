@@ -6,8 +6,10 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.URI;
 import java.net.URL;
+import java.time.Duration;
 
 import org.springframework.content.commons.io.DeletableResource;
+import org.springframework.content.commons.io.PresignableResource;
 import org.springframework.content.commons.io.RangeableResource;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.WritableResource;
@@ -15,20 +17,29 @@ import org.springframework.util.Assert;
 
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
 
-public class S3StoreResource implements WritableResource, DeletableResource, RangeableResource {
+public class S3StoreResource implements WritableResource, DeletableResource, RangeableResource, PresignableResource {
 
 	private S3Client client;
 	private Resource delegate;
 	private String bucket;
+	private S3Presigner presigner;
 
 	public S3StoreResource(S3Client client, String bucket, Resource delegate) {
+		this(client, bucket, delegate, null);
+	}
+
+	public S3StoreResource(S3Client client, String bucket, Resource delegate, S3Presigner presigner) {
 		Assert.notNull(client, "client must be specified");
 		Assert.hasText(bucket, "bucket must be specified");
 		Assert.isInstanceOf(WritableResource.class, delegate);
 		this.client = client;
 		this.bucket = bucket;
 		this.delegate = delegate;
+		this.presigner = presigner;
 	}
 
 	public S3Client getClient() {
@@ -122,6 +133,24 @@ public class S3StoreResource implements WritableResource, DeletableResource, Ran
         ((RangeableResource)delegate).setRange(range);
     }
 
+	@Override
+	public URL getPresignedUrl(Duration validity, String contentType) throws IOException {
+		if (presigner == null) {
+			return null;
+		}
+
+		GetObjectRequest getObjectRequest = GetObjectRequest.builder()
+				.bucket(bucket)
+				.key(delegate.getFilename())
+				.responseContentType(contentType)
+				.build();
+
+		return presigner.presignGetObject(GetObjectPresignRequest.builder()
+				.signatureDuration(validity)
+				.getObjectRequest(getObjectRequest)
+				.build()).url();
+	}
+
 	/**
 	 * Set the Content-Type value that will be specified as object metadata when saving resource to the object storage.
 	 * @param contentType Content-Type value or null
@@ -1,6 +1,5 @@
 package internal.org.springframework.content.s3.store;
 
-import java.io.File;
 import java.io.Serializable;
 import java.lang.annotation.Annotation;
 import java.nio.ByteBuffer;
@@ -131,6 +130,21 @@ public class DefaultReactiveS3StoreImpl<S, SID extends Serializable>
 
     @Override
     public Flux<ByteBuffer> getContent(S entity, PropertyPath path) {
+        return getContent(entity, path, null);
+    }
+
+    /**
+     * Fetches only the range from S3, as the store's resources do when given a range
+     */
+    @Override
+    public Flux<ByteBuffer> getContent(S entity, PropertyPath path, long offset, long length) {
+        if (length <= 0) {
+            return Flux.empty();
+        }
+        return getContent(entity, path, String.format("bytes=%d-%d", offset, offset + length - 1));
+    }
+
+    private Flux<ByteBuffer> getContent(S entity, PropertyPath path, String range) {
 
         if (entity == null)
             return Flux.empty();
@@ -150,9 +164,9 @@ public class DefaultReactiveS3StoreImpl<S, SID extends Serializable>
         GetObjectRequest request = GetObjectRequest.builder()
                 .bucket(s3ObjectId.getBucket())
                 .key(s3ObjectId.getKey())
+                .range(range)
                 .build();
 
-        AsyncResponseTransformer.toFile(new File("/tmp/foo"));
         CompletableFuture<ResponsePublisher<GetObjectResponse>> responseFuture =
                 asyncClient.getObject(request, AsyncResponseTransformer.toPublisher());
 
@@ -43,6 +43,7 @@ import internal.org.springframework.content.commons.utils.ContentPropertyInfoTyp
 import internal.org.springframework.content.s3.io.S3StoreResource;
 import internal.org.springframework.content.s3.io.SimpleStorageProtocolResolver;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 
 @Transactional
 public class DefaultS3StoreImpl<S, SID extends Serializable>
@@ -55,6 +56,7 @@ public class DefaultS3StoreImpl<S, SID extends Serializable>
 	private PlacementService placementService;
 	private S3Client client;
 	private MultiTenantS3ClientProvider clientProvider;
+	private S3Presigner presigner;
 
     private MappingContext mappingContext/* = new MappingContext("/", ".")*/;
 
@@ -74,6 +76,13 @@ public class DefaultS3StoreImpl<S, SID extends Serializable>
         }
 	}
 
+	/**
+	 * Sets the presigner used to presign URLs for content read with the default client
+	 */
+	public void setPresigner(S3Presigner presigner) {
+		this.presigner = presigner;
+	}
+
 	@Override
 	public Resource getResource(SID id) {
 		if (id == null)
@@ -155,6 +164,7 @@ public class DefaultS3StoreImpl<S, SID extends Serializable>
 
         S3Client clientToUse = client;
         ResourceLoader loaderToUse = loader;
+        S3Presigner presignerToUse = presigner;
         if (clientProvider != null) {
 			S3Client client = clientProvider.getS3Client();
 			if (client != null) {
@@ -166,11 +176,12 @@ public class DefaultS3StoreImpl<S, SID extends Serializable>
 
 				clientToUse = client;
 				loaderToUse = loader;
+				presignerToUse = null;
 			}
 		}
 
 		Resource resource = loaderToUse.getResource(location);
-		return new S3StoreResource(clientToUse, bucket, resource);
+		return new S3StoreResource(clientToUse, bucket, resource, presignerToUse);
 	}
 
 	@Override
@@ -14,7 +14,10 @@ import com.github.dockerjava.zerodep.shaded.org.apache.hc.core5.net.URIBuilder;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.AwsCredentials;
 import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 
 public class LocalStack extends LocalStackContainer implements Serializable {
 
@@ -37,6 +40,16 @@ public class LocalStack extends LocalStackContainer implements Serializable {
                 .build();
     }
 
+    public static S3Presigner getS3Presigner() throws URISyntaxException {
+        return S3Presigner.builder()
+                .endpointOverride(new URI(Singleton.INSTANCE.getEndpointConfiguration(LocalStackContainer.Service.S3).getServiceEndpoint()))
+                .credentialsProvider(new LocalStack.CrossAwsCredentialsProvider(Singleton.INSTANCE.getDefaultCredentialsProvider()))
+                .region(Region.of(Singleton.INSTANCE.getRegion()))
+                // presigned URLs are fetched from the container's host, which has no bucket subdomains
+                .serviceConfiguration(S3Configuration.builder().pathStyleAccessEnabled(true).build())
+                .build();
+    }
+
     @Override
     public URI getEndpointOverride(EnabledService service) {
         try {
@@ -0,0 +1,223 @@
+package internal.org.springframework.content.s3.it.presigned;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.startsWith;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.time.Duration;
+
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.sql.DataSource;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.content.commons.annotations.ContentId;
+import org.springframework.content.commons.annotations.ContentLength;
+import org.springframework.content.commons.annotations.MimeType;
+import org.springframework.content.commons.repository.ContentStore;
+import org.springframework.content.rest.config.ContentRestConfigurer;
+import org.springframework.content.rest.config.RestConfiguration;
+import org.springframework.content.s3.config.EnableS3Stores;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.data.rest.webmvc.config.RepositoryRestMvcConfiguration;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.Database;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.web.WebAppConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.config.annotation.DelegatingWebMvcConfiguration;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jSpringRunner;
+
+import internal.org.springframework.content.s3.it.LocalStack;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.CreateBucketRequest;
+import software.amazon.awssdk.services.s3.model.HeadBucketRequest;
+import software.amazon.awssdk.services.s3.model.NoSuchBucketException;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+@RunWith(Ginkgo4jSpringRunner.class)
+@Ginkgo4jConfiguration(threads=1)
+@WebAppConfiguration
+@ContextConfiguration(classes = {
+        S3PresignedUrlIT.TestConfig.class,
+        DelegatingWebMvcConfiguration.class,
+        RepositoryRestMvcConfiguration.class,
+        RestConfiguration.class })
+public class S3PresignedUrlIT {
+
+    private static final String BUCKET = "aws-presigned-test-bucket";
+
+    static {
+        System.setProperty("spring.content.s3.bucket", BUCKET);
+        System.setProperty("aws.region", "us-east-1");
+    }
+
+    @Autowired
+    private TestEntityRepository repo;
+    @Autowired
+    private TestEntityStore store;
+    @Autowired
+    private S3Client client;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    private MockMvc mvc;
+
+    private TestEntity entity;
+
+    {
+        Describe("Presigned URLs", () -> {
+
+            BeforeEach(() -> {
+                mvc = MockMvcBuilders.webAppContextSetup(context).build();
+
+                try {
+                    client.headBucket(HeadBucketRequest.builder().bucket(BUCKET).build());
+                } catch (NoSuchBucketException e) {
+                    client.createBucket(CreateBucketRequest.builder().bucket(BUCKET).build());
+                }
+            });
+
+            Context("given content", () -> {
+
+                BeforeEach(() -> {
+                    entity = new TestEntity();
+                    entity.setContentType("text/plain");
+                    entity = store.setContent(entity, new ByteArrayInputStream("Hello presigned content!".getBytes()));
+                    entity = repo.save(entity);
+                });
+
+                It("should redirect to a presigned URL that reads the content", () -> {
+                    String location = mvc.perform(get("/testEntities/" + entity.getId() + "/content").accept("text/plain"))
+                            .andExpect(status().isTemporaryRedirect())
+                            .andReturn().getResponse().getHeader("Location");
+
+                    HttpURLConnection connection = (HttpURLConnection) new URL(location).openConnection();
+                    try {
+                        assertThat(connection.getResponseCode(), is(200));
+                        assertThat(connection.getContentType(), startsWith("text/plain"));
+                        try (InputStream in = connection.getInputStream()) {
+                            assertThat(IOUtils.toString(in, "UTF-8"), is("Hello presigned content!"));
+                        }
+                    } finally {
+                        connection.disconnect();
+                    }
+                });
+            });
+        });
+    }
+
+    @Test
+    public void noop() {
+    }
+
+    @Configuration
+    @EnableJpaRepositories(considerNestedRepositories = true)
+    @EnableS3Stores
+    public static class TestConfig {
+
+        @Bean
+        public S3Client client() throws URISyntaxException {
+            return LocalStack.getAmazonS3Client();
+        }
+
+        @Bean
+        public S3Presigner presigner() throws URISyntaxException {
+            return LocalStack.getS3Presigner();
+        }
+
+        @Bean
+        public ContentRestConfigurer configurer() {
+            return new ContentRestConfigurer() {
+                @Override
+                public void configure(RestConfiguration config) {
+                    config.setPresignedUrlValidity(Duration.ofMinutes(1));
+                }
+            };
+        }
+
+        @Bean
+        public DataSource dataSource() {
+            EmbeddedDatabaseBuilder builder = new EmbeddedDatabaseBuilder();
+            return builder.setType(EmbeddedDatabaseType.H2).build();
+        }
+
+        @Bean
+        public LocalContainerEntityManagerFactoryBean entityManagerFactory() {
+
+            HibernateJpaVendorAdapter vendorAdapter = new HibernateJpaVendorAdapter();
+            vendorAdapter.setDatabase(Database.H2);
+            vendorAdapter.setGenerateDdl(true);
+
+            LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+            factory.setJpaVendorAdapter(vendorAdapter);
+            factory.setPackagesToScan("internal.org.springframework.content.s3.it.presigned");
+            factory.setDataSource(dataSource());
+
+            return factory;
+        }
+
+        @Bean
+        public PlatformTransactionManager transactionManager() {
+
+            JpaTransactionManager txManager = new JpaTransactionManager();
+            txManager.setEntityManagerFactory(entityManagerFactory().getObject());
+            return txManager;
+        }
+    }
+
+    @Entity
+    @Setter
+    @Getter
+    @NoArgsConstructor
+    public static class TestEntity {
+
+        @Id
+        @GeneratedValue(strategy=GenerationType.AUTO)
+        private Long id;
+
+        @ContentId
+        private String contentId;
+
+        @ContentLength
+        private long contentLen;
+
+        @MimeType
+        private String contentType;
+    }
+
+    public interface TestEntityRepository extends JpaRepository<TestEntity, Long> {}
+    public interface TestEntityStore extends ContentStore<TestEntity, String> {}
+}
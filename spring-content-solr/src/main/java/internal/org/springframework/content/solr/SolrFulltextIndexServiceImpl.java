@@ -8,12 +8,21 @@ import java.io.InputStream;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 
 import org.apache.solr.client.solrj.SolrClient;
 import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.request.AbstractUpdateRequest;
 import org.apache.solr.client.solrj.request.ContentStreamUpdateRequest;
 import org.apache.solr.client.solrj.request.UpdateRequest;
 import org.apache.solr.common.util.ContentStreamBase;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.content.commons.annotations.ContentId;
 import org.springframework.content.commons.repository.StoreAccessException;
@@ -23,7 +32,9 @@ import org.springframework.content.commons.utils.DomainObjectUtils;
 import org.springframework.content.solr.AttributeProvider;
 import org.springframework.content.solr.SolrProperties;
 
-public class SolrFulltextIndexServiceImpl implements IndexService {
+public class SolrFulltextIndexServiceImpl implements IndexService, DisposableBean {
+
+    private static final Log logger = LogFactory.getLog(SolrFulltextIndexServiceImpl.class);
 
     public static final String ENTITY_ID = "entity_id";
 
@@ -32,6 +43,9 @@ public class SolrFulltextIndexServiceImpl implements IndexService {
     private AttributeProvider<Object> builtinSyncer;
     private AttributeProvider<Object> syncer;
 
+    private final AtomicInteger pendingUpdates = new AtomicInteger();
+    private ScheduledExecutorService flusher;
+
     @Autowired
     public SolrFulltextIndexServiceImpl(SolrClient solrClient, SolrProperties properties) {
         this.solrClient = solrClient;
@@ -48,6 +62,15 @@ public class SolrFulltextIndexServiceImpl implements IndexService {
                 return attributes;
             }
         };
+
+        if (properties.getCommitStrategy() == SolrProperties.CommitStrategy.BATCH && properties.getBatchFlushInterval() > 0) {
+            flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "solr-batch-flush");
+                t.setDaemon(true);
+                return t;
+            });
+            flusher.scheduleWithFixedDelay(this::flush, properties.getBatchFlushInterval(), properties.getBatchFlushInterval(), TimeUnit.MILLISECONDS);
+        }
     }
 
     @Autowired(required=false)
@@ -76,7 +99,7 @@ public class SolrFulltextIndexServiceImpl implements IndexService {
             up.setParam(format("literal.%s", entry.getKey()), entry.getValue());
         }
 
-        up.setAction(COMMIT,true, true);
+        applyCommitStrategy(up);
 
         try {
             solrClient.request(up, null);
@@ -87,6 +110,8 @@ public class SolrFulltextIndexServiceImpl implements IndexService {
         catch (IOException e) {
             throw new StoreAccessException(format("Error indexing entity with id '%s'", id), e);
         }
+
+        afterUpdate();
     }
 
     @Override
@@ -95,7 +120,7 @@ public class SolrFulltextIndexServiceImpl implements IndexService {
         Object id = BeanUtils.getFieldWithAnnotation(entity, ContentId.class);
 
         UpdateRequest up = new UpdateRequest();
-        up.setAction(COMMIT,true, true);
+        applyCommitStrategy(up);
         up.deleteById(entity.getClass().getCanonicalName() + ":" + id.toString());
 
         if (properties.getUser() != null) {
@@ -111,6 +136,80 @@ public class SolrFulltextIndexServiceImpl implements IndexService {
         catch (IOException e) {
             throw new StoreAccessException(format("Error unindexing entity with id '%s'", id), e);
         }
+
+        afterUpdate();
+    }
+
+    /**
+     * Commits any updates that have been sent but not yet committed under the {@code BATCH} commit strategy.
+     */
+    public void commit() {
+
+        if (pendingUpdates.getAndSet(0) == 0) {
+            return;
+        }
+
+        UpdateRequest up = new UpdateRequest();
+        up.setAction(COMMIT, true, true);
+
+        if (properties.getUser() != null) {
+            up.setBasicAuthCredentials(properties.getUser(), properties.getPassword());
+        }
+
+        try {
+            solrClient.request(up, null);
+        }
+        catch (SolrServerException e) {
+            throw new StoreAccessException("Error committing index updates", e);
+        }
+        catch (IOException e) {
+            throw new StoreAccessException("Error committing index updates", e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (flusher != null) {
+            flusher.shutdownNow();
+        }
+        commit();
+    }
+
+    // commits a partial batch so that its updates do not wait for the batch to fill
+    private void flush() {
+        try {
+            commit();
+        } catch (StoreAccessException e) {
+            logger.warn("Unable to commit partial batch of index updates", e);
+        }
+    }
+
+    private void applyCommitStrategy(AbstractUpdateRequest up) {
+
+        switch (properties.getCommitStrategy()) {
+        case SOFT:
+            up.setAction(COMMIT, false, false, true);
+            break;
+        case COMMIT_WITHIN:
+            up.setCommitWithin(properties.getCommitWithin());
+            break;
+        case BATCH:
+            break;
+        case HARD:
+        default:
+            up.setAction(COMMIT, true, true);
+        }
+    }
+
+    private void afterUpdate() {
+
+        if (properties.getCommitStrategy() != SolrProperties.CommitStrategy.BATCH) {
+            return;
+        }
+
+        if (pendingUpdates.incrementAndGet() >= properties.getBatchSize()) {
+            commit();
+        }
     }
 
     private class ContentEntityStream extends ContentStreamBase {
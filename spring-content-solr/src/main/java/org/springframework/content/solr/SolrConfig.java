@@ -11,6 +11,10 @@ public class SolrConfig {
 	private String url;
 	private String username;
 	private String password;
+	private SolrProperties.CommitStrategy commitStrategy = SolrProperties.CommitStrategy.HARD;
+	private int commitWithin = 1000;
+	private int batchSize = 100;
+	private long batchFlushInterval = 10000;
 
 	public String getUrl() {
 		return url;
@@ -36,6 +40,38 @@ public class SolrConfig {
 		this.password = password;
 	}
 
+	public SolrProperties.CommitStrategy getCommitStrategy() {
+		return commitStrategy;
+	}
+
+	public void setCommitStrategy(SolrProperties.CommitStrategy commitStrategy) {
+		this.commitStrategy = commitStrategy;
+	}
+
+	public int getCommitWithin() {
+		return commitWithin;
+	}
+
+	public void setCommitWithin(int commitWithin) {
+		this.commitWithin = commitWithin;
+	}
+
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	public void setBatchSize(int batchSize) {
+		this.batchSize = batchSize;
+	}
+
+	public long getBatchFlushInterval() {
+		return batchFlushInterval;
+	}
+
+	public void setBatchFlushInterval(long batchFlushInterval) {
+		this.batchFlushInterval = batchFlushInterval;
+	}
+
 	@Bean
 	public SolrProperties solrProperties() {
 
@@ -46,6 +82,10 @@ public class SolrConfig {
 		props.setUrl(url);
 		props.setPassword(password);
 		props.setUser(username);
+		props.setCommitStrategy(commitStrategy);
+		props.setCommitWithin(commitWithin);
+		props.setBatchSize(batchSize);
+		props.setBatchFlushInterval(batchFlushInterval);
 		return props;
 	}
 }
@@ -6,6 +6,11 @@ public class SolrProperties {
 	private String user = null;
 	private String password = null;
 
+	private CommitStrategy commitStrategy = CommitStrategy.HARD;
+	private int commitWithin = 1000;
+	private int batchSize = 100;
+	private long batchFlushInterval = 10000;
+
 	public String getUrl() {
 		return url;
 	}
@@ -29,4 +34,57 @@ public class SolrProperties {
 	public void setPassword(String password) {
 		this.password = password;
 	}
+
+	public CommitStrategy getCommitStrategy() {
+		return commitStrategy;
+	}
+
+	public void setCommitStrategy(CommitStrategy commitStrategy) {
+		this.commitStrategy = commitStrategy;
+	}
+
+	/**
+	 * Maximum time, in milliseconds, before an update is committed when using {@link CommitStrategy#COMMIT_WITHIN}.
+	 */
+	public int getCommitWithin() {
+		return commitWithin;
+	}
+
+	public void setCommitWithin(int commitWithin) {
+		this.commitWithin = commitWithin;
+	}
+
+	/**
+	 * Number of updates sent before an explicit commit is issued when using {@link CommitStrategy#BATCH}.
+	 */
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	public void setBatchSize(int batchSize) {
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * Maximum time, in milliseconds, a partial batch waits before it is committed when using {@link CommitStrategy#BATCH}.
+	 * 0 commits partial batches only when the application context is closed.
+	 */
+	public long getBatchFlushInterval() {
+		return batchFlushInterval;
+	}
+
+	public void setBatchFlushInterval(long batchFlushInterval) {
+		this.batchFlushInterval = batchFlushInterval;
+	}
+
+	public enum CommitStrategy {
+		/** hard commit on every update, waiting for flush and a new searcher (default) */
+		HARD,
+		/** soft commit on every update; visible to search but not flushed to stable storage */
+		SOFT,
+		/** let solr commit each update within {@link SolrProperties#getCommitWithin()} milliseconds */
+		COMMIT_WITHIN,
+		/** commit once every {@link SolrProperties#getBatchSize()} updates, or {@link SolrProperties#getBatchFlushInterval()} milliseconds */
+		BATCH
+	}
 }
@@ -10,8 +10,12 @@ import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrRequest;
 import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.request.AbstractUpdateRequest;
+import org.apache.solr.common.params.UpdateParams;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatchers;
 
 import org.springframework.content.commons.annotations.ContentId;
@@ -27,11 +31,15 @@ import static java.lang.String.format;
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyObject;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(Ginkgo4jRunner.class)
@@ -44,6 +52,8 @@ public class SolrFulltextIndexServiceImplTest {
 
     private Exception e;
 
+    private ArgumentCaptor<SolrRequest> captor;
+
     // mocks
     private SolrClient solr;
     private SolrProperties props;
@@ -85,6 +95,110 @@ public class SolrFulltextIndexServiceImplTest {
             }
         });
 
+        Describe("commit strategies", () -> {
+
+            BeforeEach(() -> {
+                solr = mock(SolrClient.class);
+                props = new SolrProperties();
+                captor = ArgumentCaptor.forClass(SolrRequest.class);
+
+                entity = new TEntity("12345");
+            });
+
+            JustBeforeEach(() -> {
+                indexer = new SolrFulltextIndexServiceImpl(solr, props);
+                indexer.index(entity, new ByteArrayInputStream("foo".getBytes()));
+                indexer.unindex(entity);
+            });
+
+            Context("given the default commit strategy", () -> {
+
+                It("should hard commit every update", () -> {
+                    verify(solr, times(2)).request(captor.capture(), any());
+                    for (SolrRequest request : captor.getAllValues()) {
+                        assertThat(param(request, UpdateParams.COMMIT), is("true"));
+                        assertThat(param(request, UpdateParams.SOFT_COMMIT), is("false"));
+                    }
+                });
+            });
+
+            Context("given a soft commit strategy", () -> {
+
+                BeforeEach(() -> {
+                    props.setCommitStrategy(SolrProperties.CommitStrategy.SOFT);
+                });
+
+                It("should soft commit every update", () -> {
+                    verify(solr, times(2)).request(captor.capture(), any());
+                    for (SolrRequest request : captor.getAllValues()) {
+                        assertThat(param(request, UpdateParams.COMMIT), is("true"));
+                        assertThat(param(request, UpdateParams.SOFT_COMMIT), is("true"));
+                    }
+                });
+            });
+
+            Context("given a commit within strategy", () -> {
+
+                BeforeEach(() -> {
+                    props.setCommitStrategy(SolrProperties.CommitStrategy.COMMIT_WITHIN);
+                    props.setCommitWithin(5000);
+                });
+
+                It("should not commit but set commitWithin on every update", () -> {
+                    verify(solr, times(2)).request(captor.capture(), any());
+                    for (SolrRequest request : captor.getAllValues()) {
+                        assertThat(param(request, UpdateParams.COMMIT), is(nullValue()));
+                        assertThat(((AbstractUpdateRequest) request).getCommitWithin(), is(5000));
+                    }
+                });
+            });
+
+            Context("given a batch commit strategy", () -> {
+
+                BeforeEach(() -> {
+                    props.setCommitStrategy(SolrProperties.CommitStrategy.BATCH);
+                    props.setBatchSize(2);
+                });
+
+                It("should commit once the batch is full", () -> {
+                    verify(solr, times(3)).request(captor.capture(), any());
+                    assertThat(param(captor.getAllValues().get(0), UpdateParams.COMMIT), is(nullValue()));
+                    assertThat(param(captor.getAllValues().get(1), UpdateParams.COMMIT), is(nullValue()));
+                    assertThat(param(captor.getAllValues().get(2), UpdateParams.COMMIT), is("true"));
+                });
+
+                Context("when the batch is not full", () -> {
+
+                    BeforeEach(() -> {
+                        props.setBatchSize(10);
+                    });
+
+                    It("should commit outstanding updates on destroy", () -> {
+                        verify(solr, times(2)).request(captor.capture(), any());
+
+                        indexer.destroy();
+
+                        verify(solr, times(3)).request(captor.capture(), any());
+                        assertThat(param(captor.getValue(), UpdateParams.COMMIT), is("true"));
+                    });
+
+                    Context("given a batch flush interval", () -> {
+
+                        BeforeEach(() -> {
+                            props.setBatchFlushInterval(50);
+                        });
+
+                        It("should commit outstanding updates once the interval elapses", () -> {
+                            verify(solr, timeout(5000).times(3)).request(captor.capture(), any());
+                            assertThat(param(captor.getValue(), UpdateParams.COMMIT), is("true"));
+
+                            indexer.destroy();
+                        });
+                    });
+                });
+            });
+        });
+
         Describe("#unindex", () -> {
 
             BeforeEach(() -> {
@@ -121,6 +235,10 @@ public class SolrFulltextIndexServiceImplTest {
         });
     }
 
+    private static String param(SolrRequest request, String name) {
+        return request.getParams() != null ? request.getParams().get(name) : null;
+    }
+
     @AllArgsConstructor
     @Getter
     @Setter